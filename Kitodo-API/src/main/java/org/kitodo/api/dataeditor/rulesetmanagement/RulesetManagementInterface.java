@@ -136,6 +136,13 @@ public interface RulesetManagementInterface {
      */
     void load(File rulesetFile) throws IOException;
 
+    /**
+     * Discards the rulesets kept in memory, so that they are read again from
+     * their files when they are loaded next. Loaded rulesets are kept while
+     * their files are unchanged.
+     */
+    void clearCache();
+
     /**
      * Returns the “always showing” value or otherwise the default value if the
      * attribute is not set.
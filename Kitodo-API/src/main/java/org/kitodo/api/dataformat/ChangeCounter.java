@@ -0,0 +1,66 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.api.dataformat;
+
+/**
+ * Counts the changes made to a workpiece. All divisions of a workpiece share
+ * the counter of the workpiece; a division which is not part of a workpiece
+ * has its own counter until it is added to one. Changes to the structure,
+ * which are the divisions, their order and type, their media files and the
+ * views, are counted separately, as only they affect the
+ * {@link WorkpieceIndex}.
+ */
+class ChangeCounter {
+    /**
+     * Number of changes of any kind.
+     */
+    private long changes;
+
+    /**
+     * Number of changes to the structure.
+     */
+    private long structureChanges;
+
+    /**
+     * Counts a change which does not affect the structure, such as a changed
+     * label or metadata.
+     */
+    void contentChanged() {
+        changes++;
+    }
+
+    /**
+     * Counts a change to the structure.
+     */
+    void structureChanged() {
+        structureChanges++;
+        changes++;
+    }
+
+    /**
+     * Returns the number of changes of any kind.
+     *
+     * @return the number of changes
+     */
+    long getChanges() {
+        return changes;
+    }
+
+    /**
+     * Returns the number of changes to the structure.
+     *
+     * @return the number of structure changes
+     */
+    long getStructureChanges() {
+        return structureChanges;
+    }
+}
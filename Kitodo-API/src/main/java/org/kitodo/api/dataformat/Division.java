@@ -12,9 +12,7 @@
 package org.kitodo.api.dataformat;
 
 import java.net.URI;
-import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -31,12 +29,18 @@ import org.kitodo.api.Metadata;
  *            and a {@link PhysicalDivision}.
  */
 public abstract class Division<T extends Division<T>> {
+    /**
+     * Counts the changes to this division. It is shared by all divisions of
+     * a workpiece.
+     */
+    private ChangeCounter changeCounter = new ChangeCounter();
+
     /**
      * The children of this division, which form the structure tree.
      */
-    private List<T> children = new LinkedList<>();
+    private List<T> children = new TrackedList<>(child -> child.attachTo(changeCounter), this::structureChanged);
 
-    private List<URI> contentIds = new ArrayList<>(0);
+    private List<URI> contentIds = new TrackedList<>(contentId -> { }, this::contentChanged);
 
     /**
      * The label for this divison.
@@ -46,7 +50,7 @@ public abstract class Division<T extends Division<T>> {
     /**
      * The metadata for this division.
      */
-    private HashSet<Metadata> metadata = new HashSet<>();
+    private HashSet<Metadata> metadata = new TrackedSet<>(this::contentChanged);
 
     /**
      * Sequence number. The sequence number must be unique across all divisions.
@@ -96,12 +100,14 @@ public abstract class Division<T extends Division<T>> {
     /**
      * Creates a new division from an existing division. This is used by a
      * subclass to make a division an instance of the subclass, so the shallow
-     * copies of {@code children} and {@code metadata} are intentional.
+     * copies of {@code children} and {@code metadata} are intentional. The
+     * new division also shares the change counter of the existing division.
      *
      * @param source
      *            division that serves as data source
      */
     protected Division(Division<T> source) {
+        changeCounter = source.changeCounter;
         children = source.children;
         label = source.label;
         metadata = source.metadata;
@@ -157,6 +163,7 @@ public abstract class Division<T extends Division<T>> {
      */
     public void setLabel(String label) {
         this.label = label;
+        contentChanged();
     }
 
     /**
@@ -185,6 +192,7 @@ public abstract class Division<T extends Division<T>> {
      */
     public void setOrder(int order) {
         this.order = order;
+        structureChanged();
     }
 
     /**
@@ -204,6 +212,7 @@ public abstract class Division<T extends Division<T>> {
      */
     public void setOrderlabel(String orderlabel) {
         this.orderlabel = orderlabel;
+        contentChanged();
     }
 
     /**
@@ -223,6 +232,48 @@ public abstract class Division<T extends Division<T>> {
      */
     public void setType(String type) {
         this.type = type;
+        structureChanged();
+    }
+
+    /**
+     * Makes this division and its descendants count their changes with the
+     * given counter, which is the counter of the workpiece or the parent
+     * division the division is added to.
+     *
+     * @param changeCounter
+     *            counter to use
+     */
+    void attachTo(ChangeCounter changeCounter) {
+        if (this.changeCounter == changeCounter) {
+            return;
+        }
+        this.changeCounter = changeCounter;
+        for (T child : children) {
+            child.attachTo(changeCounter);
+        }
+    }
+
+    /**
+     * Returns the counter of the changes to this division.
+     *
+     * @return the change counter
+     */
+    ChangeCounter getChangeCounter() {
+        return changeCounter;
+    }
+
+    /**
+     * Counts a change of this division which does not affect the structure.
+     */
+    void contentChanged() {
+        changeCounter.contentChanged();
+    }
+
+    /**
+     * Counts a change of this division which affects the structure.
+     */
+    void structureChanged() {
+        changeCounter.structureChanged();
     }
 
     @Override
@@ -40,7 +40,7 @@ public class LogicalDivision extends Division<LogicalDivision> {
      * Creates a new logical division.
      */
     public LogicalDivision() {
-        views = new LinkedList<>();
+        views = new TrackedList<>(view -> view.setLogicalDivision(this), this::structureChanged);
     }
 
     /**
@@ -73,6 +73,7 @@ public class LogicalDivision extends Division<LogicalDivision> {
      */
     public void setLink(LinkedMetsResource link) {
         this.link = link;
+        contentChanged();
     }
 
     /**
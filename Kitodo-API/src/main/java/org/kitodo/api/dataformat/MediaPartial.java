@@ -24,6 +24,12 @@ public class MediaPartial {
 
     private String extent;
 
+    /**
+     * The physical division the media partial was last set to, which is
+     * informed when the media partial is changed.
+     */
+    private PhysicalDivision physicalDivision;
+
     /**
      * Constructs a media partial object.
      *
@@ -49,6 +55,7 @@ public class MediaPartial {
 
     public void setBegin(String begin) {
         this.begin = begin;
+        changed();
     }
 
     public String getBegin() {
@@ -61,6 +68,23 @@ public class MediaPartial {
 
     public void setExtent(String extent) {
         this.extent = extent;
+        changed();
+    }
+
+    /**
+     * Sets the physical division the media partial belongs to.
+     *
+     * @param physicalDivision
+     *            physical division of the media partial
+     */
+    void setPhysicalDivision(PhysicalDivision physicalDivision) {
+        this.physicalDivision = physicalDivision;
+    }
+
+    private void changed() {
+        if (Objects.nonNull(physicalDivision)) {
+            physicalDivision.contentChanged();
+        }
     }
 
     @Override
@@ -74,13 +98,12 @@ public class MediaPartial {
 
         MediaPartial mediaPartial = (MediaPartial) o;
 
-        return Objects.equals(begin, mediaPartial.begin);
+        return Objects.equals(begin, mediaPartial.begin) && Objects.equals(extent, mediaPartial.extent);
     }
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        return prime * super.hashCode() + Objects.hash(begin, extent);
+        return Objects.hash(begin, extent);
     }
 
 }
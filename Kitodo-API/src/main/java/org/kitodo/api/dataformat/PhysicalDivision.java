@@ -13,7 +13,6 @@ package org.kitodo.api.dataformat;
 
 import java.net.URI;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -51,7 +50,7 @@ public class PhysicalDivision extends Division<PhysicalDivision> {
      * Each physical division can be available in different variants, for each of which
      * a media file is available. This is in this map.
      */
-    private Map<MediaVariant, URI> mediaFiles = new HashMap<>();
+    private Map<MediaVariant, URI> mediaFiles = new TrackedMap<>(this::structureChanged);
 
     private MediaPartial mediaPartial;
 
@@ -95,6 +94,15 @@ public class PhysicalDivision extends Division<PhysicalDivision> {
         return metsDivReferrerId;
     }
 
+    /**
+     * Returns the ID of div without creating one.
+     *
+     * @return the ID of div, or {@code null} if unknown
+     */
+    String getDivIdIfKnown() {
+        return metsDivReferrerId;
+    }
+
     /**
      * Set the ID of div.
      *
@@ -125,6 +133,10 @@ public class PhysicalDivision extends Division<PhysicalDivision> {
      */
     public void setMediaPartial(MediaPartial mediaPartial) {
         this.mediaPartial = mediaPartial;
+        if (Objects.nonNull(mediaPartial)) {
+            mediaPartial.setPhysicalDivision(this);
+        }
+        contentChanged();
     }
 
     /**
@@ -180,9 +192,7 @@ public class PhysicalDivision extends Division<PhysicalDivision> {
         final int prime = 31;
         int result = super.hashCode();
         result = prime * result + ((mediaFiles == null) ? 0 : mediaFiles.hashCode());
-        result = prime * result + ((Objects.isNull(mediaPartial) || Objects.isNull(mediaPartial.getBegin()))
-                ? 0
-                : mediaPartial.getBegin().hashCode());
+        result = prime * result + Objects.hashCode(mediaPartial);
         return result;
     }
 }
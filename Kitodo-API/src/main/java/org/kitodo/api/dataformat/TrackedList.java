@@ -0,0 +1,249 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.api.dataformat;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A linked list which reports its changes. Every element added to the list is
+ * passed to a consumer, and every change of the list runs a callback. This
+ * also applies to changes through its iterators.
+ *
+ * @param <E>
+ *            type of the elements
+ */
+class TrackedList<E> extends LinkedList<E> {
+    private static final long serialVersionUID = 1L;
+
+    private final transient Consumer<? super E> added;
+    private final transient Runnable changed;
+
+    /**
+     * Creates an empty tracked list.
+     *
+     * @param added
+     *            receives every element added to the list
+     * @param changed
+     *            runs after every change of the list
+     */
+    TrackedList(Consumer<? super E> added, Runnable changed) {
+        this.added = added;
+        this.changed = changed;
+    }
+
+    private void added(E element) {
+        added.accept(element);
+        changed.run();
+    }
+
+    private void addedAll(Collection<? extends E> elements) {
+        elements.forEach(added);
+        changed.run();
+    }
+
+    @Override
+    public boolean add(E element) {
+        super.add(element);
+        added(element);
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        super.add(index, element);
+        added(element);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> elements) {
+        return addAll(size(), elements);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> elements) {
+        boolean modified = super.addAll(index, elements);
+        addedAll(elements);
+        return modified;
+    }
+
+    @Override
+    public void addFirst(E element) {
+        super.addFirst(element);
+        added(element);
+    }
+
+    @Override
+    public void addLast(E element) {
+        super.addLast(element);
+        added(element);
+    }
+
+    @Override
+    public E set(int index, E element) {
+        E previous = super.set(index, element);
+        added(element);
+        return previous;
+    }
+
+    @Override
+    public E remove(int index) {
+        E removed = super.remove(index);
+        changed.run();
+        return removed;
+    }
+
+    @Override
+    public boolean remove(Object element) {
+        boolean modified = super.remove(element);
+        if (modified) {
+            changed.run();
+        }
+        return modified;
+    }
+
+    @Override
+    public E removeFirst() {
+        E removed = super.removeFirst();
+        changed.run();
+        return removed;
+    }
+
+    @Override
+    public E removeLast() {
+        E removed = super.removeLast();
+        changed.run();
+        return removed;
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object element) {
+        boolean modified = super.removeLastOccurrence(element);
+        if (modified) {
+            changed.run();
+        }
+        return modified;
+    }
+
+    @Override
+    public E poll() {
+        E removed = super.poll();
+        if (Objects.nonNull(removed)) {
+            changed.run();
+        }
+        return removed;
+    }
+
+    @Override
+    public E pollFirst() {
+        E removed = super.pollFirst();
+        if (Objects.nonNull(removed)) {
+            changed.run();
+        }
+        return removed;
+    }
+
+    @Override
+    public E pollLast() {
+        E removed = super.pollLast();
+        if (Objects.nonNull(removed)) {
+            changed.run();
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        changed.run();
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        ListIterator<E> listIterator = super.listIterator(index);
+        return new ListIterator<>() {
+            @Override
+            public boolean hasNext() {
+                return listIterator.hasNext();
+            }
+
+            @Override
+            public E next() {
+                return listIterator.next();
+            }
+
+            @Override
+            public boolean hasPrevious() {
+                return listIterator.hasPrevious();
+            }
+
+            @Override
+            public E previous() {
+                return listIterator.previous();
+            }
+
+            @Override
+            public int nextIndex() {
+                return listIterator.nextIndex();
+            }
+
+            @Override
+            public int previousIndex() {
+                return listIterator.previousIndex();
+            }
+
+            @Override
+            public void remove() {
+                listIterator.remove();
+                changed.run();
+            }
+
+            @Override
+            public void set(E element) {
+                listIterator.set(element);
+                added(element);
+            }
+
+            @Override
+            public void add(E element) {
+                listIterator.add(element);
+                added(element);
+            }
+        };
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        Iterator<E> iterator = super.descendingIterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public E next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                changed.run();
+            }
+        };
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.api.dataformat;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A hash map which reports its changes by running a callback. This also
+ * applies to changes through its key, value and entry views.
+ *
+ * @param <K>
+ *            type of the keys
+ * @param <V>
+ *            type of the values
+ */
+class TrackedMap<K, V> extends AbstractMap<K, V> {
+    private final Map<K, V> map = new HashMap<>();
+    private final Runnable changed;
+
+    /**
+     * Creates an empty tracked map.
+     *
+     * @param changed
+     *            runs after every change of the map
+     */
+    TrackedMap(Runnable changed) {
+        this.changed = changed;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public V get(Object key) {
+        return map.get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        V previous = map.put(key, value);
+        changed.run();
+        return previous;
+    }
+
+    @Override
+    public V remove(Object key) {
+        boolean contained = map.containsKey(key);
+        V removed = map.remove(key);
+        if (contained) {
+            changed.run();
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        if (!map.isEmpty()) {
+            map.clear();
+            changed.run();
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return map.size();
+            }
+
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                Iterator<Entry<K, V>> iterator = map.entrySet().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<K, V> next() {
+                        Entry<K, V> entry = iterator.next();
+                        return new SimpleEntry<>(entry) {
+                            private static final long serialVersionUID = 1L;
+
+                            @Override
+                            public V setValue(V value) {
+                                super.setValue(value);
+                                V previous = entry.setValue(value);
+                                if (!Objects.equals(previous, value)) {
+                                    changed.run();
+                                }
+                                return previous;
+                            }
+                        };
+                    }
+
+                    @Override
+                    public void remove() {
+                        iterator.remove();
+                        changed.run();
+                    }
+                };
+            }
+        };
+    }
+}
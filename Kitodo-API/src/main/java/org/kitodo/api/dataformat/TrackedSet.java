@@ -0,0 +1,86 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.api.dataformat;
+
+import java.util.HashSet;
+import java.util.Iterator;
+
+/**
+ * A hash set which reports its changes by running a callback. This also
+ * applies to removals through its iterator.
+ *
+ * @param <E>
+ *            type of the elements
+ */
+class TrackedSet<E> extends HashSet<E> {
+    private static final long serialVersionUID = 1L;
+
+    private final transient Runnable changed;
+
+    /**
+     * Creates an empty tracked set.
+     *
+     * @param changed
+     *            runs after every change of the set
+     */
+    TrackedSet(Runnable changed) {
+        this.changed = changed;
+    }
+
+    @Override
+    public boolean add(E element) {
+        boolean modified = super.add(element);
+        if (modified) {
+            changed.run();
+        }
+        return modified;
+    }
+
+    @Override
+    public boolean remove(Object element) {
+        boolean modified = super.remove(element);
+        if (modified) {
+            changed.run();
+        }
+        return modified;
+    }
+
+    @Override
+    public void clear() {
+        if (!isEmpty()) {
+            super.clear();
+            changed.run();
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        Iterator<E> iterator = super.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public E next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                changed.run();
+            }
+        };
+    }
+}
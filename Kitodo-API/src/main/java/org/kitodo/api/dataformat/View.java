@@ -39,6 +39,12 @@ public class View {
      */
     private PhysicalDivision physicalDivision;
 
+    /**
+     * The logical division whose list of views the view was last added to,
+     * which is informed when the view is changed.
+     */
+    private LogicalDivision logicalDivision;
+
     /**
      * Returns the physical division in the view.
      *
@@ -56,6 +62,19 @@ public class View {
      */
     public void setPhysicalDivision(PhysicalDivision physicalDivision) {
         this.physicalDivision = physicalDivision;
+        if (Objects.nonNull(logicalDivision)) {
+            logicalDivision.structureChanged();
+        }
+    }
+
+    /**
+     * Sets the logical division whose list of views the view was added to.
+     *
+     * @param logicalDivision
+     *            logical division containing the view
+     */
+    void setLogicalDivision(LogicalDivision logicalDivision) {
+        this.logicalDivision = logicalDivision;
     }
 
     @Override
@@ -11,20 +11,30 @@
 
 package org.kitodo.api.dataformat;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Comparator;
 import java.util.GregorianCalendar;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.kitodo.api.Metadata;
+import org.kitodo.api.MetadataEntry;
+import org.kitodo.api.MetadataGroup;
+import org.kitodo.api.dataformat.mets.LinkedMetsResource;
+
 /**
  * The administrative structure of the product of an element that passes through
  * a Production workflow.
  */
 public class Workpiece {
+    /**
+     * Counts the changes to the workpiece and its divisions.
+     */
+    private final ChangeCounter changeCounter = new ChangeCounter();
+
     /**
      * The time this file was first created.
      */
@@ -33,7 +43,8 @@ public class Workpiece {
     /**
      * The processing history.
      */
-    private final List<ProcessingNote> editHistory = new ArrayList<>();
+    private final List<ProcessingNote> editHistory = new TrackedList<>(processingNote -> { },
+            changeCounter::contentChanged);
 
     /**
      * The identifier of the workpiece.
@@ -51,6 +62,19 @@ public class Workpiece {
      */
     private LogicalDivision logicalStructure = new LogicalDivision();
 
+    /**
+     * The index over the structures, built on demand.
+     */
+    private WorkpieceIndex index;
+
+    /**
+     * Creates a new workpiece.
+     */
+    public Workpiece() {
+        physicalStructure.attachTo(changeCounter);
+        logicalStructure.attachTo(changeCounter);
+    }
+
     /**
      * Returns the creation date of the workpiece.
      *
@@ -68,6 +92,7 @@ public class Workpiece {
      */
     public void setCreationDate(GregorianCalendar creationDate) {
         this.creationDate = creationDate;
+        changeCounter.contentChanged();
     }
 
     /**
@@ -96,6 +121,7 @@ public class Workpiece {
      */
     public void setId(String id) {
         this.id = id;
+        changeCounter.contentChanged();
     }
 
     /**
@@ -124,6 +150,10 @@ public class Workpiece {
      */
     public void setPhysicalStructure(PhysicalDivision physicalStructure) {
         this.physicalStructure = physicalStructure;
+        if (Objects.nonNull(physicalStructure)) {
+            physicalStructure.attachTo(changeCounter);
+        }
+        changeCounter.structureChanged();
     }
 
     /**
@@ -134,6 +164,19 @@ public class Workpiece {
      */
     public void setLogicalStructure(LogicalDivision logicalStructure) {
         this.logicalStructure = logicalStructure;
+        if (Objects.nonNull(logicalStructure)) {
+            logicalStructure.attachTo(changeCounter);
+        }
+        changeCounter.structureChanged();
+    }
+
+    /**
+     * Returns the counter of the changes to the workpiece and its divisions.
+     *
+     * @return the change counter
+     */
+    ChangeCounter getChangeCounter() {
+        return changeCounter;
     }
 
     @Override
@@ -165,6 +208,131 @@ public class Workpiece {
                 && Objects.equals(logicalStructure, workpiece.logicalStructure);
     }
 
+    /**
+     * Returns a deep copy of the workpiece. The copy has its own divisions,
+     * views, metadata and processing notes, so that it is not affected by
+     * changes to the workpiece, and vice versa. Views and the logical divisions
+     * listed on physical divisions refer to the divisions of the copy. Media
+     * variants and URIs are shared, as they are not modified. The copy equals
+     * the workpiece, but its divisions are plain logical and physical
+     * divisions.
+     *
+     * @return a deep copy of the workpiece
+     */
+    public Workpiece deepCopy() {
+        Workpiece copy = new Workpiece();
+        copy.creationDate = Objects.nonNull(creationDate) ? (GregorianCalendar) creationDate.clone() : null;
+        for (ProcessingNote processingNote : editHistory) {
+            copy.editHistory.add(copyOf(processingNote));
+        }
+        copy.id = id;
+        Map<PhysicalDivision, PhysicalDivision> physicalDivisions = new IdentityHashMap<>();
+        Map<LogicalDivision, LogicalDivision> logicalDivisions = new IdentityHashMap<>();
+        copy.setPhysicalStructure(copyOf(physicalStructure, physicalDivisions));
+        copy.setLogicalStructure(copyOf(logicalStructure, logicalDivisions, physicalDivisions));
+        for (Entry<PhysicalDivision, PhysicalDivision> entry : physicalDivisions.entrySet()) {
+            for (LogicalDivision logicalDivision : entry.getKey().getLogicalDivisions()) {
+                LogicalDivision logicalDivisionCopy = logicalDivisions.get(logicalDivision);
+                if (Objects.nonNull(logicalDivisionCopy)) {
+                    entry.getValue().getLogicalDivisions().add(logicalDivisionCopy);
+                }
+            }
+        }
+        return copy;
+    }
+
+    private static PhysicalDivision copyOf(PhysicalDivision physicalDivision,
+            Map<PhysicalDivision, PhysicalDivision> copies) {
+        if (Objects.isNull(physicalDivision)) {
+            return null;
+        }
+        PhysicalDivision copy = copies.get(physicalDivision);
+        if (Objects.nonNull(copy)) {
+            return copy;
+        }
+        copy = new PhysicalDivision();
+        copies.put(physicalDivision, copy);
+        copyDivision(physicalDivision, copy);
+        copy.getMediaFiles().putAll(physicalDivision.getMediaFiles());
+        MediaPartial mediaPartial = physicalDivision.getMediaPartial();
+        if (Objects.nonNull(mediaPartial)) {
+            copy.setMediaPartial(new MediaPartial(mediaPartial.getBegin(), mediaPartial.getExtent()));
+        }
+        copy.setDivId(physicalDivision.getDivIdIfKnown());
+        for (PhysicalDivision child : physicalDivision.getChildren()) {
+            copy.getChildren().add(copyOf(child, copies));
+        }
+        return copy;
+    }
+
+    private static LogicalDivision copyOf(LogicalDivision logicalDivision,
+            Map<LogicalDivision, LogicalDivision> copies, Map<PhysicalDivision, PhysicalDivision> physicalDivisions) {
+        if (Objects.isNull(logicalDivision)) {
+            return null;
+        }
+        LogicalDivision copy = new LogicalDivision();
+        copies.put(logicalDivision, copy);
+        copyDivision(logicalDivision, copy);
+        LinkedMetsResource link = logicalDivision.getLink();
+        if (Objects.nonNull(link)) {
+            LinkedMetsResource linkCopy = new LinkedMetsResource();
+            linkCopy.setLoctype(link.getLoctype());
+            linkCopy.setUri(link.getUri());
+            copy.setLink(linkCopy);
+        }
+        for (View view : logicalDivision.getViews()) {
+            copy.getViews().add(View.of(copyOf(view.getPhysicalDivision(), physicalDivisions)));
+        }
+        for (LogicalDivision child : logicalDivision.getChildren()) {
+            copy.getChildren().add(copyOf(child, copies, physicalDivisions));
+        }
+        return copy;
+    }
+
+    private static void copyDivision(Division<?> division, Division<?> copy) {
+        copy.getContentIds().addAll(division.getContentIds());
+        copy.setLabel(division.getLabel());
+        copy.getMetadata().addAll(copyOf(division.getMetadata()));
+        copy.setOrder(division.getOrder());
+        copy.setOrderlabel(division.getOrderlabel());
+        copy.setType(division.getType());
+    }
+
+    private static HashSet<Metadata> copyOf(HashSet<Metadata> metadata) {
+        HashSet<Metadata> copy = new HashSet<>((int) (metadata.size() / .75f) + 1);
+        for (Metadata metadatum : metadata) {
+            copy.add(copyOf(metadatum));
+        }
+        return copy;
+    }
+
+    private static Metadata copyOf(Metadata metadata) {
+        Metadata copy;
+        if (metadata instanceof MetadataGroup) {
+            MetadataGroup metadataGroup = new MetadataGroup();
+            metadataGroup.setMetadata(copyOf(((MetadataGroup) metadata).getMetadata()));
+            copy = metadataGroup;
+        } else if (metadata instanceof MetadataEntry) {
+            MetadataEntry metadataEntry = new MetadataEntry();
+            metadataEntry.setValue(((MetadataEntry) metadata).getValue());
+            copy = metadataEntry;
+        } else {
+            copy = new Metadata();
+        }
+        copy.setDomain(metadata.getDomain());
+        copy.setKey(metadata.getKey());
+        return copy;
+    }
+
+    private static ProcessingNote copyOf(ProcessingNote processingNote) {
+        ProcessingNote copy = new ProcessingNote();
+        copy.setName(processingNote.getName());
+        copy.setNote(processingNote.getNote());
+        copy.setRole(processingNote.getRole());
+        copy.setType(processingNote.getType());
+        return copy;
+    }
+
     /**
      * Returns all logical divisions of the logical structure of the
      * workpiece as a flat list. The list isn’t backed by the included
@@ -175,7 +343,7 @@ public class Workpiece {
      * @return all logical divisions as an unmodifiable list
      */
     public List<LogicalDivision> getAllLogicalDivisions() {
-        return treeStream(logicalStructure).collect(Collectors.toUnmodifiableList());
+        return getIndex().getAllLogicalDivisions();
     }
 
     /**
@@ -188,8 +356,7 @@ public class Workpiece {
      * @return all physical divisions with type "page" or "track", sorted by their {@code order}
      */
     public List<PhysicalDivision> getAllPhysicalDivisionChildrenSortedFilteredByPageAndTrack() {
-        return getAllPhysicalDivisionChildrenFilteredByTypes(
-                Arrays.asList(PhysicalDivision.TYPE_PAGE, PhysicalDivision.TYPE_TRACK));
+        return getIndex().getPagesAndTracks();
     }
 
     /**
@@ -200,10 +367,7 @@ public class Workpiece {
      * @return child physical division of given types
      */
     public List<PhysicalDivision> getAllPhysicalDivisionChildrenFilteredByTypes(List<String> types) {
-        return physicalStructure.getChildren().stream()
-                .flatMap(Workpiece::treeStream)
-                .filter(physicalDivisionToCheck -> types.contains(physicalDivisionToCheck.getType()))
-                .sorted(Comparator.comparing(PhysicalDivision::getOrder)).collect(Collectors.toUnmodifiableList());
+        return getIndex().getPhysicalDivisionChildren(types);
     }
 
     /**
@@ -213,9 +377,7 @@ public class Workpiece {
      * @return the total number of physical divisions with given types.
      */
     public int getNumberOfAllPhysicalDivisionChildrenFilteredByTypes(List<String> types) {
-        return Math.toIntExact(physicalStructure.getChildren().stream()
-                .flatMap(Workpiece::treeStream)
-                .filter(physicalDivisionToCheck -> types.contains(physicalDivisionToCheck.getType())).count());
+        return getIndex().getNumberOfPhysicalDivisionChildren(types);
     }
 
     /**
@@ -227,7 +389,25 @@ public class Workpiece {
      * @return all physical divisions as an unmodifiable list
      */
     public List<PhysicalDivision> getAllPhysicalDivisions() {
-        return treeStream(physicalStructure).collect(Collectors.toUnmodifiableList());
+        return getIndex().getAllPhysicalDivisions();
+    }
+
+    /**
+     * Returns the index over the structures of the workpiece. The index is
+     * built when it is first requested and then kept as long as the
+     * structures are not changed. After a change, the next request builds a
+     * new index, so a series of changes costs only one rebuild.
+     *
+     * @return the index
+     */
+    public WorkpieceIndex getIndex() {
+        WorkpieceIndex currentIndex = index;
+        if (Objects.isNull(currentIndex)
+                || currentIndex.getStructureChanges() != changeCounter.getStructureChanges()) {
+            currentIndex = new WorkpieceIndex(this);
+            index = currentIndex;
+        }
+        return currentIndex;
     }
 
     /**
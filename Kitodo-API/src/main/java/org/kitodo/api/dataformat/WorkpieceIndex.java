@@ -0,0 +1,272 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.api.dataformat;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * An index over the structures of a workpiece, for quick lookups in large
+ * workpieces. The index is built from the workpiece in one pass and is not
+ * modified afterwards. {@link Workpiece#getIndex()} keeps the index as long as
+ * the structures of the workpiece, that are the divisions, their order and
+ * type, their media files and the views, are not changed. Metadata and labels
+ * are not indexed.
+ */
+public final class WorkpieceIndex {
+    private final long structureChanges;
+    private final List<PhysicalDivision> physicalDivisions;
+    private final List<PhysicalDivision> physicalDivisionChildren;
+    private final List<PhysicalDivision> pagesAndTracks;
+    private final Map<PhysicalDivision, PhysicalDivision> physicalParents;
+    private final Map<Integer, PhysicalDivision> pagesAndTracksByOrder;
+    private final Map<URI, PhysicalDivision> physicalDivisionsByMediaUri;
+    private final Map<String, Integer> numbersOfPhysicalDivisionChildrenByType;
+    private final List<LogicalDivision> logicalDivisions;
+    private final Map<LogicalDivision, LogicalDivision> logicalParents;
+    private final Map<PhysicalDivision, List<LogicalDivision>> viewingLogicalDivisions;
+
+    /**
+     * Builds the index of a workpiece.
+     *
+     * @param workpiece
+     *            workpiece to index
+     */
+    WorkpieceIndex(Workpiece workpiece) {
+        this.structureChanges = workpiece.getChangeCounter().getStructureChanges();
+        List<PhysicalDivision> allPhysicalDivisions = new ArrayList<>();
+        Map<PhysicalDivision, PhysicalDivision> physicalParents = new IdentityHashMap<>();
+        collect(workpiece.getPhysicalStructure(), allPhysicalDivisions, physicalParents);
+        List<PhysicalDivision> children = new ArrayList<>(allPhysicalDivisions.subList(
+            Math.min(1, allPhysicalDivisions.size()), allPhysicalDivisions.size()));
+        children.sort(Comparator.comparingInt(PhysicalDivision::getOrder));
+        List<PhysicalDivision> pagesAndTracks = new ArrayList<>(children.size());
+        Map<Integer, PhysicalDivision> pagesAndTracksByOrder = new HashMap<>();
+        Map<String, Integer> numbersByType = new HashMap<>();
+        for (PhysicalDivision child : children) {
+            numbersByType.merge(child.getType(), 1, Integer::sum);
+            if (PhysicalDivision.TYPE_PAGE.equals(child.getType())
+                    || PhysicalDivision.TYPE_TRACK.equals(child.getType())) {
+                pagesAndTracks.add(child);
+                pagesAndTracksByOrder.putIfAbsent(child.getOrder(), child);
+            }
+        }
+        Map<URI, PhysicalDivision> physicalDivisionsByMediaUri = new HashMap<>();
+        for (PhysicalDivision physicalDivision : allPhysicalDivisions) {
+            for (URI uri : physicalDivision.getMediaFiles().values()) {
+                physicalDivisionsByMediaUri.putIfAbsent(uri, physicalDivision);
+            }
+        }
+
+        List<LogicalDivision> allLogicalDivisions = new ArrayList<>();
+        Map<LogicalDivision, LogicalDivision> logicalParents = new IdentityHashMap<>();
+        collect(workpiece.getLogicalStructure(), allLogicalDivisions, logicalParents);
+        Map<PhysicalDivision, List<LogicalDivision>> viewingLogicalDivisions = new IdentityHashMap<>();
+        for (LogicalDivision logicalDivision : allLogicalDivisions) {
+            for (View view : logicalDivision.getViews()) {
+                List<LogicalDivision> viewing = viewingLogicalDivisions.computeIfAbsent(view.getPhysicalDivision(),
+                    physicalDivision -> new ArrayList<>(1));
+                if (viewing.isEmpty() || viewing.get(viewing.size() - 1) != logicalDivision) {
+                    viewing.add(logicalDivision);
+                }
+            }
+        }
+
+        this.physicalDivisions = Collections.unmodifiableList(allPhysicalDivisions);
+        this.physicalDivisionChildren = children;
+        this.pagesAndTracks = Collections.unmodifiableList(pagesAndTracks);
+        this.physicalParents = physicalParents;
+        this.pagesAndTracksByOrder = pagesAndTracksByOrder;
+        this.physicalDivisionsByMediaUri = physicalDivisionsByMediaUri;
+        this.numbersOfPhysicalDivisionChildrenByType = numbersByType;
+        this.logicalDivisions = Collections.unmodifiableList(allLogicalDivisions);
+        this.logicalParents = logicalParents;
+        this.viewingLogicalDivisions = viewingLogicalDivisions;
+    }
+
+    /**
+     * Adds all divisions of a tree to a list in depth-first pre-order, which is
+     * the order of {@link Workpiece#treeStream(Division)}, and records their
+     * parents.
+     */
+    private static <T extends Division<T>> void collect(T root, List<T> divisions, Map<T, T> parents) {
+        if (Objects.isNull(root)) {
+            return;
+        }
+        Deque<T> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            T division = stack.pop();
+            divisions.add(division);
+            List<T> children = division.getChildren();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                T child = children.get(i);
+                parents.putIfAbsent(child, division);
+                stack.push(child);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of changes to the structures of the workpiece when
+     * the index was built.
+     *
+     * @return the number of structure changes
+     */
+    long getStructureChanges() {
+        return structureChanges;
+    }
+
+    /**
+     * Returns all physical divisions, including the root, in tree order.
+     *
+     * @return all physical divisions as an unmodifiable list
+     */
+    public List<PhysicalDivision> getAllPhysicalDivisions() {
+        return physicalDivisions;
+    }
+
+    /**
+     * Returns all physical divisions of type "page" or "track", sorted by
+     * their {@code order}.
+     *
+     * @return the pages and tracks as an unmodifiable list
+     */
+    public List<PhysicalDivision> getPagesAndTracks() {
+        return pagesAndTracks;
+    }
+
+    /**
+     * Returns the physical divisions, not counting the root, with any of the
+     * given types, sorted by their {@code order}.
+     *
+     * @param types
+     *            types to filter by
+     * @return the physical divisions as an unmodifiable list
+     */
+    public List<PhysicalDivision> getPhysicalDivisionChildren(List<String> types) {
+        return physicalDivisionChildren.stream().filter(physicalDivision -> types.contains(physicalDivision.getType()))
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Returns the number of physical divisions, not counting the root, with
+     * any of the given types.
+     *
+     * @param types
+     *            types to count
+     * @return the number of physical divisions
+     */
+    public int getNumberOfPhysicalDivisionChildren(List<String> types) {
+        int number = 0;
+        for (String type : types) {
+            number += numbersOfPhysicalDivisionChildrenByType.getOrDefault(type, 0);
+        }
+        return number;
+    }
+
+    /**
+     * Returns the page or track with the given {@code order}. If there are
+     * several, the first one in tree order is returned.
+     *
+     * @param order
+     *            order of the page or track
+     * @return the page or track, or {@code null} if there is none
+     */
+    public PhysicalDivision getPageOrTrack(int order) {
+        return pagesAndTracksByOrder.get(order);
+    }
+
+    /**
+     * Returns the physical division with the given media file. If several
+     * physical divisions reference the file, the first one in tree order is
+     * returned.
+     *
+     * @param mediaFile
+     *            URI of the media file
+     * @return the physical division, or {@code null} if there is none
+     */
+    public PhysicalDivision getPhysicalDivision(URI mediaFile) {
+        return physicalDivisionsByMediaUri.get(mediaFile);
+    }
+
+    /**
+     * Returns whether the physical division is part of the physical structure
+     * of the workpiece. The division itself is searched for, not an equal one.
+     *
+     * @param physicalDivision
+     *            physical division to look for
+     * @return whether the physical division is part of the physical structure
+     */
+    public boolean contains(PhysicalDivision physicalDivision) {
+        return physicalParents.containsKey(physicalDivision)
+                || (!physicalDivisions.isEmpty() && physicalDivisions.get(0) == physicalDivision);
+    }
+
+    /**
+     * Returns the parent of a physical division.
+     *
+     * @param physicalDivision
+     *            physical division whose parent to return
+     * @return the parent, or {@code null} for the root or divisions which are
+     *         not part of the physical structure
+     */
+    public PhysicalDivision getParent(PhysicalDivision physicalDivision) {
+        return physicalParents.get(physicalDivision);
+    }
+
+    /**
+     * Returns all logical divisions, including the root, in tree order.
+     *
+     * @return all logical divisions as an unmodifiable list
+     */
+    public List<LogicalDivision> getAllLogicalDivisions() {
+        return logicalDivisions;
+    }
+
+    /**
+     * Returns the parent of a logical division.
+     *
+     * @param logicalDivision
+     *            logical division whose parent to return
+     * @return the parent, or {@code null} for the root or divisions which are
+     *         not part of the logical structure
+     */
+    public LogicalDivision getParent(LogicalDivision logicalDivision) {
+        return logicalParents.get(logicalDivision);
+    }
+
+    /**
+     * Returns the logical divisions showing a physical division in one of
+     * their views, in tree order. Unlike
+     * {@link PhysicalDivision#getLogicalDivisions()}, this is determined from
+     * the views of the logical structure.
+     *
+     * @param physicalDivision
+     *            physical division whose logical divisions to return
+     * @return the logical divisions as an unmodifiable list
+     */
+    public List<LogicalDivision> getLogicalDivisions(PhysicalDivision physicalDivision) {
+        List<LogicalDivision> viewing = viewingLogicalDivisions.get(physicalDivision);
+        return Objects.nonNull(viewing) ? Collections.unmodifiableList(viewing) : Collections.emptyList();
+    }
+}
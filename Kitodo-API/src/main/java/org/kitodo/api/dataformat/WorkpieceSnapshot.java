@@ -0,0 +1,76 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.api.dataformat;
+
+/**
+ * The state of a workpiece at a point in time, for example when it was loaded
+ * or saved, to find out whether the workpiece has been changed since.
+ *
+ * <p>The snapshot keeps a deep copy of the workpiece and the number of changes
+ * counted for the workpiece. As long as no change has been counted, the
+ * workpiece is unchanged without comparing it. Otherwise it is compared to the
+ * copy, because a change may have been undone, or a division may have been
+ * filled again with equal metadata. Changes to metadata objects that are
+ * already part of a division are not counted, they must be replaced instead.
+ */
+public class WorkpieceSnapshot {
+    /**
+     * The state of the workpiece.
+     */
+    private final Workpiece copy;
+
+    /**
+     * The change counter of the workpiece when it was last found to be equal
+     * to the copy.
+     */
+    private ChangeCounter changeCounter;
+
+    /**
+     * The number of changes of the workpiece when it was last found to be
+     * equal to the copy.
+     */
+    private long changes;
+
+    /**
+     * Takes a snapshot of a workpiece.
+     *
+     * @param workpiece
+     *            workpiece whose current state is to be kept
+     */
+    public WorkpieceSnapshot(Workpiece workpiece) {
+        this.copy = workpiece.deepCopy();
+        remember(workpiece);
+    }
+
+    /**
+     * Returns whether the workpiece differs from the state in the snapshot.
+     *
+     * @param workpiece
+     *            workpiece to check
+     * @return whether the workpiece has been changed
+     */
+    public boolean isChanged(Workpiece workpiece) {
+        if (workpiece.getChangeCounter() == changeCounter && workpiece.getChangeCounter().getChanges() == changes) {
+            return false;
+        }
+        if (!copy.equals(workpiece)) {
+            return true;
+        }
+        remember(workpiece);
+        return false;
+    }
+
+    private void remember(Workpiece workpiece) {
+        changeCounter = workpiece.getChangeCounter();
+        changes = changeCounter.getChanges();
+    }
+}
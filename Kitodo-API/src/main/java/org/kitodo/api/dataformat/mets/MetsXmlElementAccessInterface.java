@@ -16,6 +16,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 
 import org.kitodo.api.dataformat.Workpiece;
+import org.xml.sax.ContentHandler;
 
 /**
  * Interface for a service that handles access to the {@code <mets:mets>}
@@ -63,4 +64,18 @@ public interface MetsXmlElementAccessInterface {
      *             if the writing fails
      */
     void save(Workpiece workpiece, OutputStream out) throws IOException;
+
+    /**
+     * Writes the workpiece as METS XML to a SAX content handler. This allows
+     * passing the METS XML on, for example to a transformation, without
+     * serializing it first.
+     *
+     * @param workpiece
+     *            workpiece to save
+     * @param contentHandler
+     *            content handler receiving the METS XML
+     * @throws IOException
+     *             if the writing fails
+     */
+    void save(Workpiece workpiece, ContentHandler contentHandler) throws IOException;
 }
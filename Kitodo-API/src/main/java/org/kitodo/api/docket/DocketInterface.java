@@ -13,6 +13,7 @@ package org.kitodo.api.docket;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.util.Collection;
 
@@ -40,6 +41,33 @@ public interface DocketInterface {
      */
     File generateMultipleDockets(Collection<DocketData> docketData, URI xslFileUri) throws IOException;
 
+    /**
+     * Generates a docket from given data and writes it to an output stream
+     * while it is rendered.
+     *
+     * @param docketData
+     *            - the data shown in the docket
+     * @param xslFileUri
+     *            - the uri to the schema xsl file
+     * @param outputStream
+     *            - the output stream to write the docket to
+     */
+    void generateDocket(DocketData docketData, URI xslFileUri, OutputStream outputStream) throws IOException;
+
+    /**
+     * Generates multiple dockets and writes them to an output stream while
+     * they are rendered.
+     *
+     * @param docketData
+     *            - a List data shown in the dockets
+     * @param xslFileUri
+     *            - the uri to the schema xsl file
+     * @param outputStream
+     *            - the output stream to write the dockets to
+     */
+    void generateMultipleDockets(Collection<DocketData> docketData, URI xslFileUri, OutputStream outputStream)
+            throws IOException;
+
     /**
      * Save XML log, which is used as input for docket XSLT transformation.
      *
@@ -0,0 +1,135 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.api.imagemanagement;
+
+import java.net.URI;
+import java.util.Objects;
+
+/**
+ * Defines one derivative to be created from a source image. The derivative is
+ * either scaled by a factor, resampled to a resolution, or resized to a width.
+ */
+public class DerivativeDefinition {
+
+    private final URI resultFileUri;
+    private final ImageFileFormat resultFileFormat;
+    private final Double percent;
+    private final Integer dpi;
+    private final Integer pixelWidth;
+
+    private DerivativeDefinition(URI resultFileUri, ImageFileFormat resultFileFormat, Double percent, Integer dpi,
+            Integer pixelWidth) {
+        this.resultFileUri = Objects.requireNonNull(resultFileUri, "resultFileUri must not be null");
+        this.resultFileFormat = Objects.requireNonNull(resultFileFormat, "resultFileFormat must not be null");
+        this.percent = percent;
+        this.dpi = dpi;
+        this.pixelWidth = pixelWidth;
+    }
+
+    /**
+     * Defines a derivative scaled by a factor.
+     *
+     * @param resultFileUri
+     *            the URI to save the derivative to
+     * @param resultFileFormat
+     *            the format for the derivative
+     * @param percent
+     *            the percentage of scaling for the derivative
+     * @return the definition
+     */
+    public static DerivativeDefinition scaled(URI resultFileUri, ImageFileFormat resultFileFormat, double percent) {
+        return new DerivativeDefinition(resultFileUri, resultFileFormat, percent, null, null);
+    }
+
+    /**
+     * Defines a derivative with a changed resolution.
+     *
+     * @param resultFileUri
+     *            the URI to save the derivative to
+     * @param resultFileFormat
+     *            the format for the derivative
+     * @param dpi
+     *            the new DPI
+     * @return the definition
+     */
+    public static DerivativeDefinition withDpi(URI resultFileUri, ImageFileFormat resultFileFormat, int dpi) {
+        return new DerivativeDefinition(resultFileUri, resultFileFormat, null, dpi, null);
+    }
+
+    /**
+     * Defines a derivative with a changed width.
+     *
+     * @param resultFileUri
+     *            the URI to save the derivative to
+     * @param resultFileFormat
+     *            the format for the derivative
+     * @param pixelWidth
+     *            the new width in pixels
+     * @return the definition
+     */
+    public static DerivativeDefinition withWidth(URI resultFileUri, ImageFileFormat resultFileFormat,
+            int pixelWidth) {
+        return new DerivativeDefinition(resultFileUri, resultFileFormat, null, null, pixelWidth);
+    }
+
+    /**
+     * Returns the URI to save the derivative to.
+     *
+     * @return the URI of the derivative
+     */
+    public URI getResultFileUri() {
+        return resultFileUri;
+    }
+
+    /**
+     * Returns the format for the derivative.
+     *
+     * @return the format of the derivative
+     */
+    public ImageFileFormat getResultFileFormat() {
+        return resultFileFormat;
+    }
+
+    /**
+     * Returns the percentage of scaling, if the derivative is scaled.
+     *
+     * @return the percentage of scaling, or null
+     */
+    public Double getPercent() {
+        return percent;
+    }
+
+    /**
+     * Returns the new DPI, if the resolution of the derivative is changed.
+     *
+     * @return the DPI, or null
+     */
+    public Integer getDpi() {
+        return dpi;
+    }
+
+    /**
+     * Returns the new width, if the derivative is resized to a width.
+     *
+     * @return the width in pixels, or null
+     */
+    public Integer getPixelWidth() {
+        return pixelWidth;
+    }
+
+    @Override
+    public String toString() {
+        return resultFileUri + " (" + resultFileFormat + ", "
+                + (Objects.nonNull(percent) ? 100 * percent + "%"
+                        : Objects.nonNull(dpi) ? dpi + " DPI" : pixelWidth + " px") + ")";
+    }
+}
@@ -14,6 +14,7 @@ package org.kitodo.api.imagemanagement;
 import java.awt.Image;
 import java.io.IOException;
 import java.net.URI;
+import java.util.Collection;
 
 public interface ImageManagementInterface {
 
@@ -50,6 +51,21 @@ public interface ImageManagementInterface {
     boolean createDerivative(URI imageFileUri, double percent, URI resultFileUri, ImageFileFormat resultFileFormat)
             throws IOException;
 
+    /**
+     * Creates several derivatives of an image at a given path. The image is
+     * read and decoded only once for all derivatives.
+     *
+     * @param imageFileUri
+     *            the URI to the image
+     * @param derivatives
+     *            the derivatives to create
+     * @return true, if all derivatives were created, false otherwise
+     * @throws IOException
+     *             if the plug-in is configured incorrectly, the image is
+     *             missing or corrupted, etc.
+     */
+    boolean createDerivatives(URI imageFileUri, Collection<DerivativeDefinition> derivatives) throws IOException;
+
     /**
      * Changes the size (in pixel) of the image.
      *
@@ -92,6 +92,19 @@ public class JAXBContextCache {
         return unmarshalledFile;
     }
 
+    /**
+     * Discards the cached unmarshalled objects of a class. They are read again
+     * from their files when they are requested next, even if a file was
+     * replaced without changing its modification time.
+     *
+     * @param clazz
+     *            The class of the objects to discard.
+     */
+    public static void clearUnmarshalled(final Class<?> clazz) {
+        contextDescriptorObjectCache.keySet()
+                .removeIf(contextDescriptor -> contextDescriptor.clazz.equals(clazz.toString()));
+    }
+
     /**
      * Get the JAXBContext by class from cache.
      *
@@ -0,0 +1,172 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.api.dataformat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.Test;
+import org.kitodo.api.Metadata;
+import org.kitodo.api.MetadataEntry;
+import org.kitodo.api.MetadataGroup;
+
+public class WorkpieceTest {
+
+    /**
+     * Tests the method {@code Workpiece.deepCopy()}.
+     */
+    @Test
+    public void deepCopyTest() {
+        Workpiece workpiece = createWorkpiece();
+
+        Workpiece copy = workpiece.deepCopy();
+
+        assertEquals(workpiece, copy);
+        LogicalDivision chapter = copy.getLogicalStructure().getChildren().get(0);
+        PhysicalDivision page = copy.getPhysicalStructure().getChildren().get(0);
+        assertNotSame(workpiece.getLogicalStructure().getChildren().get(0), chapter);
+        assertNotSame(workpiece.getPhysicalStructure().getChildren().get(0), page);
+        assertSame(page, chapter.getViews().getFirst().getPhysicalDivision());
+        assertSame(chapter, page.getLogicalDivisions().get(0));
+
+        MetadataGroup author = (MetadataGroup) chapter.getMetadata().iterator().next();
+        ((MetadataEntry) author.getMetadata().iterator().next()).setValue("Changed");
+        page.setOrderlabel("II");
+        assertNotEquals(workpiece, copy);
+        assertEquals("Name", ((MetadataEntry) ((MetadataGroup) workpiece.getLogicalStructure().getChildren().get(0)
+                .getMetadata().iterator().next()).getMetadata().iterator().next()).getValue());
+        assertEquals("I", workpiece.getPhysicalStructure().getChildren().get(0).getOrderlabel());
+    }
+
+    /**
+     * Tests that a workpiece snapshot recognizes changes.
+     */
+    @Test
+    public void snapshotTest() {
+        Workpiece workpiece = createWorkpiece();
+        WorkpieceSnapshot snapshot = new WorkpieceSnapshot(workpiece);
+        assertFalse(snapshot.isChanged(workpiece));
+
+        PhysicalDivision page = workpiece.getPhysicalStructure().getChildren().get(0);
+        page.setOrderlabel("II");
+        assertTrue(snapshot.isChanged(workpiece));
+
+        page.setOrderlabel("I");
+        assertFalse(snapshot.isChanged(workpiece));
+
+        LogicalDivision chapter = workpiece.getLogicalStructure().getChildren().get(0);
+        HashSet<Metadata> metadata = new HashSet<>(chapter.getMetadata());
+        chapter.getMetadata().clear();
+        chapter.getMetadata().addAll(metadata);
+        assertFalse(snapshot.isChanged(workpiece));
+
+        MediaPartial mediaPartial = new MediaPartial("00:00:00.000", "00:00:10.000");
+        page.setMediaPartial(mediaPartial);
+        WorkpieceSnapshot mediaPartialSnapshot = new WorkpieceSnapshot(workpiece);
+        mediaPartial.setExtent("00:00:20.000");
+        assertTrue(mediaPartialSnapshot.isChanged(workpiece));
+
+        PhysicalDivision newPage = new PhysicalDivision();
+        newPage.getChildren().add(new PhysicalDivision());
+        workpiece.getPhysicalStructure().getChildren().add(newPage);
+        WorkpieceSnapshot newPageSnapshot = new WorkpieceSnapshot(workpiece);
+        newPage.getChildren().get(0).setOrderlabel("1a");
+        assertTrue(newPageSnapshot.isChanged(workpiece));
+
+        chapter.getViews().clear();
+        assertTrue(snapshot.isChanged(workpiece));
+    }
+
+    /**
+     * Tests that the index of a workpiece follows changes to its structure.
+     */
+    @Test
+    public void indexTest() {
+        Workpiece workpiece = createWorkpiece();
+        PhysicalDivision first = workpiece.getPhysicalStructure().getChildren().get(0);
+        LogicalDivision chapter = workpiece.getLogicalStructure().getChildren().get(0);
+
+        WorkpieceIndex index = workpiece.getIndex();
+        assertSame(index, workpiece.getIndex());
+        assertSame(first, index.getPageOrTrack(1));
+        assertSame(first, index.getPhysicalDivision(URI.create("images/00000001.tif")));
+        assertSame(workpiece.getPhysicalStructure(), index.getParent(first));
+        assertSame(workpiece.getLogicalStructure(), index.getParent(chapter));
+        assertEquals(Collections.singletonList(chapter), index.getLogicalDivisions(first));
+
+        PhysicalDivision second = new PhysicalDivision();
+        second.setType(PhysicalDivision.TYPE_PAGE);
+        second.setOrder(2);
+        workpiece.getPhysicalStructure().getChildren().add(0, second);
+        assertNotSame(index, workpiece.getIndex());
+        assertTrue(workpiece.getIndex().contains(second));
+        assertEquals(Arrays.asList(first, second), workpiece.getIndex().getPagesAndTracks());
+        assertEquals(2, workpiece.getIndex().getNumberOfPhysicalDivisionChildren(PhysicalDivision.TYPES));
+
+        index = workpiece.getIndex();
+        first.setLabel("first page");
+        assertSame(index, workpiece.getIndex());
+
+        first.setOrder(3);
+        assertEquals(Arrays.asList(second, first), workpiece.getAllPhysicalDivisionChildrenSortedFilteredByPageAndTrack());
+        assertSame(second, workpiece.getIndex().getPageOrTrack(2));
+        assertSame(first, workpiece.getIndex().getPageOrTrack(3));
+
+        chapter.getViews().add(View.of(second));
+        assertEquals(Collections.singletonList(chapter), workpiece.getIndex().getLogicalDivisions(second));
+
+        second.getMediaFiles().put(new MediaVariant(), URI.create("images/00000002.tif"));
+        assertSame(second, workpiece.getIndex().getPhysicalDivision(URI.create("images/00000002.tif")));
+
+        workpiece.setPhysicalStructure(new PhysicalDivision());
+        assertFalse(workpiece.getIndex().contains(first));
+    }
+
+    private static Workpiece createWorkpiece() {
+        Workpiece workpiece = new Workpiece();
+        workpiece.setId("1");
+
+        PhysicalDivision page = new PhysicalDivision();
+        page.setType(PhysicalDivision.TYPE_PAGE);
+        page.setOrder(1);
+        page.setOrderlabel("I");
+        MediaVariant mediaVariant = new MediaVariant();
+        mediaVariant.setUse("LOCAL");
+        mediaVariant.setMimeType("image/tiff");
+        page.getMediaFiles().put(mediaVariant, URI.create("images/00000001.tif"));
+        workpiece.getPhysicalStructure().getChildren().add(page);
+
+        LogicalDivision chapter = new LogicalDivision();
+        chapter.setType("Chapter");
+        chapter.setLabel("Chapter 1");
+        MetadataEntry name = new MetadataEntry();
+        name.setKey("Name");
+        name.setValue("Name");
+        MetadataGroup author = new MetadataGroup();
+        author.setKey("Author");
+        author.getMetadata().add(name);
+        chapter.getMetadata().add(author);
+        chapter.getViews().add(View.of(page));
+        page.getLogicalDivisions().add(chapter);
+        workpiece.getLogicalStructure().getChildren().add(chapter);
+        return workpiece;
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.dataeditor.ruleset;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale.LanguageRange;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import javax.xml.bind.JAXBException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.dataeditor.ruleset.xml.Key;
+import org.kitodo.dataeditor.ruleset.xml.Namespace;
+import org.kitodo.dataeditor.ruleset.xml.Ruleset;
+import org.kitodo.utils.JAXBContextCache;
+
+/**
+ * A ruleset read from its file together with its included files and namespace
+ * files. A compiled ruleset is shared by all ruleset managements that load the
+ * same file, as long as none of the files it was read from has been changed.
+ * It is not modified after it has been read, and the views created from it
+ * are kept per division or key, acquisition stage and languages, so that they
+ * are created only once.
+ */
+class CompiledRuleset {
+    private static final Logger logger = LogManager.getLogger(CompiledRuleset.class);
+
+    /**
+     * The compiled rulesets by ruleset file.
+     */
+    private static final Map<File, CompiledRuleset> compiledRulesets = new ConcurrentHashMap<>();
+
+    /**
+     * The ruleset.
+     */
+    private final Ruleset ruleset;
+
+    /**
+     * The files the ruleset was read from, with their modification times at
+     * the time of reading. Namespace files that did not exist are recorded
+     * with 0, so that adding them is noticed, too.
+     */
+    private final Map<File, Long> files = new LinkedHashMap<>();
+
+    /**
+     * Views on divisions by division, acquisition stage and languages.
+     */
+    private final Map<List<Object>, DivisionView> divisionViews = new ConcurrentHashMap<>();
+
+    /**
+     * Views on keys by key, acquisition stage and languages.
+     */
+    private final Map<List<Object>, NestedKeyView<KeyDeclaration>> metadataViews = new ConcurrentHashMap<>();
+
+    private CompiledRuleset(File rulesetFile) throws IOException {
+        this.ruleset = read(rulesetFile);
+        initializeNamespaces(ruleset.getKeys(), rulesetFile.getParentFile());
+    }
+
+    /**
+     * Returns the compiled ruleset for a ruleset file. If the ruleset has not
+     * been read yet, or if one of its files has been changed since, the
+     * ruleset is read.
+     *
+     * @param rulesetFile
+     *            ruleset file
+     * @return the compiled ruleset
+     * @throws IOException
+     *             if the ruleset cannot be read
+     */
+    static CompiledRuleset get(File rulesetFile) throws IOException {
+        try {
+            return compiledRulesets.compute(rulesetFile.getAbsoluteFile(),
+                (file, compiledRuleset) -> Objects.nonNull(compiledRuleset) && compiledRuleset.isUpToDate()
+                        ? compiledRuleset
+                        : compile(file));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Discards all compiled rulesets, and the unmarshalled ruleset files they
+     * were compiled from. They are read again from their files when they are
+     * loaded next.
+     */
+    static void clear() {
+        compiledRulesets.clear();
+        JAXBContextCache.clearUnmarshalled(Ruleset.class);
+    }
+
+    private static CompiledRuleset compile(File rulesetFile) {
+        try {
+            return new CompiledRuleset(rulesetFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the ruleset.
+     *
+     * @return the ruleset
+     */
+    Ruleset getRuleset() {
+        return ruleset;
+    }
+
+    /**
+     * Returns a view on a division.
+     *
+     * @param divisionId
+     *            the division in view
+     * @param acquisitionStage
+     *            the current acquisition stage
+     * @param priorityList
+     *            the wish list of the user regarding its preferred human
+     *            languages
+     * @param creator
+     *            creates the view if it has not been created yet
+     * @return the view on the division
+     */
+    DivisionView getDivisionView(String divisionId, String acquisitionStage, List<LanguageRange> priorityList,
+            Supplier<DivisionView> creator) {
+        return divisionViews.computeIfAbsent(Arrays.asList(divisionId, acquisitionStage, priorityList),
+            key -> creator.get());
+    }
+
+    /**
+     * Returns a view on a key.
+     *
+     * @param keyId
+     *            the key in view
+     * @param acquisitionStage
+     *            the current acquisition stage
+     * @param priorityList
+     *            the list of display languages preferred by the user
+     * @param creator
+     *            creates the view if it has not been created yet
+     * @return the view on the key
+     */
+    NestedKeyView<KeyDeclaration> getMetadataView(String keyId, String acquisitionStage,
+            List<LanguageRange> priorityList, Supplier<NestedKeyView<KeyDeclaration>> creator) {
+        return metadataViews.computeIfAbsent(Arrays.asList(keyId, acquisitionStage, priorityList),
+            key -> creator.get());
+    }
+
+    private boolean isUpToDate() {
+        for (Entry<File, Long> entry : files.entrySet()) {
+            if (entry.getKey().lastModified() != entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Initializes the elements of namespaces if there is a corresponding file.
+     *
+     * @param keys
+     *            the keys of the rule set (are processed recursively)
+     * @param home
+     *            the ruleset directory
+     * @throws IOException
+     *             if I/O fails
+     */
+    private void initializeNamespaces(List<Key> keys, File home) throws IOException {
+        for (Key key : keys) {
+            Optional<String> optionalNamespace = key.getNamespace();
+            if (optionalNamespace.isPresent()) {
+                String namespaceURI = optionalNamespace.get();
+                File file = new File(home, namespaceURI.replaceFirst("^.*?/([^/]*?)[#/]?$", "$1").concat(".xml"));
+                files.put(file, file.lastModified());
+                if (file.isFile()) {
+                    try {
+                        Namespace namespace = read(Namespace.class, file);
+                        if (namespace.isAbout(namespaceURI)) {
+                            key.setOptions(namespace.getOptions());
+                        } else {
+                            logger.debug(
+                                "The file {} for the namespace {} declares an inappropriate namespace. (Check about.)",
+                                file, namespaceURI);
+                        }
+                    } catch (IOException e) {
+                        logger.debug("The file {} for the namespace {} cannot be parsed: {}", file, namespaceURI,
+                            e.getMessage());
+                    }
+                } else {
+                    logger.debug("The file {} for the namespace {} was not found or is unreadable.", file,
+                        namespaceURI);
+                }
+            }
+            // is applied recursively to the sub-elements
+            initializeNamespaces(key.getKeys(), home);
+        }
+    }
+
+    private Ruleset read(File rulesetFile) throws IOException {
+        Ruleset result = new Ruleset();
+        files.put(rulesetFile, rulesetFile.lastModified());
+        Ruleset base = read(Ruleset.class, rulesetFile);
+        for (String include : base.getIncludes()) {
+            File includedFile = new File(rulesetFile.getParentFile(), include);
+            files.put(includedFile, includedFile.lastModified());
+            Ruleset included = read(Ruleset.class, includedFile);
+            result.addAll(included);
+        }
+        result.addAll(base);
+        return result;
+    }
+
+    /**
+     * Reads an object from a file. For this purpose, a marshal eliminator of
+     * Java XML bindings is created, which eliminates the class of marshals and
+     * creates it as a Java object. As an error, an I/O exception is thrown out
+     * directly. Other marshal eliminator exceptions are packed in I/O
+     * exceptions, so the interface is independent of the parser used.
+     *
+     * @param objectClass
+     *            class of object to read
+     * @param inputFile
+     *            file to read from
+     * @return the read object
+     * @throws IOException
+     *             if I/O fails
+     */
+    private static <T> T read(Class<T> objectClass, File inputFile) throws IOException {
+        try {
+            return JAXBContextCache.getInstance().getUnmarshalled(objectClass, inputFile);
+        } catch (JAXBException e) {
+            /*
+             * If the parser ran on an IOException, we can throw it out
+             * directly, because that allows the method signature.
+             */
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else {
+                /*
+                 * Conversely, parser exceptions must be wrapped in an
+                 * IOException because the method signature does not allow the
+                 * parser exceptions.
+                 */
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -24,10 +24,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import javax.xml.bind.JAXBException;
-
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 import org.kitodo.api.Metadata;
 import org.kitodo.api.dataeditor.rulesetmanagement.FunctionalDivision;
 import org.kitodo.api.dataeditor.rulesetmanagement.FunctionalMetadata;
@@ -38,20 +34,13 @@ import org.kitodo.api.dataeditor.rulesetmanagement.StructuralElementViewInterfac
 import org.kitodo.dataeditor.ruleset.xml.AcquisitionStage;
 import org.kitodo.dataeditor.ruleset.xml.Division;
 import org.kitodo.dataeditor.ruleset.xml.Key;
-import org.kitodo.dataeditor.ruleset.xml.Namespace;
 import org.kitodo.dataeditor.ruleset.xml.Ruleset;
 import org.kitodo.dataeditor.ruleset.xml.Setting;
-import org.kitodo.utils.JAXBContextCache;
 
 /**
  * This class provides the functionality of the rule set.
  */
 public class RulesetManagement implements RulesetManagementInterface {
-    /**
-     * A logger can be used to keep a log.
-     */
-    private static final Logger logger = LogManager.getLogger(RulesetManagement.class);
-
     /**
      * English, the only language understood by the System user. This value is
      * passed when a method requests a language of the user in order to display
@@ -60,6 +49,11 @@ public class RulesetManagement implements RulesetManagementInterface {
      */
     private static final List<LanguageRange> ENGLISH = LanguageRange.parse("en");
 
+    /**
+     * The ruleset, shared with other ruleset managements.
+     */
+    private CompiledRuleset compiledRuleset;
+
     /**
      * The ruleset.
      */
@@ -173,10 +167,13 @@ public class RulesetManagement implements RulesetManagementInterface {
     public StructuralElementViewInterface getStructuralElementView(String divisionId, String acquisitionStage,
             List<LanguageRange> priorityList) {
 
-        Optional<Division> division = ruleset.getDivision(divisionId);
-        DivisionDeclaration divisionDeclaration = division.isPresent() ? new DivisionDeclaration(ruleset, division.get())
-                : new DivisionDeclaration(ruleset, divisionId);
-        return new DivisionView(ruleset, divisionDeclaration, acquisitionStage, priorityList);
+        return compiledRuleset.getDivisionView(divisionId, acquisitionStage, priorityList, () -> {
+            Optional<Division> division = ruleset.getDivision(divisionId);
+            DivisionDeclaration divisionDeclaration = division.isPresent()
+                    ? new DivisionDeclaration(ruleset, division.get())
+                    : new DivisionDeclaration(ruleset, divisionId);
+            return new DivisionView(ruleset, divisionDeclaration, acquisitionStage, priorityList);
+        });
     }
 
     /**
@@ -192,10 +189,14 @@ public class RulesetManagement implements RulesetManagementInterface {
      */
     @Override
     public NestedKeyView<KeyDeclaration> getMetadataView(String keyId, String acquisitionStage, List<LanguageRange> priorityList) {
-        Optional<Key> key = ruleset.getKey(keyId);
-        KeyDeclaration keyDeclaration = key.isPresent() ? new KeyDeclaration(ruleset, key.get()) : new KeyDeclaration(ruleset, keyId);
-        Rule rule = ruleset.getRuleForKey(keyId);
-        return new NestedKeyView<>(ruleset, keyDeclaration, rule, ruleset.getSettings(acquisitionStage), priorityList);
+        return compiledRuleset.getMetadataView(keyId, acquisitionStage, priorityList, () -> {
+            Optional<Key> key = ruleset.getKey(keyId);
+            KeyDeclaration keyDeclaration = key.isPresent() ? new KeyDeclaration(ruleset, key.get())
+                    : new KeyDeclaration(ruleset, keyId);
+            Rule rule = ruleset.getRuleForKey(keyId);
+            return new NestedKeyView<>(ruleset, keyDeclaration, rule, ruleset.getSettings(acquisitionStage),
+                    priorityList);
+        });
     }
 
     /**
@@ -230,97 +231,17 @@ public class RulesetManagement implements RulesetManagementInterface {
      */
     @Override
     public void load(File rulesetFile) throws IOException {
-        this.ruleset = read(rulesetFile);
-        initializeNamespaces(ruleset.getKeys(), rulesetFile.getParentFile());
+        this.compiledRuleset = CompiledRuleset.get(rulesetFile);
+        this.ruleset = compiledRuleset.getRuleset();
     }
 
     /**
-     * Initializes the elements of namespaces if there is a corresponding file.
-     *
-     * @param keys
-     *            the keys of the rule set (are processed recursively)
-     * @param home
-     *            the ruleset directory
-     * @throws IOException
-     *             if I/O fails
+     * Discards the cached rulesets and their views. The rulesets are read
+     * again from their files when they are loaded next.
      */
-    private void initializeNamespaces(List<Key> keys, File home) throws IOException {
-        for (Key key : keys) {
-            Optional<String> optionalNamespace = key.getNamespace();
-            if (optionalNamespace.isPresent()) {
-                String namespaceURI = optionalNamespace.get();
-                File file = new File(home, namespaceURI.replaceFirst("^.*?/([^/]*?)[#/]?$", "$1").concat(".xml"));
-                if (file.isFile()) {
-                    try {
-                        Namespace namespace = read(Namespace.class, file);
-                        if (namespace.isAbout(namespaceURI)) {
-                            key.setOptions(namespace.getOptions());
-                        } else {
-                            logger.debug(
-                                "The file {} for the namespace {} declares an inappropriate namespace. (Check about.)",
-                                file, namespaceURI);
-                        }
-                    } catch (IOException e) {
-                        logger.debug("The file {} for the namespace {} cannot be parsed: {}", file, namespaceURI,
-                            e.getMessage());
-                    }
-                } else {
-                    logger.debug("The file {} for the namespace {} was not found or is unreadable.", file,
-                        namespaceURI);
-                }
-            }
-            // is applied recursively to the sub-elements
-            initializeNamespaces(key.getKeys(), home);
-        }
-    }
-
-    private static Ruleset read(File rulesetFile) throws IOException {
-        Ruleset result = new Ruleset();
-        Ruleset base = read(Ruleset.class, rulesetFile);
-        for (String include : base.getIncludes()) {
-            File includedFile = new File(rulesetFile.getParentFile(), include);
-            Ruleset included = read(Ruleset.class, includedFile);
-            result.addAll(included);
-        }
-        result.addAll(base);
-        return result;
-    }
-
-    /**
-     * Reads an object from a file. For this purpose, a marshal eliminator of
-     * Java XML bindings is created, which eliminates the class of marshals and
-     * creates it as a Java object. As an error, an I/O exception is thrown out
-     * directly. Other marshal eliminator exceptions are packed in I/O
-     * exceptions, so the interface is independent of the parser used.
-     *
-     * @param objectClass
-     *            class of object to read
-     * @param inputFile
-     *            file to read from
-     * @return the read object
-     * @throws IOException
-     *             if I/O fails
-     */
-    @SuppressWarnings("unchecked")
-    private static <T> T read(Class<T> objectClass, File inputFile) throws IOException {
-        try {
-            return JAXBContextCache.getInstance().getUnmarshalled(objectClass, inputFile);
-        } catch (JAXBException e) {
-            /*
-             * If the parser ran on an IOException, we can throw it out
-             * directly, because that allows the method signature.
-             */
-            if (e.getCause() instanceof IOException) {
-                throw (IOException) e.getCause();
-            } else {
-                /*
-                 * Conversely, parser exceptions must be wrapped in an
-                 * IOException because the method signature does not allow the
-                 * parser exceptions.
-                 */
-                throw new IOException(e.getMessage(), e);
-            }
-        }
+    @Override
+    public void clearCache() {
+        CompiledRuleset.clear();
     }
 
     @Override
@@ -22,11 +22,17 @@ import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.Month;
 import java.time.MonthDay;
 import java.util.ArrayList;
@@ -43,6 +49,7 @@ import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.kitodo.api.MdSec;
 import org.kitodo.api.Metadata;
 import org.kitodo.api.MetadataEntry;
@@ -1215,6 +1222,59 @@ public class RulesetManagementIT {
                 .findAny().get().getMetadata().get();
     }
 
+    /**
+     * The test checks that ruleset managements loading the same ruleset file
+     * share the views on it until the file is changed or the cache is
+     * cleared.
+     */
+    @Test
+    public void testRulesetsAreSharedUntilTheirFileChanges(@TempDir Path tempDir) throws IOException {
+        File rulesetFile = tempDir.resolve("testAvailabilityOfPresets.xml").toFile();
+        Files.copy(Paths.get("src/test/resources/testAvailabilityOfPresets.xml"), rulesetFile.toPath());
+
+        RulesetManagement first = new RulesetManagement();
+        first.load(rulesetFile);
+        RulesetManagement second = new RulesetManagement();
+        second.load(rulesetFile);
+        StructuralElementViewInterface view = first.getStructuralElementView(BOOK, "", ENGL);
+        assertSame(view, second.getStructuralElementView(BOOK, "", ENGL));
+        assertNotSame(view, second.getStructuralElementView(BOOK, "edit", ENGL));
+
+        assertTrue(rulesetFile.setLastModified(rulesetFile.lastModified() + 2000));
+        RulesetManagement changed = new RulesetManagement();
+        changed.load(rulesetFile);
+        StructuralElementViewInterface changedView = changed.getStructuralElementView(BOOK, "", ENGL);
+        assertNotSame(view, changedView);
+
+        changed.clearCache();
+        RulesetManagement reloaded = new RulesetManagement();
+        reloaded.load(rulesetFile);
+        assertNotSame(changedView, reloaded.getStructuralElementView(BOOK, "", ENGL));
+    }
+
+    /**
+     * The test checks that clearing the cache reads a ruleset file again that
+     * was replaced by one with the same modification time.
+     */
+    @Test
+    public void testClearingTheCacheReadsReplacedRulesetFiles(@TempDir Path tempDir) throws IOException {
+        File rulesetFile = tempDir.resolve("ruleset.xml").toFile();
+        Files.copy(Paths.get("src/test/resources/testAvailabilityOfPresets.xml"), rulesetFile.toPath());
+        long lastModified = rulesetFile.lastModified();
+        RulesetManagement original = new RulesetManagement();
+        original.load(rulesetFile);
+        assertFalse(original.getStructuralElements(ENGL).containsKey("chapter"));
+
+        Files.copy(Paths.get("src/test/resources/testUnspecifiedForbiddenRulesRestrictDivisions.xml"),
+            rulesetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        assertTrue(rulesetFile.setLastModified(lastModified));
+        original.clearCache();
+        RulesetManagement reloaded = new RulesetManagement();
+        reloaded.load(rulesetFile);
+
+        assertTrue(reloaded.getStructuralElements(ENGL).containsKey("chapter"));
+    }
+
     /**
      * Returns the IDs of the metadata keys in a collection of metadata view
      * interfaces.
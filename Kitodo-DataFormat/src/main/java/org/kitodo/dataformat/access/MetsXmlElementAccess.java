@@ -58,6 +58,7 @@ import org.kitodo.dataformat.metskitodo.MetsType.StructLink;
 import org.kitodo.dataformat.metskitodo.StructLinkType.SmLink;
 import org.kitodo.dataformat.metskitodo.StructMapType;
 import org.kitodo.utils.JAXBContextCache;
+import org.xml.sax.ContentHandler;
 
 /**
  * The administrative structure of the product of an element that passes through
@@ -261,6 +262,29 @@ public class MetsXmlElementAccess implements MetsXmlElementAccessInterface {
         }
     }
 
+    /**
+     * Writes the contents of this workpiece as METS XML to a SAX content
+     * handler.
+     *
+     * @param contentHandler
+     *            content handler receiving the METS XML
+     * @throws IOException
+     *             if the content handler has an error
+     */
+    @Override
+    public void save(Workpiece workpiece, ContentHandler contentHandler) throws IOException {
+        try {
+            JAXBContext context = JAXBContextCache.getJAXBContext(Mets.class);
+            context.createMarshaller().marshal(new MetsXmlElementAccess(workpiece).toMets(), contentHandler);
+        } catch (JAXBException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+    }
+
     /**
      * Generates a METS XML structure from this workpiece in the form of Java
      * objects in the main memory.
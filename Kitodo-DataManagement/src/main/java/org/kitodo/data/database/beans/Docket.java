@@ -13,6 +13,7 @@ package org.kitodo.data.database.beans;
 
 import java.util.Objects;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.ForeignKey;
@@ -20,8 +21,14 @@ import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.kitodo.data.database.persistence.CacheRegions;
+
 @Entity
 @Table(name = "docket")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.DOCKET)
 public class Docket extends BaseIndexedBean {
 
     @Column(name = "title")
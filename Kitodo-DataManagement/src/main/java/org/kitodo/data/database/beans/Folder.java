@@ -19,6 +19,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.TreeSet;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
@@ -29,9 +30,13 @@ import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 import javax.persistence.Transient;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.kitodo.api.imagemanagement.ImageManagementInterface;
 import org.kitodo.config.ConfigMain;
+import org.kitodo.data.database.enums.ImageProcessor;
 import org.kitodo.data.database.enums.LinkingMode;
+import org.kitodo.data.database.persistence.CacheRegions;
 
 /**
  * Stores configuration settings regarding a type of sub-folder in the process
@@ -60,6 +65,8 @@ import org.kitodo.data.database.enums.LinkingMode;
  */
 @Entity
 @Table(name = "folder")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.FOLDER)
 public class Folder extends BaseBean {
     /**
      * Default {@code fileGrp}s supported by the DFG viewer. The list is used to
@@ -114,6 +121,14 @@ public class Folder extends BaseBean {
     @Column(name = "imageSize")
     private Integer imageSize = null;
 
+    /**
+     * Which implementation of the image management generates the images in
+     * this folder.
+     */
+    @Column(name = "imageProcessor")
+    @Enumerated(EnumType.STRING)
+    private ImageProcessor imageProcessor = ImageProcessor.IMAGEMAGICK;
+
     /**
      * Indicates whether a METS {@code <fileGrp>} section is created, and how it
      * is populated.
@@ -215,6 +230,16 @@ public class Folder extends BaseBean {
         return Optional.ofNullable(imageSize);
     }
 
+    /**
+     * Returns the implementation of the image management which generates the
+     * images in this folder.
+     *
+     * @return the image processor
+     */
+    public ImageProcessor getImageProcessor() {
+        return imageProcessor;
+    }
+
     /**
      * Returns the linking mode of the folder.
      *
@@ -375,6 +400,17 @@ public class Folder extends BaseBean {
         this.imageSize = imageSize;
     }
 
+    /**
+     * Sets the implementation of the image management which generates the
+     * images in this folder.
+     *
+     * @param imageProcessor
+     *            image processor to set
+     */
+    public void setImageProcessor(ImageProcessor imageProcessor) {
+        this.imageProcessor = imageProcessor;
+    }
+
     /**
      * Sets the linking mode of the folder.
      *
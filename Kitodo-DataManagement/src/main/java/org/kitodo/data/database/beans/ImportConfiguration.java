@@ -15,6 +15,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -29,9 +30,12 @@ import javax.persistence.OrderColumn;
 import javax.persistence.Table;
 
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.LazyCollection;
 import org.hibernate.annotations.LazyCollectionOption;
 import org.kitodo.api.externaldatamanagement.ImportConfigurationType;
+import org.kitodo.data.database.persistence.CacheRegions;
 import org.kitodo.data.database.persistence.ImportConfigurationDAO;
 import org.kitodo.data.database.persistence.MappingFileDAO;
 import org.kitodo.data.database.persistence.SearchFieldDAO;
@@ -39,6 +43,8 @@ import org.kitodo.data.database.persistence.UrlParameterDAO;
 
 @Entity(name = "ImportConfiguration")
 @Table(name = "importconfiguration")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.IMPORT_CONFIGURATION)
 public class ImportConfiguration extends BaseBean {
 
     @Column
@@ -110,6 +116,12 @@ public class ImportConfiguration extends BaseBean {
     @Column(name = "id_prefix")
     private String idPrefix;
 
+    @Column(name = "max_concurrent_requests")
+    private Integer maxConcurrentRequests;
+
+    @Column(name = "max_requests_per_second")
+    private Integer maxRequestsPerSecond;
+
     @OneToMany(mappedBy = "importConfiguration", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<SearchField> searchFields;
 
@@ -161,6 +173,7 @@ public class ImportConfiguration extends BaseBean {
     @Column(name = "metadata_record_title_xpath")
     private String metadataRecordTitleXPath;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.IMPORT_CONFIGURATION)
     @ManyToMany(cascade = CascadeType.PERSIST)
     @LazyCollection(LazyCollectionOption.FALSE)
     @JoinTable(name = "client_x_importconfiguration", joinColumns = {
@@ -593,6 +606,46 @@ public class ImportConfiguration extends BaseBean {
         this.idPrefix = idPrefix;
     }
 
+    /**
+     * Get the maximum number of requests which are sent to the search
+     * interface at the same time during a mass import.
+     *
+     * @return maximum number of concurrent requests, or null for the default
+     */
+    public Integer getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * Set the maximum number of requests which are sent to the search
+     * interface at the same time during a mass import.
+     *
+     * @param maxConcurrentRequests as java.lang.Integer
+     */
+    public void setMaxConcurrentRequests(Integer maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    /**
+     * Get the maximum number of requests per second which are sent to the
+     * search interface during a mass import.
+     *
+     * @return maximum number of requests per second, or null for no limit
+     */
+    public Integer getMaxRequestsPerSecond() {
+        return maxRequestsPerSecond;
+    }
+
+    /**
+     * Set the maximum number of requests per second which are sent to the
+     * search interface during a mass import.
+     *
+     * @param maxRequestsPerSecond as java.lang.Integer
+     */
+    public void setMaxRequestsPerSecond(Integer maxRequestsPerSecond) {
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+    }
+
     /**
      * Get searchFields.
      *
@@ -0,0 +1,32 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.data.database.enums;
+
+/**
+ * Implementations of the image management that can generate the images of a
+ * folder.
+ */
+public enum ImageProcessor {
+    /**
+     * The images are generated by the image management module, which calls
+     * ImageMagick.
+     */
+    IMAGEMAGICK,
+
+    /**
+     * The images are decoded, scaled and written within Java. This avoids
+     * starting an external process and writing temporary files, which is
+     * faster for small web images, but only supports the file formats Java
+     * can read and write.
+     */
+    JAVA
+}
@@ -48,6 +48,11 @@ public class AuthorityDAO extends BaseDAO<Authority> {
         removeObject(Authority.class, id);
     }
 
+    @Override
+    protected List<String> getCacheRegions() {
+        return Collections.singletonList(CacheRegions.AUTHORITY);
+    }
+
     /**
      * Get authority by title.
      *
@@ -12,9 +12,12 @@
 package org.kitodo.data.database.persistence;
 
 import java.io.Serializable;
+import java.lang.reflect.ParameterizedType;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -41,6 +44,11 @@ public abstract class BaseDAO<T extends BaseBean> implements Serializable {
 
     private static final Object lockObject = new Object();
 
+    /**
+     * Maximum number of ids in the IN clause of a query.
+     */
+    private static final int ID_CHUNK_SIZE = 500;
+
     /**
      * Retrieves a BaseBean identified by the given id from the database.
      *
@@ -52,6 +60,25 @@ public abstract class BaseDAO<T extends BaseBean> implements Serializable {
      */
     public abstract T getById(Integer id) throws DAOException;
 
+    /**
+     * Retrieves the BaseBean objects identified by the given ids from the
+     * database, in the order of the ids. Subclasses load them with few queries
+     * where this pays off; by default they are loaded one by one.
+     *
+     * @param ids
+     *            ids of beans to load
+     * @return persisted beans
+     * @throws DAOException
+     *             if a bean cannot be found or a HibernateException is thrown
+     */
+    public List<T> getByIds(Collection<Integer> ids) throws DAOException {
+        List<T> beans = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            beans.add(getById(id));
+        }
+        return beans;
+    }
+
     /**
      * Retrieves all BaseBean objects from the database.
      *
@@ -81,6 +108,67 @@ public abstract class BaseDAO<T extends BaseBean> implements Serializable {
      */
     public abstract List<T> getAllNotIndexed(int offset, int size) throws DAOException;
 
+    /**
+     * Retrieves all BaseBean objects whose id is greater than {@code fromId}
+     * and not greater than {@code toId}. In contrast to
+     * {@link #getAll(int, int)} the database can use the primary key index to
+     * jump directly to the requested rows, so the costs of a query do not grow
+     * with the position of the range inside the table.
+     *
+     * @param fromId
+     *            lower id bound (exclusive)
+     * @param toId
+     *            upper id bound (inclusive)
+     * @return list of persisted beans in given id range
+     */
+    public List<T> getAllInIdRange(int fromId, int toId) throws DAOException {
+        return retrieveObjectsInIdRange("FROM " + getBeanClass().getSimpleName()
+                + " WHERE id > :fromId AND id <= :toId ORDER BY id ASC", fromId, toId);
+    }
+
+    /**
+     * Retrieves all not indexed BaseBean objects whose id is greater than
+     * {@code fromId} and not greater than {@code toId}. Objects which are not
+     * indexed beans carry no index state, all of them are returned.
+     *
+     * @param fromId
+     *            lower id bound (exclusive)
+     * @param toId
+     *            upper id bound (inclusive)
+     * @return list of persisted beans in given id range
+     */
+    public List<T> getAllNotIndexedInIdRange(int fromId, int toId) throws DAOException {
+        if (!BaseIndexedBean.class.isAssignableFrom(getBeanClass())) {
+            return getAllInIdRange(fromId, toId);
+        }
+        return retrieveObjectsInIdRange("FROM " + getBeanClass().getSimpleName() + " WHERE id > :fromId AND id <= :toId"
+                + " AND (indexAction = 'INDEX' OR indexAction IS NULL) ORDER BY id ASC", fromId, toId);
+    }
+
+    /**
+     * Retrieves the highest id of all BaseBean objects in the database.
+     *
+     * @return highest id or 0 if there are no objects
+     */
+    public int getHighestId() throws DAOException {
+        return retrieveHighestId(getBeanClass());
+    }
+
+    /**
+     * Returns the class of the beans of this DAO, as declared by the type
+     * argument of the DAO class.
+     *
+     * @return the class of the beans
+     */
+    @SuppressWarnings("unchecked")
+    Class<T> getBeanClass() {
+        Class<?> daoClass = getClass();
+        while (!BaseDAO.class.equals(daoClass.getSuperclass())) {
+            daoClass = daoClass.getSuperclass();
+        }
+        return (Class<T>) ((ParameterizedType) daoClass.getGenericSuperclass()).getActualTypeArguments()[0];
+    }
+
     /**
      * Saves a BaseBean object to the database.
      *
@@ -107,6 +195,33 @@ public abstract class BaseDAO<T extends BaseBean> implements Serializable {
         storeAsIndexed(baseBeans);
     }
 
+    /**
+     * Marks base bean objects as indexed. Unlike {@link #saveAsIndexed(List)},
+     * only the index action is written, so changes saved meanwhile by another
+     * thread are not overwritten with the state of the given objects.
+     *
+     * @param baseBeans
+     *            list of base beans
+     * @throws DAOException
+     *             if the current session can't be retrieved or an exception is
+     *             thrown while performing the update
+     */
+    public void markAsIndexed(List<T> baseBeans) throws DAOException {
+        if (baseBeans.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = baseBeans.stream().map(BaseBean::getId).collect(Collectors.toList());
+        try (Session session = HibernateUtil.getSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.createQuery(String.format("UPDATE %s SET indexAction = :indexAction WHERE id IN (:ids)",
+                Hibernate.getClass(baseBeans.get(0)).getSimpleName()))
+                    .setParameter("indexAction", IndexAction.DONE).setParameterList("ids", ids).executeUpdate();
+            transaction.commit();
+        } catch (PersistenceException e) {
+            throw new DAOException(e);
+        }
+    }
+
     /**
      * Removes BaseBean object specified by the given id from the database.
      *
@@ -163,6 +278,33 @@ public abstract class BaseDAO<T extends BaseBean> implements Serializable {
         evictObject(baseBean);
     }
 
+    /**
+     * Removes all objects of this type and their collections from the
+     * second-level cache, so that they are read from the database again. This
+     * has no effect for types which are not cached.
+     */
+    public void evictFromCache() {
+        List<String> cacheRegions = getCacheRegions();
+        if (cacheRegions.isEmpty()) {
+            return;
+        }
+        try (Session session = HibernateUtil.getSession()) {
+            for (String cacheRegion : cacheRegions) {
+                session.getSessionFactory().getCache().evictRegion(cacheRegion);
+            }
+        }
+    }
+
+    /**
+     * Returns the regions of the second-level cache which hold objects of this
+     * type and their collections. By default, objects are not cached.
+     *
+     * @return the regions of the second-level cache
+     */
+    protected List<String> getCacheRegions() {
+        return Collections.emptyList();
+    }
+
     /**
      * Retrieves BaseBean objects from database by given query.
      *
@@ -317,6 +459,53 @@ public abstract class BaseDAO<T extends BaseBean> implements Serializable {
         }
     }
 
+    /**
+     * Retrieves the objects of the class type specified by {@code cls} having
+     * the given ids, in the order of the ids. The ids are queried in chunks.
+     * All queries are run in the same session for each chunk, and must contain
+     * the named parameter {@code :ids}. The objects are taken from the first
+     * query, the further queries can fetch additional associations of the
+     * objects, as only one collection can be fetched per query.
+     *
+     * @param cls
+     *            the class to load
+     * @param ids
+     *            ids of objects
+     * @param queries
+     *            queries with the named parameter ids
+     * @return list of objects
+     * @throws DAOException
+     *             if an object cannot be found or a HibernateException is
+     *             thrown
+     */
+    @SuppressWarnings("unchecked")
+    List<T> retrieveObjectsByIds(Class<T> cls, Collection<Integer> ids, String... queries) throws DAOException {
+        List<Integer> distinctIds = ids.stream().distinct().collect(Collectors.toList());
+        Map<Integer, T> objects = new HashMap<>((int) Math.ceil(distinctIds.size() / 0.75));
+        try (Session session = HibernateUtil.getSession()) {
+            for (int from = 0; from < distinctIds.size(); from += ID_CHUNK_SIZE) {
+                List<Integer> chunk = distinctIds.subList(from, Math.min(from + ID_CHUNK_SIZE, distinctIds.size()));
+                for (T object : (List<T>) session.createQuery(queries[0]).setParameterList("ids", chunk).list()) {
+                    objects.putIfAbsent(object.getId(), object);
+                }
+                for (int i = 1; i < queries.length; i++) {
+                    session.createQuery(queries[i]).setParameterList("ids", chunk).list();
+                }
+            }
+        } catch (PersistenceException e) {
+            throw new DAOException(e);
+        }
+        List<T> result = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            T object = objects.get(id);
+            if (Objects.isNull(object)) {
+                throw new DAOException(cls.getSimpleName() + " " + id + " cannot be found in database");
+            }
+            result.add(object);
+        }
+        return result;
+    }
+
     /**
      * Retrieve objects by given query for maximum number of objects.
      *
@@ -340,6 +529,47 @@ public abstract class BaseDAO<T extends BaseBean> implements Serializable {
         }
     }
 
+    /**
+     * Retrieve objects by given query for the id range between the parameters
+     * {@code :fromId} (exclusive) and {@code :toId} (inclusive).
+     *
+     * @param query
+     *            string containing the named parameters fromId and toId
+     * @param fromId
+     *            lower id bound (exclusive)
+     * @param toId
+     *            upper id bound (inclusive)
+     * @return list of results in given id range
+     */
+    @SuppressWarnings("unchecked")
+    List<T> retrieveObjectsInIdRange(String query, int fromId, int toId) throws DAOException {
+        try (Session session = HibernateUtil.getSession()) {
+            Query<T> sessionQuery = session.createQuery(query);
+            sessionQuery.setParameter("fromId", fromId);
+            sessionQuery.setParameter("toId", toId);
+            return sessionQuery.list();
+        } catch (PersistenceException e) {
+            throw new DAOException(e);
+        }
+    }
+
+    /**
+     * Retrieve highest id of given class.
+     *
+     * @param cls
+     *            class
+     * @return highest id or 0 if there are no objects
+     */
+    int retrieveHighestId(Class<T> cls) throws DAOException {
+        try (Session session = HibernateUtil.getSession()) {
+            Object highestId = session.createQuery(String.format("SELECT MAX(id) FROM %s", cls.getSimpleName()))
+                    .uniqueResult();
+            return Objects.isNull(highestId) ? 0 : ((Number) highestId).intValue();
+        } catch (PersistenceException e) {
+            throw new DAOException(e);
+        }
+    }
+
     /**
      * Retrieve all objects fro given class.
      *
@@ -0,0 +1,48 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.data.database.persistence;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Names of the regions of the second-level cache. The reference data, which is
+ * read on almost every request but rarely changed, is kept in these regions
+ * together with its collections. The regions are configured in
+ * {@code ehcache.xml}.
+ */
+public final class CacheRegions {
+
+    public static final String AUTHORITY = "kitodo.authority";
+    public static final String CLIENT = "kitodo.client";
+    public static final String DOCKET = "kitodo.docket";
+    public static final String FOLDER = "kitodo.folder";
+    public static final String IMPORT_CONFIGURATION = "kitodo.importConfiguration";
+    public static final String LDAP_GROUP = "kitodo.ldapGroup";
+    public static final String PROJECT = "kitodo.project";
+    public static final String ROLE = "kitodo.role";
+    public static final String RULESET = "kitodo.ruleset";
+
+    /**
+     * All regions holding reference data.
+     */
+    public static final List<String> REFERENCE_DATA = Collections.unmodifiableList(Arrays.asList(AUTHORITY, CLIENT,
+        DOCKET, FOLDER, IMPORT_CONFIGURATION, LDAP_GROUP, PROJECT, ROLE, RULESET));
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private CacheRegions() {
+
+    }
+}
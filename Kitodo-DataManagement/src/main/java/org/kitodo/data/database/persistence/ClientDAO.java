@@ -11,6 +11,7 @@
 
 package org.kitodo.data.database.persistence;
 
+import java.util.Collections;
 import java.util.List;
 
 import org.kitodo.data.database.beans.Client;
@@ -46,4 +47,9 @@ public class ClientDAO extends BaseDAO<Client> {
     public void remove(Integer clientId) throws DAOException {
         removeObject(Client.class, clientId);
     }
+
+    @Override
+    protected List<String> getCacheRegions() {
+        return Collections.singletonList(CacheRegions.CLIENT);
+    }
 }
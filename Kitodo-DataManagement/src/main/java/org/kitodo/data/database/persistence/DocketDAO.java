@@ -11,6 +11,7 @@
 
 package org.kitodo.data.database.persistence;
 
+import java.util.Collections;
 import java.util.List;
 
 import org.kitodo.data.database.beans.Docket;
@@ -47,4 +48,9 @@ public class DocketDAO extends BaseDAO<Docket> {
     public void remove(Integer docketId) throws DAOException {
         removeObject(Docket.class, docketId);
     }
+
+    @Override
+    protected List<String> getCacheRegions() {
+        return Collections.singletonList(CacheRegions.DOCKET);
+    }
 }
@@ -11,6 +11,7 @@
 
 package org.kitodo.data.database.persistence;
 
+import java.util.Collections;
 import java.util.List;
 
 import org.kitodo.data.database.beans.Folder;
@@ -46,4 +47,9 @@ public class FolderDAO extends BaseDAO<Folder> {
     public void remove(Integer id) throws DAOException {
         removeObject(Folder.class, id);
     }
+
+    @Override
+    protected List<String> getCacheRegions() {
+        return Collections.singletonList(CacheRegions.FOLDER);
+    }
 }
@@ -11,6 +11,7 @@
 
 package org.kitodo.data.database.persistence;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -79,4 +80,9 @@ public class ImportConfigurationDAO extends BaseDAO<ImportConfiguration> {
     public void remove(Integer importConfigurationId) throws DAOException {
         removeObject(ImportConfiguration.class, importConfigurationId);
     }
+
+    @Override
+    protected List<String> getCacheRegions() {
+        return Collections.singletonList(CacheRegions.IMPORT_CONFIGURATION);
+    }
 }
@@ -11,6 +11,7 @@
 
 package org.kitodo.data.database.persistence;
 
+import java.util.Collections;
 import java.util.List;
 
 import org.kitodo.data.database.beans.LdapGroup;
@@ -32,6 +33,11 @@ public class LdapGroupDAO extends BaseDAO<LdapGroup> {
         removeObject(LdapGroup.class, id);
     }
 
+    @Override
+    protected List<String> getCacheRegions() {
+        return Collections.singletonList(CacheRegions.LDAP_GROUP);
+    }
+
     @Override
     public List<LdapGroup> getAll() throws DAOException {
         return retrieveAllObjects(LdapGroup.class);
@@ -11,6 +11,7 @@
 
 package org.kitodo.data.database.persistence;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.kitodo.data.database.beans.Process;
@@ -27,6 +28,18 @@ public class ProcessDAO extends BaseDAO<Process> {
         return process;
     }
 
+    /**
+     * {@inheritDoc} The projects and tasks of the processes are fetched with
+     * them, and their properties in a second query.
+     */
+    @Override
+    public List<Process> getByIds(Collection<Integer> ids) throws DAOException {
+        return retrieveObjectsByIds(Process.class, ids,
+            "FROM Process AS process LEFT JOIN FETCH process.project LEFT JOIN FETCH process.tasks"
+                    + " WHERE process.id IN (:ids)",
+            "FROM Process AS process LEFT JOIN FETCH process.properties WHERE process.id IN (:ids)");
+    }
+
     @Override
     public List<Process> getAll() throws DAOException {
         return retrieveAllObjects(Process.class);
@@ -45,6 +58,18 @@ public class ProcessDAO extends BaseDAO<Process> {
             offset, size);
     }
 
+    @Override
+    public List<Process> getAllInIdRange(int fromId, int toId) throws DAOException {
+        return retrieveObjectsInIdRange("FROM Process WHERE id > :fromId AND id <= :toId AND " + getDateFilter("creationDate")
+                + " ORDER BY id ASC", fromId, toId);
+    }
+
+    @Override
+    public List<Process> getAllNotIndexedInIdRange(int fromId, int toId) throws DAOException {
+        return retrieveObjectsInIdRange("FROM Process WHERE id > :fromId AND id <= :toId AND " + getDateFilter("creationDate")
+                + " AND (indexAction = 'INDEX' OR indexAction IS NULL) ORDER BY id ASC", fromId, toId);
+    }
+
     /**
      * Save process with regard to its progress.
      *
@@ -11,6 +11,7 @@
 
 package org.kitodo.data.database.persistence;
 
+import java.util.Collections;
 import java.util.List;
 
 import org.kitodo.data.database.beans.Project;
@@ -48,6 +49,11 @@ public class ProjectDAO extends BaseDAO<Project> {
         removeObject(Project.class, id);
     }
 
+    @Override
+    protected List<String> getCacheRegions() {
+        return Collections.singletonList(CacheRegions.PROJECT);
+    }
+
     /**
      * Get all projects sorted by title.
      *
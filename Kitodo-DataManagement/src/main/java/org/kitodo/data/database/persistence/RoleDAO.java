@@ -12,6 +12,7 @@
 package org.kitodo.data.database.persistence;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -51,6 +52,11 @@ public class RoleDAO extends BaseDAO<Role> {
         removeObject(Role.class, id);
     }
 
+    @Override
+    protected List<String> getCacheRegions() {
+        return Collections.singletonList(CacheRegions.ROLE);
+    }
+
     /**
      * Get all user roles assigned to selected client for current user.
      *
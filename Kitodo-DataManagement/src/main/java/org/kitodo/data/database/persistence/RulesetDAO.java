@@ -11,6 +11,7 @@
 
 package org.kitodo.data.database.persistence;
 
+import java.util.Collections;
 import java.util.List;
 
 import org.kitodo.data.database.beans.Ruleset;
@@ -47,4 +48,9 @@ public class RulesetDAO extends BaseDAO<Ruleset> {
     public void remove(Integer rulesetId) throws DAOException {
         removeObject(Ruleset.class, rulesetId);
     }
+
+    @Override
+    protected List<String> getCacheRegions() {
+        return Collections.singletonList(CacheRegions.RULESET);
+    }
 }
@@ -58,6 +58,18 @@ public class TaskDAO extends BaseDAO<Task> {
             size);
     }
 
+    @Override
+    public List<Task> getAllInIdRange(int fromId, int toId) throws DAOException {
+        return retrieveObjectsInIdRange("FROM Task WHERE id > :fromId AND id <= :toId AND " + getDateFilter("processingBegin")
+                + " ORDER BY id ASC", fromId, toId);
+    }
+
+    @Override
+    public List<Task> getAllNotIndexedInIdRange(int fromId, int toId) throws DAOException {
+        return retrieveObjectsInIdRange("FROM Task WHERE id > :fromId AND id <= :toId AND " + getDateFilter("processingBegin")
+                + " AND (indexAction = 'INDEX' OR indexAction IS NULL) ORDER BY id ASC", fromId, toId);
+    }
+
     @Override
     public void remove(Integer id) throws DAOException {
         removeObject(Task.class, id);
@@ -104,8 +104,16 @@ public class IndexRestClient extends KitodoRestClient {
      *            list of json documents to the index
      */
     void addTypeSync(String type, Map<Integer, Map<String, Object>> documentsToIndex) throws CustomResponseException {
-        BulkRequest bulkRequest = prepareBulkRequest(type, documentsToIndex);
+        performBulkRequest(prepareBulkRequest(type, documentsToIndex));
+    }
 
+    /**
+     * Send a prepared bulk request to the index and wait for its response.
+     *
+     * @param bulkRequest
+     *            bulk request containing the index requests
+     */
+    void performBulkRequest(BulkRequest bulkRequest) throws CustomResponseException {
         try {
             BulkResponse bulkResponse = highLevelClient.bulk(bulkRequest, RequestOptions.DEFAULT);
             if (bulkResponse.hasFailures()) {
@@ -194,11 +202,27 @@ public class IndexRestClient extends KitodoRestClient {
         BulkRequest bulkRequest = new BulkRequest();
 
         for (Map.Entry<Integer, Map<String, Object>> entry : documentsToIndex.entrySet()) {
-            IndexRequest indexRequest = new IndexRequest(this.indexBase + "_" + type);
-            indexRequest.id(String.valueOf(entry.getKey()));
-            bulkRequest.add(indexRequest.source(entry.getValue()));
+            bulkRequest.add(createIndexRequest(type, entry.getKey(), entry.getValue()));
         }
 
         return bulkRequest;
     }
+
+    /**
+     * Create an index request for one document. The document is serialized
+     * when the request is created.
+     *
+     * @param type
+     *            for which request is performed
+     * @param id
+     *            of document - equal to the id from table in database
+     * @param document
+     *            json document
+     * @return index request
+     */
+    IndexRequest createIndexRequest(String type, Integer id, Map<String, Object> document) {
+        IndexRequest indexRequest = new IndexRequest(this.indexBase + "_" + type);
+        indexRequest.id(String.valueOf(id));
+        return indexRequest.source(document);
+    }
 }
@@ -22,6 +22,8 @@ import org.kitodo.data.elasticsearch.Index;
 import org.kitodo.data.elasticsearch.exceptions.CustomResponseException;
 import org.kitodo.data.elasticsearch.index.type.BaseType;
 import org.kitodo.data.exceptions.DataException;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.index.IndexRequest;
 
 /**
  * Implementation of ElasticSearch Indexer for index package.
@@ -121,6 +123,40 @@ public class Indexer<T extends BaseIndexedBean, S extends BaseType> extends Inde
         }
     }
 
+    /**
+     * Create the index request for a bean. The document of the bean is created
+     * and serialized, so the returned request can be added to a bulk request
+     * later on.
+     *
+     * @param baseIndexedBean
+     *            bean object which will be added to index
+     * @param baseType
+     *            type on which will be called method createDocument()
+     * @return index request containing the serialized document
+     */
+    @SuppressWarnings("unchecked")
+    public IndexRequest createIndexRequest(T baseIndexedBean, S baseType) {
+        Map<String, Object> document = baseType.createDocument(baseIndexedBean);
+        return initiateRestClient().createIndexRequest(this.type, baseIndexedBean.getId(), document);
+    }
+
+    /**
+     * Send a bulk request built from index requests created by
+     * {@link #createIndexRequest(BaseIndexedBean, BaseType)}.
+     *
+     * @param bulkRequest
+     *            bulk request containing the index requests
+     */
+    public void performBulkRequest(BulkRequest bulkRequest) throws CustomResponseException {
+        IndexRestClient restClient = initiateRestClient();
+
+        if (method.equals(HttpMethod.PUT)) {
+            restClient.performBulkRequest(bulkRequest);
+        } else {
+            throw new CustomResponseException(INCORRECT_HTTP);
+        }
+    }
+
     private IndexRestClient initiateRestClient() {
         IndexRestClient restClient = IndexRestClient.getInstance();
         restClient.setIndexBase(index);
@@ -25,6 +25,7 @@ public class BatchType extends BaseType<Batch> {
     @Override
     Map<String, Object> getJsonObject(Batch batch) {
         Map<String, Object> jsonObject = new HashMap<>();
+        jsonObject.put(BatchTypeField.ID.getKey(), preventNull(batch.getId()));
         jsonObject.put(BatchTypeField.TITLE.getKey(), preventNull(batch.getTitle()));
         jsonObject.put(BatchTypeField.PROCESSES.getKey(), addObjectRelation(batch.getProcesses(), true));
         return jsonObject;
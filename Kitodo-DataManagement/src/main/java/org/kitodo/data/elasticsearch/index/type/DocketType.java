@@ -25,6 +25,7 @@ public class DocketType extends BaseType<Docket> {
     @Override
     Map<String, Object> getJsonObject(Docket docket) {
         Map<String, Object> jsonObject = new HashMap<>();
+        jsonObject.put(DocketTypeField.ID.getKey(), preventNull(docket.getId()));
         jsonObject.put(DocketTypeField.TITLE.getKey(), preventNull(docket.getTitle()));
         jsonObject.put(DocketTypeField.FILE.getKey(), preventNull(docket.getFile()));
         jsonObject.put(DocketTypeField.ACTIVE.getKey(), docket.isActive());
@@ -25,6 +25,7 @@ public class FilterType extends BaseType<Filter> {
     @Override
     Map<String, Object> getJsonObject(Filter filter) {
         Map<String, Object> jsonObject = new HashMap<>();
+        jsonObject.put(FilterTypeField.ID.getKey(), preventNull(filter.getId()));
         jsonObject.put(FilterTypeField.VALUE.getKey(), preventNull(filter.getValue()));
         jsonObject.put(FilterTypeField.USER.getKey(), getId(filter.getUser()));
         return jsonObject;
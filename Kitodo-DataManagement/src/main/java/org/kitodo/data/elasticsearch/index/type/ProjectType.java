@@ -59,6 +59,7 @@ public class ProjectType extends BaseType<Project> {
         }
 
         Map<String, Object> jsonObject = new HashMap<>();
+        jsonObject.put(ProjectTypeField.ID.getKey(), preventNull(project.getId()));
         jsonObject.put(ProjectTypeField.TITLE.getKey(), preventNull(project.getTitle()));
         jsonObject.put(ProjectTypeField.START_DATE.getKey(), getFormattedDate(project.getStartDate()));
         jsonObject.put(ProjectTypeField.END_DATE.getKey(), getFormattedDate(project.getEndDate()));
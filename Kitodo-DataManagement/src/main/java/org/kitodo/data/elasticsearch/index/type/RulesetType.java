@@ -25,6 +25,7 @@ public class RulesetType extends BaseType<Ruleset> {
     @Override
     Map<String, Object> getJsonObject(Ruleset ruleset) {
         Map<String, Object> jsonObject = new HashMap<>();
+        jsonObject.put(RulesetTypeField.ID.getKey(), preventNull(ruleset.getId()));
         jsonObject.put(RulesetTypeField.TITLE.getKey(), preventNull(ruleset.getTitle()));
         jsonObject.put(RulesetTypeField.FILE.getKey(), preventNull(ruleset.getFile()));
         jsonObject.put(RulesetTypeField.ORDER_METADATA_BY_RULESET.getKey(), ruleset.isOrderMetadataByRuleset());
@@ -36,6 +36,7 @@ public class TaskType extends BaseType<Task> {
         int processingUser = task.getProcessingUser() != null ? task.getProcessingUser().getId() : 0;
 
         Map<String, Object> jsonObject = new HashMap<>();
+        jsonObject.put(TaskTypeField.ID.getKey(), preventNull(task.getId()));
         jsonObject.put(TaskTypeField.TITLE.getKey(), preventNull(task.getTitle()));
         jsonObject.put(TaskTypeField.ORDERING.getKey(), task.getOrdering());
         jsonObject.put(TaskTypeField.PROCESSING_STATUS.getKey(), processingStatus);
@@ -23,6 +23,7 @@ public class TemplateType extends BaseType<Template> {
     @Override
     public Map<String, Object> getJsonObject(Template template) {
         Map<String, Object> jsonObject = new HashMap<>();
+        jsonObject.put(TemplateTypeField.ID.getKey(), preventNull(template.getId()));
         jsonObject.put(TemplateTypeField.TITLE.getKey(), template.getTitle());
         jsonObject.put(TemplateTypeField.CREATION_DATE.getKey(), getFormattedDate(template.getCreationDate()));
         jsonObject.put(TemplateTypeField.ACTIVE.getKey(), template.isActive());
@@ -22,6 +22,7 @@ public class WorkflowType extends BaseType<Workflow> {
     @Override
     Map<String, Object> getJsonObject(Workflow workflow) {
         Map<String, Object> jsonObject = new HashMap<>();
+        jsonObject.put(WorkflowTypeField.ID.getKey(), preventNull(workflow.getId()));
         jsonObject.put(WorkflowTypeField.TITLE.getKey(), preventNull(workflow.getTitle()));
         jsonObject.put(WorkflowTypeField.STATUS.getKey(), workflow.getStatus());
         jsonObject.put(WorkflowTypeField.CLIENT_ID.getKey(), getId(workflow.getClient()));
@@ -0,0 +1,136 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.data.elasticsearch.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.kitodo.data.elasticsearch.exceptions.CustomResponseException;
+import org.kitodo.data.exceptions.DataException;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.sort.SortBuilder;
+import org.opensearch.search.sort.SortBuilders;
+import org.opensearch.search.sort.SortOrder;
+
+/**
+ * Reads the documents found by a query page by page, beyond the result window
+ * of the index. The cursor searches in a point in time, so that the documents
+ * are not affected by changes of the index while they are read, and each page
+ * continues after the sort values of the last document of the previous page.
+ * The cursor must be closed after use to release the point in time.
+ */
+public class SearchCursor implements AutoCloseable {
+
+    static final String ID = "id";
+
+    private final SearchRestClient restClient;
+    private final String pointInTimeId;
+    private final QueryBuilder query;
+    private final List<SortBuilder<?>> sorts = new ArrayList<>();
+    private final int pageSize;
+    private Object[] searchAfter;
+    private boolean exhausted;
+
+    /**
+     * Opens a cursor. The documents are sorted by the given sort condition,
+     * or by score if it is null, and by their numeric ID, so that their order
+     * is unique. The ID field is sorted on doc values, unlike the document ID,
+     * which would have to be loaded into the heap of the search server.
+     */
+    SearchCursor(SearchRestClient restClient, String type, QueryBuilder query, SortBuilder<?> sort, int pageSize)
+            throws CustomResponseException, DataException {
+        this.restClient = restClient;
+        this.query = query;
+        this.sorts.add(Objects.nonNull(sort) ? sort : SortBuilders.scoreSort());
+        this.sorts.add(SortBuilders.fieldSort(ID).order(SortOrder.ASC));
+        this.pageSize = Math.min(pageSize, SearchRestClient.MAX_RESULT_WINDOW);
+        this.pointInTimeId = restClient.openPointInTime(type);
+        this.exhausted = Objects.isNull(pointInTimeId);
+    }
+
+    /**
+     * Returns the next page of documents.
+     *
+     * @return the documents, an empty list if all documents have been read
+     */
+    public List<Map<String, Object>> nextDocuments() throws CustomResponseException, DataException {
+        List<Map<String, Object>> documents = new ArrayList<>();
+        for (SearchHit hit : nextHits(pageSize, true)) {
+            Map<String, Object> document = hit.getSourceAsMap();
+            document.put("id", hit.getId());
+            documents.add(document);
+        }
+        return documents;
+    }
+
+    /**
+     * Returns the IDs of the next page of documents. The documents themselves
+     * are not transferred.
+     *
+     * @return the IDs, an empty list if all documents have been read
+     */
+    public List<Integer> nextIds() throws CustomResponseException, DataException {
+        List<Integer> ids = new ArrayList<>();
+        for (SearchHit hit : nextHits(pageSize, false)) {
+            ids.add(Integer.valueOf(hit.getId()));
+        }
+        return ids;
+    }
+
+    /**
+     * Skips documents without transferring them.
+     *
+     * @param count
+     *            number of documents to skip
+     * @return the number of documents skipped, which is less than the given
+     *         number if there were not enough documents
+     */
+    public long skip(long count) throws CustomResponseException, DataException {
+        long skipped = 0;
+        while (skipped < count && !exhausted) {
+            skipped += nextHits((int) Math.min(count - skipped, SearchRestClient.MAX_RESULT_WINDOW), false).size();
+        }
+        return skipped;
+    }
+
+    private List<SearchHit> nextHits(int size, boolean fetchSource) throws CustomResponseException, DataException {
+        if (exhausted) {
+            return Collections.emptyList();
+        }
+        SearchHits hits = restClient.getDocuments(pointInTimeId, query, sorts, searchAfter, size, fetchSource);
+        SearchHit[] hitArray = hits.getHits();
+        if (hitArray.length < size) {
+            exhausted = true;
+        }
+        if (hitArray.length > 0) {
+            searchAfter = hitArray[hitArray.length - 1].getSortValues();
+        }
+        return Arrays.asList(hitArray);
+    }
+
+    /**
+     * Closes the cursor and releases its point in time.
+     */
+    @Override
+    public void close() throws CustomResponseException, DataException {
+        exhausted = true;
+        if (Objects.nonNull(pointInTimeId)) {
+            restClient.closePointInTime(pointInTimeId);
+        }
+    }
+}
@@ -33,16 +33,20 @@ import org.opensearch.action.get.GetResponse;
 import org.opensearch.action.get.MultiGetItemResponse;
 import org.opensearch.action.get.MultiGetRequest;
 import org.opensearch.action.get.MultiGetResponse;
+import org.opensearch.action.search.CreatePitRequest;
+import org.opensearch.action.search.DeletePitRequest;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.client.Request;
 import org.opensearch.client.RequestOptions;
 import org.opensearch.client.Response;
 import org.opensearch.client.ResponseException;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.search.SearchHits;
 import org.opensearch.search.aggregations.AggregationBuilder;
 import org.opensearch.search.aggregations.Aggregations;
+import org.opensearch.search.builder.PointInTimeBuilder;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.search.fetch.subphase.FetchSourceContext;
 import org.opensearch.search.sort.SortBuilder;
@@ -52,6 +56,17 @@ import org.opensearch.search.sort.SortBuilder;
  */
 public class SearchRestClient extends KitodoRestClient {
 
+    /**
+     * Maximum number of hits the index returns for a search with offset and
+     * size (the default of the index setting max_result_window).
+     */
+    static final int MAX_RESULT_WINDOW = 10000;
+
+    /**
+     * How long a point in time is kept between two requests.
+     */
+    private static final TimeValue POINT_IN_TIME_KEEP_ALIVE = TimeValue.timeValueMinutes(2);
+
     /**
      * SearchRestClient singleton.
      */
@@ -182,7 +197,7 @@ public class SearchRestClient extends KitodoRestClient {
         if (Objects.nonNull(size)) {
             sourceBuilder.size(size);
         } else {
-            sourceBuilder.size(10000);
+            sourceBuilder.size(MAX_RESULT_WINDOW);
         }
 
         SearchRequest searchRequest = new SearchRequest(this.indexBase + "_" + type);
@@ -199,6 +214,93 @@ public class SearchRestClient extends KitodoRestClient {
         }
     }
 
+    /**
+     * Opens a point in time, a view on the index of a type as it is at the
+     * time of opening, which is not affected by later changes of the index.
+     *
+     * @param type
+     *            for which the point in time is opened
+     * @return the ID of the point in time, or null if there is no index for
+     *         the type
+     */
+    String openPointInTime(String type) throws CustomResponseException, DataException {
+        try {
+            CreatePitRequest createPitRequest = new CreatePitRequest(POINT_IN_TIME_KEEP_ALIVE, true,
+                    this.indexBase + "_" + type);
+            return highLevelClient.createPit(createPitRequest, RequestOptions.DEFAULT).getId();
+        } catch (ResponseException e) {
+            handleResponseException(e);
+            return null;
+        } catch (IOException e) {
+            throw new DataException(e);
+        }
+    }
+
+    /**
+     * Closes a point in time.
+     *
+     * @param pointInTimeId
+     *            ID of the point in time
+     */
+    void closePointInTime(String pointInTimeId) throws CustomResponseException, DataException {
+        try {
+            highLevelClient.deletePit(new DeletePitRequest(pointInTimeId), RequestOptions.DEFAULT);
+        } catch (ResponseException e) {
+            handleResponseException(e);
+        } catch (IOException e) {
+            throw new DataException(e);
+        }
+    }
+
+    /**
+     * Get documents by query in a point in time, following the documents
+     * with the given sort values.
+     *
+     * @param pointInTimeId
+     *            ID of the point in time to search in
+     * @param query
+     *            to find the documents
+     * @param sorts
+     *            sort conditions, which must sort the documents uniquely
+     * @param searchAfter
+     *            sort values of the last document of the previous page, or
+     *            null for the first page
+     * @param size
+     *            maximum number of documents
+     * @param fetchSource
+     *            whether the documents are returned, or only their IDs
+     * @return the hits
+     */
+    SearchHits getDocuments(String pointInTimeId, QueryBuilder query, List<SortBuilder<?>> sorts,
+            Object[] searchAfter, int size, boolean fetchSource) throws CustomResponseException, DataException {
+        SearchSourceBuilder sourceBuilder = new SearchSourceBuilder();
+        sourceBuilder.query(query);
+        for (SortBuilder<?> sort : sorts) {
+            sourceBuilder.sort(sort);
+        }
+        if (Objects.nonNull(searchAfter)) {
+            sourceBuilder.searchAfter(searchAfter);
+        }
+        sourceBuilder.size(size);
+        sourceBuilder.fetchSource(fetchSource);
+        sourceBuilder.trackTotalHits(false);
+        sourceBuilder.pointInTimeBuilder(new PointInTimeBuilder(pointInTimeId).setKeepAlive(POINT_IN_TIME_KEEP_ALIVE));
+
+        // a search in a point in time must not name an index
+        SearchRequest searchRequest = new SearchRequest();
+        searchRequest.source(sourceBuilder);
+
+        try {
+            SearchResponse response = highLevelClient.search(searchRequest, RequestOptions.DEFAULT);
+            return response.getHits();
+        } catch (ResponseException e) {
+            handleResponseException(e);
+            return SearchHits.empty();
+        } catch (IOException e) {
+            throw new DataException(e);
+        }
+    }
+
     /**
      * Retrieves a map of document IDs to their corresponding base type for the given list of IDs.
      *
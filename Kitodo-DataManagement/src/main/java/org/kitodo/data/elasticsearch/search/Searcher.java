@@ -22,6 +22,9 @@ import javax.json.Json;
 import javax.json.JsonObject;
 import javax.json.JsonReader;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.lucene.search.TotalHits;
 import org.kitodo.data.elasticsearch.Index;
 import org.kitodo.data.elasticsearch.exceptions.CustomResponseException;
 import org.kitodo.data.exceptions.DataException;
@@ -39,6 +42,8 @@ import org.opensearch.search.sort.SortBuilder;
  */
 public class Searcher extends Index {
 
+    private static final Logger logger = LogManager.getLogger(Searcher.class);
+
     /**
      * Constructor for searcher with type names equal to table names.
      *
@@ -202,6 +207,8 @@ public class Searcher extends Index {
 
     /**
      * Find many documents by query, sort condition, offset and size of result set.
+     * Without size, at most as many documents as fit into the result window of
+     * the index are returned. To read more documents, use a cursor.
      *
      * @param query
      *            as String
@@ -211,10 +218,18 @@ public class Searcher extends Index {
      */
     public List<Map<String, Object>> findDocuments(QueryBuilder query, SortBuilder sort, Integer offset, Integer size)
             throws CustomResponseException, DataException {
+        int from = Objects.nonNull(offset) ? offset : 0;
+        if (Objects.nonNull(size) && (long) from + size > SearchRestClient.MAX_RESULT_WINDOW) {
+            return findDocumentsWithCursor(query, sort, from, size);
+        }
         SearchRestClient restClient = initiateRestClient();
         List<Map<String, Object>> searchResults = new ArrayList<>();
 
         SearchHits hits = restClient.getDocument(this.type, query, sort, offset, size);
+        if (Objects.isNull(size) && isTruncated(hits)) {
+            logger.warn("Search in {} found more than {} documents, only these are returned", this.type,
+                SearchRestClient.MAX_RESULT_WINDOW);
+        }
         for (SearchHit hit : hits.getHits()) {
             Map<String,Object> result = hit.getSourceAsMap();
             result.put("id", hit.getId());
@@ -223,6 +238,64 @@ public class Searcher extends Index {
         return searchResults;
     }
 
+    /**
+     * Opens a cursor to read the documents found by a query page by page,
+     * without the limit of the result window of the index. The cursor must be
+     * closed after use. The cursor needs the numeric ID of all documents to
+     * sort them uniquely, so it cannot be opened on an index created before
+     * the ID was a field of all documents; such an index must be recreated.
+     *
+     * @param query
+     *            of searched documents
+     * @param sort
+     *            sort condition, may be null to sort by score
+     * @param pageSize
+     *            number of documents per page
+     * @return the cursor
+     */
+    public SearchCursor openCursor(QueryBuilder query, SortBuilder<?> sort, int pageSize)
+            throws CustomResponseException, DataException {
+        if (countDocuments(QueryBuilders.boolQuery().mustNot(QueryBuilders.existsQuery(SearchCursor.ID))) > 0) {
+            throw new CustomResponseException("The " + this.type + " index contains documents without field \""
+                    + SearchCursor.ID + "\", it must be recreated");
+        }
+        return new SearchCursor(initiateRestClient(), this.type, query, sort, pageSize);
+    }
+
+    /**
+     * Reads documents beyond the result window of the index. The documents
+     * before the offset are skipped without being transferred.
+     */
+    private List<Map<String, Object>> findDocumentsWithCursor(QueryBuilder query, SortBuilder sort, int offset,
+            int size) throws CustomResponseException, DataException {
+        List<Map<String, Object>> searchResults = new ArrayList<>();
+        try (SearchCursor cursor = openCursor(query, sort, Math.min(size, SearchRestClient.MAX_RESULT_WINDOW))) {
+            if (cursor.skip(offset) < offset) {
+                return searchResults;
+            }
+            List<Map<String, Object>> page = cursor.nextDocuments();
+            while (!page.isEmpty()) {
+                searchResults.addAll(page.subList(0, Math.min(page.size(), size - searchResults.size())));
+                if (searchResults.size() >= size) {
+                    break;
+                }
+                page = cursor.nextDocuments();
+            }
+        }
+        return searchResults;
+    }
+
+    /**
+     * Returns whether a search without size returned fewer documents than it
+     * found, because the result window of the index was exceeded.
+     */
+    private static boolean isTruncated(SearchHits hits) {
+        TotalHits totalHits = hits.getTotalHits();
+        return hits.getHits().length >= SearchRestClient.MAX_RESULT_WINDOW && Objects.nonNull(totalHits)
+                && (totalHits.value > hits.getHits().length
+                        || totalHits.relation == TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO);
+    }
+
     private SearchRestClient initiateRestClient() {
         SearchRestClient restClient = SearchRestClient.getInstance();
         restClient.setIndexBase(index);
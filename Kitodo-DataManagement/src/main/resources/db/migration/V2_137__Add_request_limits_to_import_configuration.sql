@@ -0,0 +1,14 @@
+--
+-- (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+--
+-- This file is part of the Kitodo project.
+--
+-- It is licensed under GNU General Public License version 3 or later.
+--
+-- For the full copyright and license information, please read the
+-- GPL3-License.txt file that was distributed with this source code.
+--
+
+-- Add columns "max_concurrent_requests" and "max_requests_per_second" to "importconfiguration" table
+ALTER TABLE importconfiguration ADD max_concurrent_requests INT DEFAULT NULL;
+ALTER TABLE importconfiguration ADD max_requests_per_second INT DEFAULT NULL;
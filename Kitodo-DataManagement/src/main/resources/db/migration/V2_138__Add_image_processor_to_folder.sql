@@ -0,0 +1,16 @@
+--
+-- (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+--
+-- This file is part of the Kitodo project.
+--
+-- It is licensed under GNU General Public License version 3 or later.
+--
+-- For the full copyright and license information, please read the
+-- GPL3-License.txt file that was distributed with this source code.
+--
+
+-- Add column "imageProcessor" to "folder" table
+ALTER TABLE folder
+  ADD imageProcessor varchar(11) NOT NULL DEFAULT 'IMAGEMAGICK',
+  ADD CONSTRAINT CK_folder_imageProcessor
+        CHECK (imageProcessor IN ('IMAGEMAGICK', 'JAVA'));
@@ -103,7 +103,7 @@ public class BatchTypeTest {
         Batch batch = prepareData().get(0);
         Map<String, Object> actual = batchType.createDocument(batch);
 
-        assertEquals(2, actual.keySet().size(), "Amount of keys is incorrect!");
+        assertEquals(3, actual.keySet().size(), "Amount of keys is incorrect!");
 
         List<Map<String, Object>> processes = BatchTypeField.PROCESSES.getJsonArray(actual);
         Map<String, Object> process = processes.get(0);
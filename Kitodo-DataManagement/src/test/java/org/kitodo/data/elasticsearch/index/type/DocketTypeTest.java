@@ -65,7 +65,7 @@ public class DocketTypeTest {
 
         Map<String, Object> actual = docketType.createDocument(docket);
 
-        assertEquals(5, actual.keySet().size(), "Amount of keys is incorrect!");
+        assertEquals(6, actual.keySet().size(), "Amount of keys is incorrect!");
     }
 
     @Test
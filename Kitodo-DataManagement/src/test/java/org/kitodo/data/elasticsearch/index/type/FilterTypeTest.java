@@ -78,7 +78,7 @@ public class FilterTypeTest {
         Filter filter = prepareData().get(0);
         Map<String, Object> actual = filterType.createDocument(filter);
 
-        assertEquals(2, actual.keySet().size(), "Amount of keys is incorrect!");
+        assertEquals(3, actual.keySet().size(), "Amount of keys is incorrect!");
     }
 
     @Test
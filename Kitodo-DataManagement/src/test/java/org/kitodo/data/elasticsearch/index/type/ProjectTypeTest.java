@@ -371,7 +371,7 @@ public class ProjectTypeTest {
         Project project = prepareData().get(0);
         Map<String, Object> actual = processType.createDocument(project);
 
-        assertEquals(13, actual.keySet().size(), "Amount of keys is incorrect!");
+        assertEquals(14, actual.keySet().size(), "Amount of keys is incorrect!");
 
         List<Map<String, Object>> templates = ProjectTypeField.TEMPLATES.getJsonArray(actual);
         Map<String, Object> template = templates.get(0);
@@ -67,7 +67,7 @@ public class RulesetTypeTest {
 
         Map<String, Object> actual = rulesetType.createDocument(ruleset);
 
-        assertEquals(6, actual.keySet().size(), "Amount of keys is incorrect!");
+        assertEquals(7, actual.keySet().size(), "Amount of keys is incorrect!");
     }
 
     @Test
@@ -224,7 +224,7 @@ public class TaskTypeTest {
         Task task = prepareData().get(0);
         Map<String, Object> actual = taskType.createDocument(task);
 
-        assertEquals(30, actual.keySet().size(), "Amount of keys is incorrect!");
+        assertEquals(31, actual.keySet().size(), "Amount of keys is incorrect!");
 
         List<Map<String, Object>> roles = TaskTypeField.ROLES.getJsonArray(actual);
         Map<String, Object> role = roles.get(0);
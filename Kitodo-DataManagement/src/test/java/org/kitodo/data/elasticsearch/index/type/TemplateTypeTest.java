@@ -175,7 +175,7 @@ public class TemplateTypeTest {
         Template template = prepareData().get(0);
         Map<String, Object> actual = templateType.createDocument(template);
 
-        assertEquals(12, actual.keySet().size(), "Amount of keys is incorrect!");
+        assertEquals(13, actual.keySet().size(), "Amount of keys is incorrect!");
 
         List<Map<String, Object>> projects = TemplateTypeField.PROJECTS.getJsonArray(actual);
         Map<String, Object> project = projects.get(0);
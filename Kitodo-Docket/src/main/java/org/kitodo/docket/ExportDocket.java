@@ -11,17 +11,20 @@
 
 package org.kitodo.docket;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.xml.transform.Result;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.sax.SAXResult;
+import javax.xml.transform.sax.SAXTransformerFactory;
+import javax.xml.transform.sax.TransformerHandler;
 import javax.xml.transform.stream.StreamSource;
 
 import org.apache.fop.apps.FOPException;
@@ -38,6 +41,24 @@ import org.kitodo.api.docket.DocketData;
  */
 public class ExportDocket {
 
+    /**
+     * The FOP factory. It is thread-safe and holds the font and image caches,
+     * so it is created only once.
+     */
+    private static final FopFactory fopFactory;
+
+    static {
+        FopFactoryBuilder builder = new FopFactoryBuilder(new File(".").toURI());
+        builder.setStrictFOValidation(false);
+        fopFactory = builder.build();
+    }
+
+    /**
+     * The compiled XSLT files with their modification times at the time of
+     * compiling, by XSLT file.
+     */
+    private static final Map<File, CompiledXslt> compiledXslts = new ConcurrentHashMap<>();
+
     File xsltFile;
 
     /**
@@ -60,13 +81,7 @@ public class ExportDocket {
      *             Throws IOException, when pdfGeneration fails
      */
     void startExport(DocketData docketData, OutputStream outputStream) throws IOException {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        new ExportXmlLog(docketData).accept(out);
-
-        byte[] pdfBytes = generatePdfBytes(out);
-
-        outputStream.write(pdfBytes);
-        outputStream.flush();
+        generatePdf(new ExportXmlLog(docketData), outputStream);
         outputStream.close();
     }
 
@@ -80,36 +95,59 @@ public class ExportDocket {
      *             Throws IOException, when pdfGeneration fails.
      */
     void startExport(Iterable<DocketData> docketDataList, OutputStream os) throws IOException {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        new ExportXmlLog(docketDataList).accept(out);
-
-        byte[] pdfBytes = generatePdfBytes(out);
-
-        os.write(pdfBytes);
+        generatePdf(new ExportXmlLog(docketDataList), os);
     }
 
-    private byte[] generatePdfBytes(ByteArrayOutputStream out) throws IOException {
-        // generate pdf file
-        StreamSource source = new StreamSource(new ByteArrayInputStream(out.toByteArray()));
-        StreamSource transformSource = new StreamSource(xsltFile);
-        FopFactoryBuilder builder = new FopFactoryBuilder(new File(".").toURI());
-        builder.setStrictFOValidation(false);
-        FopFactory fopFactory = builder.build();
-        ByteArrayOutputStream outStream = new ByteArrayOutputStream();
-        // transform xml
+    /**
+     * Transforms the XML log into a PDF file. The XML log is passed to the
+     * transformation as SAX events, and FOP writes the PDF file to the output
+     * stream while rendering it.
+     */
+    private void generatePdf(ExportXmlLog exportXmlLog, OutputStream outputStream) throws IOException {
+        BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(outputStream);
         try {
-            Transformer xslTransformer = TransformerFactory.newInstance().newTransformer(transformSource);
-            Fop fop = fopFactory.newFop(MimeConstants.MIME_PDF, outStream);
-            Result res = new SAXResult(fop.getDefaultHandler());
-            xslTransformer.transform(source, res);
+            TransformerHandler transformerHandler = getTransformerFactory().newTransformerHandler(getTemplates());
+            Fop fop = fopFactory.newFop(MimeConstants.MIME_PDF, bufferedOutputStream);
+            transformerHandler.setResult(new SAXResult(fop.getDefaultHandler()));
+            exportXmlLog.output(transformerHandler);
         } catch (FOPException e) {
             throw new IOException("FOPException occurred", e);
-        } catch (TransformerException e) {
+        } catch (TransformerConfigurationException e) {
             throw new IOException("TransformerException occurred", e);
         }
+        bufferedOutputStream.flush();
+    }
+
+    /**
+     * Returns the compiled XSLT file. If it has not been compiled yet, or if
+     * it has been changed since, it is compiled.
+     */
+    private Templates getTemplates() throws TransformerConfigurationException {
+        File file = xsltFile.getAbsoluteFile();
+        long lastModified = file.lastModified();
+        CompiledXslt compiledXslt = compiledXslts.get(file);
+        if (Objects.isNull(compiledXslt) || compiledXslt.lastModified != lastModified) {
+            compiledXslt = new CompiledXslt(getTransformerFactory().newTemplates(new StreamSource(file)),
+                    lastModified);
+            compiledXslts.put(file, compiledXslt);
+        }
+        return compiledXslt.templates;
+    }
 
-        // write the content to output stream
-        return outStream.toByteArray();
+    private static SAXTransformerFactory getTransformerFactory() {
+        return (SAXTransformerFactory) TransformerFactory.newInstance();
     }
 
+    /**
+     * A compiled XSLT file. Compiled templates are thread-safe.
+     */
+    private static final class CompiledXslt {
+        private final Templates templates;
+        private final long lastModified;
+
+        private CompiledXslt(Templates templates, long lastModified) {
+            this.templates = templates;
+            this.lastModified = lastModified;
+        }
+    }
 }
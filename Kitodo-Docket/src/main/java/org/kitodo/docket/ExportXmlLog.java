@@ -44,6 +44,7 @@ import org.jdom2.Namespace;
 import org.jdom2.filter.Filters;
 import org.jdom2.input.SAXBuilder;
 import org.jdom2.output.Format;
+import org.jdom2.output.SAXOutputter;
 import org.jdom2.output.XMLOutputter;
 import org.jdom2.xpath.XPathExpression;
 import org.jdom2.xpath.XPathFactory;
@@ -52,6 +53,9 @@ import org.kitodo.api.docket.Property;
 import org.kitodo.config.KitodoConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
 
 /**
  * This class provides xml logfile generation. After the generation the file
@@ -65,10 +69,14 @@ public class ExportXmlLog implements Consumer<OutputStream> {
     private static final Logger logger = LoggerFactory.getLogger(ExportXmlLog.class);
     private static final String LABEL = "label";
     private static final String NAMESPACE = "http://www.kitodo.org/logfile";
+    private static final String PROCESSES = "processes";
     private static final String PROPERTIES = "properties";
     private static final String PROPERTY = "property";
     private static final String PROPERTY_IDENTIFIER = "propertyIdentifier";
+    private static final String SCHEMA_LOCATION = "schemaLocation";
     private static final String VALUE = "value";
+    private static final String XSI = "xsi";
+    private static final String XSI_NAMESPACE = "http://www.w3.org/2001/XMLSchema-instance";
 
     List<DocketData> docketData;
 
@@ -140,14 +148,14 @@ public class ExportXmlLog implements Consumer<OutputStream> {
 
     void startMultipleExport(OutputStream outputStream) {
         Document answer = new Document();
-        Element root = new Element("processes");
+        Element root = new Element(PROCESSES);
         answer.setRootElement(root);
         Namespace xmlns = Namespace.getNamespace(NAMESPACE);
 
-        Namespace xsi = Namespace.getNamespace("xsi", "http://www.w3.org/2001/XMLSchema-instance");
+        Namespace xsi = Namespace.getNamespace(XSI, XSI_NAMESPACE);
         root.addNamespaceDeclaration(xsi);
         root.setNamespace(xmlns);
-        Attribute attSchema = new Attribute("schemaLocation", NAMESPACE + " XML-logfile.xsd",
+        Attribute attSchema = new Attribute(SCHEMA_LOCATION, NAMESPACE + " XML-logfile.xsd",
                 xsi);
         root.setAttribute(attSchema);
         for (DocketData docketData : this.docketData) {
@@ -175,6 +183,45 @@ public class ExportXmlLog implements Consumer<OutputStream> {
 
     }
 
+    /**
+     * This method passes the production metadata as SAX events to a given
+     * content handler, so that it can be transformed without being serialized
+     * and parsed again. For several processes, the XML of one process is
+     * created at a time, as it is passed on.
+     *
+     * @param contentHandler
+     *            the content handler to pass the events to
+     * @throws IOException
+     *             Throws IOException, when document creation fails.
+     */
+    void output(ContentHandler contentHandler) throws IOException {
+        SAXOutputter saxOutputter = new SAXOutputter(contentHandler);
+        saxOutputter.setFormat(Format.getPrettyFormat());
+        try {
+            if (docketData.size() == 1) {
+                saxOutputter.output(createDocument(docketData.get(0), true));
+                return;
+            }
+            contentHandler.startDocument();
+            contentHandler.startPrefixMapping("", NAMESPACE);
+            contentHandler.startPrefixMapping(XSI, XSI_NAMESPACE);
+            AttributesImpl attributes = new AttributesImpl();
+            attributes.addAttribute(XSI_NAMESPACE, SCHEMA_LOCATION, XSI + ':' + SCHEMA_LOCATION, "CDATA",
+                NAMESPACE + " XML-logfile.xsd");
+            contentHandler.startElement(NAMESPACE, PROCESSES, PROCESSES, attributes);
+            for (DocketData processData : docketData) {
+                saxOutputter.outputFragment(createDocument(processData, false).getRootElement());
+            }
+            contentHandler.endElement(NAMESPACE, PROCESSES, PROCESSES);
+            contentHandler.endPrefixMapping(XSI);
+            contentHandler.endPrefixMapping("");
+            contentHandler.endDocument();
+        } catch (JDOMException | SAXException | RuntimeException e) {
+            logger.error("Document creation failed.");
+            throw new IOException(e);
+        }
+    }
+
     /**
      * This method creates a new xml document with process metadata.
      *
@@ -327,9 +374,9 @@ public class ExportXmlLog implements Consumer<OutputStream> {
     private void processNamespaceDeclaration(boolean addNamespace, Element processElm) {
         if (addNamespace) {
 
-            Namespace xsi = Namespace.getNamespace("xsi", "http://www.w3.org/2001/XMLSchema-instance");
+            Namespace xsi = Namespace.getNamespace(XSI, XSI_NAMESPACE);
             processElm.addNamespaceDeclaration(xsi);
-            Attribute attSchema = new Attribute("schemaLocation", NAMESPACE + " XML-logfile.xsd",
+            Attribute attSchema = new Attribute(SCHEMA_LOCATION, NAMESPACE + " XML-logfile.xsd",
                     xsi);
             processElm.setAttribute(attSchema);
         }
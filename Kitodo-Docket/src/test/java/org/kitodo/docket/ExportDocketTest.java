@@ -13,10 +13,13 @@ package org.kitodo.docket;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -49,4 +52,16 @@ public class ExportDocketTest {
         assertTrue(file.exists());
     }
 
+    @Test
+    public void testStartMultipleExport() throws IOException, URISyntaxException {
+        File xslFile = new File("src/test/resources/docket_multipage.xsl");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        for (int i = 0; i < 2; i++) {
+            outputStream.reset();
+            new ExportDocket(xslFile).startExport(
+                docketDataGenerator.createDocketData(Arrays.asList("processId1", "processId2")), outputStream);
+            assertTrue(new String(outputStream.toByteArray(), StandardCharsets.ISO_8859_1).startsWith("%PDF"));
+        }
+    }
 }
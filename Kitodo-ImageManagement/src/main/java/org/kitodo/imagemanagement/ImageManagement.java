@@ -17,12 +17,15 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Objects;
 import java.util.function.Function;
 
 import javax.imageio.ImageIO;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.kitodo.api.imagemanagement.DerivativeDefinition;
 import org.kitodo.api.imagemanagement.ImageFileFormat;
 import org.kitodo.api.imagemanagement.ImageManagementInterface;
 import org.kitodo.config.KitodoConfig;
@@ -94,6 +97,37 @@ public class ImageManagement implements ImageManagementInterface {
         return new File(resultUri).exists();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.kitodo.api.imagemanagement.ImageManagementInterface#createDerivatives(java.net.URI,
+     *      java.util.Collection)
+     */
+    @Override
+    public boolean createDerivatives(URI sourceUri, Collection<DerivativeDefinition> derivatives)
+            throws IOException {
+
+        fileExists(sourceUri);
+        if (derivatives.isEmpty()) {
+            return true;
+        }
+        ImageConverter imageConverter = new ImageConverter(sourceUri);
+        for (DerivativeDefinition derivative : derivatives) {
+            FutureDerivative futureDerivative = imageConverter.addResult(derivative.getResultFileUri(),
+                derivative.getResultFileFormat());
+            if (Objects.nonNull(derivative.getPercent())) {
+                futureDerivative.resize(derivative.getPercent());
+            } else if (Objects.nonNull(derivative.getDpi())) {
+                futureDerivative.resizeToDpi(derivative.getDpi());
+            } else {
+                futureDerivative.resizeToWidth(derivative.getPixelWidth());
+            }
+        }
+        logger.info("Creating derivatives from {}: {}", sourceUri, derivatives);
+        imageConverter.run();
+        return derivatives.stream().allMatch(derivative -> new File(derivative.getResultFileUri()).exists());
+    }
+
     /**
      * {@inheritDoc}
      *
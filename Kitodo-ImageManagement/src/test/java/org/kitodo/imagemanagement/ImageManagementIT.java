@@ -34,6 +34,7 @@ import org.im4java.core.InfoException;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.kitodo.api.imagemanagement.DerivativeDefinition;
 import org.kitodo.api.imagemanagement.ImageFileFormat;
 import org.kitodo.api.imagemanagement.ImageManagementInterface;
 import org.kitodo.config.KitodoConfig;
@@ -70,6 +71,8 @@ public class ImageManagementIT {
     private static final String _00000001_MAX_JPG = RESOURCES + "/00000001_max.jpg";
     private static final String _00000001_MAX_JPG_WITH_WHITESPACE = RESOURCES + "/00000001 whiteSpace_max.jpg";
     private static final String _00000001_MAX_JPG_WITH_SPECIAL_CHARACTER = RESOURCES + "/00000001_ÄÜÖ#_max.jpg";
+    private static final String _00000001_THUMBNAIL_JPG = RESOURCES + "/00000001_thumbnail.jpg";
+    private static final String _00000001_PNG = RESOURCES + "/00000001_half.png";
 
     /**
      * Creates the input tiff file. The tiff file will contain the “wizard”
@@ -123,6 +126,23 @@ public class ImageManagementIT {
         assertTrue(maxDerivative.exists());
     }
 
+    @Test
+    public void testCreateDerivatives() throws IOException, InfoException {
+        assert new File(_00000001_TIF).exists();
+        File maxDerivative = new File(_00000001_MAX_JPG);
+        File thumbnail = new File(_00000001_THUMBNAIL_JPG);
+        File png = new File(_00000001_PNG);
+        ImageManagementInterface module = new ImageManagement();
+        assertTrue(module.createDerivatives(new File(_00000001_TIF).toURI(), Arrays.asList(
+            DerivativeDefinition.scaled(maxDerivative.toURI(), ImageFileFormat.JPEG, 1.0),
+            DerivativeDefinition.withWidth(thumbnail.toURI(), ImageFileFormat.JPEG, 150),
+            DerivativeDefinition.scaled(png.toURI(), ImageFileFormat.PNG, 0.5))));
+        int width = new Info(_00000001_TIF, true).getImageWidth();
+        assertEquals(width, new Info(_00000001_MAX_JPG, true).getImageWidth());
+        assertEquals(150, new Info(_00000001_THUMBNAIL_JPG, true).getImageWidth());
+        assertEquals(width / 2, new Info(_00000001_PNG, true).getImageWidth());
+    }
+
     @Test
     public void testChangeDpi() throws IOException, InfoException {
         assert new File(_00000001_TIF).exists();
@@ -147,7 +167,7 @@ public class ImageManagementIT {
     public static void cleanUp() {
         File resources = new File(RESOURCES);
         for (File file : Objects.requireNonNull(resources.listFiles())) {
-            if (FilenameUtils.isExtension(file.getName(), "tif", "jpg")) {
+            if (FilenameUtils.isExtension(file.getName(), "tif", "jpg", "png")) {
                 file.delete();
             }
         }
@@ -0,0 +1,36 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.config.enums;
+
+public enum ParameterQueryURLImport implements ParameterInterface {
+
+    CATALOGUE_CACHE_TIME_TO_LIVE("catalogue.cache.timeToLive"),
+    CATALOGUE_CACHE_MAX_ENTRIES("catalogue.cache.maxEntries"),
+    CATALOGUE_CACHE_DIRECTORY("catalogue.cache.directory");
+
+    private String name;
+
+    /**
+     * Private constructor to hide the implicit public one.
+     *
+     * @param name
+     *            of parameter
+     */
+    ParameterQueryURLImport(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public java.lang.String toString() {
+        return this.name;
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.queryurlimport;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.api.externaldatamanagement.DataImport;
+import org.kitodo.config.KitodoConfig;
+import org.kitodo.config.enums.ParameterQueryURLImport;
+
+/**
+ * Cache of the responses of search interfaces, so that records which are
+ * requested repeatedly within a short time, like the parent record of every
+ * child in a hierarchy import, are only fetched once. Entries expire after a
+ * configurable time to live. The cache is disabled unless a time to live is
+ * configured. The most recently used entries are held in memory; if a cache
+ * directory is configured, entries are also written there and survive a
+ * restart. The directory is pruned to the same maximum number of entries from
+ * time to time. The hits and misses are counted and logged every
+ * {@value #STATISTICS_INTERVAL} requests.
+ */
+class CatalogResponseCache {
+
+    private static final Logger logger = LogManager.getLogger(CatalogResponseCache.class);
+
+    private static final int DEFAULT_TIME_TO_LIVE_SECONDS = 0;
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final String ENTRY_FILE_SUFFIX = ".xml";
+
+    /**
+     * Number of entries written to the directory between two prunings.
+     */
+    private static final int PRUNING_INTERVAL = 100;
+
+    /**
+     * Number of requests between two log messages with the hits and misses.
+     */
+    private static final int STATISTICS_INTERVAL = 100;
+
+    private final long timeToLive;
+    private final int maxEntries;
+    private final Path directory;
+    private final Map<String, Entry> entries;
+    private final AtomicInteger writesUntilPruning = new AtomicInteger();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private static class Entry {
+        private final long created;
+        private final String content;
+
+        Entry(long created, String content) {
+            this.created = created;
+            this.content = content;
+        }
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param timeToLive
+     *            time in milliseconds after which an entry expires. The cache
+     *            is disabled if it is not positive.
+     * @param maxEntries
+     *            maximum number of entries held in memory, and in the
+     *            directory after it has been pruned
+     * @param directory
+     *            directory for entries on disk, or null to keep the entries in
+     *            memory only
+     */
+    CatalogResponseCache(long timeToLive, int maxEntries, Path directory) {
+        this.timeToLive = timeToLive;
+        this.maxEntries = maxEntries;
+        this.directory = directory;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Creates a cache with the settings from the configuration file.
+     *
+     * @return the cache
+     */
+    static CatalogResponseCache fromConfiguration() {
+        long timeToLive = TimeUnit.SECONDS.toMillis(KitodoConfig.getIntParameter(
+            ParameterQueryURLImport.CATALOGUE_CACHE_TIME_TO_LIVE, DEFAULT_TIME_TO_LIVE_SECONDS));
+        int maxEntries = KitodoConfig.getIntParameter(ParameterQueryURLImport.CATALOGUE_CACHE_MAX_ENTRIES,
+            DEFAULT_MAX_ENTRIES);
+        String directory = KitodoConfig.getParameter(ParameterQueryURLImport.CATALOGUE_CACHE_DIRECTORY, "");
+        return new CatalogResponseCache(timeToLive, maxEntries,
+                StringUtils.isBlank(directory) ? null : Paths.get(directory));
+    }
+
+    /**
+     * Returns the key of a request. Responses are only shared between requests
+     * to the same search interface with the same credentials.
+     *
+     * @param dataImport
+     *            configuration of the search interface
+     * @param url
+     *            the request URL
+     * @return the key
+     */
+    static String createKey(DataImport dataImport, String url) {
+        return dataImport.getTitle() + ' ' + Objects.toString(dataImport.getUsername(), "") + ' ' + url;
+    }
+
+    /**
+     * Returns the cached response for a key.
+     *
+     * @param key
+     *            key of the request
+     * @return the response content, or null if there is no valid entry
+     */
+    String get(String key) {
+        if (timeToLive <= 0) {
+            return null;
+        }
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (Objects.isNull(entry) || isExpired(entry.created)) {
+            entry = readEntry(key);
+            if (Objects.nonNull(entry)) {
+                synchronized (entries) {
+                    entries.put(key, entry);
+                }
+            }
+        }
+        if (Objects.isNull(entry)) {
+            countRequest(misses);
+            return null;
+        }
+        logger.debug("Catalogue response cache hit for {}", key);
+        countRequest(hits);
+        return entry.content;
+    }
+
+    /**
+     * Returns the number of requests answered from the cache.
+     *
+     * @return the number of hits
+     */
+    long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of requests which were not found in the cache.
+     *
+     * @return the number of misses
+     */
+    long getMisses() {
+        return misses.get();
+    }
+
+    private void countRequest(AtomicLong counter) {
+        counter.incrementAndGet();
+        long numberOfHits = hits.get();
+        long numberOfMisses = misses.get();
+        if ((numberOfHits + numberOfMisses) % STATISTICS_INTERVAL == 0) {
+            logger.info("Catalogue response cache: {} hits, {} misses", numberOfHits, numberOfMisses);
+        }
+    }
+
+    /**
+     * Stores the response for a key.
+     *
+     * @param key
+     *            key of the request
+     * @param content
+     *            the response content
+     */
+    void put(String key, String content) {
+        if (timeToLive <= 0 || Objects.isNull(content)) {
+            return;
+        }
+        Entry entry = new Entry(System.currentTimeMillis(), content);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+        writeEntry(key, entry);
+    }
+
+    private boolean isExpired(long created) {
+        return System.currentTimeMillis() - created > timeToLive;
+    }
+
+    private Path getEntryFile(String key) {
+        return directory.resolve(UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)) + ENTRY_FILE_SUFFIX);
+    }
+
+    private Entry readEntry(String key) {
+        if (Objects.isNull(directory)) {
+            return null;
+        }
+        Path entryFile = getEntryFile(key);
+        try {
+            if (!Files.isRegularFile(entryFile)) {
+                return null;
+            }
+            long created = Files.getLastModifiedTime(entryFile).toMillis();
+            if (isExpired(created)) {
+                Files.deleteIfExists(entryFile);
+                return null;
+            }
+            // the first line holds the key, to rule out collisions of the file names
+            String fileContent = Files.readString(entryFile);
+            int endOfKey = fileContent.indexOf('\n');
+            if (endOfKey < 0 || !key.equals(fileContent.substring(0, endOfKey))) {
+                return null;
+            }
+            return new Entry(created, fileContent.substring(endOfKey + 1));
+        } catch (IOException e) {
+            logger.debug("Ignoring unreadable catalogue cache entry {}: {}", entryFile, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeEntry(String key, Entry entry) {
+        if (Objects.isNull(directory) || key.indexOf('\n') >= 0) {
+            return;
+        }
+        Path entryFile = getEntryFile(key);
+        try {
+            Files.createDirectories(directory);
+            Path temporaryFile = Files.createTempFile(directory, entryFile.getFileName().toString(), ".tmp");
+            try {
+                Files.writeString(temporaryFile, key + '\n' + entry.content);
+                Files.move(temporaryFile, entryFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot write catalogue cache entry {}: {}", entryFile, e.getMessage());
+            return;
+        }
+        if (writesUntilPruning.getAndDecrement() <= 0) {
+            writesUntilPruning.set(PRUNING_INTERVAL);
+            pruneDirectory();
+        }
+    }
+
+    /**
+     * Deletes the expired entries from the directory, and the least recently
+     * written entries beyond the maximum number of entries.
+     */
+    void pruneDirectory() {
+        Map<Path, FileTime> entryFiles = new LinkedHashMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(ENTRY_FILE_SUFFIX)) {
+                    entryFiles.put(file, Files.getLastModifiedTime(file));
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot list catalogue cache directory {}: {}", directory, e.getMessage());
+            return;
+        }
+        List<Path> keptFiles = new ArrayList<>(entryFiles.size());
+        for (Map.Entry<Path, FileTime> entryFile : entryFiles.entrySet()) {
+            if (isExpired(entryFile.getValue().toMillis())) {
+                deleteEntryFile(entryFile.getKey());
+            } else {
+                keptFiles.add(entryFile.getKey());
+            }
+        }
+        if (keptFiles.size() > maxEntries) {
+            keptFiles.sort(Comparator.comparing(entryFiles::get, Comparator.reverseOrder()));
+            keptFiles.subList(maxEntries, keptFiles.size()).forEach(this::deleteEntryFile);
+        }
+    }
+
+    private void deleteEntryFile(Path entryFile) {
+        try {
+            Files.deleteIfExists(entryFile);
+        } catch (IOException e) {
+            logger.debug("Cannot delete catalogue cache entry {}: {}", entryFile, e.getMessage());
+        }
+    }
+}
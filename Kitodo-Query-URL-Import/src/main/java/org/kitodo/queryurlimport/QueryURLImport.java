@@ -31,6 +31,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.xml.XMLConstants;
@@ -49,18 +51,20 @@ import org.apache.commons.net.ftp.FTPClient;
 import org.apache.commons.net.ftp.FTPFile;
 import org.apache.commons.net.ftp.FTPFileFilter;
 import org.apache.http.HttpEntity;
-import org.apache.http.HttpResponse;
+import org.apache.http.StatusLine;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.utils.URLEncodedUtils;
 import org.apache.http.conn.ConnectTimeoutException;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.message.BasicNameValuePair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -93,7 +97,23 @@ public class QueryURLImport implements ExternalDataImportInterface {
     private static final String OAI_IDENTIFIER = "identifier";
     private final Charset encoding = StandardCharsets.UTF_8;
 
-    private CloseableHttpClient httpClient = HttpClientBuilder.create().build();
+    /**
+     * Connections to the search interfaces are pooled and kept alive across
+     * requests and module instances, so that a mass import does not open a
+     * new connection for every record. The pool limits the connections per
+     * host; the number of concurrent requests to one catalog is limited by the
+     * caller.
+     */
+    private static final PoolingHttpClientConnectionManager connectionManager
+            = new PoolingHttpClientConnectionManager();
+    private static final Map<String, CloseableHttpClient> httpClients = new ConcurrentHashMap<>();
+    private static final CatalogResponseCache responseCache = CatalogResponseCache.fromConfiguration();
+
+    static {
+        connectionManager.setMaxTotal(100);
+        connectionManager.setDefaultMaxPerRoute(20);
+    }
+
     private final FTPClient ftpClient = new FTPClient();
 
     @Override
@@ -180,30 +200,74 @@ public class QueryURLImport implements ExternalDataImportInterface {
         return Collections.emptyList();
     }
 
-    private void reinitializeHttpClient(String username, String password) throws IOException {
-        httpClient.close();
-        if (StringUtils.isNotBlank(username) && StringUtils.isNotBlank(password)) {
-            CredentialsProvider provider = new BasicCredentialsProvider();
-            UsernamePasswordCredentials credentials = new UsernamePasswordCredentials(username, password);
-            provider.setCredentials(AuthScope.ANY, credentials);
-            httpClient = HttpClientBuilder.create().setDefaultCredentialsProvider(provider).build();
-        } else {
-            httpClient = HttpClientBuilder.create().build();
+    private static CloseableHttpClient getHttpClient(DataImport dataImport) {
+        String username = dataImport.getUsername();
+        String password = dataImport.getPassword();
+        boolean withCredentials = StringUtils.isNotBlank(username) && StringUtils.isNotBlank(password);
+        String key = withCredentials ? username + '\n' + password : "";
+        return httpClients.computeIfAbsent(key, unused -> {
+            HttpClientBuilder httpClientBuilder = HttpClientBuilder.create().setConnectionManager(connectionManager)
+                    .setConnectionManagerShared(true);
+            if (withCredentials) {
+                CredentialsProvider provider = new BasicCredentialsProvider();
+                provider.setCredentials(AuthScope.ANY, new UsernamePasswordCredentials(username, password));
+                httpClientBuilder.setDefaultCredentialsProvider(provider);
+            }
+            return httpClientBuilder.build();
+        });
+    }
+
+    /**
+     * Returns the content of the response to a request. If the same request
+     * has been answered recently, the content is taken from the response cache
+     * instead. Only successful responses are cached.
+     *
+     * @param dataImport
+     *            configuration of the search interface
+     * @param request
+     *            the request
+     * @param statusException
+     *            creates the exception thrown if the response has not the
+     *            status code 200
+     * @return the content of the response, or null if the response has no
+     *         content
+     * @throws IOException
+     *             if the request fails
+     */
+    private String getResponseContent(DataImport dataImport, HttpGet request,
+                                      Function<StatusLine, RuntimeException> statusException) throws IOException {
+        String cacheKey = CatalogResponseCache.createKey(dataImport, request.getURI().toString());
+        String cachedContent = responseCache.get(cacheKey);
+        if (Objects.nonNull(cachedContent)) {
+            return cachedContent;
+        }
+        logger.debug("Requesting: {}", request.getURI());
+        try (CloseableHttpResponse response = getHttpClient(dataImport).execute(request)) {
+            if (!Objects.equals(response.getStatusLine().getStatusCode(), SC_OK)) {
+                throw statusException.apply(response.getStatusLine());
+            }
+            HttpEntity httpEntity = response.getEntity();
+            if (Objects.isNull(httpEntity)) {
+                return null;
+            }
+            try (InputStream inputStream = httpEntity.getContent()) {
+                String content = IOUtils.toString(inputStream, Charset.defaultCharset());
+                responseCache.put(cacheKey, content);
+                return content;
+            }
         }
     }
 
+    private static CatalogException createStatusException(StatusLine statusLine) {
+        return new CatalogException(statusLine.getReasonPhrase() + " (Http status code " + statusLine.getStatusCode()
+                + ")");
+    }
+
     private SearchResult performQuery(DataImport dataImport, String queryURL) {
         try {
-            this.reinitializeHttpClient(dataImport.getUsername(), dataImport.getPassword());
-            logger.debug("Requesting: {}", queryURL);
-            HttpResponse response = httpClient.execute(new HttpGet(queryURL));
-            int responseStatusCode = response.getStatusLine().getStatusCode();
-            if (Objects.equals(responseStatusCode, SC_OK)) {
-                return XmlResponseHandler.getSearchResult(response, dataImport);
-            } else {
-                throw new CatalogException(response.getStatusLine().getReasonPhrase() + " (Http status code "
-                        + responseStatusCode + ")");
-            }
+            String content = getResponseContent(dataImport, new HttpGet(queryURL),
+                QueryURLImport::createStatusException);
+            return XmlResponseHandler.getSearchResult(content, dataImport);
         } catch (UnknownHostException e) {
             throw new CatalogException("Unknown host: " + e.getMessage());
         } catch (ClientProtocolException e) {
@@ -275,24 +339,13 @@ public class QueryURLImport implements ExternalDataImportInterface {
             fullUrl += URLEncoder.encode(idParameter, encoding) + EQUALS_OPERAND + URLEncoder.encode(prefix + identifier, encoding);
         }
         try {
-            this.reinitializeHttpClient(dataImport.getUsername(), dataImport.getPassword());
-            logger.debug("Requesting: {}", fullUrl);
-            HttpResponse response = httpClient.execute(new HttpGet(fullUrl));
-            if (Objects.equals(response.getStatusLine().getStatusCode(), SC_OK)) {
-                HttpEntity httpEntity = response.getEntity();
-                if (Objects.isNull(httpEntity)) {
-                    throw new NoRecordFoundException("No record with ID \"" + identifier + "\" found!");
-                }
-                try (InputStream inputStream = httpEntity.getContent()) {
-                    String content = IOUtils.toString(inputStream, Charset.defaultCharset());
-                    if (Objects.nonNull(interfaceType.getNumberOfRecordsString())
-                            && XmlResponseHandler.extractNumberOfRecords(content, interfaceType) < 1) {
-                        throw new NoRecordFoundException("No record with ID \"" + identifier + "\" found!");
-                    }
-                    return createRecordFromXMLElement(dataImport, content);
-                }
+            String content = getResponseContent(dataImport, new HttpGet(fullUrl),
+                statusLine -> new ConfigException("Search Query Request Failed"));
+            if (Objects.isNull(content) || Objects.nonNull(interfaceType.getNumberOfRecordsString())
+                    && XmlResponseHandler.extractNumberOfRecords(content, interfaceType) < 1) {
+                throw new NoRecordFoundException("No record with ID \"" + identifier + "\" found!");
             }
-            throw new ConfigException("Search Query Request Failed");
+            return createRecordFromXMLElement(dataImport, content);
         } catch (IOException e) {
             throw new ConfigException(e.getLocalizedMessage());
         }
@@ -308,19 +361,13 @@ public class QueryURLImport implements ExternalDataImportInterface {
         requestConfigBuilder.setConnectTimeout(3000);
         request.setConfig(requestConfigBuilder.build());
         try {
-            logger.debug("Requesting: {}", queryURL);
-            HttpResponse response = httpClient.execute(request);
-            int responseStatusCode = response.getStatusLine().getStatusCode();
-            if (Objects.equals(responseStatusCode, SC_OK)) {
-                String xmlContent = IOUtils.toString(response.getEntity().getContent(), Charset.defaultCharset());
+            String xmlContent = getResponseContent(dataImport, request, QueryURLImport::createStatusException);
+            if (Objects.nonNull(xmlContent)) {
                 Document document = stringToDocument(xmlContent);
                 NodeList recordNodes = document.getElementsByTagName(MODS_RECORD_TAG);
                 for (int i = 0; i < recordNodes.getLength(); i++) {
                     records.add(createRecordFromXMLElement(dataImport, nodeToString(recordNodes.item(i))));
                 }
-            } else {
-                throw new CatalogException(response.getStatusLine().getReasonPhrase() + " (Http status code "
-                        + responseStatusCode + ")");
             }
         } catch (ConnectTimeoutException e) {
             throw new CatalogException("Connection exception: OPAC did not respond within the configured time limit!");
@@ -14,7 +14,6 @@ package org.kitodo.queryurlimport;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.lang.reflect.UndeclaredThrowableException;
-import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.LinkedList;
 import java.util.Objects;
@@ -26,9 +25,7 @@ import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.http.HttpResponse;
 import org.jdom2.output.Format;
 import org.jdom2.output.XMLOutputter;
 import org.kitodo.api.externaldatamanagement.DataImport;
@@ -60,15 +57,14 @@ class XmlResponseHandler {
     }
 
     /**
-     * Create and return SearchResult for given HttpResponse.
-     * @param response HttpResponse for which a SearchResult is created
-     * @return SearchResult created from given HttpResponse
+     * Create and return SearchResult for given response content.
+     * @param content content of the response for which a SearchResult is created
+     * @return SearchResult created from given response content
      */
-    static SearchResult getSearchResult(HttpResponse response, DataImport dataImport) throws IOException {
+    static SearchResult getSearchResult(String content, DataImport dataImport) {
         SearchInterfaceType interfaceType = dataImport.getSearchInterfaceType();
         SearchResult searchResult = new SearchResult();
-        if (Objects.nonNull(response) && Objects.nonNull(response.getEntity())) {
-            String content = IOUtils.toString(response.getEntity().getContent(), Charset.defaultCharset());
+        if (Objects.nonNull(content)) {
             Document resultDocument = transformResponseToDocument(content);
             if (Objects.nonNull(resultDocument)) {
                 searchResult.setHits(extractHits(resultDocument, dataImport));
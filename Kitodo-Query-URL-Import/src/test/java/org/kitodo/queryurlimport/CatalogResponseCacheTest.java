@@ -0,0 +1,83 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.queryurlimport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CatalogResponseCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldNotCacheWithoutTimeToLive() {
+        CatalogResponseCache cache = new CatalogResponseCache(0, 10, tempDir);
+        cache.put("key", "<record/>");
+
+        assertNull(cache.get("key"), "Response was cached although the cache is disabled");
+        assertEquals(0, countEntryFiles(), "Response was written although the cache is disabled");
+    }
+
+    @Test
+    public void shouldCountHitsAndMisses() {
+        CatalogResponseCache cache = new CatalogResponseCache(TimeUnit.HOURS.toMillis(1), 10, null);
+        assertNull(cache.get("key"));
+        cache.put("key", "<record/>");
+        assertEquals("<record/>", cache.get("key"));
+        assertEquals("<record/>", cache.get("key"));
+
+        assertEquals(2, cache.getHits(), "Wrong number of hits");
+        assertEquals(1, cache.getMisses(), "Wrong number of misses");
+    }
+
+    @Test
+    public void shouldPruneDirectoryToMaximumNumberOfEntries() throws IOException {
+        CatalogResponseCache cache = new CatalogResponseCache(TimeUnit.HOURS.toMillis(1), 2, tempDir);
+        long now = System.currentTimeMillis();
+        for (int i = 1; i <= 4; i++) {
+            cache.put("key " + i, "<record>" + i + "</record>");
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String content = Files.readString(file);
+                int number = Character.getNumericValue(content.charAt("key ".length()));
+                Files.setLastModifiedTime(file, FileTime.fromMillis(now - TimeUnit.MINUTES.toMillis(10 - number)));
+            }
+        }
+
+        cache.pruneDirectory();
+
+        assertEquals(2, countEntryFiles(), "Directory was not pruned to the maximum number of entries");
+        CatalogResponseCache restarted = new CatalogResponseCache(TimeUnit.HOURS.toMillis(1), 2, tempDir);
+        assertNull(restarted.get("key 1"), "Least recently written entry was kept");
+        assertEquals("<record>4</record>", restarted.get("key 4"), "Most recently written entry was deleted");
+    }
+
+    private long countEntryFiles() {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.count();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -12,6 +12,7 @@
 package org.kitodo.queryurlimport;
 
 import static com.xebialabs.restito.builder.stub.StubHttp.whenHttp;
+import static com.xebialabs.restito.builder.verify.VerifyHttp.verifyHttp;
 import static com.xebialabs.restito.semantics.Action.contentType;
 import static com.xebialabs.restito.semantics.Action.ok;
 import static com.xebialabs.restito.semantics.Action.stringContent;
@@ -57,6 +58,7 @@ public class QueryURLImportTest {
     private static final String TEST_FILE_PATH = "src/test/resources/sruTestRecord.xml";
     private static final String OPAC_NAME = "Kalliope";
     private static final String RECORD_ID = "1";
+    private static final String CACHED_RECORD_ID = "2";
     private static final String RECORD_IDENTIFIER = "recordIdentifier";
     private static final String RECORD_IDENTIFIER_VALUE = "12345";
     private static DataImport dataImport;
@@ -86,6 +88,15 @@ public class QueryURLImportTest {
         assertEquals(RECORD_IDENTIFIER_VALUE, recordIdentifierElement.getTextContent(), "Wrong record identifier found!");
     }
 
+    @Test
+    public void shouldAnswerRepeatedRequestFromCache() throws NoRecordFoundException {
+        QueryURLImport queryURLImport = new QueryURLImport();
+        DataRecord firstRecord = queryURLImport.getFullRecordById(dataImport, CACHED_RECORD_ID);
+        DataRecord secondRecord = new QueryURLImport().getFullRecordById(dataImport, CACHED_RECORD_ID);
+        assertEquals(firstRecord.getOriginalData(), secondRecord.getOriginalData(), "Cached record differs!");
+        verifyHttp(server).once(get("/sru"), parameter("query", "ead.id=" + CACHED_RECORD_ID));
+    }
+
     private static void setupServer(String serverResponse) {
         // endpoint for importing record by id
         whenHttp(server)
@@ -96,6 +107,11 @@ public class QueryURLImportTest {
                         parameter("maximumRecords", "1"),
                         parameter("query", "ead.id=" + RECORD_ID))
                 .then(ok(), contentType("text/xml"), stringContent(serverResponse));
+        // endpoint for importing a record twice
+        whenHttp(server)
+                .match(get("/sru"),
+                        parameter("query", "ead.id=" + CACHED_RECORD_ID))
+                .then(ok(), contentType("text/xml"), stringContent(serverResponse));
     }
 
     private Document parseInputStreamToDocument(String inputString) throws ParserConfigurationException,
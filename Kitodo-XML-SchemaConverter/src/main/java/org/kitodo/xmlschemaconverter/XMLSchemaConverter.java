@@ -19,19 +19,19 @@ import java.io.StringReader;
 import java.io.StringWriter;
 import java.nio.file.Files;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UnknownFormatConversionException;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Result;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.sax.SAXResult;
 import javax.xml.transform.sax.SAXSource;
-import javax.xml.transform.sax.SAXTransformerFactory;
 import javax.xml.transform.sax.TransformerHandler;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -50,6 +50,25 @@ public class XMLSchemaConverter implements SchemaConverterInterface {
     private static final FileFormat supportedSourceFileFormat = FileFormat.XML;
     private static final FileFormat supportedTargetFileFormat = FileFormat.XML;
 
+    /**
+     * Compiled stylesheets of mapping files by their absolute path. Compiled
+     * stylesheets are thread-safe and can be shared by all conversions.
+     */
+    private static final Map<String, CompiledMapping> compiledMappings = new ConcurrentHashMap<>();
+    private static final TransformerFactoryImpl transformerFactory = createTransformerFactory();
+
+    private static final class CompiledMapping {
+        private final long lastModified;
+        private final long size;
+        private final Templates templates;
+
+        private CompiledMapping(long lastModified, long size, Templates templates) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.templates = templates;
+        }
+    }
+
     /**
      * Converts a given DataRecord to the given MetadataFormat 'targetMetadataFormat' and FileFormat 'targetFileFormat'.
      *
@@ -67,19 +86,10 @@ public class XMLSchemaConverter implements SchemaConverterInterface {
         }
 
         if (record.getOriginalData() instanceof String) {
-            String xmlString = (String)record.getOriginalData();
-            String conversionResult;
-
             if (mappingFiles.isEmpty()) {
                 throw new ConfigException("No mapping files found!");
-            } else {
-                for (File mappingFile : mappingFiles) {
-                    try (InputStream fileStream = Files.newInputStream(mappingFile.toPath())) {
-                        xmlString = transformXmlByXslt(xmlString, fileStream);
-                    }
-                }
             }
-            conversionResult = xmlString;
+            String conversionResult = transformXmlByXslt((String) record.getOriginalData(), mappingFiles);
 
             DataRecord resultRecord = new DataRecord();
             resultRecord.setOriginalData(conversionResult);
@@ -102,33 +112,71 @@ public class XMLSchemaConverter implements SchemaConverterInterface {
         return supportedSourceFileFormat.equals(format);
     }
 
-    private String transformXmlByXslt(String xmlString, InputStream stylesheetFile) {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        try {
-            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-        } catch (ParserConfigurationException e) {
-            throw new IllegalArgumentException(e.getMessage(), e);
-        }
-        factory.setNamespaceAware(true);
+    /**
+     * Transforms the XML string by all mapping files one after another. The
+     * stylesheets are connected by SAX events, so the intermediate results are
+     * neither serialized nor parsed again.
+     */
+    private String transformXmlByXslt(String xmlString, List<File> mappingFiles) throws IOException {
         try {
             StringWriter stringWriter = new StringWriter();
-            TransformerFactory transformerFactory = new TransformerFactoryImpl();
-            transformerFactory.setURIResolver((href, base) -> new StreamSource(href.replace("http:", "https:")));
+            Result result = new StreamResult(stringWriter);
+            Transformer serializer = null;
+            for (int i = mappingFiles.size() - 1; i > 0; i--) {
+                TransformerHandler handler = transformerFactory.newTransformerHandler(getTemplates(mappingFiles.get(i)));
+                handler.setResult(result);
+                if (Objects.isNull(serializer)) {
+                    serializer = handler.getTransformer();
+                }
+                result = new SAXResult(handler);
+            }
             System.setProperty("http.agent", "Chrome");
-            Transformer xsltTransformer = transformerFactory.newTransformer(new StreamSource(stylesheetFile));
-            TransformerHandler handler
-                    = ((SAXTransformerFactory) SAXTransformerFactory.newInstance()).newTransformerHandler();
-            handler.setResult(new StreamResult(stringWriter));
-            Result saxResult = new SAXResult(handler);
-            xmlString = removeBom(xmlString);
-            SAXSource saxSource = new SAXSource(new InputSource(new StringReader(xmlString)));
-            xsltTransformer.transform(saxSource, saxResult);
+            Transformer xsltTransformer = getTemplates(mappingFiles.get(0)).newTransformer();
+            if (Objects.isNull(serializer)) {
+                serializer = xsltTransformer;
+            }
+            // serialize the result like an identity transformation, regardless of the output settings of the stylesheet
+            serializer.setOutputProperty(OutputKeys.METHOD, "xml");
+            serializer.setOutputProperty(OutputKeys.INDENT, "no");
+            SAXSource saxSource = new SAXSource(new InputSource(new StringReader(removeBom(xmlString))));
+            xsltTransformer.transform(saxSource, result);
             return stringWriter.toString();
         } catch (TransformerException e) {
             throw new ConfigException("Error in transforming the response to internal format: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Returns the compiled stylesheet of a mapping file. Compiled stylesheets
+     * are kept as long as the path, modification time and size of the mapping
+     * file stay the same, because compiling takes much longer than
+     * transforming a single record.
+     */
+    private Templates getTemplates(File mappingFile) throws IOException, TransformerConfigurationException {
+        String path = mappingFile.getAbsolutePath();
+        long lastModified = mappingFile.lastModified();
+        long size = mappingFile.length();
+        CompiledMapping compiledMapping = compiledMappings.get(path);
+        if (Objects.nonNull(compiledMapping) && compiledMapping.lastModified == lastModified
+                && compiledMapping.size == size) {
+            return compiledMapping.templates;
+        }
+        try (InputStream fileStream = Files.newInputStream(mappingFile.toPath())) {
+            Templates templates;
+            synchronized (transformerFactory) {
+                templates = transformerFactory.newTemplates(new StreamSource(fileStream));
+            }
+            compiledMappings.put(path, new CompiledMapping(lastModified, size, templates));
+            return templates;
+        }
+    }
+
+    private static TransformerFactoryImpl createTransformerFactory() {
+        TransformerFactoryImpl transformerFactory = new TransformerFactoryImpl();
+        transformerFactory.setURIResolver((href, base) -> new StreamSource(href.replace("http:", "https:")));
+        return transformerFactory;
+    }
+
     /**
      * Remove potential BOM character because XML parser do not handle it properly.
      * @param xmlStringWithBom String with potential BOM character
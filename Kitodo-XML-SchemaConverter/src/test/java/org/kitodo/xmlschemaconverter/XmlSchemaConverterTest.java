@@ -11,6 +11,7 @@
 
 package org.kitodo.xmlschemaconverter;
 
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -26,6 +27,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
@@ -154,6 +156,34 @@ public class XmlSchemaConverterTest {
         assertEquals("Test-Shelflocator", shelfmarksource, "shelfmarksource after conversion is wrong!");
     }
 
+    @Test
+    public void shouldRecompileChangedMappingFile() throws IOException {
+        DataRecord testRecord = new DataRecord();
+        testRecord.setMetadataFormat(MetadataFormat.MODS);
+        testRecord.setFileFormat(FileFormat.XML);
+        testRecord.setOriginalData("<record/>");
+        File mappingFile = Files.createTempFile("mapping", ".xsl").toFile();
+        try {
+            writeMappingFile(mappingFile, "first");
+            DataRecord firstResult = converter.convert(testRecord, MetadataFormat.KITODO, FileFormat.XML,
+                Collections.singletonList(mappingFile));
+            assertThat((String) firstResult.getOriginalData(), containsString("<first/>"));
+
+            writeMappingFile(mappingFile, "second");
+            DataRecord secondResult = converter.convert(testRecord, MetadataFormat.KITODO, FileFormat.XML,
+                Collections.singletonList(mappingFile));
+            assertThat((String) secondResult.getOriginalData(), containsString("<second/>"));
+        } finally {
+            Files.delete(mappingFile.toPath());
+        }
+    }
+
+    private void writeMappingFile(File mappingFile, String element) throws IOException {
+        FileUtils.writeStringToFile(mappingFile, "<xsl:stylesheet version=\"2.0\" "
+                + "xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\"><xsl:template match=\"/\"><" + element
+                + "/></xsl:template></xsl:stylesheet>", StandardCharsets.UTF_8);
+    }
+
     private Document parseInputStreamToDocument(String inputString) throws ParserConfigurationException,
             IOException, SAXException {
         try (InputStream inputStream = new ByteArrayInputStream(inputString.getBytes(StandardCharsets.UTF_8))) {
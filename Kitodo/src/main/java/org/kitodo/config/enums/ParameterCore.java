@@ -213,6 +213,38 @@ public enum ParameterCore implements ParameterInterface {
      */
     DONE_DIRECTORY_NAME(new Parameter<>("image.doneDirectoryName", "fertig/")),
 
+    /**
+     * Number of images generated at the same time by one image generation
+     * task. Defaults to {@code 4}.
+     */
+    IMAGE_GENERATOR_THREADS(new Parameter<>("image.generator.threads", 4)),
+
+    /**
+     * Maximum number of images generated at the same time by all image
+     * generation tasks together. Defaults to {@code 0}, which means the number
+     * of available processors.
+     */
+    IMAGE_GENERATOR_MAX_THREADS(new Parameter<>("image.generator.maxThreads", 0)),
+
+    /**
+     * Directory in which the thumbnails of the gallery previews are cached.
+     * Defaults to {@code thumbnails/} in the temporary directory.
+     */
+    THUMBNAIL_CACHE_DIRECTORY(new Parameter<>("image.thumbnailCache.directory", "")),
+
+    /**
+     * Maximum size of the thumbnail cache in megabytes. Defaults to
+     * {@code 512}, {@code 0} switches the thumbnails off.
+     */
+    THUMBNAIL_CACHE_SIZE(new Parameter<>("image.thumbnailCache.size", 512)),
+
+    /**
+     * Widths of the thumbnails in pixels, separated by commas. A requested
+     * width is rounded up to the next of these widths. Defaults to
+     * {@code 150,300,600}.
+     */
+    THUMBNAIL_WIDTHS(new Parameter<>("image.thumbnailCache.widths", "150,300,600")),
+
     /*
      * VISUAL APPEARANCE
      *
@@ -391,6 +423,25 @@ public enum ParameterCore implements ParameterInterface {
      */
     MINIMAL_NUMBER_OF_PAGES(new Parameter<UndefinedParameter>("numberOfPages.minimum")),
 
+    /**
+     * Optional parameter controlling whether newspaper processes are generated in bulk. Issue processes are then saved
+     * in batches, their METS files are written by several threads at the same time, and all new processes are indexed
+     * in bulk. Defaults to false.
+     */
+    NEWSPAPER_BULK_GENERATION(new Parameter<>("newspaperBulkGeneration", false)),
+
+    /**
+     * Optional parameter controlling how many issue processes are saved together in bulk generation of newspaper
+     * processes. Defaults to 100.
+     */
+    NEWSPAPER_BULK_GENERATION_BATCH_SIZE(new Parameter<>("newspaperBulkGenerationBatchSize", 100)),
+
+    /**
+     * Optional parameter controlling how many METS files of issue processes are written at the same time in bulk
+     * generation of newspaper processes. Defaults to 4.
+     */
+    NEWSPAPER_BULK_GENERATION_THREADS(new Parameter<>("newspaperBulkGenerationThreads", 4)),
+
     /*
      * Batch processing
      */
@@ -501,6 +552,26 @@ public enum ParameterCore implements ParameterInterface {
      */
     EXPORT_WITHOUT_TIME_LIMIT(new Parameter<>("exportWithoutTimeLimit", true)),
 
+    /**
+     * Whether during an export to the DMS the images are linked instead of
+     * copied, if they are on the same file system as the export folder.
+     * Boolean, defaults to {@code false}.
+     */
+    EXPORT_LINK_FILES(new Parameter<>("exportLinkFiles", false)),
+
+    /**
+     * Number of images copied in parallel during an export to the DMS.
+     * Integer, defaults to {@code 4}.
+     */
+    EXPORT_COPY_THREADS(new Parameter<>("exportCopyThreads", 4)),
+
+    /**
+     * Whether images copied during an export to the DMS are verified by their
+     * checksum. Their size is always verified. Boolean, defaults to
+     * {@code false}.
+     */
+    EXPORT_VERIFY_CHECKSUMS(new Parameter<>("exportVerifyChecksums", false)),
+
     /*
      * REMOTE SERVICES
      *
@@ -641,6 +712,16 @@ public enum ParameterCore implements ParameterInterface {
     ELASTICSEARCH_ATTEMPTS(new Parameter<>("elasticsearch.attempts", 10)),
     ELASTICSEARCH_TIME_BETWEEN_ATTEMPTS(new Parameter<>("elasticsearch.timeBetweenAttempts", 2000)),
     ELASTICSEARCH_THREADS(new Parameter<>("elasticsearch.threads", 4)),
+    ELASTICSEARCH_KEYSET_PAGINATION(new Parameter<>("elasticsearch.keysetPagination", true)),
+    ELASTICSEARCH_INDEX_CACHE(new Parameter<>("elasticsearch.indexCache", true)),
+    ELASTICSEARCH_PIPELINE(new Parameter<>("elasticsearch.pipeline", true)),
+    ELASTICSEARCH_BULK_SIZE(new Parameter<>("elasticsearch.bulkSize", 5242880L)),
+    ELASTICSEARCH_INDEX_QUEUE(new Parameter<>("elasticsearch.indexQueue", false)),
+
+    /**
+     * Integer, value in milliseconds.
+     */
+    ELASTICSEARCH_INDEX_QUEUE_DELAY(new Parameter<>("elasticsearch.indexQueueDelay", 1000)),
 
     /*
      * Security properties
@@ -667,7 +748,25 @@ public enum ParameterCore implements ParameterInterface {
      * Optional parameter controlling whether the import of all elements from an uploaded EAD XML file should be
      * canceled when an exception occurs or not. Defaults to 'false'.
      */
-    STOP_EAD_COLLECTION_IMPORT_ON_EXCEPTION(new Parameter<>("stopEadCollectionImportOnException", false));
+    STOP_EAD_COLLECTION_IMPORT_ON_EXCEPTION(new Parameter<>("stopEadCollectionImportOnException", false)),
+
+    /*
+     * Optional parameter controlling how many components of an uploaded EAD XML file are converted to the internal
+     * format at the same time during the import in the background. Defaults to 4.
+     */
+    EAD_IMPORT_THREADS(new Parameter<>("eadImportThreads", 4)),
+
+    /*
+     * Optional parameter controlling after how many new processes the links to them are added to their parent process
+     * during the import of an uploaded EAD XML file in the background. Defaults to 100.
+     */
+    EAD_IMPORT_BATCH_SIZE(new Parameter<>("eadImportBatchSize", 100)),
+
+    /*
+     * Optional parameter controlling how many records are requested from a search interface at the same time during a
+     * mass import, if the import configuration does not set its own limit. Defaults to 4.
+     */
+    MASS_IMPORT_CONCURRENT_REQUESTS(new Parameter<>("massImportConcurrentRequests", 4));
 
     private final Parameter<?> parameter;
 
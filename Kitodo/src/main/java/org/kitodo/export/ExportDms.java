@@ -15,12 +15,15 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -440,25 +443,30 @@ public class ExportDms extends ExportMets {
         if (!uriToDestination.endsWith("/")) {
             uriToDestination = uriToDestination.concat("/");
         }
+        List<Pair<Path, Path>> files = new ArrayList<>();
         for (Subfolder processDir : processDirs) {
             URI dstDir = new URI(uriToDestination
                     + variableReplacer.replace(processDir.getFolder().getRelativePath()));
             fileService.createDirectories(dstDir);
+            Path targetDirectory = fileService.getFile(dstDir).toPath();
+            for (URI src : processDir.listContents().values()) {
+                Path source = fileService.getFile(src).toPath();
+                files.add(Pair.of(source, targetDirectory.resolve(source.getFileName())));
+            }
+        }
 
-            Collection<URI> srcs = processDir.listContents().values();
-            int progress = 0;
-            for (URI src : srcs) {
-                if (Objects.nonNull(exportDmsTask)) {
-                    exportDmsTask.setWorkDetail(fileService.getFileName(src));
-                }
-                fileService.copyFileToDirectory(src, dstDir);
-                if (Objects.nonNull(exportDmsTask)) {
-                    exportDmsTask.setProgress((int) ((progress++ + 1) * 98d / processDirs.size() / srcs.size() + 1));
-                    if (exportDmsTask.isInterrupted()) {
-                        throw new InterruptedException();
-                    }
+        ExportTransfer exportTransfer = new ExportTransfer(
+                ConfigCore.getBooleanParameterOrDefaultValue(ParameterCore.EXPORT_LINK_FILES),
+                ConfigCore.getIntParameterOrDefaultValue(ParameterCore.EXPORT_COPY_THREADS),
+                ConfigCore.getBooleanParameterOrDefaultValue(ParameterCore.EXPORT_VERIFY_CHECKSUMS));
+        exportTransfer.transfer(files, (source, transferred) -> {
+            if (Objects.nonNull(exportDmsTask)) {
+                exportDmsTask.setWorkDetail(source.getFileName().toString());
+                exportDmsTask.setProgress((int) (transferred * 98d / files.size() + 1));
+                if (exportDmsTask.isInterrupted()) {
+                    Thread.currentThread().interrupt();
                 }
             }
-        }
+        });
     }
 }
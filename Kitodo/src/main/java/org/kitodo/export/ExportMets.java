@@ -12,22 +12,24 @@
 package org.kitodo.export;
 
 import java.io.BufferedOutputStream;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Objects;
 
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.stream.StreamSource;
+import javax.xml.transform.sax.TransformerHandler;
+import javax.xml.transform.stream.StreamResult;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.kitodo.api.dataformat.Workpiece;
@@ -42,6 +44,7 @@ import org.kitodo.production.helper.metadata.legacytypeimplementations.LegacyPre
 import org.kitodo.production.helper.tasks.EmptyTask;
 import org.kitodo.production.services.ServiceManager;
 import org.kitodo.production.services.file.FileService;
+import org.xml.sax.SAXException;
 
 public class ExportMets {
     private final FileService fileService = ServiceManager.getFileService();
@@ -145,37 +148,73 @@ public class ExportMets {
             Helper.setErrorMessage("Writing Mets file failed!", e.getLocalizedMessage(), logger, e);
             return false;
         }
+
+        File debugFolder = ConfigCore.getKitodoDebugDirectory();
+        if (Objects.nonNull(debugFolder)) {
+            try (OutputStream out = new BufferedOutputStream(
+                    new FileOutputStream(new File(debugFolder, "preExport.xml")))) {
+                ServiceManager.getMetsService().save(workpiece, out);
+            }
+        }
         /*
          * We write to the user’s home directory or to the hotfolder here, not
-         * to a content repository, therefore no use of file service.
+         * to a content repository, therefore no use of file service. The METS
+         * XML is passed to the transformation as SAX events, and the result
+         * is written to a temporary file while it is transformed. Only a
+         * completely written file is moved to its destination.
          */
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            ServiceManager.getMetsService().save(workpiece, out);
-            byte[] xmlBytes = out.toByteArray();
-            File debugFolder = ConfigCore.getKitodoDebugDirectory();
-            if (Objects.nonNull(debugFolder)) {
-                FileUtils.writeByteArrayToFile(new File(debugFolder, "preExport.xml"), xmlBytes);
+        Path targetFile = Paths.get(metaFile);
+        Path temporaryFile = null;
+        try {
+            URI xslFile = XsltHelper.getXsltFileFromConfig(process);
+            if (!Files.exists(Paths.get(xslFile))) {
+                String message = Helper.getTranslation("xsltFileNotFound", xslFile.toString());
+                throw new FileNotFoundException(message);
             }
-            try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(xmlBytes)) {
-                StreamSource source = new StreamSource(byteArrayInputStream);
-                try (BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(new FileOutputStream(new File(metaFile)))) {
-                    URI xslFile = XsltHelper.getXsltFileFromConfig(process);
-                    if (!Files.exists(Paths.get(xslFile))) {
-                        String message = Helper.getTranslation("xsltFileNotFound", xslFile.toString());
-                        throw new FileNotFoundException(message);
-                    }
-                    bufferedOutputStream.write(XsltHelper.transformXmlByXslt(source, xslFile).toByteArray());
-                } catch (FileNotFoundException | TransformerException e) {
-                    if (Objects.nonNull(exportDmsTask)) {
-                        exportDmsTask.setException(e);
-                    }
-                    Helper.setErrorMessage("Writing Mets file failed!", e.getLocalizedMessage(), logger, e);
-                    return false;
-                }
+            temporaryFile = Files.createTempFile(targetFile.toAbsolutePath().getParent(),
+                targetFile.getFileName().toString(), ".tmp");
+            try (BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(
+                    Files.newOutputStream(temporaryFile))) {
+                TransformerHandler transformerHandler = XsltHelper.newTransformerHandler(xslFile,
+                    new StreamResult(bufferedOutputStream));
+                saveTransformed(workpiece, transformerHandler);
+            }
+            Files.move(temporaryFile, targetFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (FileNotFoundException | NoSuchFileException | TransformerException e) {
+            if (Objects.nonNull(exportDmsTask)) {
+                exportDmsTask.setException(e);
+            }
+            Helper.setErrorMessage("Writing Mets file failed!", e.getLocalizedMessage(), logger, e);
+            return false;
+        } finally {
+            if (Objects.nonNull(temporaryFile)) {
+                Files.deleteIfExists(temporaryFile);
             }
         }
 
         Helper.setMessage(process.getTitle() + ": ", "exportFinished");
         return true;
     }
+
+    /**
+     * Passes the METS XML of a workpiece to a transformation. Errors of the
+     * transformation reach us wrapped into the exceptions of the marshaller,
+     * they are unwrapped, so that they are reported as transformation errors.
+     */
+    private static void saveTransformed(Workpiece workpiece, TransformerHandler transformerHandler)
+            throws IOException, TransformerException {
+        try {
+            ServiceManager.getMetsService().save(workpiece, transformerHandler);
+        } catch (IOException e) {
+            for (Throwable cause = e.getCause(); Objects.nonNull(cause); cause = cause.getCause()) {
+                if (cause instanceof TransformerException) {
+                    throw (TransformerException) cause;
+                }
+                if (cause instanceof SAXException && !(cause.getCause() instanceof TransformerException)) {
+                    throw new TransformerException(cause.getMessage(), cause);
+                }
+            }
+            throw e;
+        }
+    }
 }
@@ -0,0 +1,179 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.export;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Transfers files into an export folder. If linking is enabled and a file and
+ * the export folder are on the same file store, the file is linked instead of
+ * copied, so that it takes no further space. Otherwise, or if linking fails,
+ * the file is copied.
+ * Several files are transferred in parallel. Each transferred file is
+ * verified by its size, and optionally by its checksum.
+ */
+class ExportTransfer {
+    private static final Logger logger = LogManager.getLogger(ExportTransfer.class);
+
+    private final boolean linkFiles;
+    private final int threads;
+    private final boolean verifyChecksums;
+
+    /**
+     * Creates a new export transfer.
+     *
+     * @param linkFiles
+     *            whether files may be linked instead of copied
+     * @param threads
+     *            number of files copied in parallel
+     * @param verifyChecksums
+     *            whether copied files are verified by their checksum
+     */
+    ExportTransfer(boolean linkFiles, int threads, boolean verifyChecksums) {
+        this.linkFiles = linkFiles;
+        this.threads = Math.max(threads, 1);
+        this.verifyChecksums = verifyChecksums;
+    }
+
+    /**
+     * Transfers files. The method returns when all files have been
+     * transferred, or throws the first error that occurred. Files not yet
+     * transferred at that time are not transferred anymore.
+     *
+     * @param files
+     *            pairs of source file and target file
+     * @param progress
+     *            is informed about each transferred file, with the number of
+     *            files transferred so far
+     * @throws IOException
+     *             if a file cannot be transferred
+     * @throws InterruptedException
+     *             if the thread is interrupted while the files are transferred
+     */
+    void transfer(List<Pair<Path, Path>> files, BiConsumer<Path, Integer> progress)
+            throws IOException, InterruptedException {
+        if (files.isEmpty()) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, files.size()));
+        try {
+            CompletionService<Path> completionService = new ExecutorCompletionService<>(executor);
+            for (Pair<Path, Path> file : files) {
+                completionService.submit(() -> {
+                    transfer(file.getLeft(), file.getRight());
+                    return file.getLeft();
+                });
+            }
+            for (int transferred = 1; transferred <= files.size(); transferred++) {
+                progress.accept(completionService.take().get(), transferred);
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void transfer(Path source, Path target) throws IOException {
+        if (Files.exists(target) && Files.isSameFile(source, target)) {
+            return;
+        }
+        Files.deleteIfExists(target);
+        if (!linkFiles || !link(source, target)) {
+            copy(source, target);
+        }
+        verify(source, target);
+    }
+
+    /**
+     * Creates a hard link to the source file, if it is on the same file store
+     * as the target folder.
+     *
+     * @return whether the link was created
+     */
+    private static boolean link(Path source, Path target) throws IOException {
+        if (!Files.getFileStore(source).equals(Files.getFileStore(target.getParent()))) {
+            return false;
+        }
+        try {
+            Files.createLink(target, source);
+            return true;
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            logger.debug("Cannot link {} to {}, copying it: {}", source, target, e.getMessage());
+            return false;
+        }
+    }
+
+    private static void copy(Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        }
+        Files.setLastModifiedTime(target, Files.getLastModifiedTime(source));
+    }
+
+    private void verify(Path source, Path target) throws IOException {
+        if (Files.size(source) != Files.size(target)) {
+            throw new IOException("Size of " + target + " differs from " + source);
+        }
+        if (verifyChecksums && !Files.isSameFile(source, target)
+                && !Arrays.equals(checksum(source), checksum(target))) {
+            throw new IOException("Checksum of " + target + " differs from " + source);
+        }
+    }
+
+    private static byte[] checksum(Path file) throws IOException {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), messageDigest)) {
+                byte[] buffer = new byte[65536];
+                while (in.read(buffer) != -1) {
+                    // the digest input stream updates the digest
+                }
+            }
+            return messageDigest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
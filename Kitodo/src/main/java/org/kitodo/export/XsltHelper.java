@@ -12,14 +12,19 @@
 package org.kitodo.export;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Paths;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.xml.transform.Transformer;
+import javax.xml.transform.Result;
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.sax.TransformerHandler;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
@@ -32,6 +37,17 @@ import org.kitodo.data.database.beans.Process;
 
 public class XsltHelper {
 
+    /**
+     * The transformer factory. Stylesheets compiled by it are used to create
+     * transformers by it, so it is created only once.
+     */
+    private static final TransformerFactoryImpl transformerFactory = new TransformerFactoryImpl();
+
+    /**
+     * The compiled stylesheets by stylesheet file.
+     */
+    private static final Map<File, CompiledStylesheet> compiledStylesheets = new ConcurrentHashMap<>();
+
     private XsltHelper() {
         // private constructor to hide implicit one
     }
@@ -47,25 +63,62 @@ public class XsltHelper {
      */
     static ByteArrayOutputStream transformXmlByXslt(StreamSource source, URI xslFile)
             throws TransformerException, IOException {
-
-        String xsltPath = xslFile.getPath();
-        StreamSource xsltSource = new StreamSource(xsltPath);
-        TransformerFactory factory = new TransformerFactoryImpl();
-        Transformer transformer = factory.newTransformer(xsltSource);
-        if (Objects.isNull(transformer)) {
-            throw new IllegalArgumentException("Could not create XSLT transformer. Check " + xsltPath + " for errors.");
-        }
         try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
             StreamResult streamResult = new StreamResult(outputStream);
-            transformer.transform(source, streamResult);
+            getTemplates(xslFile).newTransformer().transform(source, streamResult);
             return outputStream;
         }
     }
 
+    /**
+     * Creates a SAX content handler which transforms the XML passed to it by
+     * xslt into a result. The xsl file is compiled only once, as long as it is
+     * not changed.
+     *
+     * @param xslFile
+     *            The xsl file.
+     * @param result
+     *            where the result of the transformation is written to
+     * @return the content handler to pass the XML to
+     */
+    static TransformerHandler newTransformerHandler(URI xslFile, Result result) throws TransformerException {
+        TransformerHandler transformerHandler = transformerFactory.newTransformerHandler(getTemplates(xslFile));
+        transformerHandler.setResult(result);
+        return transformerHandler;
+    }
+
+    private static Templates getTemplates(URI xslFile) throws TransformerConfigurationException {
+        File file = new File(xslFile.getPath()).getAbsoluteFile();
+        long lastModified = file.lastModified();
+        CompiledStylesheet compiledStylesheet = compiledStylesheets.get(file);
+        if (Objects.isNull(compiledStylesheet) || compiledStylesheet.lastModified != lastModified) {
+            Templates templates = transformerFactory.newTemplates(new StreamSource(file));
+            if (Objects.isNull(templates)) {
+                throw new IllegalArgumentException("Could not create XSLT transformer. Check " + file + " for errors.");
+            }
+            compiledStylesheet = new CompiledStylesheet(templates, lastModified);
+            compiledStylesheets.put(file, compiledStylesheet);
+        }
+        return compiledStylesheet.templates;
+    }
+
     static URI getXsltFileFromConfig(Process process) {
         String path = ConfigCore.getParameter(ParameterCore.DIR_XSLT);
         String file = process.getRuleset().getFile().replaceFirst("\\.[Xx][Mm][Ll]$", ".xsl");
         return Paths.get(FilenameUtils.concat(path, file)).toUri();
     }
 
+    /**
+     * A compiled stylesheet with the modification time of its file at the
+     * time of compiling.
+     */
+    private static final class CompiledStylesheet {
+        private final Templates templates;
+        private final long lastModified;
+
+        private CompiledStylesheet(Templates templates, long lastModified) {
+            this.templates = templates;
+            this.lastModified = lastModified;
+        }
+    }
 }
@@ -100,6 +100,8 @@ public class AuthorityForm extends BaseForm {
         try {
             this.authority.setTitle(this.title + "_" + this.type);
             ServiceManager.getAuthorityService().saveToDatabase(this.authority);
+            ServiceManager.getAuthorityService().evictFromCache();
+            ServiceManager.getRoleService().evictFromCache();
             return usersPage;
         } catch (DAOException e) {
             Helper.setErrorMessage(ERROR_SAVING, new Object[] {ObjectType.AUTHORITY.getTranslationSingular() }, logger,
@@ -0,0 +1,39 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.forms;
+
+import java.util.List;
+
+import javax.enterprise.context.RequestScoped;
+import javax.inject.Named;
+
+import org.kitodo.production.helper.cache.CacheRegionStatistics;
+
+@Named("CacheStatisticsForm")
+@RequestScoped
+public class CacheStatisticsForm {
+
+    private List<CacheRegionStatistics> statistics;
+
+    /**
+     * Returns the hit statistics of the regions of the second-level cache
+     * holding reference data.
+     *
+     * @return the statistics of the cache regions
+     */
+    public List<CacheRegionStatistics> getStatistics() {
+        if (statistics == null) {
+            statistics = CacheRegionStatistics.getReferenceDataStatistics();
+        }
+        return statistics;
+    }
+}
@@ -60,6 +60,8 @@ public class ClientForm extends BaseForm {
                 ServiceManager.getRoleService().saveToDatabase(role);
             }
             rolesForClient = null;
+            ServiceManager.getClientService().evictFromCache();
+            ServiceManager.getRoleService().evictFromCache();
             return usersPage;
         } catch (DAOException | RuntimeException e) {
             Helper.setErrorMessage(ERROR_SAVING, new Object[] {ObjectType.CLIENT.getTranslationSingular() }, logger, e);
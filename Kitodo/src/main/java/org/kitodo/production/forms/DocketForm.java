@@ -88,6 +88,7 @@ public class DocketForm extends BaseForm {
                     return this.stayOnCurrentPage;
                 }
                 ServiceManager.getDocketService().save(docket);
+                ServiceManager.getDocketService().evictFromCache();
                 return projectsPage;
             } else {
                 Helper.setErrorMessage("docketNotFound");
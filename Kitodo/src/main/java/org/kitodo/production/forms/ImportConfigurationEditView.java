@@ -123,6 +123,7 @@ public class ImportConfigurationEditView extends BaseForm {
     public String save() {
         try {
             ServiceManager.getImportConfigurationService().saveToDatabase(importConfiguration);
+            ServiceManager.getImportConfigurationService().evictFromCache();
             return projectsPage;
         } catch (DAOException e) {
             Helper.setErrorMessage(ERROR_SAVING,
@@ -35,6 +35,7 @@ import org.kitodo.production.enums.ObjectType;
 import org.kitodo.production.helper.Helper;
 import org.kitodo.production.services.ServiceManager;
 import org.kitodo.production.services.index.IndexingService;
+import org.kitodo.production.services.index.IndexingStageStatistics;
 import org.omnifaces.util.Ajax;
 
 @Named
@@ -189,6 +190,15 @@ public class IndexingForm {
         return (int) ((getAllIndexed() / (float) getTotalCount()) * 100);
     }
 
+    /**
+     * Return the throughput statistics of the stages of the indexing pipeline.
+     *
+     * @return the statistics of the pipeline stages
+     */
+    public List<IndexingStageStatistics> getIndexingStageStatistics() {
+        return ServiceManager.getIndexingService().getIndexingStageStatistics();
+    }
+
     /**
      * Return whether any indexing process is currently in progress or not.
      *
@@ -68,6 +68,7 @@ public class LdapGroupForm extends BaseForm {
     public String save() {
         try {
             ServiceManager.getLdapGroupService().saveToDatabase(this.myLdapGruppe);
+            ServiceManager.getLdapGroupService().evictFromCache();
             return usersPage;
         } catch (DAOException e) {
             Helper.setErrorMessage(ERROR_SAVING, new Object[] {Helper.getTranslation(LDAP_GROUP) }, logger, e);
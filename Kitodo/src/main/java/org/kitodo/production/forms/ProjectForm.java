@@ -14,6 +14,7 @@ package org.kitodo.production.forms;
 import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -43,6 +44,7 @@ import org.kitodo.data.database.beans.ImportConfiguration;
 import org.kitodo.data.database.beans.Project;
 import org.kitodo.data.database.beans.Template;
 import org.kitodo.data.database.beans.User;
+import org.kitodo.data.database.enums.ImageProcessor;
 import org.kitodo.data.database.enums.PreviewHoverMode;
 import org.kitodo.data.database.exceptions.DAOException;
 import org.kitodo.data.exceptions.DataException;
@@ -56,6 +58,7 @@ import org.kitodo.production.helper.Helper;
 import org.kitodo.production.model.LazyDTOModel;
 import org.kitodo.production.services.ServiceManager;
 import org.kitodo.production.services.data.ProjectService;
+import org.kitodo.production.services.image.JavaImageManagement;
 
 @Named("ProjectForm")
 @SessionScoped
@@ -237,6 +240,8 @@ public class ProjectForm extends BaseForm {
                 commitFolders();
 
                 ServiceManager.getProjectService().save(project, true);
+                ServiceManager.getProjectService().evictFromCache();
+                ServiceManager.getFolderService().evictFromCache();
 
                 return projectsPage;
             } catch (DAOException | DataException e) {
@@ -332,6 +337,11 @@ public class ProjectForm extends BaseForm {
      * Save folder.
      */
     public void saveFolder() {
+        if (!getImageProcessors().contains(this.myFolder.getImageProcessor())) {
+            Helper.setErrorMessage("editFolderDialog.imageProcessor.unsupported",
+                new Object[] {this.myFolder.getMimeType() });
+            this.myFolder.setImageProcessor(ImageProcessor.IMAGEMAGICK);
+        }
         if (!this.project.getFolders().contains(this.myFolder)) {
             this.project.getFolders().add(this.myFolder);
             try {
@@ -592,6 +602,30 @@ public class ProjectForm extends BaseForm {
         return generator;
     }
 
+    /**
+     * Returns the image processors which can generate images of the file type
+     * of the folder. Java can only be offered for the file types it has a
+     * writer for.
+     *
+     * @return possible image processors
+     */
+    public List<ImageProcessor> getImageProcessors() {
+        if (JavaImageManagement.canWrite(myFolder.getMimeType())) {
+            return Arrays.asList(ImageProcessor.values());
+        }
+        return Collections.singletonList(ImageProcessor.IMAGEMAGICK);
+    }
+
+    /**
+     * Falls back to ImageMagick if the file type of the folder was changed to
+     * one that Java cannot write.
+     */
+    public void checkImageProcessor() {
+        if (!getImageProcessors().contains(myFolder.getImageProcessor())) {
+            myFolder.setImageProcessor(ImageProcessor.IMAGEMAGICK);
+        }
+    }
+
     /**
      * Returns the list of possible MIME types to display them in the drop-down
      * select.
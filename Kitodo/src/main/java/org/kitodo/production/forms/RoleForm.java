@@ -76,6 +76,7 @@ public class RoleForm extends BaseForm {
     public String save() {
         try {
             ServiceManager.getRoleService().saveToDatabase(this.role);
+            ServiceManager.getRoleService().evictFromCache();
             return usersPage;
         } catch (DAOException e) {
             Helper.setErrorMessage(ERROR_SAVING, new Object[] {ObjectType.ROLE.getTranslationSingular() }, logger, e);
@@ -88,6 +88,7 @@ public class RulesetForm extends BaseForm {
                     return this.stayOnCurrentPage;
                 }
                 ServiceManager.getRulesetService().save(this.ruleset);
+                ServiceManager.getRulesetService().evictFromCache();
                 return projectsPage;
             } else {
                 Helper.setErrorMessage("rulesetNotFound", new Object[] {this.ruleset.getFile()});
@@ -116,6 +117,15 @@ public class RulesetForm extends BaseForm {
         }
     }
 
+    /**
+     * Discards the rulesets kept in memory. This is needed if a ruleset file
+     * has been replaced by a file with the same modification time.
+     */
+    public void clearCache() {
+        ServiceManager.getRulesetService().clearCache();
+        Helper.setMessage("rulesetCacheCleared");
+    }
+
     /**
      * Checks that ruleset file exists.
      *
@@ -226,6 +226,7 @@ public class CatalogImportDialog  extends MetadataImportDialog implements Serial
         LinkedList<TempProcess> processes = new LinkedList<>();
         DataRecord externalRecord = ServiceManager.getImportService()
                 .importExternalDataRecord(importConfiguration, this.currentRecordId, false);
+        createProcessForm.setEadFile(null);
         createProcessForm.setXmlString(externalRecord.getOriginalData().toString());
         if (createProcessForm.limitExceeded(externalRecord.getOriginalData().toString())) {
             createProcessForm.calculateNumberOfEadElements();
@@ -13,6 +13,8 @@ package org.kitodo.production.forms.createprocess;
 
 import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.Collection;
@@ -25,6 +27,7 @@ import java.util.Objects;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import javax.annotation.PreDestroy;
 import javax.faces.context.FacesContext;
 import javax.faces.model.SelectItem;
 import javax.faces.view.ViewScoped;
@@ -111,6 +114,7 @@ public class CreateProcessForm extends BaseForm implements MetadataTreeTableInte
     private String selectedEadLevel = StringConstants.FILE;
     private String selectedParentEadLevel = StringConstants.COLLECTION;
     private String xmlString;
+    private Path eadFile;
     private String filename;
     protected int numberOfEadElements;
 
@@ -123,13 +127,18 @@ public class CreateProcessForm extends BaseForm implements MetadataTreeTableInte
     }
 
     /**
-     * Calculate number of EAD elements of selected level (e.g. "item", "file" etc.) from "xmlString", containing
-     * content of currently imported XML file.
+     * Calculate number of EAD elements of selected level (e.g. "item", "file" etc.) from "eadFile", if an EAD file
+     * has been uploaded, or else from "xmlString", containing content of currently imported XML file.
      *
      * @throws XMLStreamException when retrieving EAD from XML data fails
+     * @throws IOException when reading uploaded EAD file fails
      */
-    public void calculateNumberOfEadElements() throws XMLStreamException {
-        numberOfEadElements = XMLUtils.getNumberOfEADElements(xmlString, selectedEadLevel);
+    public void calculateNumberOfEadElements() throws XMLStreamException, IOException {
+        if (Objects.nonNull(eadFile)) {
+            numberOfEadElements = XMLUtils.getNumberOfEADElements(eadFile, selectedEadLevel);
+        } else {
+            numberOfEadElements = XMLUtils.getNumberOfEADElements(xmlString, selectedEadLevel);
+        }
     }
 
     /**
@@ -934,6 +943,45 @@ public class CreateProcessForm extends BaseForm implements MetadataTreeTableInte
         this.xmlString = xmlString;
     }
 
+    /**
+     * Get eadFile.
+     *
+     * @return file containing the uploaded EAD XML, or null if no EAD file has been uploaded
+     */
+    public Path getEadFile() {
+        return eadFile;
+    }
+
+    /**
+     * Set eadFile. A previously uploaded EAD file which is replaced is
+     * deleted.
+     *
+     * @param eadFile file containing the uploaded EAD XML
+     */
+    public void setEadFile(Path eadFile) {
+        if (Objects.nonNull(this.eadFile) && !this.eadFile.equals(eadFile)) {
+            deleteEadFile(this.eadFile);
+        }
+        this.eadFile = eadFile;
+    }
+
+    /**
+     * Deletes the uploaded EAD file, for example because the user canceled
+     * its import.
+     */
+    @PreDestroy
+    public void discardEadFile() {
+        setEadFile(null);
+    }
+
+    private static void deleteEadFile(Path eadFile) {
+        try {
+            Files.deleteIfExists(eadFile);
+        } catch (IOException e) {
+            logger.warn("Unable to delete uploaded EAD file {}: {}", eadFile, e.getMessage());
+        }
+    }
+
     /**
      * Get filename.
      *
@@ -977,6 +1025,8 @@ public class CreateProcessForm extends BaseForm implements MetadataTreeTableInte
         User user = ServiceManager.getUserService().getAuthenticatedUser();
         Client client = ServiceManager.getUserService().getSessionClientOfAuthenticatedUser();
         TaskManager.addTask(new ImportEadProcessesThread(this, user, client));
+        // the uploaded EAD file now belongs to the import task, which deletes it when it is done
+        eadFile = null;
         if (ServiceManager.getSecurityAccessService().hasAuthorityToViewTaskManagerPage()) {
             return "system.jsf?tabIndex=0&faces-redirect=true";
         } else {
@@ -12,8 +12,12 @@
 package org.kitodo.production.forms.createprocess;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
@@ -27,6 +31,8 @@ import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.kitodo.api.schemaconverter.MetadataFormat;
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
 import org.kitodo.data.database.beans.ImportConfiguration;
 import org.kitodo.data.database.exceptions.DAOException;
 import org.kitodo.exceptions.ConfigException;
@@ -62,21 +68,34 @@ public class FileUploadDialog extends MetadataImportDialog {
     public void handleFileUpload(FileUploadEvent event) {
         UploadedFile uploadedFile = event.getFile();
         try {
-            String xmlString = IOUtils.toString(uploadedFile.getInputStream(), Charset.defaultCharset());
-            createProcessForm.setXmlString(XMLUtils.removeBom(xmlString));
             createProcessForm.setFilename(uploadedFile.getFileName());
-            if (MetadataFormat.EAD.name().equals(createProcessForm.getCurrentImportConfiguration().getMetadataFormat())
-                    && createProcessForm.limitExceeded(createProcessForm.getXmlString())) {
+            createProcessForm.setEadFile(null);
+            if (MetadataFormat.EAD.name().equals(createProcessForm.getCurrentImportConfiguration().getMetadataFormat())) {
+                // EAD collections can be large, so they are counted and imported from a file instead of a String
+                Path eadFile = Files.createTempFile("ead", ".xml");
+                createProcessForm.setEadFile(eadFile);
+                try (InputStream inputStream = uploadedFile.getInputStream()) {
+                    Files.copy(inputStream, eadFile, StandardCopyOption.REPLACE_EXISTING);
+                }
                 createProcessForm.calculateNumberOfEadElements();
-                Ajax.update("maxNumberOfRecordsExceededDialog");
-                PrimeFaces.current().executeScript("PF('maxNumberOfRecordsExceededDialog').show();");
-            } else {
-                processXmlString();
+                if (createProcessForm.numberOfEadElements > ConfigCore
+                        .getIntParameterOrDefaultValue(ParameterCore.MAX_NUMBER_OF_PROCESSES_FOR_IMPORT_MASK)) {
+                    createProcessForm.setXmlString("");
+                    Ajax.update("maxNumberOfRecordsExceededDialog");
+                    PrimeFaces.current().executeScript("PF('maxNumberOfRecordsExceededDialog').show();");
+                    return;
+                }
+                // small enough to be processed in the GUI, so the file is not needed any longer
+                createProcessForm.discardEadFile();
             }
+            String xmlString = IOUtils.toString(uploadedFile.getInputStream(), Charset.defaultCharset());
+            createProcessForm.setXmlString(XMLUtils.removeBom(xmlString));
+            processXmlString();
         } catch (IOException | ProcessGenerationException | URISyntaxException | ParserConfigurationException
                  | UnsupportedFormatException | SAXException | ConfigException | XPathExpressionException
                  | TransformerException | DAOException | InvalidMetadataValueException | NoSuchMetadataFieldException
                  | XMLStreamException e) {
+            createProcessForm.discardEadFile();
             Helper.setErrorMessage(e.getLocalizedMessage(), logger, e);
         }
     }
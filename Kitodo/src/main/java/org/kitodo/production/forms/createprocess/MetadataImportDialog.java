@@ -56,6 +56,7 @@ public abstract class MetadataImportDialog {
         this.createProcessForm = createProcessForm;
         this.createProcessForm.numberOfEadElements = 0;
         this.createProcessForm.setXmlString("");
+        this.createProcessForm.setEadFile(null);
         this.createProcessForm.setFilename("");
     }
 
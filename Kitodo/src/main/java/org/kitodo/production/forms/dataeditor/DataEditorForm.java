@@ -52,6 +52,7 @@ import org.kitodo.api.dataformat.LogicalDivision;
 import org.kitodo.api.dataformat.PhysicalDivision;
 import org.kitodo.api.dataformat.View;
 import org.kitodo.api.dataformat.Workpiece;
+import org.kitodo.api.dataformat.WorkpieceSnapshot;
 import org.kitodo.api.validation.State;
 import org.kitodo.api.validation.ValidationResult;
 import org.kitodo.config.ConfigCore;
@@ -182,7 +183,7 @@ public class DataEditorForm implements MetadataTreeTableInterface, RulesetSetupI
     /**
      * Original state of workpiece. Used to check whether any unsaved changes exist when leaving the editor.
      */
-    private Workpiece workpieceOriginalState;
+    private WorkpieceSnapshot workpieceOriginalState;
 
     /**
      * This List of Pairs stores all selected physical elements and the logical elements in which the physical element was selected.
@@ -416,7 +417,7 @@ public class DataEditorForm implements MetadataTreeTableInterface, RulesetSetupI
     private boolean openMetsFile() throws IOException, InvalidImagesException, MediaNotFoundException {
         mainFileUri = ServiceManager.getProcessService().getMetadataFileUri(process);
         workpiece = ServiceManager.getMetsService().loadWorkpiece(mainFileUri);
-        workpieceOriginalState = ServiceManager.getMetsService().loadWorkpiece(mainFileUri);
+        workpieceOriginalState = new WorkpieceSnapshot(workpiece);
         if (Objects.isNull(workpiece.getId())) {
             logger.warn("Workpiece has no ID. Cannot verify workpiece ID. Setting workpiece ID.");
             workpiece.setId(process.getId().toString());
@@ -598,7 +599,7 @@ public class DataEditorForm implements MetadataTreeTableInterface, RulesetSetupI
                 } else {
                     PrimeFaces.current().executeScript("PF('notifications').renderMessage({'summary':'"
                             + Helper.getTranslation("metadataSaved") + "','severity':'info'})");
-                    workpieceOriginalState = ServiceManager.getMetsService().loadWorkpiece(mainFileUri);
+                    workpieceOriginalState = new WorkpieceSnapshot(workpiece);
                     PrimeFaces.current().executeScript("setUnsavedChanges(false);");
                 }
             } catch (IOException e) {
@@ -1085,7 +1086,7 @@ public class DataEditorForm implements MetadataTreeTableInterface, RulesetSetupI
      */
     public void checkForChanges() {
         if (Objects.nonNull(PrimeFaces.current())) {
-            boolean unsavedChanges = !this.workpiece.equals(workpieceOriginalState);
+            boolean unsavedChanges = Objects.isNull(workpieceOriginalState) || workpieceOriginalState.isChanged(workpiece);
             PrimeFaces.current().executeScript("setUnsavedChanges(" + unsavedChanges + ");");
         }
     }
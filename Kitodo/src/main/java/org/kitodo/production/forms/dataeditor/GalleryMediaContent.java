@@ -12,8 +12,8 @@
 package org.kitodo.production.forms.dataeditor;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
@@ -27,6 +27,7 @@ import org.apache.logging.log4j.Logger;
 import org.kitodo.api.dataformat.MediaPartial;
 import org.kitodo.api.dataformat.View;
 import org.kitodo.production.enums.MediaContentType;
+import org.kitodo.production.helper.MediaFileInputStream;
 import org.kitodo.production.services.ServiceManager;
 import org.primefaces.model.DefaultStreamedContent;
 import org.primefaces.model.StreamedContent;
@@ -149,7 +150,7 @@ public class GalleryMediaContent {
      * @return a Primefaces object that handles the output of media data
      */
     public StreamedContent getMediaViewData() {
-        return sendData(mediaViewUri, mediaViewMimeType);
+        return sendData(mediaViewUri, mediaViewMimeType, 0);
     }
 
     /**
@@ -174,10 +175,15 @@ public class GalleryMediaContent {
      * Returns the media content of the preview media. This is the method that
      * is called through the gallery panel using a media ID.
      *
+     * @param width
+     *         width in pixels the preview is requested in. Images wider than
+     *         this are sent as thumbnail.
      * @return a Primefaces object that handles the output of media data
      */
-    StreamedContent getPreviewData() {
-        return sendData(previewUri, previewMimeType);
+    StreamedContent getPreviewData(int width) {
+        boolean thumbnail = Objects.equals(type, MediaContentType.IMAGE) && Objects.nonNull(previewMimeType)
+                && previewMimeType.startsWith("image");
+        return sendData(previewUri, previewMimeType, thumbnail ? width : 0);
     }
 
     /**
@@ -244,9 +250,12 @@ public class GalleryMediaContent {
      *         internal URI of the media file to be transferred
      * @param mimeType
      *         the Internet MIME type of the media file
+     * @param thumbnailWidth
+     *         width of the thumbnail to send instead of a wider image, or 0
+     *         to always send the media file itself
      * @return a Primefaces object that handles the output of media data
      */
-    private StreamedContent sendData(URI uri, String mimeType) {
+    private StreamedContent sendData(URI uri, String mimeType, int thumbnailWidth) {
         /*
          * During the construction of the HTML page, only an URL for the media
          * file is generated.
@@ -261,9 +270,18 @@ public class GalleryMediaContent {
          * that after transferring the data.
          */
         try {
-            InputStream viewData = ServiceManager.getFileService().read(uri);
-            return DefaultStreamedContent.builder().stream(() -> viewData).contentType(mimeType)
-                    .name(Paths.get(uri.getPath()).getFileName().toString()).contentLength(viewData.available())
+            File file = ServiceManager.getFileService().getFile(uri);
+            String contentType = mimeType;
+            if (thumbnailWidth > 0) {
+                File thumbnail = ServiceManager.getThumbnailService().getThumbnail(file, thumbnailWidth);
+                if (!thumbnail.equals(file)) {
+                    file = thumbnail;
+                    contentType = "image/jpeg";
+                }
+            }
+            MediaFileInputStream viewData = new MediaFileInputStream(file);
+            return DefaultStreamedContent.builder().stream(() -> viewData).contentType(contentType)
+                    .name(Paths.get(uri.getPath()).getFileName().toString()).contentLength(file.length())
                     .build();
         } catch (IOException e) {
             logger.catching(e);
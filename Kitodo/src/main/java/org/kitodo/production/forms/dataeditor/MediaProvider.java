@@ -13,6 +13,8 @@ package org.kitodo.production.forms.dataeditor;
 
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 
@@ -37,7 +39,18 @@ public class MediaProvider implements Serializable {
 
     private static final Logger logger = LogManager.getLogger(MediaProvider.class);
 
-    private final Map<Integer, Map<String, GalleryMediaContent>> mediaResolver = new HashMap<>();
+    /**
+     * Maximum number of processes whose media are kept in the media resolver.
+     * The media of the process opened first are dropped first.
+     */
+    private static final int MAXIMUM_PROCESSES = 5;
+
+    /**
+     * Requested width of previews, if the page does not request a width.
+     */
+    private static final int DEFAULT_PREVIEW_WIDTH = 300;
+
+    private final Map<Integer, Map<String, GalleryMediaContent>> mediaResolver = new LinkedHashMap<>();
 
     private static final String PREVIEW = "preview";
 
@@ -51,7 +64,11 @@ public class MediaProvider implements Serializable {
     public Map<String, GalleryMediaContent> getMediaResolver(int processId) {
         if (!mediaResolver.containsKey(processId)) {
             mediaResolver.put(processId, new HashMap<>());
-
+            Iterator<Integer> processIds = mediaResolver.keySet().iterator();
+            while (mediaResolver.size() > MAXIMUM_PROCESSES) {
+                processIds.next();
+                processIds.remove();
+            }
         }
         return mediaResolver.get(processId);
     }
@@ -128,7 +145,7 @@ public class MediaProvider implements Serializable {
                     if (Objects.nonNull(mediaContent)) {
                         logger.trace("Serving image request {}", id);
                         if (PREVIEW.equals(mediaVariant)) {
-                            return mediaContent.getPreviewData();
+                            return mediaContent.getPreviewData(getRequestedWidth(context));
                         }
                         if (MEDIA_VIEW.equals(mediaVariant)) {
                             return mediaContent.getMediaViewData();
@@ -145,4 +162,15 @@ public class MediaProvider implements Serializable {
         return DefaultStreamedContent.builder().build();
     }
 
+    private static int getRequestedWidth(FacesContext context) {
+        String width = context.getExternalContext().getRequestParameterMap().get("width");
+        if (Objects.nonNull(width)) {
+            try {
+                return Integer.parseInt(width);
+            } catch (NumberFormatException e) {
+                logger.debug("Ignoring invalid preview width '{}'", width);
+            }
+        }
+        return DEFAULT_PREVIEW_WIDTH;
+    }
 }
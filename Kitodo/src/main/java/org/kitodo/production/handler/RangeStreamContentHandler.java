@@ -18,7 +18,10 @@ import static org.kitodo.production.helper.RangeStreamHelper.sublong;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -34,6 +37,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessage;
 import org.kitodo.production.beans.Range;
+import org.kitodo.production.helper.MediaFileInputStream;
 import org.primefaces.application.resource.BaseDynamicContentHandler;
 import org.primefaces.model.StreamedContent;
 import org.primefaces.util.Constants;
@@ -53,6 +57,14 @@ public class RangeStreamContentHandler extends BaseDynamicContentHandler {
 
     private static final String CLIENT_ABORT_EXCEPTION_CANONICAL_NAME = "org.apache.catalina.connector.ClientAbortException";
 
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private static final Logger logger = LogManager.getLogger(RangeStreamContentHandler.class);
 
     @Override
@@ -129,18 +141,26 @@ public class RangeStreamContentHandler extends BaseDynamicContentHandler {
         // Adapt implementation of Warren Dew
         // (https://stackoverflow.com/questions/28427339/how-to-implement-http-byte-range-requests-in-spring-mvc)
         // using org.primefaces.application.resource.StreamedContentHandler
+        HttpServletRequest request = (HttpServletRequest) externalContext.getRequest();
         HttpServletResponse response = (HttpServletResponse) externalContext.getResponse();
 
         if (Objects.nonNull(streamedContent.getName())) {
             response.setHeader("Content-Disposition", "inline;filename=\"" + streamedContent.getName() + "\"");
-            response.setHeader("ETag", streamedContent.getName());
         }
 
         response.setHeader("Accept-Ranges", "bytes");
         response.setBufferSize(DEFAULT_BUFFER_SIZE);
 
-        processInputStreamToOutputStream((HttpServletRequest) externalContext.getRequest(), response, streamedContent,
-                externalContext.getResponseOutputStream());
+        if (streamedContent.getStream() instanceof MediaFileInputStream) {
+            processFileToOutputStream(request, response, streamedContent,
+                    (MediaFileInputStream) streamedContent.getStream(), externalContext.getResponseOutputStream());
+        } else {
+            if (Objects.nonNull(streamedContent.getName())) {
+                response.setHeader("ETag", streamedContent.getName());
+            }
+            processInputStreamToOutputStream(request, response, streamedContent,
+                    externalContext.getResponseOutputStream());
+        }
     }
 
     private void processInputStreamToOutputStream(HttpServletRequest request, HttpServletResponse response,
@@ -149,30 +169,73 @@ public class RangeStreamContentHandler extends BaseDynamicContentHandler {
         // Prepare some variables. The full Range represents the complete file.
         int length = inputStream.available(); // Length of file
         Range full = new Range(0, length - 1, length);
-        List<Range> ranges = getRanges(request, response, length, streamedContent.getName());
+        List<Range> ranges = getRanges(request, response, length, streamedContent.getName(), -1);
+        if (Objects.isNull(ranges)) {
+            ranges = Collections.emptyList();
+        }
+        writeRanges(request, response, streamedContent.getContentType(), outputStream, full, ranges,
+            (start, rangeLength) -> copy(inputStream, outputStream, length, start, rangeLength));
+    }
 
-        if (ranges.isEmpty() || Objects.equals(ranges.get(0), full)) {
-            // Return full file.
-            logger.info("Return full file");
-            response.setContentType(streamedContent.getContentType());
-            response.setHeader("Content-Range",
-                    "bytes " + full.getStart() + "-" + full.getEnd() + "/" + full.getTotal());
-            response.setHeader("Content-Length", String.valueOf(full.getLength()));
-            copy(inputStream, outputStream, length, full.getStart(), full.getLength());
-        } else if (ranges.size() == 1) {
-            // Return single part of file.
-            Range r = ranges.get(0);
-            logger.info("Returning part of file : from (" + r.getStart() + ") to (" + r.getEnd() + ")");
-            response.setContentType(streamedContent.getContentType());
-            response.setHeader("Content-Range", "bytes " + r.getStart() + "-" + r.getEnd() + "/" + r.getTotal());
-            response.setHeader("Content-Length", String.valueOf(r.getLength()));
-            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT); // 206.
-            // Copy single part range.
-            copy(inputStream, outputStream, length, r.getStart(), r.getLength());
+    /**
+     * Serves a media file. The real size and modification time of the file
+     * are used for a strong entity tag and the {@code Last-Modified} header,
+     * so that browsers can revalidate cached media. The requested ranges are
+     * read from the file channel at their positions, without reading through
+     * the file. The response output stream is not a channel, so the data is
+     * still copied through a buffer on its way to the client. If the servlet
+     * container supports sendfile, the transfer of a single range is left to
+     * the container, which sends the file without copying it.
+     */
+    private void processFileToOutputStream(HttpServletRequest request, HttpServletResponse response,
+            StreamedContent streamedContent, MediaFileInputStream mediaFileInputStream, OutputStream outputStream)
+            throws IOException {
+        FileChannel fileChannel = mediaFileInputStream.getChannel();
+        long length = fileChannel.size();
+        long lastModified = mediaFileInputStream.getFile().lastModified();
+        String eTag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+        response.setHeader("ETag", eTag);
+        response.setDateHeader("Last-Modified", lastModified);
+
+        if (isNotModified(request, eTag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        Range full = new Range(0, length - 1, length);
+        List<Range> ranges = getRanges(request, response, length, eTag, lastModified);
+        if (Objects.isNull(ranges)) {
+            return;
+        }
+        if (ranges.size() <= 1 && !isHeadRequest(request) && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            Range range = ranges.isEmpty() ? full : ranges.get(0);
+            writeHeaders(response, streamedContent.getContentType(), range, !ranges.isEmpty());
+            request.setAttribute(SENDFILE_FILENAME, mediaFileInputStream.getFile().getAbsolutePath());
+            request.setAttribute(SENDFILE_START, range.getStart());
+            request.setAttribute(SENDFILE_END, range.getEnd() + 1);
+            return;
+        }
+        writeRanges(request, response, streamedContent.getContentType(), outputStream, full, ranges,
+            (start, rangeLength) -> copy(fileChannel, outputStream, start, rangeLength));
+    }
+
+    private static void writeRanges(HttpServletRequest request, HttpServletResponse response, String contentType,
+            OutputStream outputStream, Range full, List<Range> ranges, RangeWriter rangeWriter) throws IOException {
+        boolean writeBody = !isHeadRequest(request);
+        if (ranges.size() <= 1) {
+            // Return full file or single part of file.
+            Range range = ranges.isEmpty() ? full : ranges.get(0);
+            writeHeaders(response, contentType, range, !ranges.isEmpty());
+            if (writeBody) {
+                rangeWriter.write(range.getStart(), range.getLength());
+            }
         } else {
             // Return multiple parts of file.
             response.setContentType("multipart/byteranges; boundary=" + MULTIPART_BOUNDARY);
             response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT); // 206.
+            if (!writeBody) {
+                return;
+            }
             // Cast back to ServletOutputStream to get the easy println methods.
             ServletOutputStream servletOutputStream = (ServletOutputStream) outputStream;
             // Copy multi part range.
@@ -181,12 +244,12 @@ public class RangeStreamContentHandler extends BaseDynamicContentHandler {
                 // Add multipart boundary and header fields for every range.
                 servletOutputStream.println();
                 servletOutputStream.println("--" + MULTIPART_BOUNDARY);
-                servletOutputStream.println("Content-Type: " + streamedContent.getContentType());
+                servletOutputStream.println("Content-Type: " + contentType);
                 servletOutputStream.println(
                         "Content-Range: bytes " + r.getStart() + "-" + r.getEnd() + "/" + r.getTotal());
 
                 // Copy single part range of multipart range.
-                copy(inputStream, outputStream, length, r.getStart(), r.getLength());
+                rangeWriter.write(r.getStart(), r.getLength());
             }
             // End with multipart boundary.
             servletOutputStream.println();
@@ -194,9 +257,59 @@ public class RangeStreamContentHandler extends BaseDynamicContentHandler {
         }
     }
 
-    private static List<Range> getRanges(HttpServletRequest request, HttpServletResponse response, int length,
-            String fileName) throws IOException {
-        Range full = new Range(0, length - 1, length);
+    private static void writeHeaders(HttpServletResponse response, String contentType, Range range, boolean partial) {
+        if (!partial) {
+            logger.info("Return full file");
+        } else {
+            logger.info("Returning part of file : from (" + range.getStart() + ") to (" + range.getEnd() + ")");
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT); // 206.
+        }
+        response.setContentType(contentType);
+        response.setHeader("Content-Range", "bytes " + range.getStart() + "-" + range.getEnd() + "/" + range.getTotal());
+        response.setHeader("Content-Length", String.valueOf(range.getLength()));
+    }
+
+    private static boolean isHeadRequest(HttpServletRequest request) {
+        return "HEAD".equals(request.getMethod());
+    }
+
+    /**
+     * Checks the conditional headers of a GET or HEAD request. If
+     * {@code If-None-Match} is sent, {@code If-Modified-Since} is ignored.
+     */
+    private static boolean isNotModified(HttpServletRequest request, String eTag, long lastModified) {
+        if (Objects.nonNull(request.getMethod()) && !"GET".equals(request.getMethod()) && !isHeadRequest(request)) {
+            return false;
+        }
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (Objects.nonNull(ifNoneMatch)) {
+            for (String entityTag : ifNoneMatch.split(",")) {
+                String trimmed = entityTag.trim();
+                if (trimmed.equals("*") || trimmed.equals(eTag) || trimmed.equals("W/" + eTag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+            // HTTP dates have a resolution of seconds
+            return ifModifiedSince != -1 && lastModified / 1000 <= ifModifiedSince / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Determines the requested ranges. Overlapping and adjacent ranges are
+     * merged.
+     *
+     * @return the requested ranges, empty if the full content is to be
+     *         returned, or {@code null} if the range is not satisfiable and
+     *         an error has been sent
+     */
+    private static List<Range> getRanges(HttpServletRequest request, HttpServletResponse response, long length,
+            String eTag, long lastModified) throws IOException {
         List<Range> ranges = new ArrayList<>();
         // Validate and process Range and If-Range headers.
         String range = request.getHeader("Range");
@@ -206,44 +319,74 @@ public class RangeStreamContentHandler extends BaseDynamicContentHandler {
             if (!range.matches("^bytes=\\d*-\\d*(,\\d*-\\d*)*$")) {
                 response.setHeader("Content-Range", "bytes */" + length); // Required in 416.
                 response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
-                return ranges;
+                return null;
             }
+            // If the If-Range header does not match, the full content is returned.
             String ifRange = request.getHeader("If-Range");
-            if (Objects.nonNull(ifRange) && !ifRange.equals(fileName)) {
+            if (Objects.nonNull(ifRange) && !ifRange.equals(eTag)) {
                 try {
                     long ifRangeTime = request.getDateHeader("If-Range"); // Throws IAE if invalid.
-                    if (ifRangeTime != -1) {
-                        ranges.add(full);
+                    if (ifRangeTime != -1 && (lastModified == -1 || ifRangeTime / 1000 < lastModified / 1000)) {
+                        return ranges;
                     }
                 } catch (IllegalArgumentException ignore) {
-                    ranges.add(full);
+                    return ranges;
                 }
             }
-            // If any valid If-Range header, then process each part of byte range.
-            if (ranges.isEmpty()) {
-                for (String part : range.substring(6).split(",")) {
-                    // Assuming a file with length of 100, the following examples returns bytes at:
-                    // 50-80 (50 to 80), 40- (40 to length=100), -20 (length-20=80 to length=100).
-                    long start = sublong(part, 0, part.indexOf("-"));
-                    long end = sublong(part, part.indexOf("-") + 1, part.length());
-                    if (start == -1) {
-                        start = length - end;
-                        end = length - 1;
-                    } else if (end == -1 || end > length - 1) {
-                        end = length - 1;
-                    }
-                    // Check if Range is syntactically valid. If not, then return 416.
-                    if (start > end) {
-                        response.setHeader("Content-Range", "bytes */" + length); // Required in 416.
-                        response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
-                        return ranges;
-                    }
-                    // Add range.
-                    ranges.add(new Range(start, end, length));
+            // Process each part of byte range.
+            for (String part : range.substring(6).split(",")) {
+                // Assuming a file with length of 100, the following examples returns bytes at:
+                // 50-80 (50 to 80), 40- (40 to length=100), -20 (length-20=80 to length=100).
+                long start = sublong(part, 0, part.indexOf("-"));
+                long end = sublong(part, part.indexOf("-") + 1, part.length());
+                if (start == -1) {
+                    start = Math.max(0, length - end);
+                    end = length - 1;
+                } else if (end == -1 || end > length - 1) {
+                    end = length - 1;
+                }
+                // Check if Range is syntactically valid. If not, then return 416.
+                if (start > end) {
+                    response.setHeader("Content-Range", "bytes */" + length); // Required in 416.
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return null;
                 }
+                // Add range.
+                ranges.add(new Range(start, end, length));
+            }
+        }
+        return coalesce(ranges);
+    }
+
+    /**
+     * Sorts the ranges and merges overlapping and adjacent ranges, so that
+     * every byte is sent only once.
+     */
+    private static List<Range> coalesce(List<Range> ranges) {
+        if (ranges.size() <= 1) {
+            return ranges;
+        }
+        List<Range> sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparingLong(Range::getStart));
+        List<Range> coalesced = new ArrayList<>();
+        Range current = sorted.get(0);
+        for (Range next : sorted.subList(1, sorted.size())) {
+            if (next.getStart() <= current.getEnd() + 1) {
+                current = new Range(current.getStart(), Math.max(current.getEnd(), next.getEnd()), current.getTotal());
+            } else {
+                coalesced.add(current);
+                current = next;
             }
         }
-        return ranges;
+        coalesced.add(current);
+        return coalesced;
     }
 
+    /**
+     * Writes a range of the content to the response.
+     */
+    @FunctionalInterface
+    private interface RangeWriter {
+        void write(long start, long length) throws IOException;
+    }
 }
@@ -61,15 +61,20 @@ public class IndexWorker implements Runnable {
             int attempt = 1;
             while (attempt < maxAttempts) {
                 try {
-                    int offset = nextBatch * batchSize;
-                    logger.info("index " + objectType.toString() + " with offset " + offset + " and attempt " 
-                        + attempt + "/" + maxAttempts);
-
-                    if (indexAllObjects) {
-                        indexObjects(searchService.getAll(offset, batchSize));
+                    if (indexWorkerStatus.isIdRangeBatching()) {
+                        indexIdRange(nextBatch, attempt, maxAttempts);
                     } else {
-                        indexObjects(searchService.getAllNotIndexed(offset, batchSize));
+                        int offset = nextBatch * batchSize;
+                        logger.info("index " + objectType.toString() + " with offset " + offset + " and attempt "
+                            + attempt + "/" + maxAttempts);
+
+                        if (indexAllObjects) {
+                            indexObjects(searchService.getAll(offset, batchSize));
+                        } else {
+                            indexObjects(searchService.getAllNotIndexed(offset, batchSize));
+                        }
                     }
+                    indexWorkerStatus.markBatchAsCompleted(nextBatch);
 
                     break;
                 } catch (Exception e) {
@@ -93,6 +98,21 @@ public class IndexWorker implements Runnable {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private void indexIdRange(int batch, int attempt, int maxAttempts)
+            throws CustomResponseException, DAOException, IOException {
+        int fromId = indexWorkerStatus.getFromId(batch);
+        int toId = indexWorkerStatus.getToId(batch);
+        logger.info("index " + objectType.toString() + " with ids from " + (fromId + 1) + " to " + toId
+            + " and attempt " + attempt + "/" + maxAttempts);
+
+        if (indexAllObjects) {
+            indexObjects(searchService.getAllInIdRange(fromId, toId));
+        } else {
+            indexObjects(searchService.getAllNotIndexedInIdRange(fromId, toId));
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private void indexObjects(List<Object> objectsToIndex) throws CustomResponseException, DAOException, IOException {
         this.searchService.addAllObjectsToIndex(objectsToIndex);
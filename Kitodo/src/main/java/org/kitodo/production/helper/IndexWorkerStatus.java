@@ -11,6 +11,8 @@
 
 package org.kitodo.production.helper;
 
+import java.util.BitSet;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -38,6 +40,27 @@ public class IndexWorkerStatus {
      * Whether the indexing process was canceled by a user.
      */
     private final AtomicBoolean canceled = new AtomicBoolean(false);
+
+    /**
+     * The id after which the first batch starts, if batches are id ranges.
+     * Null if batches are determined by offset.
+     */
+    private final Integer startId;
+
+    /**
+     * The number of ids covered by one batch, if batches are id ranges.
+     */
+    private final int batchSize;
+
+    /**
+     * Stores which batches have been indexed successfully.
+     */
+    private final BitSet completedBatches = new BitSet();
+
+    /**
+     * The number of batches that have been indexed without gaps from the start.
+     */
+    private int completedWithoutGaps = 0;
    
     /**
      * Initialize index worker status.
@@ -46,6 +69,23 @@ public class IndexWorkerStatus {
      */
     public IndexWorkerStatus(Integer maxBatch) {
         this.maxBatch = maxBatch;
+        this.startId = null;
+        this.batchSize = 0;
+    }
+
+    /**
+     * Initialize index worker status for batches of id ranges. Batch number n
+     * covers the ids greater than {@code startId + n * batchSize} up to and
+     * including {@code startId + (n + 1) * batchSize}.
+     *
+     * @param maxBatch the maximum number of batches to be processed
+     * @param startId the id after which the first batch starts
+     * @param batchSize the number of ids covered by one batch
+     */
+    public IndexWorkerStatus(Integer maxBatch, int startId, int batchSize) {
+        this.maxBatch = maxBatch;
+        this.startId = startId;
+        this.batchSize = batchSize;
     }
 
     /**
@@ -66,6 +106,56 @@ public class IndexWorkerStatus {
         return this.nextBatch.getAndIncrement();
     }
 
+    /**
+     * Returns whether batches are id ranges instead of offsets.
+     *
+     * @return true when batches are id ranges
+     */
+    public boolean isIdRangeBatching() {
+        return Objects.nonNull(startId);
+    }
+
+    /**
+     * Returns the id after which the given batch starts (exclusive).
+     *
+     * @param batch the batch number
+     * @return lower id bound of the batch
+     */
+    public int getFromId(int batch) {
+        return startId + batch * batchSize;
+    }
+
+    /**
+     * Returns the last id of the given batch (inclusive).
+     *
+     * @param batch the batch number
+     * @return upper id bound of the batch
+     */
+    public int getToId(int batch) {
+        return startId + (batch + 1) * batchSize;
+    }
+
+    /**
+     * Marks the given batch as indexed successfully.
+     *
+     * @param batch the batch number
+     */
+    public synchronized void markBatchAsCompleted(int batch) {
+        completedBatches.set(batch);
+        completedWithoutGaps = completedBatches.nextClearBit(completedWithoutGaps);
+    }
+
+    /**
+     * Returns the id up to which all objects have been indexed. Batches
+     * completed after a batch that is still pending or has failed are not
+     * taken into account, so indexing can safely be continued after this id.
+     *
+     * @return id up to which all batches have been indexed
+     */
+    public synchronized int getCheckpointId() {
+        return getFromId(completedWithoutGaps);
+    }
+
     /**
      * Returns whether the indexing process has failed.
      * 
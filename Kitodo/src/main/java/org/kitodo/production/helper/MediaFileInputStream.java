@@ -0,0 +1,50 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.helper;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+
+/**
+ * An input stream of a media file which keeps the file it was opened for. This
+ * allows the {@code RangeStreamContentHandler} to determine the real size and
+ * modification time of the file, to read byte ranges through the file channel
+ * of the stream instead of reading through the file up to the requested
+ * position, and to pass the file to the servlet container for sendfile.
+ */
+public class MediaFileInputStream extends FileInputStream {
+
+    private final File file;
+
+    /**
+     * Opens a media file for reading.
+     *
+     * @param file
+     *            media file to read
+     * @throws FileNotFoundException
+     *             if the file does not exist or cannot be read
+     */
+    public MediaFileInputStream(File file) throws FileNotFoundException {
+        super(file);
+        this.file = file;
+    }
+
+    /**
+     * Returns the media file.
+     *
+     * @return the media file
+     */
+    public File getFile() {
+        return file;
+    }
+}
@@ -11,9 +11,13 @@
 
 package org.kitodo.production.helper;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * The class contains functions for handling ranges in RangeStreamContentHandler.
@@ -82,4 +86,36 @@ public class RangeStreamHelper {
             }
         }
     }
+
+    /**
+     * Copy range of a file channel to output stream. The file is not read up
+     * to the start of the range, the transfer starts directly at the requested
+     * position. As the output stream is wrapped in a channel, the file channel
+     * copies the data through a buffer instead of transferring it directly.
+     *
+     * @param input
+     *         The file channel
+     * @param output
+     *         The output stream
+     * @param start
+     *         The start of range.
+     * @param length
+     *         The length of range.
+     * @throws IOException
+     *         The exception when working with the channel or the stream
+     */
+    public static void copy(FileChannel input, OutputStream output, long start, long length) throws IOException {
+        // the channel must not be closed, as this would close the output stream
+        WritableByteChannel outputChannel = Channels.newChannel(output);
+        long position = start;
+        long end = start + length;
+        while (position < end) {
+            long transferred = input.transferTo(position, end - position, outputChannel);
+            if (transferred <= 0) {
+                throw new EOFException("File ended at " + position + " before end of range " + end);
+            }
+            position += transferred;
+        }
+        output.flush();
+    }
 }
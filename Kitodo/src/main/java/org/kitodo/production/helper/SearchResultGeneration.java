@@ -11,30 +11,74 @@
 
 package org.kitodo.production.helper;
 
-import java.util.ArrayList;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.poi.hssf.usermodel.HSSFRow;
-import org.apache.poi.hssf.usermodel.HSSFSheet;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
-import org.kitodo.data.elasticsearch.index.type.enums.ProcessTypeField;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.kitodo.data.elasticsearch.exceptions.CustomResponseException;
+import org.kitodo.data.elasticsearch.search.SearchCursor;
 import org.kitodo.data.exceptions.DataException;
 import org.kitodo.production.dto.ProcessDTO;
 import org.kitodo.production.enums.ObjectType;
 import org.kitodo.production.services.ServiceManager;
+import org.kitodo.production.services.data.ProcessService;
 import org.opensearch.index.query.BoolQueryBuilder;
-import org.opensearch.index.query.RangeQueryBuilder;
 import org.opensearch.search.sort.SortOrder;
 
 public class SearchResultGeneration {
 
+    /**
+     * Number of processes read from the index at once.
+     */
+    private static final int PAGE_SIZE = 1000;
+
+    /**
+     * Number of spreadsheet rows kept in memory. Older rows are written to a
+     * temporary file.
+     */
+    private static final int ROW_ACCESS_WINDOW_SIZE = 100;
+
+    /**
+     * Number of PDF table rows after which the table is written to the
+     * document.
+     */
+    private static final int PDF_ROWS_PER_CHUNK = 500;
+
+    private static final int[] COLUMN_WIDTHS = {4, 1, 2, 1, 1, 1, 2, 2 };
+
     private String filter;
     private boolean showClosedProcesses;
     private boolean showInactiveProjects;
+    private final int pageSize;
     private static final Logger logger = LogManager.getLogger(SearchResultGeneration.class);
 
+    /**
+     * Receives the rows of the search result one after another.
+     *
+     * @param <E>
+     *            exception thrown by the output format
+     */
+    @FunctionalInterface
+    private interface RowWriter<E extends Exception> {
+        void write(List<Object> row) throws IOException, E;
+    }
+
     /**
      * Constructor.
      *
@@ -46,30 +90,82 @@ public class SearchResultGeneration {
      *            boolean
      */
     public SearchResultGeneration(String filter, boolean showClosedProcesses, boolean showInactiveProjects) {
+        this(filter, showClosedProcesses, showInactiveProjects, PAGE_SIZE);
+    }
+
+    SearchResultGeneration(String filter, boolean showClosedProcesses, boolean showInactiveProjects, int pageSize) {
         this.filter = filter;
         this.showClosedProcesses = showClosedProcesses;
         this.showInactiveProjects = showInactiveProjects;
+        this.pageSize = pageSize;
     }
 
     /**
-     * Get result.
+     * Writes the search result as spreadsheet to an output stream. The rows
+     * are written while the processes are read from the index, and only a
+     * few rows are kept in memory at a time.
      *
-     * @return HSSFWorkbook
+     * @param outputStream
+     *            output stream to write the spreadsheet to
+     * @throws IOException
+     *             if the processes cannot be read or writing fails
      */
-    public HSSFWorkbook getResult() {
-        return getWorkbook();
-    }
-
-    private List<ProcessDTO> getResultsWithFilter() {
-        List<ProcessDTO> processDTOS = new ArrayList<>();
+    public void writeWorkbook(OutputStream outputStream) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW_SIZE);
         try {
-            processDTOS = ServiceManager.getProcessService().findByQuery(getQueryForFilter(ObjectType.PROCESS),
-                ServiceManager.getProcessService().sortById(SortOrder.ASC), true);
-        } catch (DataException e) {
-            logger.error(e.getMessage(), e);
+            Sheet sheet = workbook.createSheet("Search results");
+            int[] rowCounter = {0 };
+            writeRows(row -> {
+                Row sheetRow = sheet.createRow(rowCounter[0]++);
+                for (int column = 0; column < row.size(); column++) {
+                    Object value = row.get(column);
+                    if (value instanceof Number) {
+                        sheetRow.createCell(column).setCellValue(((Number) value).doubleValue());
+                    } else {
+                        sheetRow.createCell(column).setCellValue(Objects.toString(value, null));
+                    }
+                }
+            });
+            workbook.write(outputStream);
+        } finally {
+            workbook.dispose();
+            workbook.close();
         }
+    }
 
-        return processDTOS;
+    /**
+     * Writes the search result as PDF table to an output stream. The table is
+     * written in parts while the processes are read from the index.
+     *
+     * @param outputStream
+     *            output stream to write the PDF file to
+     * @throws IOException
+     *             if the processes cannot be read or writing fails
+     * @throws DocumentException
+     *             if the PDF file cannot be created
+     */
+    public void writePdf(OutputStream outputStream) throws IOException, DocumentException {
+        Document document = new Document();
+        PdfWriter.getInstance(document, outputStream);
+        document.setPageSize(new Rectangle(PageSize.A3.getHeight(), PageSize.A3.getWidth()));
+        document.open();
+        document.add(new Paragraph(Objects.toString(filter, "")));
+        PdfPTable table = new PdfPTable(COLUMN_WIDTHS.length);
+        table.setSpacingBefore(20);
+        table.setWidths(COLUMN_WIDTHS);
+        table.setComplete(false);
+        int[] rowCounter = {0 };
+        writeRows(row -> {
+            for (Object value : row) {
+                table.addCell(Objects.toString(value, ""));
+            }
+            if (++rowCounter[0] % PDF_ROWS_PER_CHUNK == 0) {
+                document.add(table);
+            }
+        });
+        table.setComplete(true);
+        document.add(table);
+        document.close();
     }
 
     /**
@@ -96,80 +192,49 @@ public class SearchResultGeneration {
         return query;
     }
 
-    private HSSFWorkbook getWorkbook() {
-        HSSFWorkbook workbook = new HSSFWorkbook();
-        HSSFSheet sheet = workbook.createSheet("Search results");
-
-        HSSFRow title = sheet.createRow(0);
-        title.createCell(0).setCellValue(this.filter);
-        for (int i = 1; i < 8; i++) {
-            title.createCell(i).setCellValue("");
+    private <E extends Exception> void writeRows(RowWriter<E> rowWriter) throws IOException, E {
+        List<Object> title = Arrays.asList(new Object[COLUMN_WIDTHS.length]);
+        Collections.fill(title, "");
+        title.set(0, this.filter);
+        rowWriter.write(title);
+        rowWriter.write(getRowHeader());
+        try {
+            insertRowData(rowWriter);
+        } catch (DataException e) {
+            throw new IOException(e.getMessage(), e);
         }
-
-        setRowHeader(sheet);
-
-        insertRowData(sheet);
-
-        return workbook;
     }
 
-    private void insertRowData(HSSFSheet sheet) {
-        int rowCounter = 2;
-        long numberOfProcessedProcesses = 0;
-        int elasticsearchLimit = 9999;
-        try {
-            Long numberOfExpectedProcesses = ServiceManager.getProcessService()
-                    .count(getQueryForFilter(ObjectType.PROCESS));
-            if (numberOfExpectedProcesses > elasticsearchLimit) {
-                List<ProcessDTO> processDTOS;
-                int queriedIds = 0;
-                while (numberOfProcessedProcesses < numberOfExpectedProcesses) {
-                    RangeQueryBuilder rangeQueryBuilder = new RangeQueryBuilder(ProcessTypeField.ID.toString());
-                    rangeQueryBuilder.gte(queriedIds).lt(queriedIds + elasticsearchLimit);
-                    BoolQueryBuilder queryForFilter = getQueryForFilter(ObjectType.PROCESS);
-                    queryForFilter.must(rangeQueryBuilder);
-                    processDTOS = ServiceManager.getProcessService().findByQuery(queryForFilter,
-                        ServiceManager.getProcessService().sortById(SortOrder.ASC), true);
-                    queriedIds += elasticsearchLimit;
-                    for (ProcessDTO processDTO : processDTOS) {
-                        prepareRow(rowCounter, sheet, processDTO);
-                        rowCounter++;
-                    }
-                    numberOfProcessedProcesses += processDTOS.size();
-                }
-            } else {
-                List<ProcessDTO> resultsWithFilter = getResultsWithFilter();
-                for (ProcessDTO processDTO : resultsWithFilter) {
-                    prepareRow(rowCounter, sheet, processDTO);
-                    rowCounter++;
+    /**
+     * Reads the processes page by page in the order of their IDs with a
+     * cursor, so the index is not asked for hits beyond its result window,
+     * and the rows of a page can be written before the next page is read.
+     */
+    private <E extends Exception> void insertRowData(RowWriter<E> rowWriter) throws DataException, IOException, E {
+        ProcessService processService = ServiceManager.getProcessService();
+        try (SearchCursor cursor = processService.openCursor(getQueryForFilter(ObjectType.PROCESS),
+            processService.sortById(SortOrder.ASC), pageSize)) {
+            for (List<ProcessDTO> processDTOS = processService.findNextPage(cursor, true); !processDTOS.isEmpty();
+                    processDTOS = processService.findNextPage(cursor, true)) {
+                for (ProcessDTO processDTO : processDTOS) {
+                    rowWriter.write(getRow(processDTO));
                 }
             }
-        } catch (DataException e) {
-            logger.error(e.getMessage(), e);
+        } catch (CustomResponseException e) {
+            throw new DataException(e);
         }
     }
 
-    private void setRowHeader(HSSFSheet sheet) {
-        HSSFRow rowHeader = sheet.createRow(1);
-        rowHeader.createCell(0).setCellValue(Helper.getTranslation("title"));
-        rowHeader.createCell(1).setCellValue(Helper.getTranslation("ID"));
-        rowHeader.createCell(2).setCellValue(Helper.getTranslation("Datum"));
-        rowHeader.createCell(3).setCellValue(Helper.getTranslation("CountImages"));
-        rowHeader.createCell(4).setCellValue(Helper.getTranslation("CountStructuralElements"));
-        rowHeader.createCell(5).setCellValue(Helper.getTranslation("CountMetadata"));
-        rowHeader.createCell(6).setCellValue(Helper.getTranslation("Project"));
-        rowHeader.createCell(7).setCellValue(Helper.getTranslation("Status"));
+    private List<Object> getRowHeader() {
+        return Arrays.asList(Helper.getTranslation("title"), Helper.getTranslation("ID"),
+            Helper.getTranslation("Datum"), Helper.getTranslation("CountImages"),
+            Helper.getTranslation("CountStructuralElements"), Helper.getTranslation("CountMetadata"),
+            Helper.getTranslation("Project"), Helper.getTranslation("Status"));
     }
 
-    private void prepareRow(int rowCounter, HSSFSheet sheet, ProcessDTO processDTO) {
-        HSSFRow row = sheet.createRow(rowCounter);
-        row.createCell(0).setCellValue(processDTO.getTitle());
-        row.createCell(1).setCellValue(processDTO.getId());
-        row.createCell(2).setCellValue(processDTO.getCreationDate());
-        row.createCell(3).setCellValue(processDTO.getNumberOfImages());
-        row.createCell(4).setCellValue(processDTO.getNumberOfStructures());
-        row.createCell(5).setCellValue(processDTO.getNumberOfMetadata());
-        row.createCell(6).setCellValue(processDTO.getProject().getTitle());
-        row.createCell(7).setCellValue(processDTO.getSortHelperStatus());
+    private List<Object> getRow(ProcessDTO processDTO) {
+        return Arrays.asList(processDTO.getTitle(), processDTO.getId(), processDTO.getCreationDate(),
+            processDTO.getNumberOfImages(), processDTO.getNumberOfStructures(), processDTO.getNumberOfMetadata(),
+            processDTO.getProject().getTitle(), processDTO.getSortHelperStatus());
     }
 }
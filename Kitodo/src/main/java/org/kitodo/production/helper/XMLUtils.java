@@ -11,6 +11,7 @@
 
 package org.kitodo.production.helper;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -18,8 +19,11 @@ import java.io.InputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 
@@ -28,9 +32,11 @@ import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
@@ -42,6 +48,7 @@ import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.apache.commons.io.ByteOrderMark;
+import org.apache.commons.lang3.StringUtils;
 import org.kitodo.api.schemaconverter.DataRecord;
 import org.kitodo.api.schemaconverter.FileFormat;
 import org.kitodo.api.schemaconverter.MetadataFormat;
@@ -273,19 +280,116 @@ public class XMLUtils {
      * @throws XMLStreamException when parsing XML string fails
      */
     public static int getNumberOfEADElements(String xmlString, String eadLevel) throws XMLStreamException {
-        int count = 0;
         XMLInputFactory factory = XMLInputFactory.newInstance();
-        XMLStreamReader reader = factory.createXMLStreamReader(new StringReader(xmlString));
-        while (reader.hasNext()) {
-            int event = reader.next();
-            if (event == XMLStreamConstants.START_ELEMENT) {
-                if (StringConstants.C_TAG_NAME.equals(reader.getLocalName())
-                        && eadLevel.equals(reader.getAttributeValue("", StringConstants.LEVEL))) {
-                    count++;
+        return countEADElements(factory.createXMLStreamReader(new StringReader(xmlString)), eadLevel);
+    }
+
+    /**
+     * Retrieve and return number of EAD elements with given level "eadLevel", e.g. "<c level='file'/>" from given
+     * file "eadFile". The file is read as a stream, so that it is never held in memory as a whole.
+     *
+     * @param eadFile file containing XML to be parsed for elements
+     * @param eadLevel EAD level of elements to be counted
+     * @return number of EAD elements with given level
+     * @throws XMLStreamException when parsing XML file fails
+     * @throws IOException when reading XML file fails
+     */
+    public static int getNumberOfEADElements(Path eadFile, String eadLevel) throws XMLStreamException, IOException {
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(eadFile))) {
+            XMLInputFactory factory = XMLInputFactory.newInstance();
+            return countEADElements(factory.createXMLStreamReader(inputStream), eadLevel);
+        }
+    }
+
+    private static int countEADElements(XMLStreamReader reader, String eadLevel) throws XMLStreamException {
+        int count = 0;
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if (StringConstants.C_TAG_NAME.equals(reader.getLocalName())
+                            && eadLevel.equals(reader.getAttributeValue("", StringConstants.LEVEL))) {
+                        count++;
+                    }
                 }
             }
+        } finally {
+            reader.close();
         }
         return count;
     }
 
+    /**
+     * Read the EAD element "<c>" at which the given reader is positioned and return it as String. Elements in the
+     * default namespace are written without namespace and the given namespaces are declared at the returned element,
+     * so that the String can be transformed like a separate EAD file. Text consisting of white space only is omitted.
+     * The reader is left at the end of the element, or, if "withoutChildElements" is set, at the start of its first
+     * nested "<c>" element, if any; the returned String then contains the element up to that point.
+     *
+     * @param reader XMLStreamReader positioned at the start of a "<c>" element
+     * @param namespaces prefixes and URIs of namespaces to declare at the returned element
+     * @param withoutChildElements whether reading stops at the first nested "<c>" element
+     * @return String representation of the EAD element
+     * @throws XMLStreamException when reading or writing XML fails
+     */
+    public static String readEADElement(XMLStreamReader reader, Map<String, String> namespaces,
+                                        boolean withoutChildElements) throws XMLStreamException {
+        StringWriter stringWriter = new StringWriter();
+        XMLOutputFactory outputFactory = XMLOutputFactory.newInstance();
+        outputFactory.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, true);
+        XMLStreamWriter writer = outputFactory.createXMLStreamWriter(stringWriter);
+        writeStartElement(reader, writer);
+        for (Map.Entry<String, String> namespace : namespaces.entrySet()) {
+            writer.writeNamespace(namespace.getKey(), namespace.getValue());
+        }
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    if (withoutChildElements && StringConstants.C_TAG_NAME.equals(reader.getLocalName())) {
+                        for (; depth > 0; depth--) {
+                            writer.writeEndElement();
+                        }
+                    } else {
+                        writeStartElement(reader, writer);
+                        depth++;
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    writer.writeEndElement();
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                    if (!reader.isWhiteSpace()) {
+                        writer.writeCharacters(reader.getText());
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        writer.writeEndDocument();
+        writer.close();
+        return stringWriter.toString();
+    }
+
+    private static void writeStartElement(XMLStreamReader reader, XMLStreamWriter writer) throws XMLStreamException {
+        String prefix = reader.getPrefix();
+        if (StringUtils.isEmpty(prefix)) {
+            writer.writeStartElement(reader.getLocalName());
+        } else {
+            writer.writeStartElement(prefix, reader.getLocalName(), reader.getNamespaceURI());
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String attributePrefix = reader.getAttributePrefix(i);
+            if (StringUtils.isEmpty(attributePrefix)) {
+                writer.writeAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+            } else {
+                writer.writeAttribute(attributePrefix, reader.getAttributeNamespace(i),
+                    reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+            }
+        }
+    }
+
 }
@@ -0,0 +1,179 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.helper.cache;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import javax.management.Attribute;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.data.database.persistence.CacheRegions;
+
+/**
+ * Hit statistics of one region of the second-level cache. The statistics are
+ * read from the JCache statistics beans which the cache provider registers on
+ * the platform MBean server.
+ */
+public class CacheRegionStatistics {
+    private static final Logger logger = LogManager.getLogger(CacheRegionStatistics.class);
+
+    private static final String CACHE_STATISTICS = "javax.cache:type=CacheStatistics,*";
+    private static final String CACHE_KEY = "Cache";
+    private static final String CACHE_HITS = "CacheHits";
+    private static final String CACHE_MISSES = "CacheMisses";
+    private static final String CACHE_PUTS = "CachePuts";
+    private static final String CACHE_EVICTIONS = "CacheEvictions";
+
+    private final String region;
+    private long hits;
+    private long misses;
+    private long puts;
+    private long evictions;
+
+    /**
+     * Creates empty statistics for a region.
+     *
+     * @param region
+     *            name of the region
+     */
+    CacheRegionStatistics(String region) {
+        this.region = region;
+    }
+
+    /**
+     * Returns the statistics of the regions holding reference data.
+     *
+     * @return the statistics of the regions
+     */
+    public static List<CacheRegionStatistics> getReferenceDataStatistics() {
+        return getStatistics(ManagementFactory.getPlatformMBeanServer(), CacheRegions.REFERENCE_DATA);
+    }
+
+    /**
+     * Returns the statistics of the given regions. Regions which have not been
+     * used yet have no statistics bean and are returned with zero values.
+     *
+     * @param server
+     *            MBean server to read the statistics from
+     * @param regions
+     *            names of the regions
+     * @return the statistics of the regions, in the order of the names
+     */
+    static List<CacheRegionStatistics> getStatistics(MBeanServer server, Collection<String> regions) {
+        List<CacheRegionStatistics> statistics = new ArrayList<>(regions.size());
+        for (String region : regions) {
+            statistics.add(new CacheRegionStatistics(region));
+        }
+        try {
+            for (ObjectName name : server.queryNames(new ObjectName(CACHE_STATISTICS), null)) {
+                String cache = name.getKeyProperty(CACHE_KEY);
+                if (Objects.nonNull(cache) && cache.startsWith("\"")) {
+                    cache = ObjectName.unquote(cache);
+                }
+                for (CacheRegionStatistics regionStatistics : statistics) {
+                    if (regionStatistics.region.equals(cache)) {
+                        regionStatistics.add(server, name);
+                    }
+                }
+            }
+        } catch (JMException e) {
+            logger.warn("Cannot read cache statistics: {}", e.getMessage());
+        }
+        return statistics;
+    }
+
+    private void add(MBeanServer server, ObjectName name) throws JMException {
+        for (Attribute attribute : server.getAttributes(name,
+            new String[] {CACHE_HITS, CACHE_MISSES, CACHE_PUTS, CACHE_EVICTIONS }).asList()) {
+            long value = ((Number) attribute.getValue()).longValue();
+            switch (attribute.getName()) {
+                case CACHE_HITS:
+                    hits += value;
+                    break;
+                case CACHE_MISSES:
+                    misses += value;
+                    break;
+                case CACHE_PUTS:
+                    puts += value;
+                    break;
+                default:
+                    evictions += value;
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the region.
+     *
+     * @return the name of the region
+     */
+    public String getRegion() {
+        return region;
+    }
+
+    /**
+     * Returns how often an object was found in the region.
+     *
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns how often an object was not found in the region and had to be
+     * read from the database.
+     *
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns how often an object was put into the region.
+     *
+     * @return the number of puts
+     */
+    public long getPuts() {
+        return puts;
+    }
+
+    /**
+     * Returns how often an object was evicted from the region because it was
+     * full.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the share of the requests which were answered from the region,
+     * in percent.
+     *
+     * @return the hit ratio in percent
+     */
+    public int getHitRatio() {
+        long requests = hits + misses;
+        return requests > 0 ? (int) (hits * 100 / requests) : 0;
+    }
+}
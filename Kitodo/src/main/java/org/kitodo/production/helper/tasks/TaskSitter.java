@@ -25,6 +25,7 @@ import javax.servlet.annotation.WebListener;
 import org.kitodo.config.ConfigCore;
 import org.kitodo.config.enums.ParameterCore;
 import org.kitodo.production.helper.tasks.EmptyTask.Behaviour;
+import org.kitodo.production.services.data.base.IndexUpdateQueue;
 
 /**
  * The class TaskSitter takes care of the tasks in the task manager. While the
@@ -57,13 +58,15 @@ public class TaskSitter implements Runnable, ServletContextListener {
 
     /**
      * When the servlet is unloaded, i.e. on container shutdown, the TaskManager
-     * shall be shut down gracefully.
+     * shall be shut down gracefully. Index updates still queued are sent, if
+     * possible.
      *
      * @see javax.servlet.ServletContextListener#contextDestroyed(javax.servlet.ServletContextEvent)
      */
     @Override
     public void contextDestroyed(ServletContextEvent arg) {
         TaskManager.shutdownNow();
+        IndexUpdateQueue.shutdownInstance(Duration.of(10, ChronoUnit.SECONDS).toMillis());
     }
 
     /**
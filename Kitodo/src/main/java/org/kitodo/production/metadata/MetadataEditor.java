@@ -95,6 +95,37 @@ public class MetadataEditor {
         ServiceManager.getMetsService().saveWorkpiece(workpiece, metadataFileUri);
     }
 
+    /**
+     * Connects a process with several child processes by means of links. The
+     * links are inserted one after another into the root of the logical
+     * structure of the parent process, starting at the given position, and the
+     * METS file is saved only once. This method does not create links between
+     * the processes in the database, this must and can only happen when
+     * saving.
+     *
+     * @param process
+     *            the parent process in which the links are to be added
+     * @param insertionIndex
+     *            at which point the first link is to be inserted; the links
+     *            are appended if it is behind the last child
+     * @param childProcessIds
+     *            Database IDs of the child processes to be linked
+     * @throws IOException
+     *             if the METS file cannot be read or written
+     */
+    public static void addLinks(Process process, int insertionIndex, List<Integer> childProcessIds)
+            throws IOException {
+        URI metadataFileUri = ServiceManager.getProcessService().getMetadataFileUri(process);
+        Workpiece workpiece = ServiceManager.getMetsService().loadWorkpiece(metadataFileUri);
+        LogicalDivision logicalStructure = workpiece.getLogicalStructure();
+        int index = Math.min(insertionIndex, logicalStructure.getChildren().size());
+        for (int childProcessId : childProcessIds) {
+            addLink(logicalStructure, index++, childProcessId);
+        }
+        ServiceManager.getFileService().createBackupFile(process);
+        ServiceManager.getMetsService().saveWorkpiece(workpiece, metadataFileUri);
+    }
+
     /**
      * Connects two processes by means of a link. The link is sorted as a linked
      * logical division in a logical division of the parent process. The order
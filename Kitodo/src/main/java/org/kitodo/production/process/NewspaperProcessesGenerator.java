@@ -28,11 +28,16 @@ import java.util.Locale.LanguageRange;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.naming.ConfigurationException;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.kitodo.api.Metadata;
@@ -48,9 +53,14 @@ import org.kitodo.api.dataeditor.rulesetmanagement.StructuralElementViewInterfac
 import org.kitodo.api.dataformat.LogicalDivision;
 import org.kitodo.api.dataformat.Workpiece;
 import org.kitodo.api.dataformat.mets.LinkedMetsResource;
+import org.kitodo.config.ConfigCore;
 import org.kitodo.config.ConfigProject;
+import org.kitodo.config.enums.ParameterCore;
 import org.kitodo.data.database.beans.Process;
+import org.kitodo.data.database.beans.Task;
+import org.kitodo.data.database.enums.IndexAction;
 import org.kitodo.data.database.exceptions.DAOException;
+import org.kitodo.data.elasticsearch.exceptions.CustomResponseException;
 import org.kitodo.data.exceptions.DataException;
 import org.kitodo.exceptions.CommandException;
 import org.kitodo.exceptions.DoctypeMissingException;
@@ -66,6 +76,7 @@ import org.kitodo.production.services.data.ProcessService;
 import org.kitodo.production.services.data.RulesetService;
 import org.kitodo.production.services.dataformat.MetsService;
 import org.kitodo.production.services.file.FileService;
+import org.kitodo.production.services.workflow.WorkflowControllerService;
 
 /**
  * A generator for newspaper processes.
@@ -238,7 +249,28 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
     private Workpiece yearWorkpiece;
 
     /**
-     * Creates a new newspaper process generator.
+     * Whether the processes are generated in bulk. In bulk generation, the
+     * issue processes are saved in batches, their METS files are written in
+     * parallel, and the year processes and the overall process are only
+     * indexed at the end.
+     */
+    private final boolean bulkGeneration;
+
+    /**
+     * Issue processes of the current batch which have not yet been saved in
+     * bulk generation, with the issues they contain.
+     */
+    private final List<Pair<Process, List<IndividualIssue>>> pendingProcesses = new ArrayList<>();
+
+    /**
+     * Year processes saved in bulk generation, which are indexed together
+     * with the overall process at the end.
+     */
+    private final List<Process> yearProcessesToIndex = new ArrayList<>();
+
+    /**
+     * Creates a new newspaper process generator. Whether the processes are
+     * generated in bulk is taken from the configuration.
      *
      * @param overallProcess
      *            Process that represents the entirety of the newspaper
@@ -246,8 +278,24 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
      *            object model of the course of the issue
      */
     public NewspaperProcessesGenerator(Process overallProcess, Course course) {
+        this(overallProcess, course,
+                ConfigCore.getBooleanParameterOrDefaultValue(ParameterCore.NEWSPAPER_BULK_GENERATION));
+    }
+
+    /**
+     * Creates a new newspaper process generator.
+     *
+     * @param overallProcess
+     *            Process that represents the entirety of the newspaper
+     * @param course
+     *            object model of the course of the issue
+     * @param bulkGeneration
+     *            whether the processes are generated in bulk
+     */
+    public NewspaperProcessesGenerator(Process overallProcess, Course course, boolean bulkGeneration) {
         this.overallProcess = overallProcess;
         this.course = course;
+        this.bulkGeneration = bulkGeneration;
     }
 
     /**
@@ -521,8 +569,18 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
         getGeneratedProcess().setTitle(title);
         getGeneratedProcess().setParent(yearProcess);
         yearProcess.getChildren().add(getGeneratedProcess());
-        processService.save(getGeneratedProcess(), true);
-        createMetadataFileForProcess(individualIssuesForProcess, title);
+        if (bulkGeneration) {
+            pendingProcesses.add(Pair.of(getGeneratedProcess(), individualIssuesForProcess));
+            if (pendingProcesses.size() >= ConfigCore.getIntParameterOrDefaultValue(
+                ParameterCore.NEWSPAPER_BULK_GENERATION_BATCH_SIZE)) {
+                savePendingProcesses();
+            }
+        } else {
+            processService.save(getGeneratedProcess(), true);
+            Workpiece workpiece = createWorkpieceForProcess(getGeneratedProcess(), individualIssuesForProcess, title);
+            fileService.createProcessLocation(getGeneratedProcess());
+            metsService.saveWorkpiece(workpiece, processService.getMetadataFileUri(getGeneratedProcess()));
+        }
 
         if (logger.isTraceEnabled()) {
             logger.trace("Creating newspaper process {} took {} ms", title,
@@ -549,9 +607,20 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
         return title;
     }
 
-    private void createMetadataFileForProcess(List<IndividualIssue> individualIssues, String title)
-            throws IOException, CommandException {
-
+    /**
+     * Creates the workpiece of an issue process and adds the links to it to
+     * the workpiece of the year process. The process must already have been
+     * saved, as its ID is needed.
+     *
+     * @param process
+     *            issue process
+     * @param individualIssues
+     *            issues contained in the process
+     * @param title
+     *            title of the process
+     * @return the workpiece of the issue process
+     */
+    private Workpiece createWorkpieceForProcess(Process process, List<IndividualIssue> individualIssues, String title) {
         LogicalDivision logicalStructure = new LogicalDivision();
         MetadataEntry dateMetadataEntry = new MetadataEntry();
         dateMetadataEntry.setKey(monthSimpleMetadataView.getId());
@@ -580,17 +649,119 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
             LogicalDivision yearIssue = new LogicalDivision();
             LinkedMetsResource linkToProcess = new LinkedMetsResource();
             linkToProcess.setLoctype("Kitodo.Production");
-            linkToProcess.setUri(processService.getProcessURI(getGeneratedProcess()));
+            linkToProcess.setUri(processService.getProcessURI(process));
             yearIssue.setLink(linkToProcess);
             yearDay.getChildren().add(yearIssue);
         }
 
         Workpiece workpiece = new Workpiece();
         workpiece.setLogicalStructure(logicalStructure);
-        workpiece.setId(getGeneratedProcess().getId().toString());
-        fileService.createProcessLocation(getGeneratedProcess());
-        final URI metadataFileUri = processService.getMetadataFileUri(getGeneratedProcess());
-        metsService.saveWorkpiece(workpiece, metadataFileUri);
+        workpiece.setId(process.getId().toString());
+        return workpiece;
+    }
+
+    /**
+     * Saves the pending issue processes of bulk generation. The processes are
+     * saved in one transaction, their METS files are written in parallel, and
+     * they and their tasks are added to the index in one request each.
+     */
+    private void savePendingProcesses() throws DAOException, DataException, IOException, CommandException {
+        if (pendingProcesses.isEmpty()) {
+            return;
+        }
+        final long begin = System.nanoTime();
+
+        List<Process> processes = new ArrayList<>(pendingProcesses.size());
+        for (Pair<Process, List<IndividualIssue>> pendingProcess : pendingProcesses) {
+            Process process = pendingProcess.getKey();
+            WorkflowControllerService.updateProcessSortHelperStatus(process);
+            process.setIndexAction(IndexAction.INDEX);
+            for (Task task : process.getTasks()) {
+                task.setIndexAction(IndexAction.INDEX);
+            }
+            processes.add(process);
+        }
+        processService.saveList(processes);
+
+        List<Pair<Workpiece, URI>> metadataFiles = new ArrayList<>(pendingProcesses.size());
+        for (Pair<Process, List<IndividualIssue>> pendingProcess : pendingProcesses) {
+            Process process = pendingProcess.getKey();
+            Workpiece workpiece = createWorkpieceForProcess(process, pendingProcess.getValue(), process.getTitle());
+            fileService.createProcessLocation(process);
+            metadataFiles.add(Pair.of(workpiece, processService.getMetadataFileUri(process)));
+        }
+        pendingProcesses.clear();
+        saveWorkpieces(metadataFiles);
+        addToIndex(processes);
+
+        if (logger.isTraceEnabled()) {
+            logger.trace("Saving {} newspaper processes took {} ms", processes.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+        }
+    }
+
+    /**
+     * Writes METS files with several threads at the same time. All files are
+     * written before this method returns, even if the thread is interrupted
+     * meanwhile, so that an interrupted task can be continued.
+     *
+     * @param metadataFiles
+     *            workpieces to write, and where to write them
+     * @throws IOException
+     *             if one of the files cannot be written
+     */
+    private void saveWorkpieces(List<Pair<Workpiece, URI>> metadataFiles) throws IOException {
+        int threads = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.NEWSPAPER_BULK_GENERATION_THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, metadataFiles.size())));
+        boolean interrupted = false;
+        try {
+            List<Future<Void>> writes = new ArrayList<>(metadataFiles.size());
+            for (Pair<Workpiece, URI> metadataFile : metadataFiles) {
+                writes.add(executor.submit(() -> {
+                    metsService.saveWorkpiece(metadataFile.getKey(), metadataFile.getValue());
+                    return null;
+                }));
+            }
+            for (Future<Void> write : writes) {
+                while (true) {
+                    try {
+                        write.get();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdown();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Adds processes saved in bulk generation and their tasks to the index.
+     *
+     * @param processes
+     *            processes to add
+     */
+    private void addToIndex(List<Process> processes) throws DAOException, DataException, IOException {
+        List<Task> tasks = new ArrayList<>();
+        for (Process process : processes) {
+            tasks.addAll(process.getTasks());
+        }
+        try {
+            processService.addAllObjectsToIndex(processes);
+            ServiceManager.getTaskService().addAllObjectsToIndex(tasks);
+        } catch (CustomResponseException e) {
+            throw new DataException(e);
+        }
     }
 
     private void addCustomMetadata(IndividualIssue definition, LogicalDivision issue) {
@@ -663,12 +834,18 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
         }
     }
 
-    private void saveAndCloseCurrentYearProcess() throws DataException, IOException {
+    private void saveAndCloseCurrentYearProcess() throws DAOException, DataException, IOException, CommandException {
         final long begin = System.nanoTime();
 
+        savePendingProcesses();
         metsService.saveWorkpiece(yearWorkpiece, yearMetadataFileUri);
         ProcessService.checkTasks(yearProcess, yearWorkpiece.getLogicalStructure().getType());
-        processService.save(yearProcess, true);
+        if (bulkGeneration) {
+            saveToDatabase(yearProcess);
+            yearProcessesToIndex.add(yearProcess);
+        } else {
+            processService.save(yearProcess, true);
+        }
 
         this.yearProcess = null;
         this.yearWorkpiece = null;
@@ -726,7 +903,7 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
     }
 
     private void createNewYearProcess(String yearMark, Map<String, String> genericFields)
-            throws ProcessGenerationException, DataException, IOException, CommandException {
+            throws DAOException, ProcessGenerationException, DataException, IOException, CommandException {
         final long begin = System.nanoTime();
 
         generateProcess(overallProcess.getTemplate().getId(), overallProcess.getProject().getId());
@@ -734,11 +911,17 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
         String title = makeTitle(yearTitleDefinition.orElse("+'_'+#YEAR"), genericFields);
         getGeneratedProcess().setTitle(title);
         ProcessService.checkTasks(getGeneratedProcess(), yearType);
-        processService.save(getGeneratedProcess(), true);
+        if (bulkGeneration) {
+            getGeneratedProcess().setParent(overallProcess);
+            overallProcess.getChildren().add(getGeneratedProcess());
+            saveToDatabase(getGeneratedProcess());
+        } else {
+            processService.save(getGeneratedProcess(), true);
 
-        getGeneratedProcess().setParent(overallProcess);
-        overallProcess.getChildren().add(getGeneratedProcess());
-        processService.save(getGeneratedProcess(), true);
+            getGeneratedProcess().setParent(overallProcess);
+            overallProcess.getChildren().add(getGeneratedProcess());
+            processService.save(getGeneratedProcess(), true);
+        }
 
         fileService.createProcessLocation(getGeneratedProcess());
         final URI metadataFileUri = processService.getMetadataFileUri(getGeneratedProcess());
@@ -771,6 +954,22 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
         }
     }
 
+    /**
+     * Saves a process of bulk generation to the database only. It is added to
+     * the index later.
+     *
+     * @param process
+     *            process to save
+     */
+    private void saveToDatabase(Process process) throws DAOException {
+        WorkflowControllerService.updateProcessSortHelperStatus(process);
+        process.setIndexAction(IndexAction.INDEX);
+        for (Task task : process.getTasks()) {
+            task.setIndexAction(IndexAction.INDEX);
+        }
+        processService.saveToDatabase(process);
+    }
+
     private LogicalDivision getOrCreateLogicalDivision(
             LogicalDivision logicalDivision, String childType,
             SimpleMetadataViewInterface identifierMetadata,
@@ -789,7 +988,7 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
         return createdChild;
     }
 
-    private void finish() throws DataException, IOException {
+    private void finish() throws DAOException, DataException, IOException, CommandException {
         final long begin = System.nanoTime();
 
         saveAndCloseCurrentYearProcess();
@@ -799,7 +998,20 @@ public class NewspaperProcessesGenerator extends ProcessGenerator {
         }
         metsService.saveWorkpiece(overallWorkpiece, overallMetadataFileUri);
         ProcessService.checkTasks(overallProcess, overallWorkpiece.getLogicalStructure().getType());
-        processService.save(overallProcess,true);
+        if (bulkGeneration) {
+            saveToDatabase(overallProcess);
+            List<Process> processesToIndex = new ArrayList<>(yearProcessesToIndex);
+            processesToIndex.add(overallProcess);
+            addToIndex(processesToIndex);
+            yearProcessesToIndex.clear();
+            try {
+                ServiceManager.getProjectService().saveToIndex(overallProcess.getProject(), false);
+            } catch (CustomResponseException e) {
+                throw new DataException(e);
+            }
+        } else {
+            processService.save(overallProcess,true);
+        }
 
         if (logger.isTraceEnabled()) {
             logger.trace("Finish took {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
@@ -48,6 +48,7 @@ import org.kitodo.production.services.dataeditor.RulesetManagementService;
 import org.kitodo.production.services.dataformat.MetsService;
 import org.kitodo.production.services.file.FileService;
 import org.kitodo.production.services.image.ImageService;
+import org.kitodo.production.services.image.ThumbnailService;
 import org.kitodo.production.services.index.IndexingService;
 import org.kitodo.production.services.migration.MigrationService;
 import org.kitodo.production.services.ocr.OcrdWorkflowService;
@@ -74,6 +75,7 @@ public class ServiceManager {
     private static FilterService filterService;
     private static FolderService folderService;
     private static ImageService imageService;
+    private static ThumbnailService thumbnailService;
     private static ImportService importService;
     private static IndexingService indexingService;
     private static KitodoScriptService kitodoScriptService;
@@ -166,6 +168,13 @@ public class ServiceManager {
         }
     }
 
+    private static void initializeThumbnailService() {
+        if (Objects.isNull(thumbnailService)) {
+            logServiceInitialization();
+            thumbnailService = ThumbnailService.getInstance();
+        }
+    }
+
     private static void initializeImportService() {
         if (Objects.isNull(importService)) {
             logServiceInitialization();
@@ -519,6 +528,18 @@ public class ServiceManager {
         return imageService;
     }
 
+    /**
+     * Initialize ThumbnailService if it is not yet initialized and next return
+     * it.
+     *
+     * @return ThumbnailService object
+     */
+    public static ThumbnailService getThumbnailService() {
+        initializeThumbnailService();
+        logServiceDelivery();
+        return thumbnailService;
+    }
+
     /**
      * Initialize MetsService if it is not yet initialized and next return it.
      *
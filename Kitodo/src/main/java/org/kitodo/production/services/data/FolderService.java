@@ -97,6 +97,7 @@ public class FolderService extends SearchDatabaseService<Folder, FolderDAO> {
         clone.setDerivative(source.getDerivative().orElse(null));
         clone.setDpi(source.getDpi().orElse(null));
         clone.setImageSize(source.getImageSize().orElse(null));
+        clone.setImageProcessor(source.getImageProcessor());
         clone.setLinkingMode(source.getLinkingMode());
         return clone;
     }
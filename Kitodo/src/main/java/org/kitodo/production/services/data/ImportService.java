@@ -198,7 +198,7 @@ public class ImportService {
                 searchTerm, start, rows);
     }
 
-    private ExternalDataImportInterface initializeImportModule() {
+    ExternalDataImportInterface initializeImportModule() {
         KitodoServiceLoader<ExternalDataImportInterface> loader =
                 new KitodoServiceLoader<>(ExternalDataImportInterface.class);
         return loader.loadModule();
@@ -341,9 +341,37 @@ public class ImportService {
      * @throws UnsupportedFormatException when no SchemaConverter module with matching formats could be found
      */
     private SchemaConverterInterface getSchemaConverter(DataRecord record) throws UnsupportedFormatException {
+        return getSchemaConverter(record, loadSchemaConverters());
+    }
+
+    /**
+     * Loads all available SchemaConverterInterface implementations. Loading the
+     * modules is expensive, so callers converting many records load them once.
+     *
+     * @return list of all SchemaConverterInterface implementations
+     */
+    public List<SchemaConverterInterface> loadSchemaConverters() {
         KitodoServiceLoader<SchemaConverterInterface> loader =
                 new KitodoServiceLoader<>(SchemaConverterInterface.class);
-        List<SchemaConverterInterface> converterModules = loader.loadModules().stream()
+        return loader.loadModules();
+    }
+
+    /**
+     * Returns the first of the given SchemaConverterInterface implementations
+     * that supports the file format of the given record.
+     *
+     * @param record
+     *            record whose file format is used to filter the converters
+     * @param schemaConverters
+     *            available SchemaConverterInterface implementations
+     * @return matching SchemaConverterInterface implementation
+     * @throws UnsupportedFormatException
+     *             when no SchemaConverter module with matching formats could
+     *             be found
+     */
+    public static SchemaConverterInterface getSchemaConverter(DataRecord record,
+            List<SchemaConverterInterface> schemaConverters) throws UnsupportedFormatException {
+        List<SchemaConverterInterface> converterModules = schemaConverters.stream()
                 .filter(converter -> converter.supportsSourceFileFormat(record.getFileFormat())
                         && converter.supportsTargetFileFormat(FileFormat.XML))
                 .collect(Collectors.toList());
@@ -451,6 +479,14 @@ public class ImportService {
 
         DataRecord dataRecord = importExternalDataRecord(importConfiguration, recordId, allProcesses.isEmpty());
         Document internalDocument = convertDataRecordToInternal(dataRecord, importConfiguration, isParentInRecord);
+        return addTempProcessAndReturnParentID(internalDocument, allProcesses, importConfiguration, projectID,
+            templateID, isParentInRecord, parentIdMetadata);
+    }
+
+    private String addTempProcessAndReturnParentID(Document internalDocument, LinkedList<TempProcess> allProcesses,
+                                                   ImportConfiguration importConfiguration, int projectID,
+                                                   int templateID, boolean isParentInRecord, String parentIdMetadata)
+            throws IOException, ProcessGenerationException, XPathExpressionException, TransformerException {
         TempProcess tempProcess = createTempProcessFromDocument(importConfiguration, internalDocument, templateID, projectID);
 
         // Workaround for classifying MultiVolumeWorks with insufficient information
@@ -867,10 +903,25 @@ public class ImportService {
                                                 boolean isParentInRecord)
             throws UnsupportedFormatException, URISyntaxException, IOException, ParserConfigurationException,
             SAXException, XPathExpressionException, ProcessGenerationException {
-        SchemaConverterInterface converter = getSchemaConverter(dataRecord);
-
-        List<File> mappingFiles = getMappingFiles(importConfiguration, isParentInRecord);
+        return convertDataRecordToInternal(dataRecord, importConfiguration, getSchemaConverter(dataRecord),
+            getMappingFiles(importConfiguration, isParentInRecord));
+    }
 
+    /**
+     * Converts a given dataRecord to an internal document with the given
+     * converter and mapping files. Does not access any state of this service,
+     * so that records can be converted in parallel.
+     *
+     * @param dataRecord the dataRecord to convert
+     * @param importConfiguration the import configuration to use
+     * @param converter the SchemaConverter to use
+     * @param mappingFiles the mapping files to use
+     * @return the converted Document
+     */
+    public Document convertDataRecordToInternal(DataRecord dataRecord, ImportConfiguration importConfiguration,
+                                                SchemaConverterInterface converter, List<File> mappingFiles)
+            throws UnsupportedFormatException, IOException, ParserConfigurationException, SAXException,
+            XPathExpressionException, ProcessGenerationException {
         // transform dataRecord to Kitodo internal format using appropriate SchemaConverter!
         File debugFolder = ConfigCore.getKitodoDebugDirectory();
         if (Objects.nonNull(debugFolder)) {
@@ -923,7 +974,15 @@ public class ImportService {
         return kitodoNode.getChildNodes();
     }
 
-    private List<File> getMappingFiles(ImportConfiguration importConfiguration, boolean forParentInRecord)
+    /**
+     * Returns the mapping files of the given import configuration.
+     *
+     * @param importConfiguration ImportConfiguration whose mapping files are returned
+     * @param forParentInRecord whether the parent mapping file is returned instead of the regular mapping files
+     * @return list of mapping files
+     * @throws URISyntaxException when the URI of a mapping file is invalid
+     */
+    public List<File> getMappingFiles(ImportConfiguration importConfiguration, boolean forParentInRecord)
             throws URISyntaxException {
         List<File> mappingFiles = new ArrayList<>();
 
@@ -1113,6 +1172,27 @@ public class ImportService {
         }
     }
 
+    /**
+     * Retrieve process of given project containing given 'recordId' as functional metadata 'recordIdentifier'.
+     *
+     * @param recordId 'recordIdentifier' value of process
+     * @param ruleset Ruleset containing metadata rules
+     * @param projectId ID of project to which process belongs
+     * @return process if it exists in database or null otherwise
+     * @throws ProcessGenerationException when the ruleset of a found process is missing
+     * @throws DAOException when loading a found process fails
+     * @throws IOException when reading the ruleset fails
+     */
+    public Process retrieveProcessOfProject(String recordId, Ruleset ruleset, int projectId)
+            throws ProcessGenerationException, DAOException, IOException {
+        Process process = loadParentProcess(ruleset, projectId, recordId);
+        if (Objects.nonNull(process) && Objects.nonNull(process.getProject())
+                && Objects.equals(process.getProject().getId(), projectId)) {
+            return process;
+        }
+        return null;
+    }
+
     private Process loadParentProcess(Ruleset ruleset, int projectId, String parentId)
             throws ProcessGenerationException, DAOException, IOException {
 
@@ -1362,6 +1442,24 @@ public class ImportService {
      */
     public Process importProcess(String ppn, int projectId, int templateId, ImportConfiguration importConfiguration,
                                  Map<String, List<String>> presetMetadata) throws ImportException {
+        return importProcess(ppn, projectId, templateId, importConfiguration, presetMetadata, null);
+    }
+
+    /**
+     * Imports a process and saves it to database. If the record has already
+     * been fetched from the catalog and converted to the internal format, the
+     * given document is used instead of requesting the record again.
+     *
+     * @param ppn the ppn to import
+     * @param projectId the projectId
+     * @param templateId the templateId
+     * @param importConfiguration the selected import configuration
+     * @param presetMetadata Map containing preset metadata with keys as metadata keys and values as metadata values
+     * @param internalDocument the converted record, or null to fetch it from the catalog
+     * @return the importedProcess
+     */
+    Process importProcess(String ppn, int projectId, int templateId, ImportConfiguration importConfiguration,
+                          Map<String, List<String>> presetMetadata, Document internalDocument) throws ImportException {
         LinkedList<TempProcess> processList = new LinkedList<>();
         TempProcess tempProcess;
         Template template;
@@ -1373,8 +1471,11 @@ public class ImportService {
             if (!higherLevelIdentifiers.isEmpty()) {
                 parentMetadataKey = higherLevelIdentifiers.get(0);
             }
-            final String parentId = importProcessAndReturnParentID(ppn, processList, importConfiguration, projectId,
-                    templateId, false, parentMetadataKey);
+            final String parentId = Objects.isNull(internalDocument)
+                    ? importProcessAndReturnParentID(ppn, processList, importConfiguration, projectId, templateId,
+                        false, parentMetadataKey)
+                    : addTempProcessAndReturnParentID(internalDocument, processList, importConfiguration, projectId,
+                        templateId, false, parentMetadataKey);
             setParentProcess(parentId, projectId, template);
             tempProcess = processList.get(0);
             String metadataLanguage = ServiceManager.getUserService().getCurrentUser().getMetadataLanguage();
@@ -1502,7 +1603,7 @@ public class ImportService {
         return getFunctionalMetadata(ruleset, FunctionalMetadata.GROUP_DISPLAY_LABEL);
     }
 
-    private DataImport createDataImportFromImportConfiguration(ImportConfiguration importConfiguration) {
+    DataImport createDataImportFromImportConfiguration(ImportConfiguration importConfiguration) {
         String configType = importConfiguration.getConfigurationType();
         if (!ImportConfigurationType.OPAC_SEARCH.name().equals(configType)) {
             throw new ConfigException("Configuration error: given import configuration '"
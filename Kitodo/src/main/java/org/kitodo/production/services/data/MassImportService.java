@@ -18,37 +18,72 @@ import com.opencsv.CSVReaderBuilder;
 import com.opencsv.exceptions.CsvException;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.StringReader;
+import java.net.URISyntaxException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.kitodo.api.Metadata;
 import org.kitodo.api.dataeditor.rulesetmanagement.MetadataViewInterface;
 import org.kitodo.api.dataeditor.rulesetmanagement.SimpleMetadataViewInterface;
 import org.kitodo.api.dataeditor.rulesetmanagement.StructuralElementViewInterface;
+import org.kitodo.api.externaldatamanagement.DataImport;
+import org.kitodo.api.externaldatamanagement.ExternalDataImportInterface;
+import org.kitodo.api.externaldatamanagement.SearchInterfaceType;
+import org.kitodo.api.schemaconverter.DataRecord;
+import org.kitodo.api.schemaconverter.SchemaConverterInterface;
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
+import org.kitodo.data.database.beans.ImportConfiguration;
+import org.kitodo.exceptions.ConfigException;
 import org.kitodo.exceptions.ImportException;
 import org.kitodo.production.forms.CsvCell;
 import org.kitodo.production.forms.CsvRecord;
 import org.kitodo.production.forms.createprocess.ProcessDetail;
 import org.kitodo.production.forms.createprocess.ProcessFieldedMetadata;
+import org.kitodo.production.services.ServiceManager;
 import org.primefaces.model.file.UploadedFile;
+import org.w3c.dom.Document;
 
 public class MassImportService {
 
+    private static final Logger logger = LogManager.getLogger(MassImportService.class);
+
     private static MassImportService instance = null;
 
+    /**
+     * The rate limiters of the import configurations by their IDs. They are
+     * shared by all imports, so that concurrent imports from the same
+     * search interface together keep to its number of requests per second.
+     */
+    private static final Map<Integer, RequestRateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
     /**
      * Return singleton variable of type MassImportService.
      *
@@ -142,6 +177,135 @@ public class MassImportService {
         return presetMetadata;
     }
 
+    /**
+     * Import records by ID and add preset metadata. The records are requested
+     * from the search interface and converted to the internal format by
+     * several threads at the same time, limited by the number of concurrent
+     * requests and requests per second allowed for the import configuration.
+     * The processes are saved one after another on the calling thread, in the
+     * order of the given map, and the result of each record is passed to the
+     * given consumer as soon as it is known.
+     *
+     * @param processMetadata Map containing record IDs as keys and preset metadata lists as values
+     * @param projectId ID of the project of the imported processes
+     * @param templateId ID of the template of the imported processes
+     * @param importConfiguration ImportConfiguration used to import the records
+     * @param resultConsumer receives the ID of each record and null if its process was created, or the error message
+     */
+    public void importRecords(Map<String, Map<String, List<String>>> processMetadata, int projectId, int templateId,
+                              ImportConfiguration importConfiguration, BiConsumer<String, String> resultConsumer) {
+        ImportService importService = ServiceManager.getImportService();
+        // modules and configuration are loaded once on this thread, the workers only request and convert records
+        ExternalDataImportInterface importModule = importService.initializeImportModule();
+        DataImport dataImport = importService.createDataImportFromImportConfiguration(importConfiguration);
+        List<SchemaConverterInterface> schemaConverters = importService.loadSchemaConverters();
+        List<File> mappingFiles;
+        try {
+            mappingFiles = importService.getMappingFiles(importConfiguration, false);
+        } catch (URISyntaxException e) {
+            throw new ConfigException(e.getLocalizedMessage(), e);
+        }
+        int concurrentRequests = getConcurrentRequests(importConfiguration);
+        RequestRateLimiter rateLimiter = getRateLimiter(importConfiguration);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrentRequests);
+        try {
+            Deque<Pair<String, Future<Document>>> pendingRecords = new ArrayDeque<>();
+            Iterator<String> recordIds = processMetadata.keySet().iterator();
+            while (recordIds.hasNext() || !pendingRecords.isEmpty()) {
+                // request a few records ahead, but not the whole list, so that memory stays bounded
+                while (recordIds.hasNext() && pendingRecords.size() < 2 * concurrentRequests) {
+                    String recordId = recordIds.next();
+                    String searchTerm = importService.getSearchTermWithDelimiter(recordId, importConfiguration);
+                    pendingRecords.add(Pair.of(recordId, executor.submit(() -> {
+                        rateLimiter.acquire();
+                        DataRecord dataRecord = importModule.getFullRecordById(dataImport, searchTerm);
+                        return importService.convertDataRecordToInternal(dataRecord, importConfiguration,
+                            ImportService.getSchemaConverter(dataRecord, schemaConverters), mappingFiles);
+                    })));
+                }
+                Pair<String, Future<Document>> pendingRecord = pendingRecords.remove();
+                String recordId = pendingRecord.getKey();
+                try {
+                    importService.importProcess(recordId, projectId, templateId, importConfiguration,
+                        processMetadata.get(recordId), pendingRecord.getValue().get());
+                    resultConsumer.accept(recordId, null);
+                } catch (ExecutionException e) {
+                    logger.error(e.getMessage(), e);
+                    resultConsumer.accept(recordId, e.getCause().getLocalizedMessage());
+                } catch (ImportException e) {
+                    resultConsumer.accept(recordId, e.getLocalizedMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int getConcurrentRequests(ImportConfiguration importConfiguration) {
+        // the FTP client of the import module can only handle one request at a time
+        if (SearchInterfaceType.FTP.name().equals(importConfiguration.getInterfaceType())) {
+            return 1;
+        }
+        Integer maxConcurrentRequests = importConfiguration.getMaxConcurrentRequests();
+        if (Objects.nonNull(maxConcurrentRequests) && maxConcurrentRequests > 0) {
+            return maxConcurrentRequests;
+        }
+        return Math.max(1, ConfigCore.getIntParameterOrDefaultValue(ParameterCore.MASS_IMPORT_CONCURRENT_REQUESTS));
+    }
+
+    private static RequestRateLimiter getRateLimiter(ImportConfiguration importConfiguration) {
+        Integer maxRequestsPerSecond = importConfiguration.getMaxRequestsPerSecond();
+        if (Objects.isNull(importConfiguration.getId())) {
+            return new RequestRateLimiter(maxRequestsPerSecond);
+        }
+        // a new limiter replaces the old one when the configured rate has been changed
+        return rateLimiters.compute(importConfiguration.getId(),
+            (id, rateLimiter) -> Objects.nonNull(rateLimiter) && rateLimiter.hasRate(maxRequestsPerSecond)
+                    ? rateLimiter
+                    : new RequestRateLimiter(maxRequestsPerSecond));
+    }
+
+    /**
+     * Spaces the requests to a search interface evenly, so that no more than
+     * the allowed number of requests per second is sent.
+     */
+    private static class RequestRateLimiter {
+
+        private final long interval;
+        private long nextRequest = System.nanoTime();
+
+        RequestRateLimiter(Integer maxRequestsPerSecond) {
+            this.interval = toInterval(maxRequestsPerSecond);
+        }
+
+        private static long toInterval(Integer maxRequestsPerSecond) {
+            return Objects.nonNull(maxRequestsPerSecond) && maxRequestsPerSecond > 0
+                    ? TimeUnit.SECONDS.toNanos(1) / maxRequestsPerSecond
+                    : 0;
+        }
+
+        boolean hasRate(Integer maxRequestsPerSecond) {
+            return interval == toInterval(maxRequestsPerSecond);
+        }
+
+        void acquire() throws InterruptedException {
+            if (interval == 0) {
+                return;
+            }
+            long requestTime;
+            synchronized (this) {
+                requestTime = Math.max(nextRequest, System.nanoTime());
+                nextRequest = requestTime + interval;
+            }
+            long delay = requestTime - System.nanoTime();
+            if (delay > 0) {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            }
+        }
+    }
+
     /**
      * Get all allowed metadata.
      * @param divisions list of StructuralElementViewInterface
@@ -19,25 +19,15 @@ import static org.opensearch.index.query.QueryBuilders.matchQuery;
 import static org.opensearch.index.query.QueryBuilders.multiMatchQuery;
 import static org.opensearch.index.query.QueryBuilders.nestedQuery;
 
-import com.itextpdf.text.Document;
 import com.itextpdf.text.DocumentException;
-import com.itextpdf.text.PageSize;
-import com.itextpdf.text.Paragraph;
-import com.itextpdf.text.Rectangle;
-import com.itextpdf.text.pdf.PdfPTable;
-import com.itextpdf.text.pdf.PdfWriter;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.math.BigInteger;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
@@ -51,7 +41,6 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -73,24 +62,12 @@ import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.search.join.ScoreMode;
-import org.apache.poi.hssf.usermodel.HSSFCell;
-import org.apache.poi.hssf.usermodel.HSSFRow;
-import org.apache.poi.hssf.usermodel.HSSFSheet;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.DataFormatter;
-import org.apache.poi.ss.usermodel.Row;
-import org.json.JSONArray;
-import org.json.JSONObject;
-import org.json.XML;
 import org.kitodo.api.dataeditor.rulesetmanagement.FunctionalDivision;
 import org.kitodo.api.dataformat.LogicalDivision;
-import org.kitodo.api.dataformat.PhysicalDivision;
 import org.kitodo.api.dataformat.Workpiece;
 import org.kitodo.api.docket.DocketData;
 import org.kitodo.api.docket.DocketInterface;
@@ -149,6 +126,7 @@ import org.kitodo.production.metadata.copier.CopierData;
 import org.kitodo.production.metadata.copier.DataCopier;
 import org.kitodo.production.services.ServiceManager;
 import org.kitodo.production.services.data.base.ProjectSearchService;
+import org.kitodo.production.services.dataformat.MetsIndexData;
 import org.kitodo.production.services.dataformat.MetsService;
 import org.kitodo.production.services.file.FileService;
 import org.kitodo.production.services.workflow.WorkflowControllerService;
@@ -329,40 +307,29 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
         return parents;
     }
 
-    private int getNumberOfImagesForIndex(Workpiece workpiece) {
-        return Math.toIntExact(Workpiece.treeStream(workpiece.getPhysicalStructure())
-                .filter(physicalDivision -> Objects.equals(physicalDivision.getType(), PhysicalDivision.TYPE_PAGE)).count());
-    }
-
-    private int getNumberOfMetadata(Workpiece workpiece) {
-        return Math.toIntExact(MetsService.countLogicalMetadata(workpiece));
-    }
-
-    private int getNumberOfStructures(Workpiece workpiece) {
-        return Math.toIntExact(Workpiece.treeStream(workpiece.getLogicalStructure()).count());
-    }
-
     @Override
-    public void addAllObjectsToIndex(List<Process> processes) throws CustomResponseException, DAOException, IOException {
+    public void enrichObjectsForIndex(List<Process> processes) throws IOException {
         for (Process process : processes) {
             enrichProcessData(process, true);
         }
-        super.addAllObjectsToIndex(processes);
     }
 
     private void enrichProcessData(Process process, boolean forIndexingAll) throws IOException {
-        process.setMetadata(getMetadataForIndex(process, forIndexingAll));
+        process.setMetadata(Collections.emptyList());
         URI metadataFilePath = fileService.getMetadataFilePath(process, false, forIndexingAll);
         if (!fileService.fileExist(metadataFilePath)) {
             logger.info("No metadata file for indexing: {}", metadataFilePath);
         } else {
             try {
-                Workpiece workpiece = ServiceManager.getMetsService().loadWorkpiece(metadataFilePath);
-                process.setNumberOfImages(getNumberOfImagesForIndex(workpiece));
-                process.setNumberOfMetadata(getNumberOfMetadata(workpiece));
-                process.setNumberOfStructures(getNumberOfStructures(workpiece));
-                process.setBaseType(getBaseType(workpiece));
-            } catch (IllegalArgumentException | IOException e) {
+                MetsIndexData metsIndexData = forIndexingAll
+                        ? ServiceManager.getMetsService().readIndexDataCached(metadataFilePath)
+                        : ServiceManager.getMetsService().readIndexData(metadataFilePath);
+                process.setMetadata(metsIndexData.getMetadata());
+                process.setNumberOfImages(metsIndexData.getNumberOfImages());
+                process.setNumberOfMetadata(metsIndexData.getNumberOfMetadata());
+                process.setNumberOfStructures(metsIndexData.getNumberOfStructures());
+                process.setBaseType(metsIndexData.getBaseType());
+            } catch (IOException e) {
                 logger.warn("Cannot read metadata file for indexing: {}", metadataFilePath);
                 logger.catching(Level.DEBUG, e);
             }
@@ -925,11 +892,7 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
      * @return list of beans
      */
     public List<Process> convertDtosToBeans(List<ProcessDTO> dtos) throws DAOException {
-        List<Process> processes = new ArrayList<>();
-        for (ProcessDTO processDTO : dtos) {
-            processes.add(getById(processDTO.getId()));
-        }
-        return processes;
+        return getByIds(dtos.stream().map(ProcessDTO::getId).collect(Collectors.toList()));
     }
 
     @Override
@@ -1517,10 +1480,13 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
         if (!facesContext.getResponseComplete()) {
             // write run note to servlet output stream
             DocketInterface module = initialiseDocketModule();
-
-            File file = module.generateDocket(getDocketData(process), xsltFile);
-            writeToOutputStream(facesContext, file, Helper.getNormalizedTitle(process.getTitle()) + ".pdf");
-            Files.deleteIfExists(file.toPath());
+            DocketData docketData = getDocketData(process);
+            ExternalContext response = prepareHeaderInformation(facesContext,
+                Helper.getNormalizedTitle(process.getTitle()) + ".pdf");
+            try (OutputStream out = response.getResponseOutputStream()) {
+                module.generateDocket(docketData, xsltFile, out);
+            }
+            facesContext.responseComplete();
         }
     }
 
@@ -1539,11 +1505,12 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
         FacesContext facesContext = FacesContext.getCurrentInstance();
         if (!facesContext.getResponseComplete()) {
             DocketInterface module = initialiseDocketModule();
-            File file = module.generateMultipleDockets(getDocketData(processes),
-                xsltFile);
-
-            writeToOutputStream(facesContext, file, "batch_docket.pdf");
-            Files.deleteIfExists(file.toPath());
+            List<DocketData> docketData = getDocketData(processes);
+            ExternalContext response = prepareHeaderInformation(facesContext, "batch_docket.pdf");
+            try (OutputStream out = response.getResponseOutputStream()) {
+                module.generateMultipleDockets(docketData, xsltFile, out);
+            }
+            facesContext.responseComplete();
         }
     }
 
@@ -1561,32 +1528,7 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
             try (OutputStream out = response.getResponseOutputStream()) {
                 SearchResultGeneration sr = new SearchResultGeneration(filter, showClosedProcesses,
                         showInactiveProjects);
-                HSSFWorkbook wb = sr.getResult();
-                List<List<HSSFCell>> rowList = new ArrayList<>();
-                HSSFSheet mySheet = wb.getSheetAt(0);
-                Iterator<Row> rowIter = mySheet.rowIterator();
-                while (rowIter.hasNext()) {
-                    HSSFRow myRow = (HSSFRow) rowIter.next();
-                    Iterator<Cell> cellIter = myRow.cellIterator();
-                    List<HSSFCell> row = new ArrayList<>();
-                    while (cellIter.hasNext()) {
-                        HSSFCell myCell = (HSSFCell) cellIter.next();
-                        row.add(myCell);
-                    }
-                    rowList.add(row);
-                }
-                Document document = new Document();
-                Rectangle rectangle = new Rectangle(PageSize.A3.getHeight(), PageSize.A3.getWidth());
-                PdfWriter.getInstance(document, out);
-                document.setPageSize(rectangle);
-                document.open();
-                if (!rowList.isEmpty()) {
-                    Paragraph paragraph = new Paragraph(rowList.get(0).get(0).toString());
-                    document.add(paragraph);
-                    document.add(getPdfTable(rowList));
-                }
-
-                document.close();
+                sr.writePdf(out);
                 out.flush();
                 facesContext.responseComplete();
             }
@@ -1603,41 +1545,17 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
             throws IOException {
         FacesContext facesContext = FacesContext.getCurrentInstance();
         if (!facesContext.getResponseComplete()) {
-            ExternalContext response = prepareHeaderInformation(facesContext, "search.xls");
+            ExternalContext response = prepareHeaderInformation(facesContext, "search.xlsx");
             try (OutputStream out = response.getResponseOutputStream()) {
                 SearchResultGeneration sr = new SearchResultGeneration(filter, showClosedProcesses,
                         showInactiveProjects);
-                HSSFWorkbook wb = sr.getResult();
-                wb.write(out);
+                sr.writeWorkbook(out);
                 out.flush();
                 facesContext.responseComplete();
             }
         }
     }
 
-    /**
-     * Good explanation how it should be implemented:
-     * https://stackoverflow.com/a/9394237/2701807.
-     *
-     * @param facesContext
-     *            context
-     * @param file
-     *            temporal file which contains content to save
-     * @param fileName
-     *            name of the new docket file
-     */
-    private void writeToOutputStream(FacesContext facesContext, File file, String fileName) throws IOException {
-        ExternalContext externalContext = prepareHeaderInformation(facesContext, fileName);
-
-        try (OutputStream outputStream = externalContext.getResponseOutputStream();
-                FileInputStream fileInputStream = new FileInputStream(file)) {
-            byte[] bytes = IOUtils.toByteArray(fileInputStream);
-            outputStream.write(bytes);
-            outputStream.flush();
-        }
-        facesContext.responseComplete();
-    }
-
     private ExternalContext prepareHeaderInformation(FacesContext facesContext, String outputFileName) {
         ExternalContext externalContext = facesContext.getExternalContext();
         externalContext.responseReset();
@@ -1649,23 +1567,6 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
         return externalContext;
     }
 
-    private PdfPTable getPdfTable(List<List<HSSFCell>> rowList) throws DocumentException {
-        // create formatter for cells with default locale
-        DataFormatter formatter = new DataFormatter();
-
-        PdfPTable table = new PdfPTable(8);
-        table.setSpacingBefore(20);
-        table.setWidths(new int[] {4, 1, 2, 1, 1, 1, 2, 2 });
-        for (List<HSSFCell> row : rowList) {
-            for (HSSFCell hssfCell : row) {
-                String stringCellValue = formatter.formatCellValue(hssfCell);
-                table.addCell(stringCellValue);
-            }
-        }
-
-        return table;
-    }
-
     private static DocketInterface initialiseDocketModule() {
         KitodoServiceLoader<DocketInterface> loader = new KitodoServiceLoader<>(DocketInterface.class);
         return loader.loadModule();
@@ -2122,85 +2023,6 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
         return commentsForDocket;
     }
 
-    private List<Map<String, Object>> getMetadataForIndex(Process process) {
-        return getMetadataForIndex(process, false);
-    }
-
-    @SuppressWarnings("unchecked")
-    private List<Map<String, Object>> getMetadataForIndex(Process process, boolean forIndexingAll) {
-        try {
-            URI metadataFileUri = ServiceManager.getFileService().getMetadataFilePath(process, false, true);
-            if (!ServiceManager.getFileService().fileExist(metadataFileUri)) {
-                logger.info("No metadata file for indexing: {}", metadataFileUri);
-                return Collections.emptyList();
-            }
-            String metadataFile;
-            try (InputStream inputStream = ServiceManager.getFileService().readMetadataFile(process, forIndexingAll)) {
-                metadataFile = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
-            }
-            JSONObject xmlJSONObject = XML.toJSONObject(metadataFile);
-            Map<String, Object> json = iterateOverJsonObject(xmlJSONObject);
-            if (json.containsKey("mets")) {
-                Map<String, Object> mets = (Map<String, Object>) json.get("mets");
-                Object dmdSec = mets.get("dmdSec");
-                List<Map<String, Object>> metadata = new ArrayList<>();
-                if (dmdSec instanceof List) {
-                    metadata = (List<Map<String, Object>>) dmdSec;
-                } else if (dmdSec instanceof Map) {
-                    metadata.add((Map<String, Object>) dmdSec);
-                }
-                return metadata;
-            }
-        } catch (NullPointerException | IOException e) {
-            logger.warn(e.getMessage(), e);
-        }
-        return Collections.emptyList();
-    }
-
-    private Map<String, Object> iterateOverJsonObject(JSONObject xmlJSONObject) {
-        Iterator<String> keys = xmlJSONObject.keys();
-        Map<String, Object> json = new HashMap<>();
-        while (keys.hasNext()) {
-            String key = keys.next();
-            Object value = xmlJSONObject.get(key);
-            if (value instanceof String || value instanceof Integer) {
-                json.put(prepareKey(key), value);
-            } else if (value instanceof Long || value instanceof BigInteger) {
-                json.put(prepareKey(key), value.toString());
-            } else if (value instanceof JSONObject) {
-                JSONObject jsonObject = (JSONObject) value;
-                Map<String, Object> map = iterateOverJsonObject(jsonObject);
-                json.put(prepareKey(key), map);
-            } else if (value instanceof JSONArray) {
-                json.put(prepareKey(key), iterateOverJsonArray((JSONArray) value));
-            }
-        }
-        return json;
-    }
-
-    private Object iterateOverJsonArray(JSONArray jsonArray) {
-        int jsonArraySize = jsonArray.length();
-        List<Object> json = new ArrayList<>(jsonArraySize);
-        for (int i = 0; i < jsonArraySize; i++) {
-            Object value = jsonArray.get(i);
-            if (value instanceof JSONObject) {
-                json.add(iterateOverJsonObject((JSONObject) value));
-            } else if (value instanceof String) {
-                json.add(value);
-            } else if (value instanceof JSONArray) {
-                json.add(iterateOverJsonArray((JSONArray) value));
-            }
-        }
-        return json;
-    }
-
-    private String prepareKey(String key) {
-        if (key.contains(":")) {
-            return key.substring(key.indexOf(':') + 1);
-        }
-        return key;
-    }
-
     /**
      * Retrieve and return process property value of property with given name
      * 'propertyName' from given ProcessDTO 'process'.
@@ -2382,6 +2204,8 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
             deleteSymlinksFromUserHomes(task);
         }
         try {
+            ServiceManager.getMetsService()
+                    .removeCachedIndexData(ServiceManager.getProcessService().getMetadataFileUri(process));
             FileService fileService = ServiceManager.getFileService();
             fileService.delete(ServiceManager.getProcessService().getProcessDataDirectory(process));
             URI ocrDirectory = fileService.getOcrDirectory(process);
@@ -2850,13 +2674,10 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
      * @return template processes sorted by title
      */
     public List<Process> getTemplateProcesses() throws DataException, DAOException {
-        List<Process> templateProcesses = new ArrayList<>();
         BoolQueryBuilder inChoiceListShownQuery = new BoolQueryBuilder();
         MatchQueryBuilder matchQuery = matchQuery(ProcessTypeField.IN_CHOICE_LIST_SHOWN.getKey(), true);
         inChoiceListShownQuery.must(matchQuery);
-        for (ProcessDTO processDTO : ServiceManager.getProcessService().findByQuery(matchQuery, true)) {
-            templateProcesses.add(getById(processDTO.getId()));
-        }
+        List<Process> templateProcesses = convertDtosToBeans(findByQuery(matchQuery, true));
         templateProcesses.sort(Comparator.comparing(Process::getTitle));
         return templateProcesses;
     }
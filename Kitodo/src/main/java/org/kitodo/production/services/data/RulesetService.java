@@ -233,7 +233,9 @@ public class RulesetService extends ClientSearchService<Ruleset, RulesetDTO, Rul
     }
 
     /**
-     * Acquires a ruleset Management and loads a ruleset into it.
+     * Acquires a ruleset Management and loads a ruleset into it. The ruleset
+     * management keeps loaded rulesets in memory and reads a ruleset file
+     * again only if it has been changed.
      *
      * @param ruleset
      *            database object that references the ruleset
@@ -256,6 +258,14 @@ public class RulesetService extends ClientSearchService<Ruleset, RulesetDTO, Rul
         return rulesetManagement;
     }
 
+    /**
+     * Discards the rulesets kept in memory by the ruleset management. The
+     * rulesets are read again from their files when they are opened next.
+     */
+    public void clearCache() {
+        ServiceManager.getRulesetManagementService().getRulesetManagement().clearCache();
+    }
+
     /**
      * Returns the names of those divisions that fulfill a given function.
      * 
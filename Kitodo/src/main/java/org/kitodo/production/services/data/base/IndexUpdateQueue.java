@@ -0,0 +1,386 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.data.base;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
+import org.kitodo.data.database.beans.BaseIndexedBean;
+
+/**
+ * Queue of index updates, which are sent to the index by a background thread.
+ * The queue is an outbox: an object is saved to the database with the index
+ * action {@code INDEX} before its update is queued, and is only marked as
+ * {@code DONE} after its document was sent. Updates lost when the application
+ * is stopped can thus be found in the database and indexed later.
+ *
+ * <p>The background thread waits {@code elasticsearch.indexQueueDelay}
+ * milliseconds after an update was queued to collect further updates. Updates
+ * of the same object are coalesced, so an object saved several times in a row
+ * is indexed only once. The documents are sent in bulk requests of up to
+ * {@code elasticsearch.batch} documents, without forcing a refresh of the
+ * index.</p>
+ */
+public class IndexUpdateQueue {
+
+    private static final Logger logger = LogManager.getLogger(IndexUpdateQueue.class);
+
+    private static volatile IndexUpdateQueue instance = null;
+
+    /**
+     * Queued updates. The value tells whether the related objects must be
+     * updated in the index, too.
+     */
+    private final Map<Update, Boolean> pending = new LinkedHashMap<>();
+
+    /**
+     * Objects being saved to the database, with the number of threads saving
+     * them. They must not be marked as indexed, because the state sent to the
+     * index may be older than the one being saved.
+     */
+    private final Map<Update, Integer> saving = new HashMap<>();
+
+    /**
+     * Updates being sent by the background thread.
+     */
+    private final Set<Update> inProgress = new HashSet<>();
+
+    /**
+     * Objects which have been removed while their update was being sent. Their
+     * documents are removed from the index again afterwards.
+     */
+    private final Set<Update> removedInProgress = new HashSet<>();
+
+    private final long delay;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final int timeBetweenAttempts;
+    private Thread indexerThread;
+    private boolean shutdown;
+
+    /**
+     * An update of the object with the given id of a search service.
+     */
+    private static class Update {
+        private final SearchService<?, ?, ?> searchService;
+        private final Integer id;
+
+        private Update(SearchService<?, ?, ?> searchService, Integer id) {
+            this.searchService = searchService;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof Update)) {
+                return false;
+            }
+            Update other = (Update) object;
+            return searchService == other.searchService && Objects.equals(id, other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(searchService), id);
+        }
+    }
+
+    /**
+     * Creates an index update queue.
+     *
+     * @param delay
+     *            time in milliseconds to wait for further updates
+     * @param batchSize
+     *            maximum number of documents in a bulk request
+     * @param maxAttempts
+     *            maximum number of attempts to send a bulk request
+     * @param timeBetweenAttempts
+     *            time in milliseconds between two attempts
+     */
+    IndexUpdateQueue(long delay, int batchSize, int maxAttempts, int timeBetweenAttempts) {
+        this.delay = delay;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.timeBetweenAttempts = timeBetweenAttempts;
+    }
+
+    /**
+     * Returns whether index updates are queued.
+     *
+     * @return whether the index update queue is enabled
+     */
+    public static boolean isEnabled() {
+        return ConfigCore.getBooleanParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_INDEX_QUEUE);
+    }
+
+    /**
+     * Returns the index update queue.
+     *
+     * @return the index update queue
+     */
+    public static IndexUpdateQueue getInstance() {
+        IndexUpdateQueue localReference = instance;
+        if (Objects.isNull(localReference)) {
+            synchronized (IndexUpdateQueue.class) {
+                localReference = instance;
+                if (Objects.isNull(localReference)) {
+                    localReference = new IndexUpdateQueue(
+                            ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_INDEX_QUEUE_DELAY),
+                            ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_BATCH),
+                            ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_ATTEMPTS),
+                            ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_TIME_BETWEEN_ATTEMPTS));
+                    instance = localReference;
+                }
+            }
+        }
+        return localReference;
+    }
+
+    /**
+     * Announces that an object is about to be saved to the database. Until
+     * its update is queued or the save is withdrawn, the object is not marked
+     * as indexed by the background thread. Objects which are saved for the
+     * first time have no id yet and need no announcement.
+     *
+     * @param searchService
+     *            search service of the object
+     * @param id
+     *            id of the object, may be null
+     */
+    synchronized void announce(SearchService<?, ?, ?> searchService, Integer id) {
+        if (Objects.nonNull(id)) {
+            saving.merge(new Update(searchService, id), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Withdraws the announcement of a save which failed.
+     *
+     * @param searchService
+     *            search service of the object
+     * @param id
+     *            id of the object, may be null
+     */
+    synchronized void withdraw(SearchService<?, ?, ?> searchService, Integer id) {
+        if (Objects.nonNull(id)) {
+            saving.computeIfPresent(new Update(searchService, id), (update, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    /**
+     * Queues the index update of an object. If an update of the object is
+     * already queued, the updates are merged. An announcement of the save of
+     * the object is withdrawn.
+     *
+     * @param searchService
+     *            search service of the object
+     * @param id
+     *            id of the object
+     * @param updateRelatedObjects
+     *            whether the related objects must be updated in the index, too
+     */
+    synchronized void add(SearchService<?, ?, ?> searchService, Integer id, boolean updateRelatedObjects) {
+        if (shutdown) {
+            withdraw(searchService, id);
+            logger.warn("Index update queue is shut down, object {} stays marked for indexing", id);
+            return;
+        }
+        withdraw(searchService, id);
+        pending.merge(new Update(searchService, id), updateRelatedObjects, Boolean::logicalOr);
+        if (Objects.isNull(indexerThread)) {
+            indexerThread = new Thread(this::run, "IndexUpdateQueue");
+            indexerThread.setDaemon(true);
+            indexerThread.start();
+        }
+        notifyAll();
+    }
+
+    /**
+     * Drops a queued index update of an object which is being removed.
+     *
+     * @param searchService
+     *            search service of the object
+     * @param id
+     *            id of the object
+     */
+    synchronized void discard(SearchService<?, ?, ?> searchService, Integer id) {
+        Update update = new Update(searchService, id);
+        pending.remove(update);
+        if (inProgress.contains(update)) {
+            removedInProgress.add(update);
+        }
+    }
+
+    /**
+     * Sends the remaining queued updates and stops the background thread.
+     *
+     * @param timeout
+     *            maximum time in milliseconds to wait for the remaining
+     *            updates to be sent
+     */
+    public void shutdown(long timeout) {
+        Thread thread;
+        synchronized (this) {
+            shutdown = true;
+            thread = indexerThread;
+            notifyAll();
+        }
+        if (Objects.nonNull(thread)) {
+            try {
+                thread.join(timeout);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Shuts down the index update queue, if it was used.
+     *
+     * @param timeout
+     *            maximum time in milliseconds to wait for the remaining
+     *            updates to be sent
+     */
+    public static void shutdownInstance(long timeout) {
+        IndexUpdateQueue localReference = instance;
+        if (Objects.nonNull(localReference)) {
+            localReference.shutdown(timeout);
+        }
+    }
+
+    private void run() {
+        try {
+            Map<Update, Boolean> updates = takeUpdates();
+            while (!updates.isEmpty()) {
+                send(updates);
+                updates = takeUpdates();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for queued updates, then waits for further updates, and takes all
+     * of them out of the queue.
+     *
+     * @return the updates to send, empty if the queue is shut down
+     */
+    private synchronized Map<Update, Boolean> takeUpdates() throws InterruptedException {
+        inProgress.clear();
+        removedInProgress.clear();
+        while (pending.isEmpty() && !shutdown) {
+            wait();
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+        long remaining = delay;
+        while (!shutdown && remaining > 0) {
+            wait(remaining);
+            remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        }
+        Map<Update, Boolean> updates = new LinkedHashMap<>(pending);
+        pending.clear();
+        inProgress.addAll(updates.keySet());
+        return updates;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void send(Map<Update, Boolean> updates) throws InterruptedException {
+        Map<SearchService<?, ?, ?>, List<Integer>> ids = new LinkedHashMap<>();
+        Map<SearchService<?, ?, ?>, List<Integer>> idsWithDependencies = new LinkedHashMap<>();
+        for (Entry<Update, Boolean> entry : updates.entrySet()) {
+            Update update = entry.getKey();
+            ids.computeIfAbsent(update.searchService, searchService -> new ArrayList<>()).add(update.id);
+            if (entry.getValue()) {
+                idsWithDependencies.computeIfAbsent(update.searchService, searchService -> new ArrayList<>())
+                        .add(update.id);
+            }
+        }
+        for (Entry<SearchService<?, ?, ?>, List<Integer>> entry : ids.entrySet()) {
+            SearchService searchService = entry.getKey();
+            List<Integer> relatedIds = idsWithDependencies.getOrDefault(searchService, new ArrayList<>());
+            List<Integer> serviceIds = entry.getValue();
+            for (int from = 0; from < serviceIds.size(); from += batchSize) {
+                List<Integer> batch = serviceIds.subList(from, Math.min(from + batchSize, serviceIds.size()));
+                List<BaseIndexedBean> indexed = sendWithAttempts(searchService, batch, relatedIds);
+                if (Objects.nonNull(indexed)) {
+                    markAsIndexed(searchService, indexed);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<BaseIndexedBean> sendWithAttempts(SearchService searchService, List<Integer> ids,
+            List<Integer> idsWithDependencies) throws InterruptedException {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                return searchService.indexQueuedUpdates(ids, idsWithDependencies);
+            } catch (Exception e) {
+                logger.warn("Sending queued index updates failed (attempt {} of {}): {}", attempt, maxAttempts,
+                    e.getMessage());
+                if (attempt < maxAttempts) {
+                    Thread.sleep(timeBetweenAttempts);
+                }
+            }
+        }
+        logger.error("Giving up sending {} queued index updates, the objects stay marked for indexing", ids.size());
+        return null;
+    }
+
+    /**
+     * Marks the sent objects as indexed in the database, unless they are
+     * being saved or have been queued again meanwhile. The check and the
+     * update of the database are done while holding the lock of the queue, so
+     * a save cannot start in between and then be marked as indexed without
+     * being sent. Documents of objects removed while they were being sent are
+     * removed from the index again.
+     */
+    @SuppressWarnings("unchecked")
+    private void markAsIndexed(SearchService searchService, List<BaseIndexedBean> indexed) {
+        List<Integer> removed = new ArrayList<>();
+        try {
+            synchronized (this) {
+                List<BaseIndexedBean> done = new ArrayList<>(indexed.size());
+                for (BaseIndexedBean baseIndexedBean : indexed) {
+                    Update update = new Update(searchService, baseIndexedBean.getId());
+                    if (removedInProgress.contains(update)) {
+                        removed.add(baseIndexedBean.getId());
+                    } else if (!pending.containsKey(update) && !saving.containsKey(update)) {
+                        done.add(baseIndexedBean);
+                    }
+                }
+                searchService.markAsIndexed(done);
+            }
+            for (Integer id : removed) {
+                searchService.removeFromIndex(id, false);
+            }
+        } catch (Exception e) {
+            logger.warn("Cannot mark queued index updates as done: {}", e.getMessage());
+        }
+    }
+}
@@ -11,6 +11,7 @@
 
 package org.kitodo.production.services.data.base;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -74,6 +75,15 @@ public abstract class SearchDatabaseService<T extends BaseBean, S extends BaseDA
         dao.saveAsIndexed(baseIndexedBeans);
     }
 
+    /**
+     * Removes all objects of this type and their collections from the
+     * second-level cache, so that changes are read from the database again.
+     * This has no effect for types which are not cached.
+     */
+    public void evictFromCache() {
+        dao.evictFromCache();
+    }
+
     /**
      * Method removes object from database.
      *
@@ -150,6 +160,19 @@ public abstract class SearchDatabaseService<T extends BaseBean, S extends BaseDA
         return dao.getById(id);
     }
 
+    /**
+     * Retrieves the objects with the given ids from the database, in the order
+     * of the ids. Use this rather than calling {@link #getById(Integer)} for
+     * each id when many objects are needed.
+     *
+     * @param ids
+     *            ids of objects
+     * @return objects
+     */
+    public List<T> getByIds(Collection<Integer> ids) throws DAOException {
+        return dao.getByIds(ids);
+    }
+
     /**
      * Method necessary for conversion of JSON objects to exact bean objects called
      * from database.
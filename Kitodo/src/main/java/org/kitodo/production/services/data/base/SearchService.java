@@ -19,6 +19,7 @@ import static org.opensearch.index.query.QueryBuilders.termsQuery;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -40,12 +41,15 @@ import org.kitodo.data.database.persistence.BaseDAO;
 import org.kitodo.data.elasticsearch.exceptions.CustomResponseException;
 import org.kitodo.data.elasticsearch.index.Indexer;
 import org.kitodo.data.elasticsearch.index.type.BaseType;
+import org.kitodo.data.elasticsearch.search.SearchCursor;
 import org.kitodo.data.elasticsearch.search.Searcher;
 import org.kitodo.data.elasticsearch.search.enums.SearchCondition;
 import org.kitodo.data.exceptions.DataException;
 import org.kitodo.production.dto.BaseDTO;
 import org.kitodo.production.helper.Helper;
 import org.kitodo.production.services.data.ProjectService;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.index.IndexRequest;
 import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.Operator;
 import org.opensearch.index.query.QueryBuilder;
@@ -67,6 +71,12 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
         extends SearchDatabaseService<T, V> {
 
     private static final Logger logger = LogManager.getLogger(SearchService.class);
+
+    /**
+     * Number of IDs read from the index at once.
+     */
+    private static final int ID_PAGE_SIZE = 10000;
+
     protected Searcher searcher;
     protected Indexer indexer;
     protected BaseType type;
@@ -133,6 +143,42 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
         return dao.getAllNotIndexed(offset, size);
     }
 
+    /**
+     * Get all objects from database whose id lies in the given range.
+     *
+     * @param fromId
+     *            lower id bound (exclusive)
+     * @param toId
+     *            upper id bound (inclusive)
+     * @return list of all objects from database in given id range
+     */
+    public List<T> getAllInIdRange(int fromId, int toId) throws DAOException {
+        return dao.getAllInIdRange(fromId, toId);
+    }
+
+    /**
+     * Get all not indexed objects from database whose id lies in the given
+     * range. Not indexed means that row has index action INDEX or NULL.
+     *
+     * @param fromId
+     *            lower id bound (exclusive)
+     * @param toId
+     *            upper id bound (inclusive)
+     * @return list of all not indexed objects from database in given id range
+     */
+    public List<T> getAllNotIndexedInIdRange(int fromId, int toId) throws DAOException {
+        return dao.getAllNotIndexedInIdRange(fromId, toId);
+    }
+
+    /**
+     * Get the highest id of all objects in database.
+     *
+     * @return highest id or 0 if there are no objects
+     */
+    public int getHighestId() throws DAOException {
+        return dao.getHighestId();
+    }
+
     /**
      * Get all DTO objects from index an convert them for frontend with all
      * relations.
@@ -159,8 +205,12 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
      */
     public List<Integer> findAllIDs() throws DataException {
         List<Integer> allIds = new ArrayList<>();
-        for (Map<String, Object> document : findAllDocuments()) {
-            allIds.add(Integer.parseInt((String) document.get("id")));
+        try (SearchCursor cursor = searcher.openCursor(matchAllQuery(), null, ID_PAGE_SIZE)) {
+            for (List<Integer> ids = cursor.nextIds(); !ids.isEmpty(); ids = cursor.nextIds()) {
+                allIds.addAll(ids);
+            }
+        } catch (CustomResponseException e) {
+            throw new DataException(e);
         }
         return allIds;
     }
@@ -208,11 +258,109 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
     public void addAllObjectsToIndex(List<T> baseIndexedBeans) throws CustomResponseException, DAOException, IOException {
         indexer.setMethod(HttpMethod.PUT);
         if (!baseIndexedBeans.isEmpty()) {
+            enrichObjectsForIndex(baseIndexedBeans);
             indexer.performMultipleRequests(baseIndexedBeans, type, false);
             saveAsIndexed(baseIndexedBeans);
         }
     }
 
+    /**
+     * Adds data to the objects which is not stored in the database, but needed
+     * for their documents in the index. By default, there is nothing to add.
+     *
+     * @param baseIndexedBeans
+     *            List of BaseIndexedBean objects
+     */
+    public void enrichObjectsForIndex(List<T> baseIndexedBeans) throws IOException {
+        // nothing to add by default
+    }
+
+    /**
+     * Creates the index request for an object, which contains its serialized
+     * document.
+     *
+     * @param baseIndexedBean
+     *            object
+     * @return index request for a bulk request
+     */
+    @SuppressWarnings("unchecked")
+    public IndexRequest createIndexRequest(T baseIndexedBean) {
+        return indexer.createIndexRequest(baseIndexedBean, type);
+    }
+
+    /**
+     * Sends a bulk request of index requests created by
+     * {@link #createIndexRequest(BaseIndexedBean)} to the index and marks the
+     * indexed objects as indexed in the database.
+     *
+     * @param bulkRequest
+     *            bulk request containing the index requests
+     * @param baseIndexedBeans
+     *            List of BaseIndexedBean objects contained in the bulk request
+     */
+    public void addBulkRequestToIndex(BulkRequest bulkRequest, List<T> baseIndexedBeans)
+            throws CustomResponseException, DAOException {
+        indexer.setMethod(HttpMethod.PUT);
+        if (!baseIndexedBeans.isEmpty()) {
+            indexer.performBulkRequest(bulkRequest);
+            saveAsIndexed(baseIndexedBeans);
+        }
+    }
+
+    /**
+     * Sends the documents of objects whose index updates have been queued to
+     * the index in one bulk request. The index is not refreshed, the
+     * documents become visible with the next periodic refresh of the index.
+     * Objects which no longer exist in the database are skipped.
+     *
+     * @param ids
+     *            ids of the objects to index
+     * @param idsWithDependencies
+     *            ids of the objects whose related objects must be updated in
+     *            the index, too
+     * @return the indexed objects
+     */
+    @SuppressWarnings("unchecked")
+    List<T> indexQueuedUpdates(Collection<Integer> ids, Collection<Integer> idsWithDependencies)
+            throws CustomResponseException, DAOException, DataException, IOException {
+        List<T> baseIndexedBeans = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            try {
+                baseIndexedBeans.add(getById(id));
+            } catch (DAOException e) {
+                logger.debug("Skipping queued index update of {} {}: {}", type.getClass().getSimpleName(), id,
+                    e.getMessage());
+            }
+        }
+        if (baseIndexedBeans.isEmpty()) {
+            return baseIndexedBeans;
+        }
+        enrichObjectsForIndex(baseIndexedBeans);
+        BulkRequest bulkRequest = new BulkRequest();
+        for (T baseIndexedBean : baseIndexedBeans) {
+            bulkRequest.add(createIndexRequest(baseIndexedBean));
+        }
+        indexer.setMethod(HttpMethod.PUT);
+        indexer.performBulkRequest(bulkRequest);
+        for (T baseIndexedBean : baseIndexedBeans) {
+            if (idsWithDependencies.contains(baseIndexedBean.getId())) {
+                manageDependenciesForIndex(baseIndexedBean);
+            }
+        }
+        return baseIndexedBeans;
+    }
+
+    /**
+     * Marks objects as indexed in the database, without overwriting other
+     * changes saved meanwhile.
+     *
+     * @param baseIndexedBeans
+     *            objects to mark as indexed
+     */
+    void markAsIndexed(List<T> baseIndexedBeans) throws DAOException {
+        dao.markAsIndexed(baseIndexedBeans);
+    }
+
     /**
      * Method removes document from the index of Elastic Search.
      *
@@ -280,12 +428,38 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
      * fails and in that case, even if index is up to date, in some point of the
      * future it will be reindexed by administrator.
      *
+     * <p>
+     * If the index update queue is enabled, the object is only saved to the
+     * database with indexAction Index, and the index update is queued. The
+     * document is then updated in the background, together with other queued
+     * updates, and the flag is changed to Done afterwards.
+     *
      * @param baseIndexedBean
      *            object
      *
      * @param updateRelatedObjectsInIndex if relatedObjects need to be updated in Index
      */
     public void save(T baseIndexedBean, boolean updateRelatedObjectsInIndex) throws DataException {
+        if (IndexUpdateQueue.isEnabled()) {
+            IndexUpdateQueue indexUpdateQueue = IndexUpdateQueue.getInstance();
+            Integer id = baseIndexedBean.getId();
+            indexUpdateQueue.announce(this, id);
+            boolean saved = false;
+            try {
+                baseIndexedBean.setIndexAction(IndexAction.INDEX);
+                saveToDatabase(baseIndexedBean);
+                saved = true;
+            } catch (DAOException e) {
+                logger.debug(e);
+                throw new DataException(e);
+            } finally {
+                if (!saved) {
+                    indexUpdateQueue.withdraw(this, id);
+                }
+            }
+            indexUpdateQueue.add(this, baseIndexedBean.getId(), updateRelatedObjectsInIndex);
+            return;
+        }
         try {
             baseIndexedBean.setIndexAction(IndexAction.INDEX);
             saveToDatabase(baseIndexedBean);
@@ -347,6 +521,9 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
      *            object
      */
     public void remove(T baseIndexedBean) throws DataException {
+        if (IndexUpdateQueue.isEnabled()) {
+            IndexUpdateQueue.getInstance().discard(this, baseIndexedBean.getId());
+        }
         try {
             baseIndexedBean.setIndexAction(IndexAction.DELETE);
             saveToDatabase(baseIndexedBean);
@@ -538,6 +715,45 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
         }
     }
 
+    /**
+     * Opens a cursor to read the DTO objects found by a query page by page,
+     * without the limit of the result window of the index. The cursor must be
+     * closed after use.
+     *
+     * @param query
+     *            as QueryBuilder object
+     * @param sort
+     *            as SortBuilder object, may be null to sort by score
+     * @param pageSize
+     *            number of objects per page
+     * @return the cursor
+     */
+    public SearchCursor openCursor(QueryBuilder query, SortBuilder<?> sort, int pageSize) throws DataException {
+        try {
+            return searcher.openCursor(query, sort, pageSize);
+        } catch (CustomResponseException e) {
+            throw new DataException(e);
+        }
+    }
+
+    /**
+     * Find the next page of DTO objects of a cursor.
+     *
+     * @param cursor
+     *            cursor opened with {@link #openCursor(QueryBuilder, SortBuilder, int)}
+     * @param related
+     *            determines if converted object is related to some other object (if
+     *            so, objects related to it are not included in conversion)
+     * @return list of found DTO objects, empty if all objects have been read
+     */
+    public List<S> findNextPage(SearchCursor cursor, boolean related) throws DataException {
+        try {
+            return convertJSONObjectsToDTOs(cursor.nextDocuments(), related);
+        } catch (CustomResponseException e) {
+            throw new DataException(e);
+        }
+    }
+
     /**
      * Convert list of JSONObject object to list of DTO objects.
      *
@@ -944,7 +1160,22 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
     }
 
     /**
-     * Removes all objects from index, which are no longer in Database.
+     * Removes all objects from index, which are no longer in Database. The
+     * indexed objects are checked page by page.
+     *
+     * @param pageSize
+     *            number of objects checked at once
+     */
+    public void removeLooseIndexData(int pageSize) throws DataException, CustomResponseException {
+        try (SearchCursor cursor = searcher.openCursor(matchAllQuery(), null, pageSize)) {
+            for (List<Integer> ids = cursor.nextIds(); !ids.isEmpty(); ids = cursor.nextIds()) {
+                removeLooseIndexData(ids);
+            }
+        }
+    }
+
+    /**
+     * Removes the objects with the given IDs from index, which are no longer in Database.
      * @param baseIndexedBeansId the list of beans to check for missing db eintries.
      *
      */
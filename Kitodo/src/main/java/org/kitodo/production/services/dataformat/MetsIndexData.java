@@ -0,0 +1,371 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.dataformat;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.lang3.StringUtils;
+import org.kitodo.api.dataformat.PhysicalDivision;
+
+/**
+ * The data of a METS file that is written to the search index for a process.
+ * All values are gathered in a single streaming pass over the file, without
+ * building the workpiece or an intermediate document.
+ *
+ * <p>The metadata of the {@code <mets:dmdSec>} elements is converted into the
+ * same nested map structure as formerly produced by the JSON conversion of the
+ * whole document: attributes and child elements become keys without namespace
+ * prefix, repeated keys become lists and text content next to attributes or
+ * child elements is stored under the key {@code content}. The counts equal the
+ * ones determined on the workpiece.</p>
+ */
+public class MetsIndexData {
+
+    private static final String METS_NAMESPACE = "http://www.loc.gov/METS/";
+    private static final String CONTENT = "content";
+    private static final String DIV = "div";
+    private static final String DMD_SEC = "dmdSec";
+    private static final String KITODO = "kitodo";
+    private static final String METADATA = "metadata";
+    private static final String METADATA_GROUP = "metadataGroup";
+    private static final String NAME = "name";
+    private static final List<String> AMD_SEC_CHILDREN = Arrays.asList("techMD", "rightsMD", "sourceMD",
+        "digiprovMD");
+
+    private static final XMLInputFactory xmlInputFactory = createXmlInputFactory();
+
+    private final List<Map<String, Object>> metadata;
+    private final Map<String, Set<String>> metadataSignaturesOfSections = new HashMap<>();
+    private final List<String> logicalDivisionsSectionIds = new ArrayList<>();
+    private int numberOfImages = 0;
+    private int numberOfMetadata = 0;
+    private int numberOfStructures = 0;
+    private String baseType;
+
+    private MetsIndexData() {
+        this.metadata = new ArrayList<>();
+    }
+
+    /**
+     * Creates index data from previously determined values.
+     *
+     * @param metadata
+     *            the metadata of the {@code <mets:dmdSec>} elements
+     * @param numberOfImages
+     *            the number of pages in the physical structure
+     * @param numberOfMetadata
+     *            the number of metadata of all logical divisions
+     * @param numberOfStructures
+     *            the number of divisions in the logical structure
+     * @param baseType
+     *            the type of the top element of the logical structure
+     */
+    MetsIndexData(List<Map<String, Object>> metadata, int numberOfImages, int numberOfMetadata,
+            int numberOfStructures, String baseType) {
+        this.metadata = metadata;
+        this.numberOfImages = numberOfImages;
+        this.numberOfMetadata = numberOfMetadata;
+        this.numberOfStructures = numberOfStructures;
+        this.baseType = baseType;
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * Reads the index data from a METS file.
+     *
+     * @param inputStream
+     *            stream of the METS file
+     * @return the index data
+     * @throws XMLStreamException
+     *             if the file is not well-formed
+     */
+    public static MetsIndexData read(InputStream inputStream) throws XMLStreamException {
+        MetsIndexData metsIndexData = new MetsIndexData();
+        XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(inputStream);
+        try {
+            metsIndexData.readMets(reader);
+            metsIndexData.countMetadata();
+        } finally {
+            reader.close();
+        }
+        return metsIndexData;
+    }
+
+    private void readMets(XMLStreamReader reader) throws XMLStreamException {
+        reader.nextTag();
+        if (!"mets".equals(reader.getLocalName())) {
+            return;
+        }
+        boolean logicalStructMapRead = false;
+        boolean physicalStructMapRead = false;
+        while (reader.hasNext()) {
+            if (reader.next() != XMLStreamConstants.START_ELEMENT
+                    || !METS_NAMESPACE.equals(reader.getNamespaceURI())) {
+                continue;
+            }
+            String localName = reader.getLocalName();
+            if (DMD_SEC.equals(localName) || AMD_SEC_CHILDREN.contains(localName)) {
+                String id = reader.getAttributeValue(null, "ID");
+                Object mdSec = readElement(reader);
+                if (mdSec instanceof Map) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> mdSecMap = (Map<String, Object>) mdSec;
+                    if (DMD_SEC.equals(localName)) {
+                        metadata.add(mdSecMap);
+                    }
+                    if (Objects.nonNull(id)) {
+                        metadataSignaturesOfSections.put(id, getMetadataSignatures(mdSecMap, localName));
+                    }
+                }
+            } else if ("structMap".equals(localName)) {
+                String type = reader.getAttributeValue(null, "TYPE");
+                if ("LOGICAL".equals(type) && !logicalStructMapRead) {
+                    readLogicalStructMap(reader);
+                    logicalStructMapRead = true;
+                } else if ("PHYSICAL".equals(type) && !physicalStructMapRead) {
+                    readPhysicalStructMap(reader);
+                    physicalStructMapRead = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts the element the reader is positioned at into a map, or into a
+     * string if it has neither attributes nor child elements. Afterwards, the
+     * reader is positioned at the end of the element.
+     */
+    private static Object readElement(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, Object> element = new HashMap<>();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            accumulate(element, reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        }
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String key = reader.getLocalName();
+                accumulate(element, key, readElement(reader));
+            } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                String text = reader.getText().trim();
+                if (!text.isEmpty()) {
+                    accumulate(element, CONTENT, text);
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            }
+        }
+        if (element.isEmpty()) {
+            return "";
+        }
+        if (element.size() == 1 && element.get(CONTENT) instanceof String) {
+            return element.get(CONTENT);
+        }
+        return element;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void accumulate(Map<String, Object> element, String key, Object value) {
+        Object present = element.get(key);
+        if (Objects.isNull(present)) {
+            element.put(key, value);
+        } else if (present instanceof List) {
+            ((List<Object>) present).add(value);
+        } else {
+            element.put(key, new ArrayList<>(Arrays.asList(present, value)));
+        }
+    }
+
+    private void readLogicalStructMap(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 0;
+        int baseTypeDepth = 1;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT && DIV.equals(reader.getLocalName())) {
+                depth++;
+                numberOfStructures++;
+                logicalDivisionsSectionIds.add(Objects.toString(reader.getAttributeValue(null, "DMDID"), "") + ' '
+                        + Objects.toString(reader.getAttributeValue(null, "ADMID"), ""));
+                if (Objects.isNull(baseType) && depth == baseTypeDepth) {
+                    // the type of the first division having a type along the first children
+                    baseType = reader.getAttributeValue(null, "TYPE");
+                    baseTypeDepth++;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (DIV.equals(reader.getLocalName())) {
+                    depth--;
+                    if (Objects.isNull(baseType)) {
+                        // a division without children, no further first child
+                        baseTypeDepth = 0;
+                    }
+                } else if ("structMap".equals(reader.getLocalName())) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private void readPhysicalStructMap(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT && DIV.equals(reader.getLocalName())) {
+                if (PhysicalDivision.TYPE_PAGE.equals(reader.getAttributeValue(null, "TYPE"))) {
+                    numberOfImages++;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && "structMap".equals(reader.getLocalName())) {
+                break;
+            }
+        }
+    }
+
+    private void countMetadata() {
+        for (String sectionIds : logicalDivisionsSectionIds) {
+            Set<String> metadataOfDivision = new HashSet<>();
+            for (String sectionId : StringUtils.split(sectionIds)) {
+                metadataOfDivision.addAll(metadataSignaturesOfSections.getOrDefault(sectionId,
+                    Collections.emptySet()));
+            }
+            numberOfMetadata += metadataOfDivision.size();
+        }
+        metadataSignaturesOfSections.clear();
+        logicalDivisionsSectionIds.clear();
+    }
+
+    /*
+     * Returns a string for each metadata entry and metadata group of the
+     * section which is equal for equal metadata. When reading the workpiece,
+     * equal metadata of a division are merged, so they must be counted once.
+     */
+    @SuppressWarnings("unchecked")
+    private static Set<String> getMetadataSignatures(Map<String, Object> mdSec, String domain) {
+        Set<String> signatures = new HashSet<>();
+        for (Object mdWrap : asList(mdSec.get("mdWrap"))) {
+            if (mdWrap instanceof Map) {
+                for (Object xmlData : asList(((Map<String, Object>) mdWrap).get("xmlData"))) {
+                    if (xmlData instanceof Map) {
+                        for (Object kitodo : asList(((Map<String, Object>) xmlData).get(KITODO))) {
+                            if (kitodo instanceof Map) {
+                                for (String signature : getSignatures((Map<String, Object>) kitodo)) {
+                                    signatures.add(domain + '|' + signature);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return signatures;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> getSignatures(Map<String, Object> container) {
+        Set<String> signatures = new TreeSet<>();
+        for (Object metadataEntry : asList(container.get(METADATA))) {
+            String value = metadataEntry instanceof Map ? getString(((Map<String, Object>) metadataEntry).get(CONTENT))
+                    : getString(metadataEntry);
+            if (!value.isEmpty()) {
+                String name = metadataEntry instanceof Map ? getString(((Map<String, Object>) metadataEntry).get(NAME))
+                        : "";
+                signatures.add("E|" + name + '|' + value);
+            }
+        }
+        for (Object metadataGroup : asList(container.get(METADATA_GROUP))) {
+            if (metadataGroup instanceof Map) {
+                Map<String, Object> metadataGroupMap = (Map<String, Object>) metadataGroup;
+                signatures.add("G|" + getString(metadataGroupMap.get(NAME)) + '|' + getSignatures(metadataGroupMap));
+            } else {
+                signatures.add("G||[]");
+            }
+        }
+        return signatures;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> asList(Object value) {
+        if (Objects.isNull(value)) {
+            return Collections.emptyList();
+        }
+        return value instanceof List ? (List<Object>) value : Collections.singletonList(value);
+    }
+
+    private static String getString(Object value) {
+        return value instanceof String ? (String) value : "";
+    }
+
+    /**
+     * Returns the metadata of the {@code <mets:dmdSec>} elements.
+     *
+     * @return the metadata for the index
+     */
+    public List<Map<String, Object>> getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * Returns the number of pages in the physical structure.
+     *
+     * @return the number of images
+     */
+    public int getNumberOfImages() {
+        return numberOfImages;
+    }
+
+    /**
+     * Returns the number of metadata entries and metadata groups of all
+     * logical divisions. Entries without value are not counted.
+     *
+     * @return the number of metadata
+     */
+    public int getNumberOfMetadata() {
+        return numberOfMetadata;
+    }
+
+    /**
+     * Returns the number of divisions in the logical structure.
+     *
+     * @return the number of structures
+     */
+    public int getNumberOfStructures() {
+        return numberOfStructures;
+    }
+
+    /**
+     * Returns the type of the top element of the logical structure. If it has
+     * no type, the type of its first child is returned, and so on.
+     *
+     * @return the base type, may be null
+     */
+    public String getBaseType() {
+        return baseType;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.dataformat;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Persistent cache of the index data of METS files. Each entry is stored as a
+ * small JSON file in a subdirectory of the cache directory, named after the
+ * first characters of the hash of the path of the METS file, so that no
+ * directory has to hold all entries. An entry is only valid as long as the
+ * METS file has the same path, last modification time and size as when the
+ * entry was written, so a hit does not read the METS file at all. The checksum
+ * of the content is computed while the METS file is parsed and stored with the
+ * entry. Thus, indexing all processes only has to parse the METS files which
+ * have changed since the last indexing.
+ */
+public class MetsIndexDataCache {
+
+    private static final Logger logger = LogManager.getLogger(MetsIndexDataCache.class);
+
+    private static final String PATH = "path";
+    private static final String LAST_MODIFIED = "lastModified";
+    private static final String SIZE = "size";
+    private static final String CHECKSUM = "checksum";
+    private static final String METADATA = "metadata";
+    private static final String NUMBER_OF_IMAGES = "numberOfImages";
+    private static final String NUMBER_OF_METADATA = "numberOfMetadata";
+    private static final String NUMBER_OF_STRUCTURES = "numberOfStructures";
+    private static final String BASE_TYPE = "baseType";
+    private static final String ENTRY_SUFFIX = ".json";
+    private static final int SUBDIRECTORY_NAME_LENGTH = 2;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path cacheDirectory;
+
+    /**
+     * Creates a cache which stores its entries in the given directory.
+     *
+     * @param cacheDirectory
+     *            directory for the cache entries, created when needed
+     */
+    public MetsIndexDataCache(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Returns the checksum of the content of a METS file, as it is stored in
+     * the cache entries.
+     *
+     * @param digest
+     *            SHA-1 digest which has been updated with the content of the
+     *            file
+     * @return the checksum
+     */
+    public static String toChecksum(MessageDigest digest) {
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    /**
+     * Returns the cached index data of a METS file, if the file has not been
+     * changed since the entry was written, that is, path, modification time
+     * and size are unchanged.
+     *
+     * @param metsFile
+     *            the METS file
+     * @return the index data, or null if there is no valid entry
+     */
+    public MetsIndexData get(File metsFile) {
+        Path entryFile = getEntryFile(metsFile);
+        if (!Files.isRegularFile(entryFile)) {
+            return null;
+        }
+        try {
+            Map<String, Object> entry = objectMapper.readValue(entryFile.toFile(),
+                new TypeReference<Map<String, Object>>() {});
+            if (!Objects.equals(metsFile.getAbsolutePath(), entry.get(PATH))
+                    || !isEqual(metsFile.lastModified(), entry.get(LAST_MODIFIED))
+                    || !isEqual(metsFile.length(), entry.get(SIZE))) {
+                return null;
+            }
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> metadata = (List<Map<String, Object>>) entry.get(METADATA);
+            return new MetsIndexData(metadata, ((Number) entry.get(NUMBER_OF_IMAGES)).intValue(),
+                    ((Number) entry.get(NUMBER_OF_METADATA)).intValue(),
+                    ((Number) entry.get(NUMBER_OF_STRUCTURES)).intValue(), (String) entry.get(BASE_TYPE));
+        } catch (IOException | ClassCastException | NullPointerException e) {
+            logger.debug("Ignoring unreadable index data cache entry {}: {}", entryFile, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores the index data of a METS file. The entry is first written to a
+     * temporary file and then moved into place, so that concurrent readers
+     * never see a partially written entry.
+     *
+     * @param metsFile
+     *            the METS file the data was read from. Its modification time
+     *            and size must be taken before reading it.
+     * @param lastModified
+     *            modification time of the METS file before it was read
+     * @param size
+     *            size of the METS file before it was read
+     * @param checksum
+     *            checksum of the content the index data was read from, see
+     *            {@link #toChecksum(MessageDigest)}
+     * @param metsIndexData
+     *            the index data
+     */
+    public void put(File metsFile, long lastModified, long size, String checksum, MetsIndexData metsIndexData) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put(PATH, metsFile.getAbsolutePath());
+        entry.put(LAST_MODIFIED, lastModified);
+        entry.put(SIZE, size);
+        entry.put(CHECKSUM, checksum);
+        entry.put(METADATA, metsIndexData.getMetadata());
+        entry.put(NUMBER_OF_IMAGES, metsIndexData.getNumberOfImages());
+        entry.put(NUMBER_OF_METADATA, metsIndexData.getNumberOfMetadata());
+        entry.put(NUMBER_OF_STRUCTURES, metsIndexData.getNumberOfStructures());
+        entry.put(BASE_TYPE, metsIndexData.getBaseType());
+        Path entryFile = getEntryFile(metsFile);
+        try {
+            Files.createDirectories(entryFile.getParent());
+            Path temporaryFile = Files.createTempFile(entryFile.getParent(), entryFile.getFileName().toString(),
+                ".tmp");
+            try {
+                objectMapper.writeValue(temporaryFile.toFile(), entry);
+                Files.move(temporaryFile, entryFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot write index data cache entry {}: {}", entryFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the cached index data of a METS file.
+     *
+     * @param metsFile
+     *            the METS file
+     */
+    public void remove(File metsFile) {
+        try {
+            Files.deleteIfExists(getEntryFile(metsFile));
+        } catch (IOException e) {
+            logger.warn("Cannot remove index data cache entry for {}: {}", metsFile, e.getMessage());
+        }
+    }
+
+    private Path getEntryFile(File metsFile) {
+        String hash = DigestUtils.sha1Hex(metsFile.getAbsolutePath());
+        return cacheDirectory.resolve(hash.substring(0, SUBDIRECTORY_NAME_LENGTH)).resolve(hash + ENTRY_SUFFIX);
+    }
+
+    private static boolean isEqual(long expected, Object actual) {
+        return actual instanceof Number && ((Number) actual).longValue() == expected;
+    }
+}
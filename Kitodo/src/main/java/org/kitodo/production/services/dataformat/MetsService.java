@@ -13,12 +13,17 @@ package org.kitodo.production.services.dataformat;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.util.Objects;
 
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.Result;
 import javax.xml.transform.Source;
 import javax.xml.transform.TransformerException;
@@ -26,21 +31,28 @@ import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.kitodo.api.MetadataEntry;
 import org.kitodo.api.dataformat.LogicalDivision;
 import org.kitodo.api.dataformat.Workpiece;
 import org.kitodo.api.dataformat.mets.MetsXmlElementAccessInterface;
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
 import org.kitodo.production.services.ServiceManager;
 import org.kitodo.serviceloader.KitodoServiceLoader;
 import org.w3c.dom.Document;
+import org.xml.sax.ContentHandler;
 
 public class MetsService {
     private static final Logger logger = LogManager.getLogger(MetsService.class);
 
+    private static final String INDEX_DATA_CACHE_DIRECTORY = ".indexcache";
+
     private static volatile MetsService instance = null;
     private final MetsXmlElementAccessInterface metsXmlElementAccess;
+    private MetsIndexDataCache indexDataCache;
 
     /**
      * Return singleton variable of type MetsService.
@@ -100,6 +112,83 @@ public class MetsService {
         return type;
     }
 
+    /**
+     * Reads the data of a METS file that is needed for the search index in a
+     * single pass, without loading the workpiece.
+     *
+     * @param uri
+     *            address of the file to be read
+     * @return data for the search index
+     * @throws IOException
+     *             if reading is not working (disk broken, file not
+     *             well-formed, ...)
+     */
+    public MetsIndexData readIndexData(URI uri) throws IOException {
+        try (InputStream inputStream = ServiceManager.getFileService().read(uri)) {
+            logger.debug("Reading index data from {}", uri);
+            return MetsIndexData.read(inputStream);
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the data of a METS file that is needed for the search index. If
+     * the index data cache is enabled, the data is taken from the cache as
+     * long as the file has not been changed since it was last read, and
+     * otherwise the cache is updated. The checksum of the content is computed
+     * while the file is read.
+     *
+     * @param uri
+     *            address of the file to be read
+     * @return data for the search index
+     * @throws IOException
+     *             if reading is not working (disk broken, file not
+     *             well-formed, ...)
+     */
+    public MetsIndexData readIndexDataCached(URI uri) throws IOException {
+        if (!ConfigCore.getBooleanParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_INDEX_CACHE)) {
+            return readIndexData(uri);
+        }
+        File metsFile = ServiceManager.getFileService().getFile(uri);
+        MetsIndexDataCache indexDataCache = getIndexDataCache();
+        MetsIndexData metsIndexData = indexDataCache.get(metsFile);
+        if (Objects.isNull(metsIndexData)) {
+            long lastModified = metsFile.lastModified();
+            long size = metsFile.length();
+            MessageDigest digest = DigestUtils.getSha1Digest();
+            try (InputStream inputStream = new DigestInputStream(ServiceManager.getFileService().read(uri), digest)) {
+                logger.debug("Reading index data from {}", uri);
+                metsIndexData = MetsIndexData.read(inputStream);
+                // the checksum must cover the whole file, even if the parser did not read up to its end
+                inputStream.transferTo(OutputStream.nullOutputStream());
+            } catch (XMLStreamException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+            indexDataCache.put(metsFile, lastModified, size, MetsIndexDataCache.toChecksum(digest), metsIndexData);
+        }
+        return metsIndexData;
+    }
+
+    /**
+     * Removes the cached index data of a METS file, for example because its
+     * process is deleted.
+     *
+     * @param uri
+     *            address of the METS file
+     */
+    public void removeCachedIndexData(URI uri) {
+        getIndexDataCache().remove(ServiceManager.getFileService().getFile(uri));
+    }
+
+    private synchronized MetsIndexDataCache getIndexDataCache() {
+        if (Objects.isNull(indexDataCache)) {
+            indexDataCache = new MetsIndexDataCache(
+                    Paths.get(ConfigCore.getKitodoDataDirectory(), INDEX_DATA_CACHE_DIRECTORY));
+        }
+        return indexDataCache;
+    }
+
     /**
      * Function for loading METS files from URI.
      *
@@ -158,6 +247,21 @@ public class MetsService {
         metsXmlElementAccess.save(workpiece, outputStream);
     }
 
+    /**
+     * Writes the workpiece as METS XML to a SAX content handler, for example
+     * to transform it without serializing it first.
+     *
+     * @param workpiece
+     *            data to be written
+     * @param contentHandler
+     *            content handler receiving the METS XML
+     * @throws IOException
+     *             if writing does not work
+     */
+    public void save(Workpiece workpiece, ContentHandler contentHandler) throws IOException {
+        metsXmlElementAccess.save(workpiece, contentHandler);
+    }
+
     /**
      * Counts the logical metadata tags in the workpiece.
      * @param workpiece the workpiece to count tags.
@@ -21,6 +21,7 @@ import java.net.URISyntaxException;
 import java.nio.file.FileSystems;
 import java.nio.file.Paths;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -48,6 +49,7 @@ import org.kitodo.api.dataformat.MediaVariant;
 import org.kitodo.api.dataformat.PhysicalDivision;
 import org.kitodo.api.dataformat.View;
 import org.kitodo.api.dataformat.Workpiece;
+import org.kitodo.api.dataformat.WorkpieceIndex;
 import org.kitodo.api.filemanagement.FileManagementInterface;
 import org.kitodo.api.filemanagement.ProcessSubType;
 import org.kitodo.config.ConfigCore;
@@ -67,7 +69,6 @@ import org.kitodo.production.helper.metadata.ImageHelper;
 import org.kitodo.production.helper.metadata.legacytypeimplementations.LegacyMetsModsDigitalDocumentHelper;
 import org.kitodo.production.helper.metadata.pagination.Paginator;
 import org.kitodo.production.helper.tasks.TaskManager;
-import org.kitodo.production.metadata.MetadataEditor;
 import org.kitodo.production.metadata.MetadataLock;
 import org.kitodo.production.model.Subfolder;
 import org.kitodo.production.services.ServiceManager;
@@ -1133,7 +1134,7 @@ public class FileService {
         if (ConfigCore.getBooleanParameter(ParameterCore.WITH_AUTOMATIC_PAGINATION)) {
             repaginatePhysicalDivisions(workpiece);
         }
-        if (Workpiece.treeStream(workpiece.getLogicalStructure())
+        if (workpiece.getAllLogicalDivisions().stream()
                 .allMatch(logicalDivision -> logicalDivision.getViews().isEmpty())) {
             automaticallyAssignPhysicalDivisionsToEffectiveRootRecursive(workpiece, workpiece.getLogicalStructure());
         }
@@ -1147,7 +1148,7 @@ public class FileService {
             LogicalDivision logicalDivision) {
 
         if (Objects.nonNull(logicalDivision.getType())) {
-            Workpiece.treeStream(workpiece.getPhysicalStructure()).filter(physicalDivision -> !physicalDivision.getMediaFiles().isEmpty())
+            workpiece.getAllPhysicalDivisions().stream().filter(physicalDivision -> !physicalDivision.getMediaFiles().isEmpty())
                     .map(View::of).forEachOrdered(logicalDivision.getViews()::add);
         } else if (logicalDivision.getChildren().size() == 1) {
             automaticallyAssignPhysicalDivisionsToEffectiveRootRecursive(workpiece,
@@ -1217,32 +1218,33 @@ public class FileService {
 
     private void removeMissingMediaFromWorkpiece(List<String> mediaToRemove, Workpiece workpiece,
                                                  Collection<Subfolder> subfolders) {
-        List<PhysicalDivision> pages = workpiece.getAllPhysicalDivisionChildrenSortedFilteredByPageAndTrack();
+        if (mediaToRemove.isEmpty()) {
+            return;
+        }
+        WorkpieceIndex index = workpiece.getIndex();
+        Map<String, List<PhysicalDivision>> pagesByCanonical = new HashMap<>();
+        for (PhysicalDivision page : index.getPagesAndTracks()) {
+            pagesByCanonical.computeIfAbsent(getCanonical(subfolders, page), key -> new ArrayList<>(1)).add(page);
+        }
         for (String removal : mediaToRemove) {
             if (StringUtils.isNotBlank(removal)) {
-                for (PhysicalDivision page : pages) {
-                    if (removal.equals(getCanonical(subfolders, page))) {
-                        workpiece.getPhysicalStructure().getChildren().remove(page);
-                        for (LogicalDivision structuralElement : page.getLogicalDivisions()) {
-                            structuralElement.getViews().removeIf(view -> view.getPhysicalDivision().equals(page));
-                        }
-                        page.getLogicalDivisions().clear();
-                        LinkedList<PhysicalDivision> ancestors = MetadataEditor
-                                .getAncestorsOfPhysicalDivision(page, workpiece.getPhysicalStructure());
-                        if (!ancestors.isEmpty()) {
-                            PhysicalDivision parent = ancestors.getLast();
-                            parent.getChildren().remove(page);
-                        }
+                for (PhysicalDivision page : pagesByCanonical.getOrDefault(removal, Collections.emptyList())) {
+                    workpiece.getPhysicalStructure().getChildren().remove(page);
+                    for (LogicalDivision structuralElement : page.getLogicalDivisions()) {
+                        structuralElement.getViews().removeIf(view -> view.getPhysicalDivision().equals(page));
+                    }
+                    page.getLogicalDivisions().clear();
+                    PhysicalDivision parent = index.getParent(page);
+                    if (Objects.nonNull(parent)) {
+                        parent.getChildren().remove(page);
                     }
                 }
             }
         }
-        if (!mediaToRemove.isEmpty()) {
-            int i = 1;
-            for (PhysicalDivision division : workpiece.getAllPhysicalDivisionChildrenSortedFilteredByPageAndTrack()) {
-                division.setOrder(i);
-                i++;
-            }
+        int i = 1;
+        for (PhysicalDivision division : workpiece.getAllPhysicalDivisionChildrenSortedFilteredByPageAndTrack()) {
+            division.setOrder(i);
+            i++;
         }
     }
 
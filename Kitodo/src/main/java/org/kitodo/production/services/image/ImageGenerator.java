@@ -20,12 +20,23 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -36,8 +47,13 @@ import javax.imageio.ImageIO;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.kitodo.api.imagemanagement.DerivativeDefinition;
+import org.kitodo.api.imagemanagement.ImageFileFormat;
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
 import org.kitodo.config.xml.fileformats.FileFormat;
 import org.kitodo.data.database.beans.Folder;
+import org.kitodo.data.database.enums.ImageProcessor;
 import org.kitodo.production.enums.GenerationMode;
 import org.kitodo.production.enums.ImageGeneratorStep;
 import org.kitodo.production.helper.Helper;
@@ -56,6 +72,13 @@ import org.kitodo.production.thread.TaskScriptThread;
  */
 public class ImageGenerator implements Runnable {
     private static final Logger logger = LogManager.getLogger(ImageGenerator.class);
+
+    /**
+     * Limits the number of images generated at the same time by all image
+     * generators together.
+     */
+    private static final Semaphore generationPermits = new Semaphore(getMaxThreads());
+
     private final FileService fileService = ServiceManager.getFileService();
     private final ImageService imageService = ServiceManager.getImageService();
 
@@ -99,6 +122,13 @@ public class ImageGenerator implements Runnable {
      */
     private final GenerationMode mode;
 
+    /**
+     * Elements which have already been generated by concurrent generation.
+     * Concurrent generation finishes the elements out of order, so this is
+     * needed to continue after an interruption without generating them again.
+     */
+    private final Set<ContentToBeGenerated> generated = new HashSet<>();
+
     /**
      * Creates a new image generator.
      *
@@ -163,12 +193,132 @@ public class ImageGenerator implements Runnable {
      *            defined in the properties of the destination folder.
      */
     public void createDerivatives(ContentToBeGenerated instruction) {
+        generationPermits.acquireUninterruptibly();
         try {
+            // derivatives the image processor can write directly are created in one call, decoding the source only once
+            Map<ImageProcessor, List<DerivativeDefinition>> derivatives = new EnumMap<>(ImageProcessor.class);
             for (Subfolder destinationFolder : instruction.getSubfoldersWhoseContentsAreToBeGenerated()) {
-                generateDerivative(instruction.getSourceURI(), destinationFolder, instruction.getCanonical());
+                Optional<DerivativeDefinition> derivative = getDerivativeDefinition(destinationFolder,
+                    instruction.getCanonical());
+                if (derivative.isPresent()) {
+                    derivatives.computeIfAbsent(destinationFolder.getFolder().getImageProcessor(),
+                        imageProcessor -> new ArrayList<>()).add(derivative.get());
+                } else {
+                    generateDerivative(instruction.getSourceURI(), destinationFolder, instruction.getCanonical());
+                }
+            }
+            for (Entry<ImageProcessor, List<DerivativeDefinition>> entry : derivatives.entrySet()) {
+                imageService.createDerivatives(instruction.getSourceURI(), entry.getValue(), entry.getKey());
             }
         } catch (IOException e) {
             throw new UndeclaredThrowableException(e);
+        } finally {
+            generationPermits.release();
+        }
+    }
+
+    /**
+     * Generates the remaining elements to be generated with several threads.
+     * The progress is reported after each finished element. If the supervisor
+     * is interrupted, the elements being generated are finished, the others
+     * are left for when the task is continued.
+     *
+     * @param threads
+     *            number of threads to use
+     * @return whether all elements have been generated
+     */
+    private boolean generateConcurrently(int threads) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CompletionService<ContentToBeGenerated> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<ContentToBeGenerated>> futures = new ArrayList<>();
+        for (ContentToBeGenerated instruction : contentToBeGenerated.subList(position, contentToBeGenerated.size())) {
+            if (!generated.contains(instruction)) {
+                futures.add(completionService.submit(() -> {
+                    logger.info("Generating ".concat(instruction.toString()));
+                    createDerivativesOrRemoveThem(instruction);
+                    return instruction;
+                }));
+            }
+        }
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                ContentToBeGenerated instruction = completionService.take().get();
+                generated.add(instruction);
+                while (position < contentToBeGenerated.size() && generated.contains(contentToBeGenerated.get(position))) {
+                    position++;
+                }
+                letTheSupervisorDo(emptyTask -> emptyTask.setWorkDetail(
+                    Helper.getTranslation("generateImages", instruction.getCanonical())));
+                setProgress(position + (int) contentToBeGenerated.subList(position, contentToBeGenerated.size())
+                        .stream().filter(generated::contains).count());
+                if (Objects.nonNull(supervisor) && supervisor.isInterrupted()) {
+                    return false;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new UndeclaredThrowableException(e.getCause());
+        } finally {
+            // conversions already running are not interrupted, as this would leave incomplete files behind
+            for (Future<ContentToBeGenerated> future : futures) {
+                future.cancel(false);
+            }
+            executor.shutdown();
+            awaitTermination(executor);
+        }
+        letTheSupervisorDo(emptyTask -> emptyTask.setProgress(100));
+        return true;
+    }
+
+    /**
+     * Generates a set of derivatives. If the generation fails, the files
+     * written so far are deleted, so that they are not taken as present when
+     * only missing images are generated.
+     *
+     * @param instruction
+     *            instruction, which pictures are to be generated
+     */
+    private void createDerivativesOrRemoveThem(ContentToBeGenerated instruction) {
+        try {
+            createDerivatives(instruction);
+        } catch (RuntimeException | Error e) {
+            for (Subfolder destinationFolder : instruction.getSubfoldersWhoseContentsAreToBeGenerated()) {
+                URI destinationImage = destinationFolder.getUri(instruction.getCanonical());
+                try {
+                    fileService.delete(destinationImage);
+                } catch (IOException | RuntimeException deleteException) {
+                    logger.warn("Cannot remove incomplete derivative {}: {}", destinationImage,
+                        deleteException.getMessage());
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Waits until all conversions of the executor have finished. An interrupt
+     * does not stop waiting, because the conversions write their files until
+     * they are done, but it is passed on afterwards.
+     *
+     * @param executor
+     *            executor which has been shut down
+     */
+    private static void awaitTermination(ExecutorService executor) {
+        boolean interrupted = false;
+        while (!executor.isTerminated()) {
+            try {
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -235,6 +385,39 @@ public class ImageGenerator implements Runnable {
         this.sources = sourcesStream.collect(Collectors.toList());
     }
 
+    /**
+     * Returns the definition of the derivative for a destination folder, if
+     * the image processor can write it directly in the file format of the
+     * folder.
+     *
+     * @param destinationFolder
+     *            folder whose settings define the derivative
+     * @param canonical
+     *            the canonical part of the file name
+     * @return the definition of the derivative, or empty if the derivative
+     *         must be written by Java
+     */
+    private static Optional<DerivativeDefinition> getDerivativeDefinition(Subfolder destinationFolder,
+            String canonical) {
+        Optional<ImageFileFormat> imageFileFormat = destinationFolder.getFileFormat().getImageFileFormat();
+        if (imageFileFormat.isEmpty()) {
+            return Optional.empty();
+        }
+        Folder imageProperties = destinationFolder.getFolder();
+        URI destinationImage = destinationFolder.getUri(canonical);
+        if (imageProperties.getDerivative().isPresent()) {
+            return Optional.of(DerivativeDefinition.scaled(destinationImage, imageFileFormat.get(),
+                imageProperties.getDerivative().get()));
+        } else if (imageProperties.getDpi().isPresent()) {
+            return Optional.of(DerivativeDefinition.withDpi(destinationImage, imageFileFormat.get(),
+                imageProperties.getDpi().get()));
+        } else if (imageProperties.getImageSize().isPresent()) {
+            return Optional.of(DerivativeDefinition.withWidth(destinationImage, imageFileFormat.get(),
+                imageProperties.getImageSize().get()));
+        }
+        return Optional.empty();
+    }
+
     /**
      * Generates the derivative depending on the declared generator function.
      *
@@ -257,7 +440,8 @@ public class ImageGenerator implements Runnable {
         Optional<Double> optionalDerivative = imageProperties.getDerivative();
         if (optionalDerivative.isPresent() && destinationImage.getFileFormat().getImageFileFormat().isPresent()) {
             imageService.createDerivative(sourceImage, optionalDerivative.get(), destinationImage.getUri(canonical),
-                destinationImage.getFileFormat().getImageFileFormat().orElseThrow(IllegalStateException::new));
+                destinationImage.getFileFormat().getImageFileFormat().orElseThrow(IllegalStateException::new),
+                imageProperties.getImageProcessor());
         } else if (isChangingDpi || isGettingSizedWebImage) {
             createImageWithImageIO(sourceImage, imageProperties, destinationImage.getFileFormat(),
                 destinationImage.getUri(canonical));
@@ -341,9 +525,10 @@ public class ImageGenerator implements Runnable {
         Optional<Integer> optionalDpi = imageProperties.getDpi();
         Optional<Integer> optionalImageSize = imageProperties.getImageSize();
         if (optionalDpi.isPresent()) {
-            return imageService.changeDpi(sourceImage, optionalDpi.get());
+            return imageService.changeDpi(sourceImage, optionalDpi.get(), imageProperties.getImageProcessor());
         } else if (optionalImageSize.isPresent()) {
-            return imageService.getSizedWebImage(sourceImage, optionalImageSize.get());
+            return imageService.getSizedWebImage(sourceImage, optionalImageSize.get(),
+                imageProperties.getImageProcessor());
         }
         throw new IllegalArgumentException(imageProperties + " does not give any method to create a java image");
     }
@@ -357,7 +542,14 @@ public class ImageGenerator implements Runnable {
      */
     @Override
     public void run() {
+        int threads = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.IMAGE_GENERATOR_THREADS);
         do {
+            if (state.equals(ImageGeneratorStep.GENERATE_IMAGES) && threads > 1) {
+                if (!generateConcurrently(threads)) {
+                    return;
+                }
+                break;
+            }
             state.accept(this);
             if (state.equals(ImageGeneratorStep.DETERMINE_WHICH_IMAGES_NEED_TO_BE_GENERATED) && position == -1
                     && sources.isEmpty()) {
@@ -377,6 +569,11 @@ public class ImageGenerator implements Runnable {
         logger.info("Completed");
     }
 
+    private static int getMaxThreads() {
+        int maxThreads = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.IMAGE_GENERATOR_MAX_THREADS);
+        return maxThreads > 0 ? maxThreads : Runtime.getRuntime().availableProcessors();
+    }
+
     /**
      * Sets the current position in the list.
      *
@@ -391,12 +588,21 @@ public class ImageGenerator implements Runnable {
      * Calculates and reports the progress of the task.
      */
     private void setProgress() {
+        setProgress(getMode().equals(GenerationMode.ALL)
+                && state.equals(ImageGeneratorStep.DETERMINE_WHICH_IMAGES_NEED_TO_BE_GENERATED) ? 0 : getPosition());
+    }
+
+    /**
+     * Calculates and reports the progress of the task.
+     *
+     * @param generated
+     *            number of elements generated so far
+     */
+    private void setProgress(int generated) {
         if (Objects.nonNull(supervisor)) {
             int checked = state.equals(ImageGeneratorStep.GENERATE_IMAGES)
                     ? getMode().equals(GenerationMode.ALL) ? 1 : sources.size()
                     : 0;
-            int generated = getMode().equals(GenerationMode.ALL)
-                    && state.equals(ImageGeneratorStep.DETERMINE_WHICH_IMAGES_NEED_TO_BE_GENERATED) ? 0 : getPosition();
             int total = sources.size() + (getMode().equals(GenerationMode.ALL) ? 1 : getContentToBeGenerated().size())
                     + 1;
             supervisor.setProgress(100d * (1 + checked + generated) / total);
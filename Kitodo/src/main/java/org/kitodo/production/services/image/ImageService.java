@@ -14,19 +14,24 @@ package org.kitodo.production.services.image;
 import java.awt.Image;
 import java.io.IOException;
 import java.net.URI;
+import java.util.Collection;
 import java.util.Objects;
 
+import org.kitodo.api.imagemanagement.DerivativeDefinition;
 import org.kitodo.api.imagemanagement.ImageFileFormat;
 import org.kitodo.api.imagemanagement.ImageManagementInterface;
+import org.kitodo.data.database.enums.ImageProcessor;
 import org.kitodo.serviceloader.KitodoServiceLoader;
 
 /**
  * This class does nothing more than call the methods on the image management
- * interface.
+ * interface. Depending on the image processor of the folder, the image
+ * management module or the in-process Java implementation is called.
  */
 public class ImageService {
 
     private final ImageManagementInterface imageManagement;
+    private final ImageManagementInterface javaImageManagement = new JavaImageManagement();
     private static volatile ImageService instance = null;
 
     private ImageService() {
@@ -41,13 +46,15 @@ public class ImageService {
      *            the URI of the image
      * @param dpi
      *            the new DPI
+     * @param imageProcessor
+     *            implementation to use
      * @return the image with the new DPI
      * @throws IOException
      *             if the plug-in is configured incorrectly, the image is
      *             missing or corrupted, etc.
      */
-    Image changeDpi(URI imageFileUri, int dpi) throws IOException {
-        return imageManagement.changeDpi(imageFileUri, dpi);
+    Image changeDpi(URI imageFileUri, int dpi, ImageProcessor imageProcessor) throws IOException {
+        return getImageManagement(imageProcessor).changeDpi(imageFileUri, dpi);
     }
 
     /**
@@ -61,14 +68,36 @@ public class ImageService {
      *            the URI to save the derivative to
      * @param resultFileFormat
      *            the format for the derivative
+     * @param imageProcessor
+     *            implementation to use
      * @return true, if creation was successful, false otherwise
      * @throws IOException
      *             if the plug-in is configured incorrectly, the image is
      *             missing or corrupted, etc.
      */
-    boolean createDerivative(URI imageFileUri, double percent, URI resultFileUri, ImageFileFormat resultFileFormat)
-            throws IOException {
-        return imageManagement.createDerivative(imageFileUri, percent, resultFileUri, resultFileFormat);
+    boolean createDerivative(URI imageFileUri, double percent, URI resultFileUri, ImageFileFormat resultFileFormat,
+            ImageProcessor imageProcessor) throws IOException {
+        return getImageManagement(imageProcessor).createDerivative(imageFileUri, percent, resultFileUri, resultFileFormat);
+    }
+
+    /**
+     * Creates several derivatives for an image at a given path, reading and
+     * decoding the image only once.
+     *
+     * @param imageFileUri
+     *            the URI to the image
+     * @param derivatives
+     *            the derivatives to create
+     * @param imageProcessor
+     *            implementation to use
+     * @return true, if all derivatives were created, false otherwise
+     * @throws IOException
+     *             if the plug-in is configured incorrectly, the image is
+     *             missing or corrupted, etc.
+     */
+    boolean createDerivatives(URI imageFileUri, Collection<DerivativeDefinition> derivatives,
+            ImageProcessor imageProcessor) throws IOException {
+        return getImageManagement(imageProcessor).createDerivatives(imageFileUri, derivatives);
     }
 
     /**
@@ -78,13 +107,19 @@ public class ImageService {
      *            the URI of the image to size
      * @param pixelWidth
      *            the new width in pixels
+     * @param imageProcessor
+     *            implementation to use
      * @return the new sized image
      * @throws IOException
      *             if the plug-in is configured incorrectly, the image is
      *             missing or corrupted, etc.
      */
-    Image getSizedWebImage(URI imageFileUri, int pixelWidth) throws IOException {
-        return imageManagement.getSizedWebImage(imageFileUri, pixelWidth);
+    Image getSizedWebImage(URI imageFileUri, int pixelWidth, ImageProcessor imageProcessor) throws IOException {
+        return getImageManagement(imageProcessor).getSizedWebImage(imageFileUri, pixelWidth);
+    }
+
+    private ImageManagementInterface getImageManagement(ImageProcessor imageProcessor) {
+        return ImageProcessor.JAVA.equals(imageProcessor) ? javaImageManagement : imageManagement;
     }
 
     /**
@@ -0,0 +1,365 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.image;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URI;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Objects;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOInvalidTreeException;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataFormatImpl;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.FileImageInputStream;
+import javax.imageio.stream.FileImageOutputStream;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.api.imagemanagement.DerivativeDefinition;
+import org.kitodo.api.imagemanagement.ImageFileFormat;
+import org.kitodo.api.imagemanagement.ImageManagementInterface;
+import org.kitodo.utils.Guard;
+import org.w3c.dom.NodeList;
+
+/**
+ * An ImageManagementInterface implementation using only the on-board tools of
+ * Java. The source image is decoded with source subsampling, so that large
+ * masters are never fully decoded when only a small image is needed, and is
+ * then scaled in memory. Derivatives are written directly to their
+ * destination, without temporary files and without starting an external
+ * process. Only the file formats for which Java has readers and writers can be
+ * processed.
+ */
+public class JavaImageManagement implements ImageManagementInterface {
+    private static final Logger logger = LogManager.getLogger(JavaImageManagement.class);
+
+    /**
+     * Resolution assumed for images which do not declare their resolution.
+     * This is the same value ImageMagick assumes.
+     */
+    private static final double DEFAULT_DPI = 72;
+
+    private static final double MILLIMETERS_PER_INCH = 25.4;
+
+    /**
+     * The image is decoded at least this many times larger than the largest
+     * derivative, so that the final scaling step has enough pixels for a
+     * smooth result.
+     */
+    private static final int OVERSAMPLING = 2;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.kitodo.api.imagemanagement.ImageManagementInterface#changeDpi(java.net.URI,
+     *      int)
+     */
+    @Override
+    public Image changeDpi(URI sourceUri, int dpi) throws IOException {
+        Guard.isPositive("dpi", dpi);
+        try (SourceImage sourceImage = new SourceImage(sourceUri)) {
+            int width = sourceImage.getWidthForDpi(dpi);
+            logger.info("Resizing {} to {} DPI", sourceUri, dpi);
+            return scale(sourceImage.decode(width), width, false);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.kitodo.api.imagemanagement.ImageManagementInterface#createDerivative(java.net.URI,
+     *      double, java.net.URI,
+     *      org.kitodo.api.imagemanagement.ImageFileFormat)
+     */
+    @Override
+    public boolean createDerivative(URI sourceUri, double factor, URI resultUri, ImageFileFormat format)
+            throws IOException {
+        Guard.isPositive("factor", factor);
+        if (resultUri == null) {
+            throw new NullPointerException("resultUri must not be null");
+        }
+        return createDerivatives(sourceUri,
+            Collections.singletonList(DerivativeDefinition.scaled(resultUri, format, factor)));
+    }
+
+    /**
+     * {@inheritDoc} The source image is decoded once, subsampled for the
+     * largest of the derivatives.
+     *
+     * @see org.kitodo.api.imagemanagement.ImageManagementInterface#createDerivatives(java.net.URI,
+     *      java.util.Collection)
+     */
+    @Override
+    public boolean createDerivatives(URI sourceUri, Collection<DerivativeDefinition> derivatives)
+            throws IOException {
+        if (derivatives.isEmpty()) {
+            return true;
+        }
+        try (SourceImage sourceImage = new SourceImage(sourceUri)) {
+            int largestWidth = 1;
+            for (DerivativeDefinition derivative : derivatives) {
+                largestWidth = Math.max(largestWidth, getWidth(sourceImage, derivative));
+            }
+            logger.info("Creating derivatives from {}: {}", sourceUri, derivatives);
+            BufferedImage decoded = sourceImage.decode(largestWidth);
+            for (DerivativeDefinition derivative : derivatives) {
+                ImageWriter imageWriter = getImageWriter(derivative.getResultFileFormat());
+                try {
+                    BufferedImage derivativeImage = scale(decoded, getWidth(sourceImage, derivative),
+                        supportsAlpha(derivative.getResultFileFormat()));
+                    write(derivativeImage, imageWriter, new File(derivative.getResultFileUri()),
+                        Objects.nonNull(derivative.getDpi()) ? derivative.getDpi() : sourceImage.getDpi());
+                } finally {
+                    imageWriter.dispose();
+                }
+            }
+        }
+        return derivatives.stream().allMatch(derivative -> new File(derivative.getResultFileUri()).exists());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.kitodo.api.imagemanagement.ImageManagementInterface#getSizedWebImage(java.net.URI,
+     *      int)
+     */
+    @Override
+    public Image getSizedWebImage(URI sourceUri, int width) throws IOException {
+        Guard.isPositive("width", width);
+        try (SourceImage sourceImage = new SourceImage(sourceUri)) {
+            logger.info("Generating sized web image from {}, width {} px", sourceUri, width);
+            return scale(sourceImage.decode(width), width, false);
+        }
+    }
+
+    private static int getWidth(SourceImage sourceImage, DerivativeDefinition derivative) throws IOException {
+        if (Objects.nonNull(derivative.getPercent())) {
+            return Math.max(1, (int) Math.round(sourceImage.getWidth() * derivative.getPercent()));
+        } else if (Objects.nonNull(derivative.getDpi())) {
+            return sourceImage.getWidthForDpi(derivative.getDpi());
+        } else {
+            return derivative.getPixelWidth();
+        }
+    }
+
+    /**
+     * Returns whether Java can write images of the given MIME type. Folders
+     * with other file types cannot be generated with this implementation.
+     *
+     * @param mimeType
+     *            MIME type of the images
+     * @return whether Java has a writer for the MIME type
+     */
+    public static boolean canWrite(String mimeType) {
+        return Objects.nonNull(mimeType) && ImageIO.getImageWritersByMIMEType(mimeType).hasNext();
+    }
+
+    private static ImageWriter getImageWriter(ImageFileFormat format) throws IOException {
+        Iterator<ImageWriter> imageWriters = ImageIO.getImageWritersByFormatName(getFormatName(format));
+        if (!imageWriters.hasNext()) {
+            throw new IOException("Java cannot write images in the file format " + format);
+        }
+        return imageWriters.next();
+    }
+
+    private static String getFormatName(ImageFileFormat format) {
+        switch (format) {
+            case JPEG2000:
+                return "jpeg2000";
+            default:
+                return format.name().toLowerCase();
+        }
+    }
+
+    private static boolean supportsAlpha(ImageFileFormat format) {
+        return format == ImageFileFormat.GIF || format == ImageFileFormat.PNG || format == ImageFileFormat.TIFF;
+    }
+
+    /**
+     * Scales an image to the given width, keeping its aspect ratio. The image
+     * is converted to a pixel layout which all writers can handle.
+     *
+     * @param image
+     *            image to scale
+     * @param width
+     *            width of the result in pixels
+     * @param keepAlpha
+     *            whether the transparency of the image is kept
+     * @return the scaled image
+     */
+    private static BufferedImage scale(BufferedImage image, int width, boolean keepAlpha) {
+        int height = Math.max(1, (int) Math.round((double) image.getHeight() * width / image.getWidth()));
+        boolean alpha = keepAlpha && image.getColorModel().hasAlpha();
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB
+                : image.getColorModel().getColorSpace().getType() == ColorSpace.TYPE_GRAY
+                        ? BufferedImage.TYPE_BYTE_GRAY
+                        : BufferedImage.TYPE_INT_RGB;
+        if (image.getWidth() == width && image.getType() == type) {
+            return image;
+        }
+        BufferedImage scaled = new BufferedImage(width, height, type);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * Writes an image directly into its destination file. An existing file is
+     * truncated first, so that no bytes of a larger previous image remain. If
+     * the writer supports it, the resolution is stored in the file.
+     */
+    private static void write(BufferedImage image, ImageWriter imageWriter, File destination, double dpi)
+            throws IOException {
+        IIOMetadata metadata = imageWriter.getDefaultImageMetadata(
+            ImageTypeSpecifier.createFromRenderedImage(image), imageWriter.getDefaultWriteParam());
+        setDpi(metadata, dpi);
+        try (RandomAccessFile file = new RandomAccessFile(destination, "rw");
+                ImageOutputStream output = new FileImageOutputStream(file)) {
+            file.setLength(0);
+            imageWriter.setOutput(output);
+            imageWriter.write(null, new IIOImage(image, null, metadata), imageWriter.getDefaultWriteParam());
+        }
+    }
+
+    private static void setDpi(IIOMetadata metadata, double dpi) {
+        if (Objects.isNull(metadata) || metadata.isReadOnly() || !metadata.isStandardMetadataFormatSupported()) {
+            return;
+        }
+        String pixelSize = Double.toString(MILLIMETERS_PER_INCH / dpi);
+        IIOMetadataNode horizontalPixelSize = new IIOMetadataNode("HorizontalPixelSize");
+        horizontalPixelSize.setAttribute("value", pixelSize);
+        IIOMetadataNode verticalPixelSize = new IIOMetadataNode("VerticalPixelSize");
+        verticalPixelSize.setAttribute("value", pixelSize);
+        IIOMetadataNode dimension = new IIOMetadataNode("Dimension");
+        dimension.appendChild(horizontalPixelSize);
+        dimension.appendChild(verticalPixelSize);
+        IIOMetadataNode root = new IIOMetadataNode(IIOMetadataFormatImpl.standardMetadataFormatName);
+        root.appendChild(dimension);
+        try {
+            metadata.mergeTree(IIOMetadataFormatImpl.standardMetadataFormatName, root);
+        } catch (IIOInvalidTreeException e) {
+            logger.debug("Cannot store the resolution in the image: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * An opened source image. Only the header is read when the image is
+     * opened, so the size and resolution are known before the image data is
+     * decoded.
+     */
+    private static class SourceImage implements AutoCloseable {
+        private final URI uri;
+        private final ImageInputStream input;
+        private final ImageReader imageReader;
+        private Double dpi;
+
+        SourceImage(URI uri) throws IOException {
+            File file = new File(uri);
+            if (!file.exists()) {
+                throw new FileNotFoundException("sourceUri must exist: " + uri.getRawPath());
+            }
+            this.uri = uri;
+            this.input = new FileImageInputStream(file);
+            Iterator<ImageReader> imageReaders = ImageIO.getImageReaders(input);
+            if (!imageReaders.hasNext()) {
+                input.close();
+                throw new IOException("Java cannot read the file format of " + uri);
+            }
+            this.imageReader = imageReaders.next();
+            imageReader.setInput(input, true, false);
+        }
+
+        int getWidth() throws IOException {
+            return imageReader.getWidth(0);
+        }
+
+        /**
+         * Returns the resolution of the image. If the image does not declare
+         * it, {@link #DEFAULT_DPI} is assumed.
+         */
+        double getDpi() throws IOException {
+            if (Objects.isNull(dpi)) {
+                dpi = DEFAULT_DPI;
+                IIOMetadata metadata = imageReader.getImageMetadata(0);
+                if (Objects.nonNull(metadata) && metadata.isStandardMetadataFormatSupported()) {
+                    NodeList pixelSizes = ((IIOMetadataNode) metadata
+                            .getAsTree(IIOMetadataFormatImpl.standardMetadataFormatName))
+                            .getElementsByTagName("HorizontalPixelSize");
+                    if (pixelSizes.getLength() > 0) {
+                        try {
+                            double millimetersPerPixel = Double.parseDouble(
+                                ((IIOMetadataNode) pixelSizes.item(0)).getAttribute("value"));
+                            if (millimetersPerPixel > 0) {
+                                dpi = MILLIMETERS_PER_INCH / millimetersPerPixel;
+                            }
+                        } catch (NumberFormatException e) {
+                            logger.debug("Ignoring invalid resolution of {}: {}", uri, e.getMessage());
+                        }
+                    }
+                }
+            }
+            return dpi;
+        }
+
+        int getWidthForDpi(int newDpi) throws IOException {
+            return Math.max(1, (int) Math.round(getWidth() * newDpi / getDpi()));
+        }
+
+        /**
+         * Decodes the image. If the image is much larger than needed, only
+         * every n-th pixel of every n-th line is decoded, which saves most of
+         * the decoding time and memory.
+         *
+         * @param width
+         *            the largest width in which the image is needed
+         * @return the decoded image
+         */
+        BufferedImage decode(int width) throws IOException {
+            int subsampling = Math.max(1, getWidth() / (width * OVERSAMPLING));
+            ImageReadParam imageReadParam = imageReader.getDefaultReadParam();
+            imageReadParam.setSourceSubsampling(subsampling, subsampling, 0, 0);
+            logger.trace("Decoding {} with subsampling {}", uri, subsampling);
+            return imageReader.read(0, imageReadParam);
+        }
+
+        @Override
+        public void close() throws IOException {
+            imageReader.dispose();
+            input.close();
+        }
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.image;
+
+import java.awt.Image;
+import java.awt.image.RenderedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.api.imagemanagement.ImageManagementInterface;
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
+
+/**
+ * Scales preview images down to thumbnails on demand and keeps the thumbnails
+ * in a cache directory. The thumbnails are bucketed by the configured widths
+ * and identified by path, modification time and size of their source image,
+ * so a changed image gets a new thumbnail. The cache is limited in size, the
+ * thumbnails used least recently are deleted first. If several requests want
+ * the same thumbnail at the same time, it is generated only once.
+ */
+public class ThumbnailService {
+
+    private static final Logger logger = LogManager.getLogger(ThumbnailService.class);
+
+    private static final String SUFFIX = ".jpg";
+
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private static volatile ThumbnailService instance = null;
+
+    private final ImageManagementInterface imageManagement = new JavaImageManagement();
+
+    private final Path cacheDirectory;
+
+    private final long maximumSize;
+
+    private final int[] widths;
+
+    /**
+     * Sizes of the cached thumbnails, in order of their last use.
+     */
+    private final LinkedHashMap<String, Long> cachedThumbnails = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long size;
+
+    /**
+     * Thumbnails being generated.
+     */
+    private final Map<String, CompletableFuture<File>> generating = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a thumbnail service.
+     *
+     * @param cacheDirectory
+     *            directory to keep the thumbnails in
+     * @param maximumSize
+     *            maximum size of the cache in bytes, 0 switches the thumbnails
+     *            off
+     * @param widths
+     *            widths of the thumbnails in pixels
+     */
+    ThumbnailService(Path cacheDirectory, long maximumSize, int... widths) {
+        this.cacheDirectory = cacheDirectory;
+        this.maximumSize = maximumSize;
+        this.widths = Arrays.stream(widths).filter(width -> width > 0).sorted().distinct().toArray();
+        if (isEnabled()) {
+            loadCachedThumbnails();
+        }
+    }
+
+    /**
+     * Returns the thumbnail service.
+     *
+     * @return the thumbnail service
+     */
+    public static ThumbnailService getInstance() {
+        ThumbnailService localReference = instance;
+        if (Objects.isNull(localReference)) {
+            synchronized (ThumbnailService.class) {
+                localReference = instance;
+                if (Objects.isNull(localReference)) {
+                    String directory = ConfigCore.getParameterOrDefaultValue(ParameterCore.THUMBNAIL_CACHE_DIRECTORY);
+                    Path cacheDirectory = directory.isEmpty()
+                            ? Paths.get(ConfigCore.getParameterOrDefaultValue(ParameterCore.DIR_TEMP), "thumbnails")
+                            : Paths.get(directory);
+                    String[] configuredWidths = ConfigCore.getStringArrayParameter(ParameterCore.THUMBNAIL_WIDTHS);
+                    String widths = configuredWidths.length > 0 ? String.join(",", configuredWidths)
+                            : ConfigCore.getParameterOrDefaultValue(ParameterCore.THUMBNAIL_WIDTHS);
+                    localReference = new ThumbnailService(cacheDirectory,
+                            ConfigCore.getIntParameterOrDefaultValue(ParameterCore.THUMBNAIL_CACHE_SIZE) * 1024L * 1024L,
+                            Arrays.stream(widths.split(",")).map(String::trim).filter(width -> !width.isEmpty())
+                                    .mapToInt(Integer::parseInt).toArray());
+                    instance = localReference;
+                }
+            }
+        }
+        return localReference;
+    }
+
+    /**
+     * Returns whether thumbnails are generated.
+     *
+     * @return whether thumbnails are generated
+     */
+    public boolean isEnabled() {
+        return maximumSize > 0 && widths.length > 0;
+    }
+
+    /**
+     * Returns the width of the thumbnails for a requested width. This is the
+     * next configured width, or the largest one.
+     *
+     * @param requestedWidth
+     *            requested width in pixels
+     * @return width of the thumbnails
+     */
+    public int getWidth(int requestedWidth) {
+        for (int width : widths) {
+            if (width >= requestedWidth) {
+                return width;
+            }
+        }
+        return widths[widths.length - 1];
+    }
+
+    /**
+     * Returns a thumbnail of an image. If the image is not wider than the
+     * thumbnail, or if it cannot be read, the image itself is returned.
+     * Otherwise, the thumbnail is returned from the cache, or generated if it
+     * is not there yet.
+     *
+     * @param image
+     *            image file
+     * @param requestedWidth
+     *            requested width in pixels
+     * @return the thumbnail, a JPEG file, or the image itself
+     * @throws IOException
+     *             if the thumbnail cannot be generated
+     */
+    public File getThumbnail(File image, int requestedWidth) throws IOException {
+        if (!isEnabled()) {
+            return image;
+        }
+        int width = getWidth(requestedWidth);
+        int imageWidth = readWidth(image);
+        if (imageWidth <= width) {
+            return image;
+        }
+        String key = getKey(image, width);
+        File thumbnail = cacheDirectory.resolve(key + SUFFIX).toFile();
+        synchronized (cachedThumbnails) {
+            if (Objects.nonNull(cachedThumbnails.get(key)) && thumbnail.exists()) {
+                return thumbnail;
+            }
+        }
+        CompletableFuture<File> generation = new CompletableFuture<>();
+        CompletableFuture<File> running = generating.putIfAbsent(key, generation);
+        if (Objects.nonNull(running)) {
+            return await(running);
+        }
+        try {
+            generate(image, width, key, thumbnail);
+            generation.complete(thumbnail);
+            return thumbnail;
+        } catch (IOException | RuntimeException e) {
+            generation.completeExceptionally(e);
+            throw e;
+        } finally {
+            generating.remove(key, generation);
+        }
+    }
+
+    private void generate(File image, int width, String key, File thumbnail) throws IOException {
+        Files.createDirectories(cacheDirectory);
+        Image scaled = imageManagement.getSizedWebImage(image.toURI(), width);
+        Path temporaryFile = Files.createTempFile(cacheDirectory, key, TEMPORARY_SUFFIX);
+        try {
+            if (!ImageIO.write((RenderedImage) scaled, "jpg", temporaryFile.toFile())) {
+                throw new IOException("Java cannot write JPEG images");
+            }
+            Files.move(temporaryFile, thumbnail.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+        add(key, thumbnail.length());
+    }
+
+    private static File await(CompletableFuture<File> generation) throws IOException {
+        try {
+            return generation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Adds a thumbnail to the cache, and deletes the thumbnails used least
+     * recently while the cache is too large.
+     */
+    private void add(String key, long length) {
+        synchronized (cachedThumbnails) {
+            Long previous = cachedThumbnails.put(key, length);
+            size += length - (Objects.nonNull(previous) ? previous : 0);
+            Iterator<Map.Entry<String, Long>> iterator = cachedThumbnails.entrySet().iterator();
+            while (size > maximumSize && iterator.hasNext()) {
+                Map.Entry<String, Long> eldest = iterator.next();
+                if (eldest.getKey().equals(key)) {
+                    continue;
+                }
+                try {
+                    Files.deleteIfExists(cacheDirectory.resolve(eldest.getKey() + SUFFIX));
+                } catch (IOException e) {
+                    logger.warn("Cannot delete thumbnail {}: {}", eldest.getKey(), e.getMessage());
+                }
+                size -= eldest.getValue();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Registers the thumbnails found in the cache directory when the
+     * application starts, oldest first, and removes leftovers of interrupted
+     * generations.
+     */
+    private void loadCachedThumbnails() {
+        if (!Files.isDirectory(cacheDirectory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            List<File> thumbnails = files.map(Path::toFile).sorted(Comparator.comparingLong(File::lastModified))
+                    .collect(Collectors.toList());
+            for (File file : thumbnails) {
+                String name = file.getName();
+                if (name.endsWith(TEMPORARY_SUFFIX)) {
+                    Files.deleteIfExists(file.toPath());
+                } else if (name.endsWith(SUFFIX)) {
+                    add(name.substring(0, name.length() - SUFFIX.length()), file.length());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot read thumbnail cache {}: {}", cacheDirectory, e.getMessage());
+        }
+    }
+
+    private static String getKey(File image, int width) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            String source = image.getAbsolutePath() + '\n' + image.lastModified() + '\n' + image.length();
+            return Hex.encodeHexString(messageDigest.digest(source.getBytes(StandardCharsets.UTF_8))) + '-' + width;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads the width of an image from its header.
+     *
+     * @return the width, or 0 if the image cannot be read
+     */
+    private static int readWidth(File image) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(image)) {
+            if (Objects.isNull(input)) {
+                return 0;
+            }
+            Iterator<ImageReader> imageReaders = ImageIO.getImageReaders(input);
+            if (!imageReaders.hasNext()) {
+                return 0;
+            }
+            ImageReader imageReader = imageReaders.next();
+            try {
+                imageReader.setInput(input, true, true);
+                return imageReader.getWidth(0);
+            } finally {
+                imageReader.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.index;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.production.enums.ObjectType;
+
+/**
+ * The ids up to which objects of a type have been indexed completely by a
+ * failed or canceled indexing run. The next indexing run of that type
+ * continues after this id. The checkpoints are kept in a properties file, so
+ * that indexing can also be continued after the application was restarted.
+ */
+class IndexingCheckpoints {
+    private static final Logger logger = LogManager.getLogger(IndexingCheckpoints.class);
+
+    private final Path file;
+    private final Map<ObjectType, Integer> checkpoints = new EnumMap<>(ObjectType.class);
+
+    /**
+     * Creates the checkpoints and reads those of earlier runs from the file.
+     *
+     * @param file
+     *            file to keep the checkpoints in
+     */
+    IndexingCheckpoints(Path file) {
+        this.file = file;
+        load();
+    }
+
+    /**
+     * Returns the id up to which objects of a type have been indexed.
+     *
+     * @param type
+     *            object type
+     * @return the id, or 0 if indexing must start from the beginning
+     */
+    synchronized int get(ObjectType type) {
+        return checkpoints.getOrDefault(type, 0);
+    }
+
+    /**
+     * Remembers the id up to which objects of a type have been indexed.
+     *
+     * @param type
+     *            object type
+     * @param id
+     *            id up to which all objects have been indexed
+     */
+    synchronized void put(ObjectType type, int id) {
+        checkpoints.put(type, id);
+        save();
+    }
+
+    /**
+     * Forgets the checkpoint of a type after it has been indexed completely.
+     *
+     * @param type
+     *            object type
+     */
+    synchronized void remove(ObjectType type) {
+        if (Objects.nonNull(checkpoints.remove(type))) {
+            save();
+        }
+    }
+
+    /**
+     * Forgets all checkpoints, for example because the index was deleted.
+     */
+    synchronized void clear() {
+        checkpoints.clear();
+        save();
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            properties.load(inputStream);
+        } catch (IOException e) {
+            logger.warn("Cannot read indexing checkpoints from {}: {}", file, e.getMessage());
+            return;
+        }
+        for (String name : properties.stringPropertyNames()) {
+            try {
+                checkpoints.put(ObjectType.valueOf(name), Integer.parseInt(properties.getProperty(name)));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring invalid indexing checkpoint {} in {}", name, file);
+            }
+        }
+    }
+
+    private void save() {
+        try {
+            if (checkpoints.isEmpty()) {
+                Files.deleteIfExists(file);
+                return;
+            }
+            Properties properties = new Properties();
+            for (Map.Entry<ObjectType, Integer> checkpoint : checkpoints.entrySet()) {
+                properties.setProperty(checkpoint.getKey().name(), checkpoint.getValue().toString());
+            }
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temporaryFile = Files.createTempFile(file.toAbsolutePath().getParent(),
+                file.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+                    properties.store(outputStream, "Ids up to which indexing can be continued");
+                }
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot write indexing checkpoints to {}: {}", file, e.getMessage());
+        }
+    }
+}
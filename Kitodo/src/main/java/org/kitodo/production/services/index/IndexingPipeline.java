@@ -0,0 +1,389 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
+import org.kitodo.production.enums.ObjectType;
+import org.kitodo.production.helper.IndexWorkerStatus;
+import org.kitodo.production.services.data.base.SearchService;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.index.IndexRequest;
+
+/**
+ * Indexes all objects of a type in a pipeline of stages which work at the same
+ * time: one thread reads batches of objects from the database, a pool of
+ * threads adds the data from the file system to them, another pool creates
+ * and serializes their documents, and one thread sends the documents to the
+ * index in bulk requests. The stages are connected by bounded queues, so a
+ * fast stage waits for a slow one instead of filling up the memory.
+ *
+ * <p>A bulk request is sent as soon as it contains {@code elasticsearch.batch}
+ * documents or its size reaches {@code elasticsearch.bulkSize} bytes. A batch
+ * is marked as completed in the {@link IndexWorkerStatus} after all of its
+ * documents have been sent.</p>
+ */
+class IndexingPipeline {
+
+    private static final Logger logger = LogManager.getLogger(IndexingPipeline.class);
+
+    /**
+     * Marks the end of the batches in a queue.
+     */
+    private static final Batch END = new Batch(-1, Collections.emptyList());
+
+    private final SearchService searchService;
+    private final ObjectType objectType;
+    private final IndexWorkerStatus indexWorkerStatus;
+    private final boolean indexAllObjects;
+
+    private final int threads;
+    private final int batchSize;
+    private final long bulkSize;
+    private final int maxAttempts;
+    private final int timeBetweenAttempts;
+
+    private final BlockingQueue<Batch> fetchedBatches;
+    private final BlockingQueue<Batch> enrichedBatches;
+    private final BlockingQueue<Batch> serializedBatches;
+    private final AtomicInteger runningEnrichers;
+    private final AtomicInteger runningSerializers;
+
+    private final IndexingStageStatistics readerStatistics;
+    private final IndexingStageStatistics enricherStatistics;
+    private final IndexingStageStatistics serializerStatistics;
+    private final IndexingStageStatistics senderStatistics;
+
+    /**
+     * A batch of objects passed from stage to stage.
+     */
+    private static class Batch {
+        private final int number;
+        private final List<Object> objects;
+        private final List<IndexRequest> indexRequests = new ArrayList<>();
+
+        private Batch(int number, List<Object> objects) {
+            this.number = number;
+            this.objects = objects;
+        }
+    }
+
+    /**
+     * Creates a pipeline for indexing objects of a type.
+     *
+     * @param searchService
+     *            service of the objects to index
+     * @param objectType
+     *            type of the objects to index
+     * @param indexWorkerStatus
+     *            status which hands out the batches to index
+     * @param indexAllObjects
+     *            whether all or only remaining objects are indexed
+     */
+    IndexingPipeline(SearchService searchService, ObjectType objectType, IndexWorkerStatus indexWorkerStatus,
+            boolean indexAllObjects) {
+        this.searchService = searchService;
+        this.objectType = objectType;
+        this.indexWorkerStatus = indexWorkerStatus;
+        this.indexAllObjects = indexAllObjects;
+        this.threads = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_THREADS);
+        this.batchSize = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_BATCH);
+        this.bulkSize = ConfigCore.getLongParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_BULK_SIZE);
+        this.maxAttempts = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_ATTEMPTS);
+        this.timeBetweenAttempts = ConfigCore
+                .getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_TIME_BETWEEN_ATTEMPTS);
+        this.fetchedBatches = new ArrayBlockingQueue<>(threads);
+        this.enrichedBatches = new ArrayBlockingQueue<>(threads);
+        this.serializedBatches = new ArrayBlockingQueue<>(threads);
+        this.runningEnrichers = new AtomicInteger(threads);
+        this.runningSerializers = new AtomicInteger(threads);
+        this.readerStatistics = new IndexingStageStatistics("indexingStage.database", 1);
+        this.enricherStatistics = new IndexingStageStatistics("indexingStage.files", threads);
+        this.serializerStatistics = new IndexingStageStatistics("indexingStage.documents", threads);
+        this.senderStatistics = new IndexingStageStatistics("indexingStage.index", 1);
+    }
+
+    /**
+     * Returns the number of threads the pipeline needs.
+     *
+     * @return the number of threads
+     */
+    int getNumberOfThreads() {
+        return 2 * threads + 2;
+    }
+
+    /**
+     * Returns the statistics of the stages of the pipeline.
+     *
+     * @return the statistics in the order of the stages
+     */
+    List<IndexingStageStatistics> getStatistics() {
+        return Arrays.asList(readerStatistics, enricherStatistics, serializerStatistics, senderStatistics);
+    }
+
+    /**
+     * Starts the threads of all stages.
+     *
+     * @param executor
+     *            executor providing at least {@link #getNumberOfThreads()}
+     *            threads
+     * @return the futures of the started threads
+     */
+    List<Future<?>> start(ExecutorService executor) {
+        List<Future<?>> futures = new ArrayList<>();
+        futures.add(executor.submit(this::read));
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(this::enrich));
+            futures.add(executor.submit(this::serialize));
+        }
+        futures.add(executor.submit(this::send));
+        return futures;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void read() {
+        int maxBatch = indexWorkerStatus.getMaxBatch();
+        try {
+            int nextBatch = indexWorkerStatus.getAndIncrementNextBatch();
+            while (!isStopped() && nextBatch < maxBatch) {
+                int batch = nextBatch;
+                long start = System.nanoTime();
+                List<Object> objects = withAttempts(() -> load(batch));
+                if (Objects.isNull(objects)) {
+                    return;
+                }
+                // the time waiting for the next stage is not counted as busy time
+                readerStatistics.add(objects.size(), System.nanoTime() - start);
+                if (!put(fetchedBatches, new Batch(batch, objects))) {
+                    return;
+                }
+                nextBatch = indexWorkerStatus.getAndIncrementNextBatch();
+            }
+            for (int i = 0; i < threads; i++) {
+                if (!put(fetchedBatches, END)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            readerStatistics.threadFinished();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> load(int batch) throws Exception {
+        if (indexWorkerStatus.isIdRangeBatching()) {
+            int fromId = indexWorkerStatus.getFromId(batch);
+            int toId = indexWorkerStatus.getToId(batch);
+            logger.info("read " + objectType.toString() + " with ids from " + (fromId + 1) + " to " + toId);
+            return indexAllObjects ? searchService.getAllInIdRange(fromId, toId)
+                    : searchService.getAllNotIndexedInIdRange(fromId, toId);
+        }
+        int offset = batch * batchSize;
+        logger.info("read " + objectType.toString() + " with offset " + offset);
+        return indexAllObjects ? searchService.getAll(offset, batchSize)
+                : searchService.getAllNotIndexed(offset, batchSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void enrich() {
+        try {
+            Batch batch = take(fetchedBatches);
+            while (Objects.nonNull(batch) && batch != END) {
+                long start = System.nanoTime();
+                List<Object> objects = batch.objects;
+                if (Objects.isNull(withAttempts(() -> {
+                    searchService.enrichObjectsForIndex(objects);
+                    return objects;
+                }))) {
+                    return;
+                }
+                enricherStatistics.add(objects.size(), System.nanoTime() - start);
+                if (!put(enrichedBatches, batch)) {
+                    return;
+                }
+                batch = take(fetchedBatches);
+            }
+            if (batch == END && runningEnrichers.decrementAndGet() == 0) {
+                for (int i = 0; i < threads; i++) {
+                    if (!put(enrichedBatches, END)) {
+                        return;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            enricherStatistics.threadFinished();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void serialize() {
+        try {
+            Batch batch = take(enrichedBatches);
+            while (Objects.nonNull(batch) && batch != END) {
+                long start = System.nanoTime();
+                List<IndexRequest> indexRequests = batch.indexRequests;
+                List<Object> objects = batch.objects;
+                if (Objects.isNull(withAttempts(() -> {
+                    indexRequests.clear();
+                    for (Object object : objects) {
+                        indexRequests.add(searchService.createIndexRequest(object));
+                    }
+                    return indexRequests;
+                }))) {
+                    return;
+                }
+                serializerStatistics.add(objects.size(), System.nanoTime() - start);
+                if (!put(serializedBatches, batch)) {
+                    return;
+                }
+                batch = take(enrichedBatches);
+            }
+            if (batch == END && runningSerializers.decrementAndGet() == 0) {
+                put(serializedBatches, END);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            serializerStatistics.threadFinished();
+        }
+    }
+
+    private void send() {
+        BulkRequest bulkRequest = new BulkRequest();
+        List<Object> objects = new ArrayList<>();
+        List<Integer> pendingBatches = new ArrayList<>();
+        try {
+            Batch batch = take(serializedBatches);
+            while (Objects.nonNull(batch) && batch != END) {
+                for (int i = 0; i < batch.indexRequests.size(); i++) {
+                    bulkRequest.add(batch.indexRequests.get(i));
+                    objects.add(batch.objects.get(i));
+                    if (bulkRequest.numberOfActions() >= batchSize || bulkRequest.estimatedSizeInBytes() >= bulkSize) {
+                        if (!flush(bulkRequest, objects, pendingBatches)) {
+                            return;
+                        }
+                        bulkRequest = new BulkRequest();
+                        objects = new ArrayList<>();
+                    }
+                }
+                if (bulkRequest.numberOfActions() == 0) {
+                    indexWorkerStatus.markBatchAsCompleted(batch.number);
+                } else {
+                    pendingBatches.add(batch.number);
+                }
+                batch = take(serializedBatches);
+            }
+            if (batch == END) {
+                flush(bulkRequest, objects, pendingBatches);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            senderStatistics.threadFinished();
+        }
+    }
+
+    /**
+     * Sends a bulk request and marks the batches whose documents have all been
+     * sent as completed.
+     *
+     * @return whether the bulk request was sent successfully
+     */
+    @SuppressWarnings("unchecked")
+    private boolean flush(BulkRequest bulkRequest, List<Object> objects, List<Integer> pendingBatches)
+            throws InterruptedException {
+        if (bulkRequest.numberOfActions() > 0) {
+            long start = System.nanoTime();
+            logger.info("send " + bulkRequest.numberOfActions() + " " + objectType.toString() + " documents with "
+                    + bulkRequest.estimatedSizeInBytes() + " bytes");
+            if (Objects.isNull(withAttempts(() -> {
+                searchService.addBulkRequestToIndex(bulkRequest, objects);
+                return bulkRequest;
+            }))) {
+                return false;
+            }
+            senderStatistics.add(objects.size(), System.nanoTime() - start);
+        }
+        for (int batch : pendingBatches) {
+            indexWorkerStatus.markBatchAsCompleted(batch);
+        }
+        pendingBatches.clear();
+        return true;
+    }
+
+    /**
+     * Runs an action of a stage. If it fails, it is repeated like a batch of an
+     * index worker. If it still fails after the maximum number of attempts, the
+     * indexing is marked as failed.
+     *
+     * @return the result of the action, or null if it failed
+     */
+    private <T> T withAttempts(Callable<T> action) throws InterruptedException {
+        int attempt = 1;
+        while (attempt < maxAttempts && !isStopped()) {
+            try {
+                return action.call();
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                logger.error(e.getMessage(), e);
+                attempt += 1;
+                Thread.sleep(timeBetweenAttempts);
+            }
+        }
+        if (attempt >= maxAttempts) {
+            logger.error("stop indexing after maximum amount of attempts");
+            indexWorkerStatus.markAsFailed();
+        }
+        return null;
+    }
+
+    private Batch take(BlockingQueue<Batch> queue) throws InterruptedException {
+        Batch batch = queue.poll(IndexingService.PAUSE, TimeUnit.MILLISECONDS);
+        while (Objects.isNull(batch) && !isStopped()) {
+            batch = queue.poll(IndexingService.PAUSE, TimeUnit.MILLISECONDS);
+        }
+        return batch;
+    }
+
+    private boolean put(BlockingQueue<Batch> queue, Batch batch) throws InterruptedException {
+        while (!isStopped()) {
+            if (queue.offer(batch, IndexingService.PAUSE, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isStopped() {
+        return indexWorkerStatus.hasFailed() || indexWorkerStatus.isCanceled();
+    }
+}
@@ -17,6 +17,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -63,6 +65,13 @@ public class IndexingService {
     private final Map<ObjectType, IndexStates> objectIndexingStates = new EnumMap<>(ObjectType.class);
     private final Map<ObjectType, Integer> countDatabaseObjects = new EnumMap<>(ObjectType.class);
 
+    /**
+     * The ids up to which objects of a type have been indexed completely by a
+     * failed or canceled indexing run. The next indexing run of that type
+     * continues after this id.
+     */
+    private final IndexingCheckpoints indexingCheckpoints;
+
     // messages for web socket communication
     private static final String INDEXING_STARTED_MESSAGE = "indexing_started";
     static final String INDEXING_FINISHED_MESSAGE = "indexing_finished";
@@ -77,7 +86,10 @@ public class IndexingService {
 
     static final int PAUSE = 1000;
 
+    private static final String INDEXING_CHECKPOINTS_FILE_PREFIX = ".indexingCheckpoints.";
+
     private IndexWorkerStatus indexWorkerStatus = null;
+    private volatile List<IndexingStageStatistics> indexingStageStatistics = Collections.emptyList();
     private IndexManagmentThread indexAllThread = null;
     private boolean indexingAll = false;
 
@@ -113,7 +125,10 @@ public class IndexingService {
             searchServices.put(objectType, getService(objectType));
             objectIndexingStates.put(objectType, IndexStates.NO_STATE);
         }
-        indexRestClient.setIndexBase(ConfigMain.getParameter("elasticsearch.index", "kitodo"));
+        String indexBase = ConfigMain.getParameter("elasticsearch.index", "kitodo");
+        indexRestClient.setIndexBase(indexBase);
+        indexingCheckpoints = new IndexingCheckpoints(Paths.get(ConfigCore.getKitodoDataDirectory(),
+            INDEXING_CHECKPOINTS_FILE_PREFIX + indexBase + ".properties"));
         try {
             countDatabaseObjects();
         } catch (DAOException e) {
@@ -241,21 +256,9 @@ public class IndexingService {
         if (countDatabaseObjects.get(type) > 0) {
             if (indexAllObjects) {
                 // only check for loose index data when indexing full objects
-                Long amountInIndex = searchService.count();
-                long offset = 0L;
-
                 // remove documents in index that are no longer available in database
                 // by iterating over all indexed documents in elastic search
-                try {
-                    while (offset < amountInIndex) {
-                        // TODO: actually iterate over all elastic search documents
-                        searchService.removeLooseIndexData(searchService.findAllIDs(offset, indexLimit));
-                        offset += indexLimit;
-                    }
-                } catch (RuntimeException e) {
-                    // this is an elastic search exception, but elastic search is not available here
-                    logger.info("Cannot check documents beyond elastic search max_result_window, continuing ...");
-                }
+                searchService.removeLooseIndexData(indexLimit);
             }
 
             return spawnIndexingThreads(type, pushContext, indexAllObjects);
@@ -310,22 +313,43 @@ public class IndexingService {
         objectIndexingStates.put(type, IndexStates.INDEXING_STARTED);
 
         int threads = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_THREADS);
-        int totalNumberOfObjects = getNumberOfDatabaseObjects(type);
         int batchSize = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_BATCH);
-        int maxBatch = (int)Math.ceil((double)(totalNumberOfObjects) / (double)(batchSize));
 
         // create new thread-safe indexing status
-        indexWorkerStatus = new IndexWorkerStatus(maxBatch);
+        if (ConfigCore.getBooleanParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_KEYSET_PAGINATION)) {
+            int startId = indexingCheckpoints.get(type);
+            if (startId > 0) {
+                logger.info("continue indexing " + type.toString() + " after id " + startId);
+            }
+            int highestId = getService(type).getHighestId();
+            int maxBatch = (int) Math.ceil((double) Math.max(highestId - startId, 0) / (double) batchSize);
+            indexWorkerStatus = new IndexWorkerStatus(maxBatch, startId, batchSize);
+        } else {
+            int totalNumberOfObjects = getNumberOfDatabaseObjects(type);
+            int maxBatch = (int)Math.ceil((double)(totalNumberOfObjects) / (double)(batchSize));
+            indexWorkerStatus = new IndexWorkerStatus(maxBatch);
+        }
 
-        logger.info("start " + threads + " threads for indexing " + type.toString());
         ExecutorService executor = null;
         try {
-            executor = createDeamonizedExecutorService(threads);
-
             List<Future<?>> futures = new LinkedList<Future<?>>();
-            for (int i = 0; i < threads; i++) {
-                Future<?> future = executor.submit(new IndexWorker(getService(type), type, indexWorkerStatus, indexAllObjects));
-                futures.add(future);
+            if (ConfigCore.getBooleanParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_PIPELINE)) {
+                IndexingPipeline pipeline = new IndexingPipeline(getService(type), type, indexWorkerStatus,
+                        indexAllObjects);
+                logger.info("start indexing pipeline with " + pipeline.getNumberOfThreads() + " threads for "
+                        + type.toString());
+                indexingStageStatistics = pipeline.getStatistics();
+                executor = createDeamonizedExecutorService(pipeline.getNumberOfThreads());
+                futures.addAll(pipeline.start(executor));
+            } else {
+                logger.info("start " + threads + " threads for indexing " + type.toString());
+                indexingStageStatistics = Collections.emptyList();
+                executor = createDeamonizedExecutorService(threads);
+                for (int i = 0; i < threads; i++) {
+                    Future<?> future = executor.submit(new IndexWorker(getService(type), type, indexWorkerStatus,
+                        indexAllObjects));
+                    futures.add(future);
+                }
             }
 
             waitWhileIndexing(type, futures, pollingChannel);
@@ -333,11 +357,30 @@ public class IndexingService {
             if (Objects.nonNull(executor)) {
                 executor.shutdown();
             }
+            updateIndexingCheckpoint(type);
         }
 
         return indexWorkerStatus;
     }
 
+    /**
+     * Remember up to which id the objects of the given type have been indexed
+     * if indexing did not finish, or forget about it after successful indexing.
+     *
+     * @param type the object type that was indexed
+     */
+    private void updateIndexingCheckpoint(ObjectType type) {
+        if (indexWorkerStatus.isIdRangeBatching()) {
+            if (indexWorkerStatus.hasFailed() || indexWorkerStatus.isCanceled()) {
+                int checkpointId = indexWorkerStatus.getCheckpointId();
+                logger.info("indexing of " + type.toString() + " can be continued after id " + checkpointId);
+                indexingCheckpoints.put(type, checkpointId);
+            } else {
+                indexingCheckpoints.remove(type);
+            }
+        }
+    }
+
     /**
      * Wait and check whether index worker threads have finished or failed. 
      * 
@@ -398,6 +441,17 @@ public class IndexingService {
         }
     }
 
+    /**
+     * Return the throughput statistics of the stages of the indexing pipeline
+     * which runs or ran last. The list is empty if no indexing pipeline has
+     * been started.
+     *
+     * @return the statistics of the pipeline stages
+     */
+    public List<IndexingStageStatistics> getIndexingStageStatistics() {
+        return indexingStageStatistics;
+    }
+
     /**
      * Return the progress in percent of the currently running indexing process. If
      * the list of entries to be indexed is empty, this will return "0".
@@ -458,6 +512,7 @@ public class IndexingService {
     public String deleteIndex() {
         try {
             indexRestClient.deleteAllIndexes();
+            indexingCheckpoints.clear();
             currentState = IndexStates.DELETING_SUCCESSFUL;
             return DELETION_FINISHED_MESSAGE;
         } catch (IOException e) {
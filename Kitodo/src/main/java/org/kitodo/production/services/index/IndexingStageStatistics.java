@@ -0,0 +1,127 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.index;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput statistics of one stage of the indexing pipeline. The stage
+ * threads add the number of processed objects and the time they spent working
+ * on them, while the indexing page reads the statistics. When all threads of
+ * the stage have finished, the statistics no longer change.
+ */
+public class IndexingStageStatistics {
+
+    private final String name;
+    private final int threads;
+    private final long startTime = System.nanoTime();
+    private final AtomicLong numberOfObjects = new AtomicLong();
+    private final AtomicLong busyTime = new AtomicLong();
+    private final AtomicInteger runningThreads;
+    private volatile long finishTime;
+    private volatile boolean finished;
+
+    /**
+     * Creates statistics for a stage.
+     *
+     * @param name
+     *            message key of the name of the stage
+     * @param threads
+     *            number of threads working in the stage
+     */
+    IndexingStageStatistics(String name, int threads) {
+        this.name = name;
+        this.threads = threads;
+        this.runningThreads = new AtomicInteger(threads);
+    }
+
+    /**
+     * Adds objects processed by a stage thread.
+     *
+     * @param objects
+     *            number of processed objects
+     * @param nanoseconds
+     *            time spent processing the objects
+     */
+    void add(int objects, long nanoseconds) {
+        numberOfObjects.addAndGet(objects);
+        busyTime.addAndGet(nanoseconds);
+    }
+
+    /**
+     * Notes that a thread of the stage has finished. When the last thread has
+     * finished, the time is recorded, so that the rates are calculated up to
+     * the end of the stage and not up to the time they are read.
+     */
+    void threadFinished() {
+        if (runningThreads.decrementAndGet() == 0) {
+            finishTime = System.nanoTime();
+            finished = true;
+        }
+    }
+
+    /**
+     * Returns the message key of the name of the stage.
+     *
+     * @return the message key
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of threads working in the stage.
+     *
+     * @return the number of threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Returns the number of objects processed by the stage.
+     *
+     * @return the number of objects
+     */
+    public long getNumberOfObjects() {
+        return numberOfObjects.get();
+    }
+
+    /**
+     * Returns the number of objects processed by the stage per second since
+     * the pipeline was started, until the stage finished.
+     *
+     * @return objects per second
+     */
+    public long getObjectsPerSecond() {
+        long elapsed = getElapsedTime();
+        return elapsed > 0 ? numberOfObjects.get() * TimeUnit.SECONDS.toNanos(1) / elapsed : 0;
+    }
+
+    /**
+     * Returns how busy the threads of the stage have been since the pipeline
+     * was started, until the stage finished, in percent. A stage with a low value waits for its
+     * predecessor, a stage with a value near 100 is the bottleneck.
+     *
+     * @return utilization of the stage in percent
+     */
+    public int getUtilization() {
+        long elapsed = getElapsedTime() * threads;
+        return elapsed > 0 ? (int) Math.min(100, busyTime.get() * 100 / elapsed) : 0;
+    }
+
+    private long getElapsedTime() {
+        return (finished ? finishTime : System.nanoTime()) - startTime;
+    }
+}
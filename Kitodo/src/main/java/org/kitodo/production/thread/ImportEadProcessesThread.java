@@ -13,45 +13,60 @@ package org.kitodo.production.thread;
 
 import static org.kitodo.constants.StringConstants.CREATE;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
-import java.io.StringReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-import javax.xml.namespace.QName;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.Attribute;
-import javax.xml.stream.events.EndElement;
-import javax.xml.stream.events.Namespace;
-import javax.xml.stream.events.StartElement;
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.TransformerException;
 import javax.xml.xpath.XPathExpressionException;
 
+import org.apache.commons.io.input.CountingInputStream;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.kitodo.api.Metadata;
 import org.kitodo.api.MetadataEntry;
 import org.kitodo.api.dataeditor.rulesetmanagement.FunctionalMetadata;
 import org.kitodo.api.dataeditor.rulesetmanagement.RulesetManagementInterface;
+import org.kitodo.api.schemaconverter.DataRecord;
+import org.kitodo.api.schemaconverter.SchemaConverterInterface;
 import org.kitodo.config.ConfigCore;
 import org.kitodo.config.enums.ParameterCore;
 import org.kitodo.constants.StringConstants;
 import org.kitodo.data.database.beans.Client;
 import org.kitodo.data.database.beans.ImportConfiguration;
+import org.kitodo.data.database.beans.Process;
 import org.kitodo.data.database.beans.User;
+import org.kitodo.data.database.enums.IndexAction;
 import org.kitodo.data.database.exceptions.DAOException;
+import org.kitodo.data.elasticsearch.exceptions.CustomResponseException;
 import org.kitodo.data.exceptions.DataException;
 import org.kitodo.exceptions.CommandException;
 import org.kitodo.exceptions.InvalidMetadataValueException;
@@ -68,12 +83,12 @@ import org.kitodo.production.security.SecurityUserDetails;
 import org.kitodo.production.services.ServiceManager;
 import org.kitodo.production.services.data.ImportService;
 import org.kitodo.production.services.data.ProcessService;
+import org.kitodo.production.services.workflow.WorkflowControllerService;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 import org.xml.sax.SAXException;
 
 
@@ -81,6 +96,7 @@ public class ImportEadProcessesThread extends EmptyTask {
 
     private static final Logger logger = LogManager.getLogger(ImportEadProcessesThread.class);
     private final ImportService importService = ServiceManager.getImportService();
+    private final Path eadFile;
     private final String xmlString;
     private final String eadLevel;
     private final String eadParentLevel;
@@ -89,9 +105,14 @@ public class ImportEadProcessesThread extends EmptyTask {
     private final ImportConfiguration importConfiguration;
     private final RulesetManagementInterface rulesetManagementInterface;
     private final List<Locale.LanguageRange> priorityList;
-    private final List<Namespace> namespaces;
+    private final Map<String, String> namespaces;
     private final User user;
     private final Client client;
+    private final List<TempProcess> processBatch = new ArrayList<>();
+    private final List<Process> linkBatch = new ArrayList<>();
+    private final List<Integer> newProcessIds = new ArrayList<>();
+    private int linkBatchIndex;
+    private boolean stopOnError;
     private TempProcess parentProcess = null;
     private int count;
 
@@ -105,7 +126,8 @@ public class ImportEadProcessesThread extends EmptyTask {
      */
     public ImportEadProcessesThread(CreateProcessForm createProcessForm, User user, Client client) {
         super(createProcessForm.getFilename());
-        this.xmlString = createProcessForm.getXmlString();
+        this.eadFile = createProcessForm.getEadFile();
+        this.xmlString = Objects.isNull(eadFile) ? createProcessForm.getXmlString() : null;
         this.eadLevel = createProcessForm.getSelectedEadLevel();
         this.eadParentLevel = createProcessForm.getSelectedParentEadLevel();
         this.projectId = createProcessForm.getProject().getId();
@@ -113,129 +135,289 @@ public class ImportEadProcessesThread extends EmptyTask {
         this.importConfiguration = createProcessForm.getCurrentImportConfiguration();
         this.rulesetManagementInterface = createProcessForm.getRulesetManagement();
         this.priorityList = ServiceManager.getUserService().getCurrentMetadataLanguage();
-        this.namespaces = new ArrayList<>();
+        this.namespaces = new LinkedHashMap<>();
         this.user = user;
         this.client = client;
     }
 
+    /**
+     * The clone constructor creates a new instance of this object. This is
+     * necessary for Threads that have terminated in order to render to run them
+     * again possible. Components already imported by the terminated thread are
+     * recognized by their record identifier and not imported again.
+     *
+     * @param origin
+     *            copy master to create a clone of
+     */
+    private ImportEadProcessesThread(ImportEadProcessesThread origin) {
+        super(origin);
+        this.eadFile = origin.eadFile;
+        this.xmlString = origin.xmlString;
+        this.eadLevel = origin.eadLevel;
+        this.eadParentLevel = origin.eadParentLevel;
+        this.projectId = origin.projectId;
+        this.templateId = origin.templateId;
+        this.importConfiguration = origin.importConfiguration;
+        this.rulesetManagementInterface = origin.rulesetManagementInterface;
+        this.priorityList = origin.priorityList;
+        this.namespaces = new LinkedHashMap<>();
+        this.user = origin.user;
+        this.client = origin.client;
+    }
+
     @Override
     protected void setNameDetail(String detail) {
         super.setNameDetail(detail);
     }
 
+    /**
+     * Reads the EAD XML as a stream and imports its components one after
+     * another. Each component of the selected level is converted to the
+     * internal format by a pool of threads, while its process is created on
+     * this thread in the order of the file. The new processes are saved, and
+     * linked to the parent process, in batches.
+     */
     @Override
     public void run() {
         setAuthenticatedUser();
-        List<Integer> newProcessIds = new ArrayList<>();
         int newParentId = 0;
-        boolean stopOnError = ConfigCore.getBooleanParameter(ParameterCore.STOP_EAD_COLLECTION_IMPORT_ON_EXCEPTION);
-        try {
-            int numberOfElements = XMLUtils.getNumberOfEADElements(xmlString, eadLevel);
-            XMLInputFactory inputFactory = XMLInputFactory.newInstance();
-            XMLEventReader eventReader = inputFactory.createXMLEventReader(new StringReader(xmlString));
-            boolean inProcessElement = false;
-            boolean inParentProcessElement = false;
-            String currentTagName;
-            StringBuilder stringBuilder = new StringBuilder();
-            while (eventReader.hasNext()) {
-
-                XMLEvent event = eventReader.nextEvent();
-                switch (event.getEventType()) {
-                    case XMLEvent.START_ELEMENT:
-                        StartElement startElement = event.asStartElement();
-                        currentTagName = startElement.getName().getLocalPart();
-                        if (StringConstants.EAD.equals(currentTagName)) {
-                            Iterator<Namespace> namespaceIterator = startElement.getNamespaces();
-                            while (namespaceIterator.hasNext()) {
-                                namespaces.add(namespaceIterator.next());
-                            }
-                        }
-                        if (StringConstants.C_TAG_NAME.equals(currentTagName)) {
-                            // all metadata until first nested "<c>" element is considered when creating parent process
-                            // for EAD "collection"
-                            if (inParentProcessElement) {
-                                inParentProcessElement = false;
-                                stringBuilder.append("</c>");
-                                TempProcess tempProcess = parseXmlStringToTempProcess(stringBuilder.toString(), true);
-                                TempProcess existingParent = getParentCandidate(tempProcess);
-                                // distinguish between existing "collection" parent and newly created one
-                                if (Objects.isNull(existingParent)) {
-                                    parentProcess = processTempProcess(tempProcess);
-                                    newParentId = parentProcess.getProcess().getId();
-                                } else {
-                                    parentProcess = existingParent;
-                                }
-                                stringBuilder = new StringBuilder();
-                            }
-                            Attribute levelAttribute = startElement.getAttributeByName(QName.valueOf(StringConstants
-                                    .LEVEL));
-                            Attribute idAttribute = startElement.getAttributeByName(QName.valueOf("id"));
-                            if (Objects.nonNull(levelAttribute) && Objects.nonNull(idAttribute)) {
-                                if (eadLevel.equals(levelAttribute.getValue())) {
-                                    inProcessElement = true;
-                                    count++;
-                                    stringBuilder.append(processStartElement(event));
-                                } else {
-                                    if (eadParentLevel.equals(levelAttribute.getValue())) {
-                                        inParentProcessElement = true;
-                                        stringBuilder.append(processStartElement(event));
-                                    }
-                                }
-                            }
-                        } else {
-                            if (inParentProcessElement || inProcessElement) {
-                                String content = event.toString();
-                                if (StringUtils.isNotBlank(content)) {
-                                    stringBuilder.append(removeDefaultNamespaceUri(content));
-                                }
-                            }
+        stopOnError = ConfigCore.getBooleanParameter(ParameterCore.STOP_EAD_COLLECTION_IMPORT_ON_EXCEPTION);
+        int threads = Math.max(1, ConfigCore.getIntParameterOrDefaultValue(ParameterCore.EAD_IMPORT_THREADS));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (CountingInputStream inputStream = openInputStream()) {
+            // nothing has been read yet, so the available bytes of the String are its whole length
+            long length = Objects.nonNull(eadFile) ? Files.size(eadFile) : inputStream.available();
+            List<SchemaConverterInterface> schemaConverters = importService.loadSchemaConverters();
+            List<File> mappingFiles = importService.getMappingFiles(importConfiguration, false);
+            XMLStreamReader reader = createXMLStreamReader(inputStream);
+            Deque<Pair<Integer, Future<Document>>> pendingElements = new ArrayDeque<>();
+            while (reader.hasNext() && !isInterrupted()) {
+                reader.next();
+                if (isEadElement(reader)) {
+                    for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                        if (StringUtils.isNotBlank(reader.getNamespacePrefix(i))) {
+                            namespaces.put(reader.getNamespacePrefix(i), reader.getNamespaceURI(i));
                         }
-                        break;
-                    case XMLEvent.END_ELEMENT:
-                        EndElement endElement = event.asEndElement();
-                        String endElementName = endElement.getName().getLocalPart();
-                        if (inProcessElement && StringConstants.C_TAG_NAME.equals(endElementName)) {
-                            int progress = (count * 100) / numberOfElements;
-                            setProgress(progress);
-                            inProcessElement = false;
-                            String content = event.toString();
-                            stringBuilder.append(removeDefaultNamespaceUri(content));
-                            try {
-                                newProcessIds.add(parseXmlStringToProcessedTempProcess(stringBuilder.toString()).getProcess().getId());
-                            } catch (Exception e) {
-                                logger.error(e.getMessage(), e);
-                                if (stopOnError) {
-                                    throw new ProcessGenerationException("Unable to create process. Cause: " + e.getMessage());
-                                }
-                            }
-                            stringBuilder = new StringBuilder();
-                        } else {
-                            if (inParentProcessElement || inProcessElement) {
-                                String content = event.toString();
-                                if (StringUtils.isNotBlank(content)) {
-                                    stringBuilder.append(removeDefaultNamespaceUri(content));
-                                }
-                            }
-                        }
-                        break;
-                    default:
-                        if (inParentProcessElement || inProcessElement) {
-                            String content = event.toString();
-                            if (StringUtils.isNotBlank(content)) {
-                                stringBuilder.append(removeDefaultNamespaceUri(content));
-                            }
-                        }
-                        break;
+                    }
+                }
+                // all metadata until first nested "<c>" element is considered when creating parent process for EAD
+                // "collection"; the reader then stays at the start of that element
+                while (isComponentElement(reader, eadParentLevel)) {
+                    String parentElement = XMLUtils.readEADElement(reader, namespaces, true);
+                    createPendingProcesses(pendingElements, 0);
+                    saveBatch();
+                    TempProcess tempProcess = createParentTempProcess(parentElement);
+                    TempProcess existingParent = getParentCandidate(tempProcess);
+                    // distinguish between existing "collection" parent and newly created one
+                    if (Objects.isNull(existingParent)) {
+                        processTempProcess(tempProcess);
+                        parentProcess = tempProcess;
+                        newParentId = parentProcess.getProcess().getId();
+                    } else {
+                        parentProcess = existingParent;
+                    }
+                }
+                if (isComponentElement(reader, eadLevel)) {
+                    count++;
+                    String element = XMLUtils.readEADElement(reader, namespaces, false);
+                    pendingElements.add(Pair.of(count, executor.submit(() -> {
+                        DataRecord dataRecord = XMLUtils.createRecordFromXMLElement(element, importConfiguration);
+                        return importService.convertDataRecordToInternal(dataRecord, importConfiguration,
+                            ImportService.getSchemaConverter(dataRecord, schemaConverters), mappingFiles);
+                    })));
+                    // convert a few elements ahead, but not the whole file, so that memory stays bounded
+                    createPendingProcesses(pendingElements, 2 * threads);
+                    setProgress((int) (Math.min(inputStream.getByteCount(), length) * 100 / Math.max(length, 1)));
                 }
             }
-
-        } catch (XMLStreamException | IOException | ParserConfigurationException | SAXException
-                 | UnsupportedFormatException | XPathExpressionException | ProcessGenerationException
-                 | URISyntaxException | InvalidMetadataValueException | TransformerException
-                 | NoSuchMetadataFieldException | DataException | CommandException e) {
+            if (!isInterrupted()) {
+                createPendingProcesses(pendingElements, 0);
+            }
+            saveBatch();
+            reader.close();
+        } catch (XMLStreamException | IOException | UnsupportedFormatException | XPathExpressionException
+                 | ProcessGenerationException | URISyntaxException | InvalidMetadataValueException
+                 | ParserConfigurationException | SAXException | TransformerException | NoSuchMetadataFieldException
+                 | DataException | DAOException | CustomResponseException | CommandException e) {
             logger.error(e.getMessage(), e);
             cleanUpProcesses(newProcessIds, newParentId);
             throw new RuntimeException(e);
+        } catch (InterruptedException e) {
+            interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        if (!isInterrupted()) {
+            deleteEadFile();
+            setProgress(100);
+        }
+    }
+
+    /**
+     * Calls the clone constructor to create a not yet executed instance of this
+     * thread object. This is necessary for threads that have terminated in
+     * order to render possible to restart them.
+     *
+     * @return a not-yet-executed replacement of this thread
+     * @see org.kitodo.production.helper.tasks.EmptyTask#replace()
+     */
+    @Override
+    public ImportEadProcessesThread replace() {
+        return new ImportEadProcessesThread(this);
+    }
+
+    private CountingInputStream openInputStream() throws IOException {
+        if (Objects.nonNull(eadFile)) {
+            return new CountingInputStream(new BufferedInputStream(Files.newInputStream(eadFile)));
+        }
+        return new CountingInputStream(new ByteArrayInputStream(xmlString.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private XMLStreamReader createXMLStreamReader(InputStream inputStream) throws XMLStreamException {
+        XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+        if (Objects.nonNull(eadFile)) {
+            return inputFactory.createXMLStreamReader(inputStream);
+        }
+        // the String has been decoded already, so an encoding declared in it must not be applied again
+        return inputFactory.createXMLStreamReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    private static boolean isEadElement(XMLStreamReader reader) {
+        return reader.isStartElement() && StringConstants.EAD.equals(reader.getLocalName());
+    }
+
+    private static boolean isComponentElement(XMLStreamReader reader, String level) {
+        return reader.isStartElement() && StringConstants.C_TAG_NAME.equals(reader.getLocalName())
+                && level.equals(reader.getAttributeValue(null, StringConstants.LEVEL))
+                && Objects.nonNull(reader.getAttributeValue(null, "id"));
+    }
+
+    /**
+     * Creates the processes of converted elements, in the order of the file,
+     * until no more than the given number of elements is pending. The
+     * processes are added to the current batch and saved with it.
+     */
+    private void createPendingProcesses(Deque<Pair<Integer, Future<Document>>> pendingElements, int remaining)
+            throws InterruptedException, ProcessGenerationException, IOException, DataException, DAOException,
+            CustomResponseException {
+        while (pendingElements.size() > remaining) {
+            Pair<Integer, Future<Document>> pendingElement = pendingElements.remove();
+            Process process;
+            try {
+                Document document = pendingElement.getValue().get();
+                TempProcess tempProcess = importService.createTempProcessFromDocument(importConfiguration, document,
+                    templateId, projectId);
+                process = getImportedProcess(tempProcess);
+                if (Objects.isNull(process)) {
+                    prepareTempProcess(tempProcess);
+                    processBatch.add(tempProcess);
+                    process = tempProcess.getProcess();
+                } else if (Objects.nonNull(process.getParent())) {
+                    logger.info("Skipping process {}, which has been imported before", process.getTitle());
+                    continue;
+                }
+            } catch (ExecutionException | IOException | TransformerException | ProcessGenerationException
+                     | InvalidMetadataValueException | NoSuchMetadataFieldException | DAOException e) {
+                Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                logger.error(cause.getMessage(), cause);
+                if (stopOnError) {
+                    throw new ProcessGenerationException("Unable to create process. Cause: " + cause.getMessage());
+                }
+                continue;
+            }
+            // a process imported before the import was interrupted may not have been linked to its parent yet
+            addToBatch(process, pendingElement.getKey() - 1);
+        }
+    }
+
+    private void addToBatch(Process process, int index)
+            throws ProcessGenerationException, IOException, DataException, DAOException, CustomResponseException {
+        if (Objects.nonNull(parentProcess)) {
+            // the links of a batch are inserted at consecutive positions of the logical structure of the parent
+            if (!linkBatch.isEmpty() && linkBatchIndex + linkBatch.size() != index) {
+                saveBatch();
+            }
+            if (linkBatch.isEmpty()) {
+                linkBatchIndex = index;
+            }
+            linkBatch.add(process);
+        }
+        int batchSize = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.EAD_IMPORT_BATCH_SIZE);
+        if (processBatch.size() >= batchSize || linkBatch.size() >= batchSize) {
+            saveBatch();
+        }
+    }
+
+    /**
+     * Saves the new processes of the current batch and links the processes of
+     * the batch to the parent process. The new processes are inserted into the
+     * database in one transaction, before their directories and metadata
+     * files are created, as these need the ids of the processes. The links
+     * are added to the metadata file of the parent process, and the parent
+     * process is saved, once per batch.
+     */
+    private void saveBatch()
+            throws ProcessGenerationException, IOException, DataException, DAOException, CustomResponseException {
+        ProcessService processService = ServiceManager.getProcessService();
+        if (!processBatch.isEmpty()) {
+            List<Process> processes = new ArrayList<>();
+            for (TempProcess tempProcess : processBatch) {
+                WorkflowControllerService.updateProcessSortHelperStatus(tempProcess.getProcess());
+                tempProcess.getProcess().setIndexAction(IndexAction.INDEX);
+                processes.add(tempProcess.getProcess());
+            }
+            processService.saveList(processes);
+            for (Process process : processes) {
+                newProcessIds.add(process.getId());
+            }
+            for (TempProcess tempProcess : processBatch) {
+                Process process = tempProcess.getProcess();
+                try {
+                    createProcessLocation(tempProcess);
+                } catch (IOException | CommandException e) {
+                    logger.error(e.getMessage(), e);
+                    processes.remove(process);
+                    linkBatch.remove(process);
+                    newProcessIds.remove(process.getId());
+                    ProcessService.deleteProcess(process);
+                    if (stopOnError) {
+                        processBatch.clear();
+                        throw new ProcessGenerationException("Unable to create process. Cause: " + e.getMessage());
+                    }
+                }
+            }
+            processBatch.clear();
+            // the process base URIs are only known now; linked processes are saved again with their parent below
+            processes.removeAll(linkBatch);
+            if (!processes.isEmpty()) {
+                processService.saveList(processes);
+                processService.addAllObjectsToIndex(processes);
+            }
+        }
+        if (linkBatch.isEmpty()) {
+            return;
+        }
+        Process parent = parentProcess.getProcess();
+        List<Integer> childIds = new ArrayList<>();
+        for (Process child : linkBatch) {
+            ProcessService.setParentRelations(parent, child);
+            child.setIndexAction(IndexAction.INDEX);
+            childIds.add(child.getId());
+        }
+        MetadataEditor.addLinks(parent, linkBatchIndex, childIds);
+        processService.saveList(linkBatch);
+        processService.addAllObjectsToIndex(linkBatch);
+        processService.save(parent, true);
+        linkBatch.clear();
+    }
+
+    private void deleteEadFile() {
+        if (Objects.nonNull(eadFile)) {
+            try {
+                Files.deleteIfExists(eadFile);
+            } catch (IOException e) {
+                logger.warn("Unable to delete uploaded EAD file {}: {}", eadFile, e.getMessage());
+            }
         }
     }
 
@@ -258,30 +440,6 @@ public class ImportEadProcessesThread extends EmptyTask {
         }
     }
 
-    private String processStartElement(XMLEvent event) {
-        String content = event.toString();
-        for (Namespace namespace : namespaces) {
-            String prefix = namespace.getPrefix();
-            if (StringUtils.isNotBlank(prefix)) {
-                content = content.replace(">", " xmlns:" + namespace.getPrefix() + "=\""
-                        + namespace.getNamespaceURI() + "\">");
-            }
-        }
-        return removeDefaultNamespaceUri(content);
-    }
-
-    // This method is a workaround for a problem encountered during development of the EAD import where XML files
-    // defining a default names space without namespace prefix could be parsed incorrectly.
-    private String removeDefaultNamespaceUri(String xmlEventString) {
-        for (Namespace namespace : namespaces) {
-            String prefix = namespace.getPrefix();
-            if (StringUtils.isBlank(prefix)) {
-                return xmlEventString.replace("['" + namespace.getNamespaceURI() + "']::", "");
-            }
-        }
-        return xmlEventString;
-    }
-
     private TempProcess getParentCandidate(TempProcess tempProcess) {
         String recordId = getRecordIdentifier(tempProcess);
         if (Objects.nonNull(recordId)) {
@@ -294,37 +452,36 @@ public class ImportEadProcessesThread extends EmptyTask {
         return null;
     }
 
+    private Process getImportedProcess(TempProcess tempProcess) throws ProcessGenerationException, DAOException,
+            IOException {
+        String recordId = getRecordIdentifier(tempProcess);
+        if (Objects.isNull(recordId)) {
+            return null;
+        }
+        return importService.retrieveProcessOfProject(recordId, tempProcess.getProcess().getRuleset(), projectId);
+    }
+
     private TempProcess processTempProcess(TempProcess tempProcess) throws ProcessGenerationException, IOException,
             InvalidMetadataValueException, NoSuchMetadataFieldException, DataException, CommandException {
+        prepareTempProcess(tempProcess);
+        saveTempProcessMetadata(tempProcess);
+        return tempProcess;
+    }
+
+    private void prepareTempProcess(TempProcess tempProcess) throws ProcessGenerationException, IOException,
+            InvalidMetadataValueException, NoSuchMetadataFieldException {
         ProcessHelper.generateAtstslFields(tempProcess, Collections.emptyList(), CREATE, priorityList, false);
         tempProcess.getProcessMetadata().preserve();
         ImportService.processTempProcess(tempProcess, rulesetManagementInterface, CREATE, priorityList, parentProcess);
-        saveTempProcessMetadata(tempProcess);
-        if (Objects.nonNull(parentProcess)) {
-            ProcessService.setParentRelations(parentProcess.getProcess(), tempProcess.getProcess());
-            MetadataEditor.addLink(parentProcess.getProcess(), String.valueOf(count - 1), tempProcess.getProcess()
-                    .getId());
-            ServiceManager.getProcessService().save(tempProcess.getProcess(), true);
-        }
-        return tempProcess;
     }
 
     // used to parse parent (e.g. "collection")
-    private TempProcess parseXmlStringToTempProcess(String xmlString, boolean isParent) throws IOException,
+    private TempProcess createParentTempProcess(String xmlElementString) throws IOException,
             ParserConfigurationException, SAXException, UnsupportedFormatException, XPathExpressionException,
             ProcessGenerationException, URISyntaxException, TransformerException {
-        Document elementDocument = XMLUtils.parseXMLString(xmlString);
-        Element element = elementDocument.getDocumentElement();
-        return importService.createTempProcessFromElement(element, importConfiguration, projectId, templateId, isParent);
-    }
-
-    // used to parse children (e.g. "files")
-    private TempProcess parseXmlStringToProcessedTempProcess(String xmlElementString) throws IOException,
-            ParserConfigurationException, SAXException, UnsupportedFormatException, XPathExpressionException,
-            ProcessGenerationException, URISyntaxException, InvalidMetadataValueException, TransformerException,
-            NoSuchMetadataFieldException, DataException, CommandException {
-        TempProcess tempProcess = parseXmlStringToTempProcess(xmlElementString, false);
-        return processTempProcess(tempProcess);
+        DataRecord dataRecord = XMLUtils.createRecordFromXMLElement(xmlElementString, importConfiguration);
+        Document document = importService.convertDataRecordToInternal(dataRecord, importConfiguration, true);
+        return importService.createTempProcessFromDocument(importConfiguration, document, templateId, projectId);
     }
 
     private String getRecordIdentifier(TempProcess tempProcess) {
@@ -351,6 +508,10 @@ public class ImportEadProcessesThread extends EmptyTask {
 
     private void saveTempProcessMetadata(TempProcess tempProcess) throws DataException, IOException, CommandException {
         ServiceManager.getProcessService().save(tempProcess.getProcess(), true);
+        createProcessLocation(tempProcess);
+    }
+
+    private void createProcessLocation(TempProcess tempProcess) throws IOException, CommandException {
         URI processBaseUri = ServiceManager.getFileService().createProcessLocation(tempProcess.getProcess());
         tempProcess.getProcess().setProcessBaseUri(processBaseUri);
         ProcessHelper.saveTempProcessMetadata(tempProcess, rulesetManagementInterface, CREATE, priorityList);
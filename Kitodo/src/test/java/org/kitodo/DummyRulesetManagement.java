@@ -75,6 +75,11 @@ public class DummyRulesetManagement implements RulesetManagementInterface {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void clearCache() {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public boolean isAlwaysShowingForKey(String keyId) {
         throw new UnsupportedOperationException();
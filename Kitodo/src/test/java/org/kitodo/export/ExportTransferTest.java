@@ -0,0 +1,95 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.export;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ExportTransferTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldCopyFilesInParallel() throws Exception {
+        List<Pair<Path, Path>> files = createFiles(20);
+        List<Path> transferred = new ArrayList<>();
+
+        new ExportTransfer(false, 4, true).transfer(files, (source, count) -> transferred.add(source));
+
+        assertEquals(files.size(), transferred.size());
+        for (Pair<Path, Path> file : files) {
+            assertFalse(Files.isSameFile(file.getLeft(), file.getRight()));
+            assertArrayEquals(Files.readAllBytes(file.getLeft()), Files.readAllBytes(file.getRight()));
+        }
+    }
+
+    @Test
+    public void shouldLinkFilesOnSameFileStore() throws Exception {
+        List<Pair<Path, Path>> files = createFiles(3);
+        Files.write(files.get(0).getRight(), new byte[] {1 });
+
+        new ExportTransfer(true, 2, false).transfer(files, (source, count) -> { });
+
+        for (Pair<Path, Path> file : files) {
+            assertTrue(Files.isSameFile(file.getLeft(), file.getRight()), "File was not linked");
+            assertArrayEquals(Files.readAllBytes(file.getLeft()), Files.readAllBytes(file.getRight()));
+        }
+    }
+
+    @Test
+    public void shouldCopyFilesIfLinkingIsDisabled() throws Exception {
+        List<Pair<Path, Path>> files = createFiles(3);
+
+        new ExportTransfer(false, 2, false).transfer(files, (source, count) -> { });
+
+        for (Pair<Path, Path> file : files) {
+            assertFalse(Files.isSameFile(file.getLeft(), file.getRight()), "File was linked");
+            assertArrayEquals(Files.readAllBytes(file.getLeft()), Files.readAllBytes(file.getRight()));
+        }
+    }
+
+    @Test
+    public void shouldReportMissingFile() throws IOException {
+        List<Pair<Path, Path>> files = createFiles(2);
+        Files.delete(files.get(1).getLeft());
+
+        assertThrows(IOException.class,
+            () -> new ExportTransfer(false, 2, false).transfer(files, (source, count) -> { }));
+    }
+
+    private List<Pair<Path, Path>> createFiles(int count) throws IOException {
+        Path source = Files.createDirectories(tempDir.resolve("source"));
+        Path target = Files.createDirectories(tempDir.resolve("target"));
+        List<Pair<Path, Path>> files = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            String fileName = String.format("%08d.tif", i);
+            byte[] content = new byte[1000 * i];
+            content[i] = (byte) i;
+            files.add(Pair.of(Files.write(source.resolve(fileName), content), target.resolve(fileName)));
+        }
+        return files;
+    }
+}
@@ -15,13 +15,19 @@ import static org.hamcrest.MatcherAssert.assertThat;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.sax.TransformerHandler;
+import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.Test;
+import org.xml.sax.XMLReader;
 import org.xmlunit.matchers.CompareMatcher;
 
 public class XsltHelperTest {
@@ -43,4 +49,25 @@ public class XsltHelperTest {
 
         FileUtils.deleteQuietly(result);
     }
+
+    @Test
+    public void shouldTransformSaxEventsToMods() throws Exception {
+        final String path = "src/test/resources/";
+
+        File result = new File(path + "mets.xml");
+        try (OutputStream outputStream = new FileOutputStream(result)) {
+            TransformerHandler transformerHandler = XsltHelper.newTransformerHandler(
+                URI.create(path + "xslt/kitodo2mods.xsl"), new StreamResult(outputStream));
+            SAXParserFactory saxParserFactory = SAXParserFactory.newInstance();
+            saxParserFactory.setNamespaceAware(true);
+            XMLReader xmlReader = saxParserFactory.newSAXParser().getXMLReader();
+            xmlReader.setContentHandler(transformerHandler);
+            xmlReader.parse(new File(path + "metadata/metadataFiles/" + META_XML).toURI().toString());
+        }
+
+        File expected = new File(path + "metsFromKitodo.xml");
+        assertThat(result, CompareMatcher.isIdenticalTo(expected).ignoreWhitespace());
+
+        FileUtils.deleteQuietly(result);
+    }
 }
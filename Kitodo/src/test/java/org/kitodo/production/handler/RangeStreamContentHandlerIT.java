@@ -13,13 +13,19 @@ package org.kitodo.production.handler;
 
 import static org.apache.commons.io.IOUtils.toInputStream;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.kitodo.production.helper.RangeStreamHelper.DEFAULT_BUFFER_SIZE;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
@@ -31,7 +37,9 @@ import javax.servlet.http.HttpServletResponse;
 import org.jboss.weld.el.WeldExpressionFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.kitodo.BasePrimefaceTest;
+import org.kitodo.production.helper.MediaFileInputStream;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.omnifaces.application.OmniApplication;
@@ -51,6 +59,9 @@ public class RangeStreamContentHandlerIT extends BasePrimefaceTest {
     @Mock
     protected HttpServletResponse httpServletResponse;
 
+    @TempDir
+    Path tempDir;
+
     private ByteArrayOutputStream byteArrayOutputStream;
 
     @Spy
@@ -179,4 +190,52 @@ public class RangeStreamContentHandlerIT extends BasePrimefaceTest {
         assertEquals(data.substring(start,end + 1), byteArrayOutputStream.toString(StandardCharsets.UTF_8));
     }
 
+    /**
+     * Test requesting overlapping ranges of a media file.
+     *
+     * @throws Exception the exceptions thrown by method
+     */
+    @Test
+    public void partialFileContent() throws Exception {
+        File file = createMediaFile();
+        String eTag = "\"" + Long.toHexString(file.length()) + "-" + Long.toHexString(file.lastModified()) + "\"";
+
+        lenient().when(httpServletRequest.getHeader("Range")).thenReturn("bytes=10-14,5-11");
+        rangeStreamContentHandler.handle(facesContext);
+
+        verify(httpServletResponse).setHeader("ETag", eTag);
+        verify(httpServletResponse).setDateHeader("Last-Modified", file.lastModified());
+        verify(httpServletResponse).setHeader("Content-Range", "bytes 5-14/34");
+        verify(httpServletResponse).setHeader("Content-Length", "10");
+        verify(httpServletResponse).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+
+        assertEquals(data.substring(5, 15), byteArrayOutputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Test requesting an unchanged media file.
+     *
+     * @throws Exception the exceptions thrown by method
+     */
+    @Test
+    public void notModifiedFileContent() throws Exception {
+        File file = createMediaFile();
+        String eTag = "\"" + Long.toHexString(file.length()) + "-" + Long.toHexString(file.lastModified()) + "\"";
+
+        when(httpServletRequest.getHeader("If-None-Match")).thenReturn(eTag);
+        rangeStreamContentHandler.handle(facesContext);
+
+        verify(httpServletResponse).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(httpServletResponse, never()).setHeader("Content-Length", "34");
+        assertTrue(byteArrayOutputStream.toString(StandardCharsets.UTF_8).isEmpty());
+    }
+
+    private File createMediaFile() throws Exception {
+        File file = Files.writeString(tempDir.resolve(FILENAME), data).toFile();
+        InputStream inputStream = new MediaFileInputStream(file);
+        StreamedContent streamedContent = DefaultStreamedContent.builder().stream(() -> inputStream)
+                .contentType(MIMETYPE).name(FILENAME).contentLength(file.length()).build();
+        when(valueExpression.getValue(facesContext.getELContext())).thenReturn(streamedContent);
+        return file;
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class IndexWorkerStatusTest {
+
+    @Test
+    public void shouldCalculateIdRangesOfBatches() {
+        IndexWorkerStatus indexWorkerStatus = new IndexWorkerStatus(4, 1000, 250);
+        assertTrue(indexWorkerStatus.isIdRangeBatching());
+        assertEquals(1000, indexWorkerStatus.getFromId(0));
+        assertEquals(1250, indexWorkerStatus.getToId(0));
+        assertEquals(1500, indexWorkerStatus.getFromId(2));
+        assertEquals(1750, indexWorkerStatus.getToId(2));
+    }
+
+    @Test
+    public void shouldNotUseIdRangesForOffsetBatches() {
+        assertFalse(new IndexWorkerStatus(4).isIdRangeBatching());
+    }
+
+    @Test
+    public void shouldOnlyMoveCheckpointOverCompletedBatchesWithoutGaps() {
+        IndexWorkerStatus indexWorkerStatus = new IndexWorkerStatus(4, 0, 100);
+        assertEquals(0, indexWorkerStatus.getCheckpointId());
+        indexWorkerStatus.markBatchAsCompleted(1);
+        assertEquals(0, indexWorkerStatus.getCheckpointId());
+        indexWorkerStatus.markBatchAsCompleted(0);
+        assertEquals(200, indexWorkerStatus.getCheckpointId());
+        indexWorkerStatus.markBatchAsCompleted(3);
+        assertEquals(200, indexWorkerStatus.getCheckpointId());
+        indexWorkerStatus.markBatchAsCompleted(2);
+        assertEquals(400, indexWorkerStatus.getCheckpointId());
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kitodo.MockDatabase;
+import org.kitodo.SecurityTestUtils;
+import org.kitodo.data.database.beans.User;
+import org.kitodo.production.enums.ObjectType;
+import org.kitodo.production.services.ServiceManager;
+
+public class SearchResultGenerationIT {
+
+    private static final int PAGE_SIZE = 2;
+
+    /**
+     * The filter is written to the first row, the column headers to the second.
+     */
+    private static final int HEADER_ROWS = 2;
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        MockDatabase.startNode();
+        MockDatabase.insertProcessesFull();
+        MockDatabase.setUpAwaitility();
+        User userOne = ServiceManager.getUserService().getById(1);
+        SecurityTestUtils.addUserDataToSecurityContext(userOne, 1);
+    }
+
+    @AfterAll
+    public static void tearDown() throws Exception {
+        MockDatabase.stopNode();
+        MockDatabase.cleanDatabase();
+        SecurityTestUtils.cleanSecurityContext();
+    }
+
+    @Test
+    public void shouldWriteAllPagesToWorkbook() throws Exception {
+        SearchResultGeneration searchResultGeneration = new SearchResultGeneration("", true, true, PAGE_SIZE);
+        long numberOfProcesses = ServiceManager.getProcessService()
+                .count(searchResultGeneration.getQueryForFilter(ObjectType.PROCESS));
+        assertTrue(numberOfProcesses > PAGE_SIZE, "Test processes do not fill more than one page");
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        searchResultGeneration.writeWorkbook(outputStream);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals(numberOfProcesses + HEADER_ROWS, sheet.getPhysicalNumberOfRows(),
+                "Workbook does not contain a row for every process");
+            Set<Double> processIds = new HashSet<>();
+            for (int rowNumber = HEADER_ROWS; rowNumber <= sheet.getLastRowNum(); rowNumber++) {
+                Row row = sheet.getRow(rowNumber);
+                processIds.add(row.getCell(1).getNumericCellValue());
+            }
+            assertEquals(numberOfProcesses, processIds.size(), "Processes were written more than once");
+        }
+    }
+}
@@ -15,18 +15,27 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.kitodo.production.model.bibliography.course.Course;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.TransformerException;
 import javax.xml.xpath.XPathExpressionException;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
 import java.util.Locale;
 
 public class XMLUtilsTest {
@@ -38,8 +47,16 @@ public class XMLUtilsTest {
     private static final String XML_STRING = "<document><element>Text</element></document>";
     private static final String EXPECTED_EXCEPTION_MESSAGE = "javax.xml.transform.TransformerException: "
             + "A location step was expected following the '/' or '//' token.";
+    private static final String EAD_STRING = "<ead xmlns=\"urn:isbn:1-931666-22-9\" "
+            + "xmlns:xlink=\"http://www.w3.org/1999/xlink\"><archdesc><dsc>"
+            + "<c level=\"collection\" id=\"1\"><did><unittitle>Collection</unittitle></did>\n"
+            + "<c level=\"file\" id=\"2\"><did><unittitle>File</unittitle><dao xlink:href=\"image\"/></did></c>"
+            + "<c level=\"file\" id=\"3\"/></c></dsc></archdesc></ead>";
     private static Locale originalDefaultLocale;
 
+    @TempDir
+    Path tempDir;
+
     @BeforeAll
     public static void setLocaleToEnglish() {
         originalDefaultLocale = Locale.getDefault();
@@ -95,4 +112,32 @@ public class XMLUtilsTest {
                 () -> XMLUtils.validateXPathSyntax(INVALID_XPATH));
         Assertions.assertEquals(EXPECTED_EXCEPTION_MESSAGE, exception.getMessage());
     }
+
+    @Test
+    public void shouldCountEadElementsInFile() throws IOException, XMLStreamException {
+        Path eadFile = Files.write(tempDir.resolve("ead.xml"), EAD_STRING.getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals(2, XMLUtils.getNumberOfEADElements(eadFile, "file"));
+        Assertions.assertEquals(XMLUtils.getNumberOfEADElements(EAD_STRING, "collection"),
+            XMLUtils.getNumberOfEADElements(eadFile, "collection"));
+    }
+
+    @Test
+    public void shouldReadEadElements() throws XMLStreamException {
+        XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(EAD_STRING));
+        while (reader.next() != XMLStreamConstants.START_ELEMENT || !"c".equals(reader.getLocalName())) {
+            // skip to the collection element
+        }
+        String collection = XMLUtils.readEADElement(reader,
+            Collections.singletonMap("xlink", "http://www.w3.org/1999/xlink"), true);
+        Assertions.assertTrue(collection.endsWith("<did><unittitle>Collection</unittitle></did></c>"));
+        Assertions.assertTrue(collection.contains("xmlns:xlink=\"http://www.w3.org/1999/xlink\""));
+        Assertions.assertFalse(collection.contains("urn:isbn:1-931666-22-9"));
+        Assertions.assertEquals("2", reader.getAttributeValue(null, "id"));
+
+        String file = XMLUtils.readEADElement(reader, Collections.emptyMap(), false);
+        Assertions.assertTrue(file.contains("<unittitle>File</unittitle>"));
+        Assertions.assertTrue(file.contains("xlink:href=\"image\""));
+        Assertions.assertDoesNotThrow(() -> XMLUtils.parseXMLString(file));
+        Assertions.assertEquals(XMLStreamConstants.END_ELEMENT, reader.getEventType());
+    }
 }
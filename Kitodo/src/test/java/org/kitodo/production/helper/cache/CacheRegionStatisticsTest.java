@@ -0,0 +1,95 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.helper.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+public class CacheRegionStatisticsTest {
+
+    @Test
+    public void shouldReadStatisticsOfRegions() throws Exception {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        server.registerMBean(new CacheStatistics(75, 25, 30, 2),
+            new ObjectName("javax.cache:type=CacheStatistics,CacheManager=ehcache.xml,Cache=kitodo.project"));
+        server.registerMBean(new CacheStatistics(1000, 1000, 1000, 0),
+            new ObjectName("javax.cache:type=CacheStatistics,CacheManager=ehcache.xml,Cache=other"));
+
+        List<CacheRegionStatistics> statistics = CacheRegionStatistics.getStatistics(server,
+            Arrays.asList("kitodo.project", "kitodo.role"));
+
+        assertEquals(2, statistics.size());
+        CacheRegionStatistics project = statistics.get(0);
+        assertEquals("kitodo.project", project.getRegion());
+        assertEquals(75, project.getHits());
+        assertEquals(25, project.getMisses());
+        assertEquals(30, project.getPuts());
+        assertEquals(2, project.getEvictions());
+        assertEquals(75, project.getHitRatio());
+        CacheRegionStatistics role = statistics.get(1);
+        assertEquals("kitodo.role", role.getRegion());
+        assertEquals(0, role.getHits());
+        assertEquals(0, role.getHitRatio());
+    }
+
+    public interface CacheStatisticsMBean {
+        long getCacheHits();
+
+        long getCacheMisses();
+
+        long getCachePuts();
+
+        long getCacheEvictions();
+    }
+
+    public static class CacheStatistics implements CacheStatisticsMBean {
+        private final long hits;
+        private final long misses;
+        private final long puts;
+        private final long evictions;
+
+        CacheStatistics(long hits, long misses, long puts, long evictions) {
+            this.hits = hits;
+            this.misses = misses;
+            this.puts = puts;
+            this.evictions = evictions;
+        }
+
+        @Override
+        public long getCacheHits() {
+            return hits;
+        }
+
+        @Override
+        public long getCacheMisses() {
+            return misses;
+        }
+
+        @Override
+        public long getCachePuts() {
+            return puts;
+        }
+
+        @Override
+        public long getCacheEvictions() {
+            return evictions;
+        }
+    }
+}
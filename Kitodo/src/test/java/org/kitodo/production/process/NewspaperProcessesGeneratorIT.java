@@ -12,6 +12,7 @@
 package org.kitodo.production.process;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -158,6 +159,28 @@ public class NewspaperProcessesGeneratorIT {
         assertEquals("NewspaperOverallProcess_17050127", readProcessTitleFromMetadata(maxId, true), "Process title missing in issue's meta.xml");
     }
 
+    /**
+     * Tests whether the newspaper generator creates the same processes in bulk
+     * generation.
+     */
+    @Test
+    public void shouldGenerateNewspaperProcessesInBulk() throws Exception {
+        Process completeEdition = ServiceManager.getProcessService().getById(newspaperTestProcessId);
+        Course course = NewspaperCourse.getCourse();
+        course.splitInto(Granularity.DAYS);
+        NewspaperProcessesGenerator underTest = new NewspaperProcessesGenerator(completeEdition, course, true);
+        while (underTest.getProgress() < underTest.getNumberOfSteps()) {
+            underTest.nextStep();
+        }
+        int maxId = getChildProcessWithLargestId(completeEdition, 0);
+        assertEquals(underTest.getNumberOfSteps(), underTest.getProgress(), "The newspaper processes generator has not been completed!");
+        assertEquals("NewspaperOverallProcess", readProcessTitleFromMetadata(newspaperTestProcessId, false), "Process title missing in newspaper's meta.xml");
+        assertEquals("NewspaperOverallProcess_1703", readProcessTitleFromMetadata(newspaperTestProcessId + 1, false), "Process title missing in year's meta.xml");
+        assertEquals("NewspaperOverallProcess_17050127", readProcessTitleFromMetadata(maxId, true), "Process title missing in issue's meta.xml");
+        assertFalse(processService.findByTitle("NewspaperOverallProcess_1703").isEmpty(), "Year process has not been indexed");
+        assertFalse(processService.findByTitle("NewspaperOverallProcess_17050127").isEmpty(), "Issue process has not been indexed");
+    }
+
     private int getChildProcessWithLargestId(Process process, int maxId) {
         maxId = Math.max(maxId, process.getId());
         for (Process childProcess : process.getChildren()) {
@@ -16,6 +16,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.kitodo.constants.StringConstants.COLLECTION;
@@ -32,10 +33,12 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -243,6 +246,42 @@ public class ImportServiceIT {
         }
     }
 
+    /**
+     * Tests whether a mass import requests the records in parallel and still
+     * reports the result of each record in the order of the given records.
+     *
+     * @throws DAOException when loading ImportConfiguration or removing test process from test database fails.
+     * @throws IOException when setting execution permission of script fails
+     */
+    @Test
+    public void shouldMassImportRecordsInOrder() throws DAOException, IOException {
+        Map<String, Map<String, List<String>>> processMetadata = new LinkedHashMap<>();
+        processMetadata.put(RECORD_ID, new HashMap<>());
+        processMetadata.put("99999", new HashMap<>());
+        ImportConfiguration importConfiguration = MockDatabase.getK10PlusImportConfiguration();
+        importConfiguration.setMaxConcurrentRequests(2);
+        importConfiguration.setMaxRequestsPerSecond(10);
+        Map<String, String> results = new LinkedHashMap<>();
+        File script = new File(ConfigCore.getParameter(ParameterCore.SCRIPT_CREATE_DIR_META));
+        if (!SystemUtils.IS_OS_WINDOWS) {
+            ExecutionPermission.setExecutePermission(script);
+        }
+        try {
+            ServiceManager.getMassImportService().importRecords(processMetadata, PROJECT_ID, TEMPLATE_ID,
+                importConfiguration, results::put);
+        } finally {
+            if (!SystemUtils.IS_OS_WINDOWS) {
+                ExecutionPermission.setNoExecutePermission(script);
+            }
+            for (Process process : processService.getByQuery("FROM Process WHERE title = 'Kitodo_" + RECORD_ID + "'")) {
+                ProcessTestUtils.removeTestProcess(process.getId());
+            }
+        }
+        assertEquals(List.of(RECORD_ID, "99999"), new ArrayList<>(results.keySet()), "Wrong order of results");
+        assertNull(results.get(RECORD_ID), "Import of existing record should succeed");
+        assertNotNull(results.get("99999"), "Import of missing record should fail");
+    }
+
 
     private boolean assertMetadataSetContainsMetadata(HashSet<Metadata> metadataSet, String metadataKey, String metadataValue) {
         return metadataSet.stream()
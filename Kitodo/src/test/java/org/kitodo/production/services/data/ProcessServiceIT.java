@@ -25,6 +25,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -52,7 +53,9 @@ import org.kitodo.data.database.beans.Task;
 import org.kitodo.data.database.beans.User;
 import org.kitodo.data.database.enums.TaskStatus;
 import org.kitodo.data.database.exceptions.DAOException;
+import org.kitodo.data.elasticsearch.exceptions.CustomResponseException;
 import org.kitodo.data.elasticsearch.index.converter.ProcessConverter;
+import org.kitodo.data.elasticsearch.search.SearchCursor;
 import org.kitodo.data.exceptions.DataException;
 import org.kitodo.production.dto.ProcessDTO;
 import org.kitodo.production.enums.ProcessState;
@@ -65,6 +68,8 @@ import org.kitodo.production.services.file.FileService;
 import org.kitodo.test.utils.ProcessTestUtils;
 import org.opensearch.index.query.Operator;
 import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.sort.SortOrder;
 
 /**
  * Tests for ProcessService class.
@@ -167,6 +172,18 @@ public class ProcessServiceIT {
         assertEquals(5, process.getTasks().size(), "Process was found but tasks were not inserted!");
     }
 
+    @Test
+    public void shouldGetProcessesByIds() throws Exception {
+        List<Process> processes = processService.getByIds(Arrays.asList(2, 1, 2));
+        assertEquals(3, processes.size(), "Not all processes were found in database!");
+        assertEquals(Integer.valueOf(2), processes.get(0).getId(), "Processes were not returned in order of ids!");
+        assertEquals(firstProcess, processes.get(1).getTitle(), "Processes were not returned in order of ids!");
+        assertEquals(5, processes.get(1).getTasks().size(), "Process was found but tasks were not fetched!");
+
+        assertThrows(DAOException.class, () -> processService.getByIds(Arrays.asList(1, Integer.MAX_VALUE)),
+            "Missing process was not reported!");
+    }
+
     @Test
     public void shouldGetAllProcesses() throws Exception {
         List<Process> processes = processService.getAll();
@@ -641,6 +658,24 @@ public class ProcessServiceIT {
         assertEquals(2, allIDs.size(), "Wrong amount of id's in index");
     }
 
+    @Test
+    public void shouldFindProcessesWithCursor() throws DataException, CustomResponseException {
+        List<Integer> ids = new ArrayList<>();
+        try (SearchCursor cursor = processService.openCursor(QueryBuilders.matchAllQuery(),
+            processService.sortById(SortOrder.ASC), 2)) {
+            for (List<ProcessDTO> page = processService.findNextPage(cursor, false); !page.isEmpty();
+                    page = processService.findNextPage(cursor, false)) {
+                assertTrue(page.size() <= 2, "Page should not be larger than page size");
+                page.forEach(processDTO -> ids.add(processDTO.getId()));
+            }
+        }
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7), ids, "Processes should be read once in order of their IDs");
+
+        List<ProcessDTO> skipped = processService.findByQuery(QueryBuilders.matchAllQuery(),
+            processService.sortById(SortOrder.ASC), 5, null, false);
+        assertEquals(2, skipped.size(), "Wrong amount of processes after offset");
+    }
+
     @Test
     public void testCountMetadata() throws DAOException, IOException, DataException {
         int testProcessId = MockDatabase.insertTestProcess(TEST_PROCESS_TITLE, 1, 1, 1);
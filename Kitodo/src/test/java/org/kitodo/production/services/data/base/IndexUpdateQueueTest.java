@@ -0,0 +1,139 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.data.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.kitodo.data.database.beans.Batch;
+import org.mockito.ArgumentCaptor;
+
+public class IndexUpdateQueueTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldCoalesceUpdatesOfTheSameObject() throws Exception {
+        SearchService searchService = mock(SearchService.class);
+        when(searchService.indexQueuedUpdates(anyCollection(), anyCollection()))
+                .thenAnswer(invocation -> createBatches(invocation.getArgument(0)));
+
+        IndexUpdateQueue indexUpdateQueue = new IndexUpdateQueue(100, 500, 3, 10);
+        indexUpdateQueue.add(searchService, 1, false);
+        indexUpdateQueue.add(searchService, 2, false);
+        indexUpdateQueue.add(searchService, 1, true);
+        indexUpdateQueue.shutdown(5000);
+
+        ArgumentCaptor<Collection<Integer>> ids = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<Collection<Integer>> idsWithDependencies = ArgumentCaptor.forClass(Collection.class);
+        verify(searchService, times(1)).indexQueuedUpdates(ids.capture(), idsWithDependencies.capture());
+        assertEquals(Arrays.asList(1, 2), new ArrayList<>(ids.getValue()));
+        assertEquals(Collections.singletonList(1), new ArrayList<>(idsWithDependencies.getValue()));
+        ArgumentCaptor<List<Batch>> indexed = ArgumentCaptor.forClass(List.class);
+        verify(searchService).markAsIndexed(indexed.capture());
+        assertEquals(2, indexed.getValue().size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldSendUpdatesInBatches() throws Exception {
+        SearchService searchService = mock(SearchService.class);
+        when(searchService.indexQueuedUpdates(anyCollection(), anyCollection()))
+                .thenAnswer(invocation -> createBatches(invocation.getArgument(0)));
+
+        IndexUpdateQueue indexUpdateQueue = new IndexUpdateQueue(100, 2, 3, 10);
+        for (int id = 1; id <= 5; id++) {
+            indexUpdateQueue.add(searchService, id, false);
+        }
+        indexUpdateQueue.shutdown(5000);
+
+        verify(searchService, times(3)).indexQueuedUpdates(anyCollection(), anyCollection());
+        verify(searchService, times(3)).markAsIndexed(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldNotMarkObjectsAsIndexedIfSendingFails() throws Exception {
+        SearchService searchService = mock(SearchService.class);
+        when(searchService.indexQueuedUpdates(anyCollection(), anyCollection()))
+                .thenThrow(new IllegalStateException("index not available"));
+
+        IndexUpdateQueue indexUpdateQueue = new IndexUpdateQueue(0, 500, 3, 10);
+        indexUpdateQueue.add(searchService, 1, false);
+        indexUpdateQueue.shutdown(5000);
+
+        verify(searchService, times(3)).indexQueuedUpdates(anyCollection(), anyCollection());
+        verify(searchService, never()).markAsIndexed(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldDropDiscardedUpdates() throws Exception {
+        SearchService searchService = mock(SearchService.class);
+        when(searchService.indexQueuedUpdates(anyCollection(), anyCollection()))
+                .thenAnswer(invocation -> createBatches(invocation.getArgument(0)));
+
+        IndexUpdateQueue indexUpdateQueue = new IndexUpdateQueue(1000, 500, 3, 10);
+        indexUpdateQueue.add(searchService, 1, false);
+        indexUpdateQueue.add(searchService, 2, false);
+        indexUpdateQueue.discard(searchService, 1);
+        indexUpdateQueue.shutdown(5000);
+
+        ArgumentCaptor<Collection<Integer>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(searchService).indexQueuedUpdates(ids.capture(), anyCollection());
+        assertEquals(Collections.singletonList(2), new ArrayList<>(ids.getValue()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldNotMarkObjectsAsIndexedWhichAreBeingSaved() throws Exception {
+        SearchService searchService = mock(SearchService.class);
+        IndexUpdateQueue indexUpdateQueue = new IndexUpdateQueue(100, 500, 3, 10);
+        when(searchService.indexQueuedUpdates(anyCollection(), anyCollection())).thenAnswer(invocation -> {
+            // object 1 is saved again while its previous state is being sent
+            indexUpdateQueue.announce(searchService, 1);
+            return createBatches(invocation.getArgument(0));
+        });
+
+        indexUpdateQueue.add(searchService, 1, false);
+        indexUpdateQueue.add(searchService, 2, false);
+        indexUpdateQueue.shutdown(5000);
+
+        ArgumentCaptor<List<Batch>> indexed = ArgumentCaptor.forClass(List.class);
+        verify(searchService).markAsIndexed(indexed.capture());
+        assertEquals(Collections.singletonList(2), indexed.getValue().stream().map(Batch::getId)
+                .collect(Collectors.toList()));
+    }
+
+    private static List<Batch> createBatches(Collection<Integer> ids) {
+        List<Batch> batches = new ArrayList<>();
+        for (Integer id : ids) {
+            Batch batch = new Batch();
+            batch.setId(id);
+            batches.add(batch);
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.dataformat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.stream.Stream;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MetsIndexDataCacheTest {
+
+    private static final File METS_FILE = new File("../Kitodo-DataFormat/src/test/resources/meta.xml");
+
+    private Path cacheDirectory;
+    private File metsFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        cacheDirectory = Files.createTempDirectory("indexcache");
+        metsFile = Files.createTempFile("meta", ".xml").toFile();
+        FileUtils.copyFile(METS_FILE, metsFile);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(cacheDirectory.toFile());
+        Files.deleteIfExists(metsFile.toPath());
+    }
+
+    @Test
+    public void shouldReturnCachedIndexDataOfUnchangedFile() throws Exception {
+        MetsIndexDataCache cache = new MetsIndexDataCache(cacheDirectory);
+        assertNull(cache.get(metsFile));
+
+        MetsIndexData metsIndexData = read(metsFile);
+        cache.put(metsFile, metsFile.lastModified(), metsFile.length(), checksum(metsFile), metsIndexData);
+
+        MetsIndexData cached = cache.get(metsFile);
+        assertNotNull(cached);
+        assertEquals(metsIndexData.getNumberOfImages(), cached.getNumberOfImages());
+        assertEquals(metsIndexData.getNumberOfMetadata(), cached.getNumberOfMetadata());
+        assertEquals(metsIndexData.getNumberOfStructures(), cached.getNumberOfStructures());
+        assertEquals(metsIndexData.getBaseType(), cached.getBaseType());
+        assertEquals(metsIndexData.getMetadata(), cached.getMetadata());
+    }
+
+    @Test
+    public void shouldNotReturnIndexDataOfChangedFile() throws Exception {
+        MetsIndexDataCache cache = new MetsIndexDataCache(cacheDirectory);
+        cache.put(metsFile, metsFile.lastModified(), metsFile.length(), checksum(metsFile), read(metsFile));
+
+        assertNotNull(cache.get(metsFile));
+        assertTrue(metsFile.setLastModified(metsFile.lastModified() - 60_000));
+        assertNull(cache.get(metsFile));
+    }
+
+    @Test
+    public void shouldNotReturnIndexDataOfFileWithChangedSize() throws Exception {
+        MetsIndexDataCache cache = new MetsIndexDataCache(cacheDirectory);
+        cache.put(metsFile, metsFile.lastModified(), metsFile.length(), checksum(metsFile), read(metsFile));
+
+        long lastModified = metsFile.lastModified();
+        Files.write(metsFile.toPath(), "\n".getBytes(), StandardOpenOption.APPEND);
+        assertTrue(metsFile.setLastModified(lastModified));
+        assertNull(cache.get(metsFile));
+    }
+
+    @Test
+    public void shouldStoreEntriesInSubdirectories() throws Exception {
+        MetsIndexDataCache cache = new MetsIndexDataCache(cacheDirectory);
+        cache.put(metsFile, metsFile.lastModified(), metsFile.length(), checksum(metsFile), read(metsFile));
+
+        try (Stream<Path> entries = Files.list(cacheDirectory)) {
+            assertTrue(entries.allMatch(Files::isDirectory), "Entries should not be stored in the cache directory");
+        }
+    }
+
+    @Test
+    public void shouldRemoveIndexData() throws Exception {
+        MetsIndexDataCache cache = new MetsIndexDataCache(cacheDirectory);
+        cache.put(metsFile, metsFile.lastModified(), metsFile.length(), checksum(metsFile), read(metsFile));
+        cache.remove(metsFile);
+        assertNull(cache.get(metsFile));
+    }
+
+    private static String checksum(File file) throws IOException {
+        MessageDigest digest = DigestUtils.getSha1Digest();
+        digest.update(Files.readAllBytes(file.toPath()));
+        return MetsIndexDataCache.toChecksum(digest);
+    }
+
+    private static MetsIndexData read(File file) throws Exception {
+        try (InputStream inputStream = new FileInputStream(file)) {
+            return MetsIndexData.read(inputStream);
+        }
+    }
+}
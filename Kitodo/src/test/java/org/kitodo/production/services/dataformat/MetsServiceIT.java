@@ -68,4 +68,24 @@ public class MetsServiceIT {
                 "131", "132", "133", "134", "uncounted", "uncounted", "uncounted"),
             workpiece.getPhysicalStructure().getChildren().stream().map(PhysicalDivision::getOrderlabel).collect(Collectors.toList()));
     }
+
+    /**
+     * Tests that the index data read in one pass equals the values determined
+     * on the workpiece.
+     */
+    @Test
+    public void testReadIndexData() throws Exception {
+        URI metsFile = new File("../Kitodo-DataFormat/src/test/resources/meta.xml").toURI();
+        Workpiece workpiece = ServiceManager.getMetsService().loadWorkpiece(metsFile);
+        MetsIndexData metsIndexData = ServiceManager.getMetsService().readIndexData(metsFile);
+
+        assertEquals(Workpiece.treeStream(workpiece.getPhysicalStructure())
+                .filter(physicalDivision -> PhysicalDivision.TYPE_PAGE.equals(physicalDivision.getType())).count(),
+            metsIndexData.getNumberOfImages());
+        assertEquals(MetsService.countLogicalMetadata(workpiece), metsIndexData.getNumberOfMetadata());
+        assertEquals(Workpiece.treeStream(workpiece.getLogicalStructure()).count(),
+            metsIndexData.getNumberOfStructures());
+        assertEquals(ServiceManager.getMetsService().getBaseType(workpiece), metsIndexData.getBaseType());
+        assertEquals("DMDLOG_0000", metsIndexData.getMetadata().get(0).get("ID"));
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.image;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.kitodo.api.imagemanagement.DerivativeDefinition;
+import org.kitodo.api.imagemanagement.ImageFileFormat;
+import org.kitodo.api.imagemanagement.ImageManagementInterface;
+import org.kitodo.serviceloader.KitodoServiceLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the generation of web images by ImageMagick with the in-process
+ * Java image processing. The benchmark is not run by the build. To run it,
+ * build the modules, install ImageMagick and start the main method from the
+ * Kitodo directory with the test class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ImageProcessorBenchmark {
+
+    private static final String SOURCE_IMAGE = "src/test/resources/metadata/images/scans/01.tif";
+
+    @Param({"IMAGEMAGICK", "JAVA"})
+    private String imageProcessor;
+
+    private ImageManagementInterface imageManagement;
+    private Path outputDirectory;
+    private URI sourceUri;
+
+    @Setup
+    public void setUp() throws IOException {
+        imageManagement = "JAVA".equals(imageProcessor) ? new JavaImageManagement()
+                : new KitodoServiceLoader<>(ImageManagementInterface.class).loadModule();
+        outputDirectory = Files.createTempDirectory("imageProcessorBenchmark");
+        sourceUri = Paths.get(SOURCE_IMAGE).toAbsolutePath().toUri();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(outputDirectory.toFile());
+    }
+
+    /**
+     * Creates a thumbnail and a web image from one source image.
+     */
+    @Benchmark
+    public boolean createWebImages() throws IOException {
+        List<DerivativeDefinition> derivatives = Arrays.asList(
+            DerivativeDefinition.withWidth(outputDirectory.resolve("thumb.jpg").toUri(), ImageFileFormat.JPEG, 150),
+            DerivativeDefinition.scaled(outputDirectory.resolve("web.jpg").toUri(), ImageFileFormat.JPEG, 0.5));
+        return imageManagement.createDerivatives(sourceUri, derivatives);
+    }
+
+    /**
+     * Creates a sized web image in memory, as done for file formats which
+     * only Java can write.
+     */
+    @Benchmark
+    public Object getSizedWebImage() throws IOException {
+        return imageManagement.getSizedWebImage(sourceUri, 150);
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            not used
+     * @throws RunnerException
+     *             if the benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ImageProcessorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
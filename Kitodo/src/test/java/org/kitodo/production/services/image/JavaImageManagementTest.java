@@ -0,0 +1,113 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.image;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kitodo.api.imagemanagement.DerivativeDefinition;
+import org.kitodo.api.imagemanagement.ImageFileFormat;
+
+public class JavaImageManagementTest {
+
+    private final JavaImageManagement javaImageManagement = new JavaImageManagement();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldCreateDerivatives() throws IOException {
+        File source = createSourceImage(2000, 1000);
+        File scaled = tempDir.resolve("scaled.png").toFile();
+        File sized = tempDir.resolve("sized.jpg").toFile();
+        File resampled = tempDir.resolve("resampled.bmp").toFile();
+
+        assertTrue(javaImageManagement.createDerivatives(source.toURI(), Arrays.asList(
+            DerivativeDefinition.scaled(scaled.toURI(), ImageFileFormat.PNG, 0.25),
+            DerivativeDefinition.withWidth(sized.toURI(), ImageFileFormat.JPEG, 150),
+            DerivativeDefinition.withDpi(resampled.toURI(), ImageFileFormat.BMP, 36))));
+
+        assertSize(500, 250, ImageIO.read(scaled));
+        assertSize(150, 75, ImageIO.read(sized));
+        // images without a declared resolution are assumed to have 72 DPI
+        assertSize(1000, 500, ImageIO.read(resampled));
+    }
+
+    @Test
+    public void shouldCreateSizedWebImage() throws IOException {
+        Image image = javaImageManagement.getSizedWebImage(createSourceImage(1200, 1600).toURI(), 300);
+
+        assertSize(300, 400, (BufferedImage) image);
+    }
+
+    @Test
+    public void shouldTruncateOverwrittenDerivative() throws IOException {
+        File source = createSourceImage(2000, 1000);
+        File derivative = tempDir.resolve("derivative.bmp").toFile();
+        javaImageManagement.createDerivative(source.toURI(), 1, derivative.toURI(), ImageFileFormat.BMP);
+        long largeLength = derivative.length();
+
+        javaImageManagement.createDerivative(source.toURI(), 0.1, derivative.toURI(), ImageFileFormat.BMP);
+
+        assertTrue(derivative.length() < largeLength, "Overwritten derivative was not truncated");
+        assertSize(200, 100, ImageIO.read(derivative));
+    }
+
+    @Test
+    public void shouldOnlyWriteFileTypesJavaHasWritersFor() {
+        assertTrue(JavaImageManagement.canWrite("image/png"));
+        assertFalse(JavaImageManagement.canWrite("image/jp2"));
+        assertFalse(JavaImageManagement.canWrite(null));
+    }
+
+    @Test
+    public void shouldNotAcceptMissingSourceImage() {
+        File missing = tempDir.resolve("missing.png").toFile();
+
+        assertThrows(FileNotFoundException.class,
+            () -> javaImageManagement.getSizedWebImage(missing.toURI(), 300));
+    }
+
+    private File createSourceImage(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, width, height);
+        graphics.setColor(Color.BLACK);
+        graphics.drawLine(0, 0, width, height);
+        graphics.dispose();
+        File file = tempDir.resolve("source.png").toFile();
+        ImageIO.write(image, "png", file);
+        return file;
+    }
+
+    private static void assertSize(int width, int height, BufferedImage image) {
+        assertEquals(width, image.getWidth(), "Wrong width");
+        assertEquals(height, image.getHeight(), "Wrong height");
+    }
+}
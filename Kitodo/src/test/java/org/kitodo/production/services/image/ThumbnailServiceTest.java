@@ -0,0 +1,101 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.image;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ThumbnailServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldRoundUpToConfiguredWidths() {
+        ThumbnailService thumbnailService = new ThumbnailService(tempDir, 1024 * 1024, 300, 150, 600);
+
+        assertEquals(150, thumbnailService.getWidth(100));
+        assertEquals(300, thumbnailService.getWidth(300));
+        assertEquals(600, thumbnailService.getWidth(301));
+        assertEquals(600, thumbnailService.getWidth(2000));
+    }
+
+    @Test
+    public void shouldGenerateThumbnailOnce() throws Exception {
+        File image = createImage("image.png", 1200, 800);
+        ThumbnailService thumbnailService = new ThumbnailService(tempDir.resolve("cache"), 1024 * 1024, 150, 300);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<File>> thumbnails = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                thumbnails.add(executor.submit(() -> thumbnailService.getThumbnail(image, 200)));
+            }
+            for (Future<File> thumbnail : thumbnails) {
+                assertEquals(thumbnails.get(0).get(), thumbnail.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        File thumbnail = thumbnails.get(0).get();
+        assertNotEquals(image, thumbnail);
+        BufferedImage thumbnailImage = ImageIO.read(thumbnail);
+        assertEquals(300, thumbnailImage.getWidth());
+        assertEquals(200, thumbnailImage.getHeight());
+        assertEquals(1, tempDir.resolve("cache").toFile().list().length);
+    }
+
+    @Test
+    public void shouldSendSmallImageItself() throws IOException {
+        File image = createImage("small.png", 120, 80);
+        ThumbnailService thumbnailService = new ThumbnailService(tempDir.resolve("cache"), 1024 * 1024, 150);
+
+        assertEquals(image, thumbnailService.getThumbnail(image, 150));
+    }
+
+    @Test
+    public void shouldDeleteThumbnailUsedLeastRecently() throws IOException {
+        File first = createImage("first.png", 1200, 800);
+        File second = createImage("second.png", 1200, 800);
+        ThumbnailService thumbnailService = new ThumbnailService(tempDir.resolve("cache"), 1, 300);
+
+        File firstThumbnail = thumbnailService.getThumbnail(first, 300);
+        File secondThumbnail = thumbnailService.getThumbnail(second, 300);
+
+        assertFalse(firstThumbnail.exists());
+        assertTrue(secondThumbnail.exists());
+    }
+
+    private File createImage(String name, int width, int height) throws IOException {
+        File file = tempDir.resolve(name).toFile();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", file);
+        return file;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kitodo.production.enums.ObjectType;
+
+public class IndexingCheckpointsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldKeepCheckpointsAcrossRestarts() {
+        Path file = tempDir.resolve("checkpoints.properties");
+        IndexingCheckpoints checkpoints = new IndexingCheckpoints(file);
+        checkpoints.put(ObjectType.PROCESS, 4200);
+        checkpoints.put(ObjectType.TASK, 17);
+        checkpoints.remove(ObjectType.TASK);
+
+        IndexingCheckpoints restarted = new IndexingCheckpoints(file);
+
+        assertEquals(4200, restarted.get(ObjectType.PROCESS), "Checkpoint was not persisted");
+        assertEquals(0, restarted.get(ObjectType.TASK), "Removed checkpoint was persisted");
+    }
+
+    @Test
+    public void shouldDeleteFileWhenCleared() {
+        Path file = tempDir.resolve("checkpoints.properties");
+        IndexingCheckpoints checkpoints = new IndexingCheckpoints(file);
+        checkpoints.put(ObjectType.BATCH, 100);
+
+        checkpoints.clear();
+
+        assertFalse(Files.exists(file), "Checkpoint file was not deleted");
+        assertEquals(0, new IndexingCheckpoints(file).get(ObjectType.BATCH));
+    }
+}
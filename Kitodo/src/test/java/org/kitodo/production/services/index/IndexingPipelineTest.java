@@ -0,0 +1,82 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.kitodo.data.database.beans.Batch;
+import org.kitodo.production.enums.ObjectType;
+import org.kitodo.production.helper.IndexWorkerStatus;
+import org.kitodo.production.services.data.base.SearchService;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.index.IndexRequest;
+
+public class IndexingPipelineTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldIndexAllBatchesThroughAllStages() throws Exception {
+        SearchService searchService = mock(SearchService.class);
+        when(searchService.getAllInIdRange(anyInt(), anyInt())).thenAnswer(invocation -> {
+            List<Batch> batches = new ArrayList<>();
+            for (int id = (int) invocation.getArgument(0) + 1; id <= (int) invocation.getArgument(1); id++) {
+                Batch batch = new Batch();
+                batch.setId(id);
+                batches.add(batch);
+            }
+            return batches;
+        });
+        when(searchService.createIndexRequest(any())).thenAnswer(invocation -> new IndexRequest("test")
+                .id(String.valueOf(((Batch) invocation.getArgument(0)).getId()))
+                .source(Collections.singletonMap("title", "batch")));
+        AtomicInteger sentObjects = new AtomicInteger();
+        doAnswer(invocation -> {
+            assertEquals(((BulkRequest) invocation.getArgument(0)).numberOfActions(),
+                ((List<?>) invocation.getArgument(1)).size());
+            sentObjects.addAndGet(((List<?>) invocation.getArgument(1)).size());
+            return null;
+        }).when(searchService).addBulkRequestToIndex(any(), any());
+
+        IndexWorkerStatus indexWorkerStatus = new IndexWorkerStatus(5, 0, 10);
+        IndexingPipeline pipeline = new IndexingPipeline(searchService, ObjectType.BATCH, indexWorkerStatus, true);
+        ExecutorService executor = Executors.newFixedThreadPool(pipeline.getNumberOfThreads());
+        try {
+            for (Future<?> future : pipeline.start(executor)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertFalse(indexWorkerStatus.hasFailed());
+        assertEquals(50, sentObjects.get());
+        assertEquals(50, indexWorkerStatus.getCheckpointId());
+        for (IndexingStageStatistics statistics : pipeline.getStatistics()) {
+            assertEquals(50, statistics.getNumberOfObjects(), statistics.getName());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class IndexingStageStatisticsTest {
+
+    @Test
+    public void shouldNotChangeAfterAllThreadsFinished() throws InterruptedException {
+        IndexingStageStatistics statistics = new IndexingStageStatistics("indexingStage.files", 2);
+        Thread.sleep(20);
+        statistics.add(1000, TimeUnit.MILLISECONDS.toNanos(20));
+        statistics.threadFinished();
+        statistics.threadFinished();
+        long objectsPerSecond = statistics.getObjectsPerSecond();
+        int utilization = statistics.getUtilization();
+
+        Thread.sleep(100);
+
+        assertTrue(objectsPerSecond > 0, "Objects per second were not calculated");
+        assertEquals(objectsPerSecond, statistics.getObjectsPerSecond(), "Rate changed after the stage finished");
+        assertEquals(utilization, statistics.getUtilization(), "Utilization changed after the stage finished");
+    }
+}
@@ -158,7 +158,7 @@ public class WorkingST extends BaseTestSelenium {
     @Test
     public void downloadSearchResultAsExcelTest() throws Exception {
         processesPage.goTo().downloadSearchResultAsExcel();
-        assertTrue(new File(Browser.DOWNLOAD_DIR + "search.xls").exists(), "Search result excel file was not downloaded");
+        assertTrue(new File(Browser.DOWNLOAD_DIR + "search.xlsx").exists(), "Search result excel file was not downloaded");
     }
 
     @Test